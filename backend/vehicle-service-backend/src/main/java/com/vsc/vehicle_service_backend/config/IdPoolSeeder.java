@@ -0,0 +1,81 @@
+package com.vsc.vehicle_service_backend.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * High-volume child rows (purchase order lines, usage lines, stock movements) take their ids from Hibernate's
+ * pooled table generator instead of IDENTITY, so their inserts can be JDBC-batched. Those tables
+ * were filled by AUTO_INCREMENT before, so on startup each pool is moved past the highest id
+ * already in its table - before anything can be inserted.
+ */
+@Slf4j
+@Component
+public class IdPoolSeeder {
+
+    public static final String TABLE = "id_pool";
+    public static final String NAME_COLUMN = "pool_name";
+    public static final String VALUE_COLUMN = "next_val";
+    public static final int ALLOCATION_SIZE = 100;
+
+    public static final String INCOME_ITEM_POOL = "spare_part_income_item";
+    public static final String USAGE_ITEM_POOL = "spare_part_usage_item";
+    public static final String STOCK_MOVEMENT_POOL = "stock_movement";
+
+    // Pool name -> table whose ids it generates
+    private static final Map<String, String> POOL_TABLES = Map.of(
+            INCOME_ITEM_POOL, "spare_part_income_item",
+            USAGE_ITEM_POOL, "spare_part_usage_item",
+            STOCK_MOVEMENT_POOL, "stock_movement");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // The entity manager factory dependency makes sure the schema is in place first
+    public IdPoolSeeder(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void seedAll() {
+        POOL_TABLES.forEach(this::seed);
+    }
+
+    void seed(String pool, String table) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        if (maxId == null || maxId == 0) {
+            return;
+        }
+
+        // The pooled optimizer hands out (next_val - ALLOCATION_SIZE, next_val]
+        long required = maxId + ALLOCATION_SIZE;
+        if (raise(pool, required) > 0) {
+            log.info("[IdPool] Moved {} past existing id {}", pool, maxId);
+            return;
+        }
+
+        Integer rows = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM " + TABLE + " WHERE " + NAME_COLUMN + " = ?", Integer.class, pool);
+        if (rows != null && rows > 0) {
+            return; // already far enough ahead
+        }
+        try {
+            jdbcTemplate.update("INSERT INTO " + TABLE + " (" + NAME_COLUMN + ", " + VALUE_COLUMN + ") VALUES (?, ?)",
+                    pool, required);
+            log.info("[IdPool] Started {} after existing id {}", pool, maxId);
+        } catch (DuplicateKeyException e) {
+            // Another instance created the row at the same time
+            raise(pool, required);
+        }
+    }
+
+    private int raise(String pool, long required) {
+        return jdbcTemplate.update("UPDATE " + TABLE + " SET " + VALUE_COLUMN + " = ? WHERE " + NAME_COLUMN + " = ? AND "
+                + VALUE_COLUMN + " < ?", required, pool, required);
+    }
+}
@@ -0,0 +1,63 @@
+package com.vsc.vehicle_service_backend.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hibernate second-level cache for reference data that is read on almost every request:
+ * spare part categories, suppliers and the service catalog. Regions are Caffeine caches
+ * bounded by entry count and time-to-live; writes made through JPA update the cached copy,
+ * so finds and association loads of these entities stop reaching the database.
+ */
+@Configuration
+public class ReferenceDataCacheConfig {
+
+    public static final String CATEGORY_REGION = "reference.spare-part-category";
+    public static final String SUPPLIER_REGION = "reference.supplier";
+    public static final String SERVICE_CATALOG_REGION = "reference.service-catalog";
+
+    public static final List<String> REGIONS = List.of(CATEGORY_REGION, SUPPLIER_REGION, SERVICE_CATALOG_REGION);
+
+    @Bean(destroyMethod = "close")
+    public CacheManager referenceDataCacheManager(@Value("${app.reference-cache.max-entries:1000}") long maxEntries,
+                                                  @Value("${app.reference-cache.ttl-seconds:600}") long ttlSeconds) {
+        // Own cache manager per application context so separate contexts never share entries
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("reference-data-" + UUID.randomUUID()), getClass().getClassLoader());
+
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(Math.max(1, maxEntries)));
+        configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(Math.max(1, ttlSeconds))));
+        for (String region : REGIONS) {
+            cacheManager.createCache(region, configuration);
+        }
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer referenceDataCacheCustomizer(CacheManager referenceDataCacheManager,
+                                                                      @Value("${app.reference-cache.statistics:false}") boolean statistics) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, referenceDataCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            // Hit/miss counts per region, see ReferenceDataCacheService; counting costs every session a little
+            properties.put(AvailableSettings.GENERATE_STATISTICS, statistics);
+        };
+    }
+}
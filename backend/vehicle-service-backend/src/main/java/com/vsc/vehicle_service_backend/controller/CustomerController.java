@@ -1,11 +1,16 @@
 package com.vsc.vehicle_service_backend.controller;
 
 
+import com.vsc.vehicle_service_backend.dto.CustomerSummaryView;
 import com.vsc.vehicle_service_backend.entity.Customer;
 import com.vsc.vehicle_service_backend.service.CustomerService;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/customers")
@@ -34,6 +39,44 @@ public class CustomerController {
         return "Customer deleted successfully";
     }
 
+    @GetMapping("/page")
+    public Map<String, Object> getCustomersPage(@RequestParam(defaultValue = "0") int page,
+                                                @RequestParam(defaultValue = "20") int size,
+                                                @RequestParam(defaultValue = "id") String sortBy,
+                                                @RequestParam(defaultValue = "asc") String direction) {
+        Page<CustomerSummaryView> customerPage = customerService.getCustomersPage(page, size, sortBy, direction);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("content", customerPage.getContent());
+        response.put("currentPage", customerPage.getNumber());
+        response.put("totalItems", customerPage.getTotalElements());
+        response.put("totalPages", customerPage.getTotalPages());
+        response.put("pageSize", customerPage.getSize());
+        return response;
+    }
+
+    // Keyset pagination: pass the returned nextCursor as afterId to get the following page
+    @GetMapping("/scroll")
+    public Map<String, Object> scrollCustomers(@RequestParam(required = false) Long afterId,
+                                               @RequestParam(defaultValue = "50") int size) {
+        Slice<CustomerSummaryView> slice = customerService.getCustomersAfter(afterId, size);
+        List<CustomerSummaryView> content = slice.getContent();
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("content", content);
+        response.put("pageSize", slice.getSize());
+        response.put("hasMore", slice.hasNext());
+        response.put("nextCursor", slice.hasNext() ? content.get(content.size() - 1).getId() : null);
+        return response;
+    }
+
+    // Front desk check-in: phone number ending (3+ digits) or name, typos tolerated
+    @GetMapping("/lookup")
+    public List<Customer> lookupCustomers(@RequestParam String q,
+                                          @RequestParam(defaultValue = "10") int limit) {
+        return customerService.lookupCustomers(q, Math.min(Math.max(1, limit), 50));
+    }
+
     @GetMapping("/{id}")
     public Customer getCustomer(@PathVariable Long id) {
         return customerService.getCustomerById(id);
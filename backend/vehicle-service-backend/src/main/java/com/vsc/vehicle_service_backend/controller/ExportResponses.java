@@ -0,0 +1,50 @@
+package com.vsc.vehicle_service_backend.controller;
+
+import com.vsc.vehicle_service_backend.service.DataExportService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Builds the download response for the streaming exports. An export can run far longer than
+ * an ordinary async request, so it gets its own timeout on this request only; the default
+ * async timeout still applies everywhere else.
+ */
+@Component
+class ExportResponses {
+
+    private final long timeoutMs;
+
+    ExportResponses(@Value("${app.export.timeout-ms:1800000}") long timeoutMs) {
+        this.timeoutMs = timeoutMs;
+    }
+
+    ResponseEntity<StreamingResponseBody> stream(HttpServletRequest request, DataExportService.Format format,
+                                                 String fileName, StreamingResponseBody body) {
+        // Runs just before the body's async processing starts, and only for this request
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(ExportResponses.class,
+                new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void beforeConcurrentHandling(NativeWebRequest webRequest, Callable<T> task) {
+                        if (webRequest instanceof AsyncWebRequest asyncWebRequest) {
+                            asyncWebRequest.setTimeout(timeoutMs);
+                        }
+                    }
+                });
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + fileName + "." + format.getExtension() + "\"")
+                .body(body);
+    }
+}
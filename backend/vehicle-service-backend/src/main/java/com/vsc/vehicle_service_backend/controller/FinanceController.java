@@ -0,0 +1,80 @@
+package com.vsc.vehicle_service_backend.controller;
+
+import com.vsc.vehicle_service_backend.entity.FinanceTransaction;
+import com.vsc.vehicle_service_backend.service.FinanceService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/v1/finance")
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:3001"})
+public class FinanceController {
+
+    @Autowired
+    private FinanceService financeService;
+
+    // Dates default to the current month up to today
+    @GetMapping("/transactions")
+    public ResponseEntity<List<FinanceTransaction>> getTransactions(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        return ResponseEntity.ok(financeService.getTransactions(startOrDefault(startDate), endOrDefault(endDate)));
+    }
+
+    @GetMapping("/transactions/{id}")
+    public ResponseEntity<FinanceTransaction> getTransactionById(@PathVariable Long id) {
+        return ResponseEntity.ok(financeService.getTransactionById(id));
+    }
+
+    @PostMapping("/transactions")
+    public ResponseEntity<FinanceTransaction> postTransaction(@RequestBody FinanceTransaction transaction) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(financeService.postTransaction(transaction));
+    }
+
+    @DeleteMapping("/transactions/{id}")
+    public ResponseEntity<Void> deleteTransaction(@PathVariable Long id) {
+        financeService.deleteTransaction(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/profit-and-loss")
+    public ResponseEntity<Map<String, Object>> getProfitAndLoss(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        return ResponseEntity.ok(financeService.getProfitAndLoss(startOrDefault(startDate), endOrDefault(endDate)));
+    }
+
+    @GetMapping("/cash-flow")
+    public ResponseEntity<List<Map<String, Object>>> getDailyCashFlow(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        return ResponseEntity.ok(financeService.getDailyCashFlow(startOrDefault(startDate), endOrDefault(endDate)));
+    }
+
+    @GetMapping("/monthly-summary")
+    public ResponseEntity<List<Map<String, Object>>> getMonthlySummary(@RequestParam(defaultValue = "12") int months) {
+        YearMonth to = YearMonth.now();
+        return ResponseEntity.ok(financeService.getMonthlySummary(to.minusMonths(Math.max(1, months) - 1L), to));
+    }
+
+    @PostMapping("/rollups/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildRollups() {
+        return ResponseEntity.ok(financeService.rebuildRollups());
+    }
+
+    private LocalDate startOrDefault(LocalDate startDate) {
+        return startDate != null ? startDate : LocalDate.now().withDayOfMonth(1);
+    }
+
+    private LocalDate endOrDefault(LocalDate endDate) {
+        return endDate != null ? endDate : LocalDate.now();
+    }
+}
@@ -3,10 +3,12 @@ package com.vsc.vehicle_service_backend.controller;
 import com.vsc.vehicle_service_backend.repository.UserRepository;
 import com.vsc.vehicle_service_backend.security.JwtUtil;
 import com.vsc.vehicle_service_backend.service.AuthService;
+import com.vsc.vehicle_service_backend.service.ReferenceDataCacheService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -29,6 +31,9 @@ public class HealthController {
     @Autowired(required = false)
     private PasswordEncoder passwordEncoder;
 
+    @Autowired(required = false)
+    private ReferenceDataCacheService referenceDataCacheService;
+
     @GetMapping("/check")
     public ResponseEntity<Map<String, Object>> healthCheck() {
         Map<String, Object> response = new HashMap<>();
@@ -53,4 +58,16 @@ public class HealthController {
     public ResponseEntity<String> simple() {
         return ResponseEntity.ok("Server is running!");
     }
-}
\ No newline at end of file
+
+    // Second-level cache of categories, suppliers and the service catalog
+    @GetMapping("/reference-cache")
+    public ResponseEntity<Map<String, Object>> referenceCacheStats() {
+        return ResponseEntity.ok(referenceDataCacheService.getStats());
+    }
+
+    @PostMapping("/reference-cache/evict")
+    public ResponseEntity<Map<String, Object>> evictReferenceCache() {
+        referenceDataCacheService.evictAll();
+        return ResponseEntity.ok(referenceDataCacheService.getStats());
+    }
+}
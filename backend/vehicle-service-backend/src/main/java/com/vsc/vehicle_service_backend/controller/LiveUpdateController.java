@@ -0,0 +1,31 @@
+package com.vsc.vehicle_service_backend.controller;
+
+import com.vsc.vehicle_service_backend.service.LiveUpdateService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/v1/live-updates")
+@RequiredArgsConstructor
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:3001"})
+public class LiveUpdateController {
+
+    private final LiveUpdateService liveUpdateService;
+
+    // One stream per screen, e.g. ?topics=service-records,stock; a "resync" event means reload the list once
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@RequestParam(required = false) Set<String> topics) {
+        return liveUpdateService.subscribe(topics);
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> getStats() {
+        return ResponseEntity.ok(liveUpdateService.getStats());
+    }
+}
@@ -1,11 +1,16 @@
 package com.vsc.vehicle_service_backend.controller;
 
 import com.vsc.vehicle_service_backend.entity.ServiceRecord;
+import com.vsc.vehicle_service_backend.service.DataExportService;
 import com.vsc.vehicle_service_backend.service.ServiceRecordService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -18,6 +23,12 @@ public class ServiceRecordController {
     @Autowired
     private ServiceRecordService service;
 
+    @Autowired
+    private DataExportService dataExportService;
+
+    @Autowired
+    private ExportResponses exportResponses;
+
     @GetMapping
     public ResponseEntity<List<ServiceRecord>> getAllServiceRecords() {
         List<ServiceRecord> records = service.getAllServiceRecords();
@@ -108,4 +119,16 @@ public class ServiceRecordController {
 
     // Remove the test endpoint for now or add proper imports
     // We'll create a separate test controller if needed
-}
\ No newline at end of file
+
+    // Streams every matching row; format is csv or ndjson
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportServiceRecords(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            HttpServletRequest request) {
+        DataExportService.Format exportFormat = DataExportService.Format.fromParam(format);
+        StreamingResponseBody body = out -> dataExportService.exportServiceRecords(exportFormat, from, to, out);
+        return exportResponses.stream(request, exportFormat, "service-records", body);
+    }
+}
@@ -1,16 +1,26 @@
 package com.vsc.vehicle_service_backend.controller;
 
+import com.vsc.vehicle_service_backend.dto.SmsCampaignRequest;
 import com.vsc.vehicle_service_backend.dto.SmsRequest;
 import com.vsc.vehicle_service_backend.entity.SmsLog;
+import com.vsc.vehicle_service_backend.service.DataExportService;
+import com.vsc.vehicle_service_backend.service.SmsCampaignService;
+import com.vsc.vehicle_service_backend.service.SmsLogSearchService;
+import com.vsc.vehicle_service_backend.service.SmsOutboxService;
 import com.vsc.vehicle_service_backend.service.SmsService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -23,6 +33,21 @@ public class SmsLogController {
     @Autowired
     private SmsService smsService;
 
+    @Autowired
+    private SmsOutboxService smsOutboxService;
+
+    @Autowired
+    private SmsCampaignService smsCampaignService;
+
+    @Autowired
+    private SmsLogSearchService smsLogSearchService;
+
+    @Autowired
+    private DataExportService dataExportService;
+
+    @Autowired
+    private ExportResponses exportResponses;
+
     @GetMapping
     public ResponseEntity<List<SmsLog>> getAllSmsLogs() {
         List<SmsLog> logs = smsService.getAllSmsLogs();
@@ -50,6 +75,18 @@ public class SmsLogController {
         return ResponseEntity.ok(response);
     }
 
+    // Keyset pagination: pass the returned nextCursor to get the following page
+    @GetMapping("/search")
+    public ResponseEntity<Map<String, Object>> searchSmsLogs(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String phoneNumber,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Long customerId,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        return ResponseEntity.ok(smsLogSearchService.search(phoneNumber, status, customerId, cursor, size, includeTotal));
+    }
+
     @GetMapping("/customer/{customerId}")
     public ResponseEntity<List<SmsLog>> getSmsByCustomer(@PathVariable Long customerId) {
         List<SmsLog> logs = smsService.getSmsHistoryByCustomerId(customerId);
@@ -85,9 +122,43 @@ public class SmsLogController {
         return ResponseEntity.ok(stats);
     }
 
+    // Bulk SMS: runs in the background, poll the returned campaignId for progress
+    @PostMapping("/campaigns")
+    public ResponseEntity<Map<String, Object>> startCampaign(@RequestBody SmsCampaignRequest request) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(smsCampaignService.startCampaign(request));
+    }
+
+    @GetMapping("/campaigns")
+    public ResponseEntity<List<Map<String, Object>>> getCampaigns() {
+        return ResponseEntity.ok(smsCampaignService.getCampaigns());
+    }
+
+    @GetMapping("/campaigns/{campaignId}")
+    public ResponseEntity<Map<String, Object>> getCampaign(@PathVariable String campaignId) {
+        return ResponseEntity.ok(smsCampaignService.getCampaign(campaignId));
+    }
+
+    // Queue depth of the background completion SMS dispatcher
+    @GetMapping("/outbox/stats")
+    public ResponseEntity<Map<String, Object>> getOutboxStats() {
+        return ResponseEntity.ok(smsOutboxService.getOutboxStats());
+    }
+
     // Add a test endpoint
     @GetMapping("/test")
     public ResponseEntity<String> test() {
         return ResponseEntity.ok("SMS Log API is working!");
     }
-}
\ No newline at end of file
+
+    // Streams every matching row; format is csv or ndjson
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportSmsLogs(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            HttpServletRequest request) {
+        DataExportService.Format exportFormat = DataExportService.Format.fromParam(format);
+        StreamingResponseBody body = out -> dataExportService.exportSmsLogs(exportFormat, from, to, out);
+        return exportResponses.stream(request, exportFormat, "sms-logs", body);
+    }
+}
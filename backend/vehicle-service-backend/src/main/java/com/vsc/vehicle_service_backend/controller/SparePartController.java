@@ -2,14 +2,18 @@ package com.vsc.vehicle_service_backend.controller;
 
 import com.vsc.vehicle_service_backend.dto.SparePartRequest;
 import com.vsc.vehicle_service_backend.dto.SparePartResponse;
+import com.vsc.vehicle_service_backend.service.LowStockService;
 import com.vsc.vehicle_service_backend.service.SparePartService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import jakarta.validation.Valid;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/v1/spare-parts")
@@ -18,6 +22,7 @@ import java.util.List;
 public class SparePartController {
 
     private final SparePartService sparePartService;
+    private final LowStockService lowStockService;
 
     @GetMapping
     public ResponseEntity<List<SparePartResponse>> getAllSpareParts() {
@@ -57,10 +62,23 @@ public class SparePartController {
         return ResponseEntity.ok(sparePartService.getSparePartsBySupplier(supplierId));
     }
 
+    // Ranked type-ahead search; the total number of matches is in the X-Total-Count header
     @GetMapping("/search")
-    public ResponseEntity<List<SparePartResponse>> searchSpareParts(@RequestParam String q) {
-        // TODO: Implement search logic in service
-        return ResponseEntity.ok(sparePartService.getAllSpareParts());
+    public ResponseEntity<List<SparePartResponse>> searchSpareParts(
+            @RequestParam(defaultValue = "") String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        Page<SparePartResponse> results = sparePartService.searchSpareParts(q,
+                PageRequest.of(Math.max(0, page), Math.min(Math.max(1, size), 500)));
+        return ResponseEntity.ok()
+                .header("X-Total-Count", String.valueOf(results.getTotalElements()))
+                .body(results.getContent());
+    }
+
+    // Parts at or below their minimum quantity, served from memory
+    @GetMapping("/low-stock")
+    public ResponseEntity<List<Map<String, Object>>> getLowStockParts() {
+        return ResponseEntity.ok(lowStockService.getLowStockParts());
     }
 
     // REMOVED THE BROKEN METHODS - these were causing the errors
@@ -1,7 +1,9 @@
 package com.vsc.vehicle_service_backend.controller;
 
+import com.vsc.vehicle_service_backend.dto.GoodsReceiptRequest;
 import com.vsc.vehicle_service_backend.dto.SparePartIncomeRequest;
 import com.vsc.vehicle_service_backend.dto.SparePartIncomeResponse;
+import com.vsc.vehicle_service_backend.service.ReorderService;
 import com.vsc.vehicle_service_backend.service.SparePartIncomeService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -19,6 +21,9 @@ public class SparePartIncomeController {
     @Autowired
     private SparePartIncomeService incomeService;
 
+    @Autowired
+    private ReorderService reorderService;
+
     @GetMapping
     public ResponseEntity<List<SparePartIncomeResponse>> getAllIncomes() {
         List<SparePartIncomeResponse> incomes = incomeService.getAllIncomes();
@@ -49,6 +54,18 @@ public class SparePartIncomeController {
         return ResponseEntity.ok(receivedIncome);
     }
 
+    // Whole truck delivery in one call: several orders, partial quantities per line
+    @PostMapping("/receipts")
+    public ResponseEntity<List<SparePartIncomeResponse>> receiveGoods(@RequestBody GoodsReceiptRequest request) {
+        return ResponseEntity.ok(incomeService.receiveGoods(request));
+    }
+
+    // Run the reorder engine now instead of waiting for the schedule; returns the drafts it created
+    @PostMapping("/reorder-drafts")
+    public ResponseEntity<List<SparePartIncomeResponse>> createReorderDrafts() {
+        return ResponseEntity.ok(reorderService.runReorder());
+    }
+
     @PutMapping("/{id}/cancel")
     public ResponseEntity<SparePartIncomeResponse> cancelIncome(@PathVariable Long id) {
         SparePartIncomeResponse cancelledIncome = incomeService.cancelIncome(id);
@@ -62,8 +79,9 @@ public class SparePartIncomeController {
     }
 
     @GetMapping("/chart-data/{categoryId}")
-    public ResponseEntity<Map<String, Object>> getChartData(@PathVariable Long categoryId) {
-        Map<String, Object> chartData = incomeService.getChartDataByCategory(categoryId);
+    public ResponseEntity<Map<String, Object>> getChartData(@PathVariable Long categoryId,
+                                                            @RequestParam(defaultValue = "6") int months) {
+        Map<String, Object> chartData = incomeService.getChartDataByCategory(categoryId, months);
         return ResponseEntity.ok(chartData);
     }
 }
\ No newline at end of file
@@ -1,13 +1,19 @@
 package com.vsc.vehicle_service_backend.controller;
 
+import com.vsc.vehicle_service_backend.dto.MultiPartUsageRequest;
 import com.vsc.vehicle_service_backend.dto.SparePartUsageRequest;
 import com.vsc.vehicle_service_backend.dto.SparePartUsageResponse;
+import com.vsc.vehicle_service_backend.service.DataExportService;
 import com.vsc.vehicle_service_backend.service.SparePartUsageService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -18,6 +24,12 @@ public class SparePartUsageController {
     @Autowired
     private SparePartUsageService usageService;
 
+    @Autowired
+    private DataExportService dataExportService;
+
+    @Autowired
+    private ExportResponses exportResponses;
+
     @GetMapping
     public ResponseEntity<List<SparePartUsageResponse>> getAllUsages() {
         return ResponseEntity.ok(usageService.getAllUsages());
@@ -33,6 +45,12 @@ public class SparePartUsageController {
         return ResponseEntity.ok(usageService.createUsage(request));
     }
 
+    // All parts of a job in one call: one usage number, one transaction, all or nothing on stock
+    @PostMapping("/multi-part")
+    public ResponseEntity<SparePartUsageResponse> recordMultiPartUsage(@Valid @RequestBody MultiPartUsageRequest request) {
+        return ResponseEntity.ok(usageService.recordMultiPartUsage(request));
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteUsage(@PathVariable Long id) {
         usageService.deleteUsage(id);
@@ -45,7 +63,27 @@ public class SparePartUsageController {
     }
 
     @GetMapping("/stock-flow/{categoryId}")
-    public ResponseEntity<?> getStockFlowData(@PathVariable Long categoryId) {
-        return ResponseEntity.ok(usageService.getStockFlowData(categoryId));
+    public ResponseEntity<?> getStockFlowData(
+            @PathVariable Long categoryId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        if (startDate == null && endDate == null) {
+            return ResponseEntity.ok(usageService.getStockFlowData(categoryId));
+        }
+        LocalDate end = endDate != null ? endDate : LocalDate.now();
+        LocalDate start = startDate != null ? startDate : end.minusMonths(3);
+        return ResponseEntity.ok(usageService.getStockFlowData(categoryId, start, end));
+    }
+
+    // Streams every matching row; format is csv or ndjson
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportUsages(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            HttpServletRequest request) {
+        DataExportService.Format exportFormat = DataExportService.Format.fromParam(format);
+        StreamingResponseBody body = out -> dataExportService.exportUsages(exportFormat, from, to, out);
+        return exportResponses.stream(request, exportFormat, "spare-part-usages", body);
     }
-}
\ No newline at end of file
+}
@@ -4,10 +4,14 @@ import com.vsc.vehicle_service_backend.dto.VehicleRequest;
 import com.vsc.vehicle_service_backend.dto.VehicleResponse;
 import com.vsc.vehicle_service_backend.service.VehicleService;
 import jakarta.validation.Valid;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/vehicles")
@@ -30,6 +34,44 @@ public class VehicleController {
         return ResponseEntity.ok(vehicleService.getAllVehicles());
     }
 
+    @GetMapping("/page")
+    public ResponseEntity<Map<String, Object>> getPage(@RequestParam(defaultValue = "0") int page,
+                                                       @RequestParam(defaultValue = "20") int size,
+                                                       @RequestParam(defaultValue = "id") String sortBy,
+                                                       @RequestParam(defaultValue = "asc") String direction) {
+        Page<VehicleResponse> vehiclePage = vehicleService.getVehiclesPage(page, size, sortBy, direction);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("content", vehiclePage.getContent());
+        response.put("currentPage", vehiclePage.getNumber());
+        response.put("totalItems", vehiclePage.getTotalElements());
+        response.put("totalPages", vehiclePage.getTotalPages());
+        response.put("pageSize", vehiclePage.getSize());
+        return ResponseEntity.ok(response);
+    }
+
+    // Keyset pagination: pass the returned nextCursor as afterId to get the following page
+    @GetMapping("/scroll")
+    public ResponseEntity<Map<String, Object>> scroll(@RequestParam(required = false) Long afterId,
+                                                      @RequestParam(defaultValue = "50") int size) {
+        Slice<VehicleResponse> slice = vehicleService.getVehiclesAfter(afterId, size);
+        List<VehicleResponse> content = slice.getContent();
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("content", content);
+        response.put("pageSize", slice.getSize());
+        response.put("hasMore", slice.hasNext());
+        response.put("nextCursor", slice.hasNext() ? content.get(content.size() - 1).getId() : null);
+        return ResponseEntity.ok(response);
+    }
+
+    // Front desk check-in: registration number fragment, spaces/dashes/case ignored
+    @GetMapping("/lookup")
+    public ResponseEntity<List<VehicleResponse>> lookup(@RequestParam String q,
+                                                        @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(vehicleService.lookupVehicles(q, Math.min(Math.max(1, limit), 50)));
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<VehicleResponse> getById(@PathVariable Long id) {
         return ResponseEntity.ok(vehicleService.getVehicleById(id));
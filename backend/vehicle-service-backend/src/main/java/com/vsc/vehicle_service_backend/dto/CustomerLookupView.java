@@ -0,0 +1,8 @@
+package com.vsc.vehicle_service_backend.dto;
+
+// Just what the front-desk lookup index needs from a customer
+public interface CustomerLookupView {
+    Long getId();
+    String getName();
+    String getPhone();
+}
@@ -0,0 +1,10 @@
+package com.vsc.vehicle_service_backend.dto;
+
+// Customer list row, read without loading managed Customer entities
+public interface CustomerSummaryView {
+    Long getId();
+    String getName();
+    String getEmail();
+    String getPhone();
+    String getAddress();
+}
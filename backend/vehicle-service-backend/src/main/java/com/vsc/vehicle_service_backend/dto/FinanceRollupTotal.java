@@ -0,0 +1,13 @@
+package com.vsc.vehicle_service_backend.dto;
+
+import com.vsc.vehicle_service_backend.entity.FinanceTransaction;
+
+import java.math.BigDecimal;
+
+// Rollup totals summed over a date range, one row per type and category
+public interface FinanceRollupTotal {
+    FinanceTransaction.TransactionType getTransactionType();
+    FinanceTransaction.TransactionCategory getCategory();
+    BigDecimal getTotalAmount();
+    Long getTransactionCount();
+}
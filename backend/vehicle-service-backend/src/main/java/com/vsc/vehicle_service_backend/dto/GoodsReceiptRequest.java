@@ -0,0 +1,35 @@
+package com.vsc.vehicle_service_backend.dto;
+
+import java.util.List;
+
+// One delivery: the orders it covers and how much of each line arrived
+public class GoodsReceiptRequest {
+    private List<Order> orders;
+
+    public List<Order> getOrders() { return orders; }
+    public void setOrders(List<Order> orders) { this.orders = orders; }
+
+    public static class Order {
+        private Long incomeId;
+        // Leave empty to receive everything still outstanding on the order
+        private List<Line> lines;
+
+        public Long getIncomeId() { return incomeId; }
+        public void setIncomeId(Long incomeId) { this.incomeId = incomeId; }
+
+        public List<Line> getLines() { return lines; }
+        public void setLines(List<Line> lines) { this.lines = lines; }
+    }
+
+    public static class Line {
+        private Long itemId;
+        // Quantity delivered now, added to what was already received
+        private Integer quantityReceived;
+
+        public Long getItemId() { return itemId; }
+        public void setItemId(Long itemId) { this.itemId = itemId; }
+
+        public Integer getQuantityReceived() { return quantityReceived; }
+        public void setQuantityReceived(Integer quantityReceived) { this.quantityReceived = quantityReceived; }
+    }
+}
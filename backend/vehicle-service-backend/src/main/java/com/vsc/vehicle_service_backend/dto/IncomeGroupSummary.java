@@ -0,0 +1,10 @@
+package com.vsc.vehicle_service_backend.dto;
+
+import java.math.BigDecimal;
+
+// Projection of received stock grouped by a label such as brand or supplier name
+public interface IncomeGroupSummary {
+    String getLabel();
+    Long getQuantityReceived();
+    BigDecimal getTotalSpend();
+}
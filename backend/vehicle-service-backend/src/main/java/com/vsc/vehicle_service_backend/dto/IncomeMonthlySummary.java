@@ -0,0 +1,11 @@
+package com.vsc.vehicle_service_backend.dto;
+
+import java.math.BigDecimal;
+
+// Projection of one month of received stock, aggregated in the database
+public interface IncomeMonthlySummary {
+    Integer getIncomeYear();
+    Integer getIncomeMonth();
+    Long getQuantityReceived();
+    BigDecimal getTotalSpend();
+}
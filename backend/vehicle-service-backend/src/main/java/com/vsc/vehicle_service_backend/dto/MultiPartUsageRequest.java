@@ -0,0 +1,35 @@
+package com.vsc.vehicle_service_backend.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+import lombok.Data;
+
+import java.util.List;
+
+// One job's parts in one call: a single usage number, transaction and stock update for every line
+@Data
+public class MultiPartUsageRequest {
+    @NotEmpty(message = "At least one part is required")
+    @Size(max = 100, message = "A usage can have at most 100 lines")
+    @Valid
+    private List<Line> items;
+
+    private Long serviceRecordId;
+    private Long vehicleId;
+    private String technicianName;
+    private String notes;
+
+    @Data
+    public static class Line {
+        @NotNull(message = "Spare part ID is required")
+        private Long sparePartId;
+
+        @NotNull(message = "Quantity used is required")
+        @Min(value = 1, message = "Quantity must be at least 1")
+        private Integer quantityUsed;
+
+        @NotNull(message = "Unit price is required")
+        @Positive(message = "Unit price must be positive")
+        private Double unitPrice;
+    }
+}
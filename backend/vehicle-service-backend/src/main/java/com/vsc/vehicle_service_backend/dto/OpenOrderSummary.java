@@ -0,0 +1,7 @@
+package com.vsc.vehicle_service_backend.dto;
+
+// Projection of how many units of one spare part are ordered but not yet received
+public interface OpenOrderSummary {
+    Long getSparePartId();
+    Long getQuantityOutstanding();
+}
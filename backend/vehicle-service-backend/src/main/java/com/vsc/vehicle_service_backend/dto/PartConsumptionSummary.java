@@ -0,0 +1,7 @@
+package com.vsc.vehicle_service_backend.dto;
+
+// Projection of how many units of one spare part were used in a window
+public interface PartConsumptionSummary {
+    Long getSparePartId();
+    Long getUnitsUsed();
+}
@@ -0,0 +1,9 @@
+package com.vsc.vehicle_service_backend.dto;
+
+import java.math.BigDecimal;
+
+// Projection of the unit price a spare part was last bought at
+public interface PurchasePriceView {
+    Long getSparePartId();
+    BigDecimal getUnitPrice();
+}
@@ -0,0 +1,11 @@
+package com.vsc.vehicle_service_backend.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Projection of one delivery of a part: when its order was placed and when the stock arrived
+public interface ReceiptLeadTimeView {
+    Long getSparePartId();
+    LocalDate getOrderDate();
+    LocalDateTime getReceivedAt();
+}
@@ -0,0 +1,10 @@
+package com.vsc.vehicle_service_backend.dto;
+
+// Projection with just the columns the reorder engine needs to size and route a suggestion
+public interface ReorderCandidateView {
+    Long getId();
+    Integer getQuantity();
+    Integer getMinQuantity();
+    Double getPrice();
+    Long getSupplierId();
+}
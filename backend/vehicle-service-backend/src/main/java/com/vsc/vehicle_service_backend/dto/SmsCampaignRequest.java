@@ -0,0 +1,37 @@
+package com.vsc.vehicle_service_backend.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Bulk SMS request. Recipients are either an explicit customer id list, every customer, or
+ * customers with a service due in [serviceDueFrom, serviceDueTo]. The template may use the
+ * placeholders {name}, {phone} and {email}.
+ */
+public class SmsCampaignRequest {
+    private String name;
+    private String messageTemplate;
+    private List<Long> customerIds;
+    private Boolean allCustomers;
+    private LocalDate serviceDueFrom;
+    private LocalDate serviceDueTo;
+
+    // Getters and Setters
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public String getMessageTemplate() { return messageTemplate; }
+    public void setMessageTemplate(String messageTemplate) { this.messageTemplate = messageTemplate; }
+
+    public List<Long> getCustomerIds() { return customerIds; }
+    public void setCustomerIds(List<Long> customerIds) { this.customerIds = customerIds; }
+
+    public Boolean getAllCustomers() { return allCustomers; }
+    public void setAllCustomers(Boolean allCustomers) { this.allCustomers = allCustomers; }
+
+    public LocalDate getServiceDueFrom() { return serviceDueFrom; }
+    public void setServiceDueFrom(LocalDate serviceDueFrom) { this.serviceDueFrom = serviceDueFrom; }
+
+    public LocalDate getServiceDueTo() { return serviceDueTo; }
+    public void setServiceDueTo(LocalDate serviceDueTo) { this.serviceDueTo = serviceDueTo; }
+}
@@ -4,6 +4,7 @@ package com.vsc.vehicle_service_backend.dto;
 import lombok.Data;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 public class SparePartUsageResponse {
@@ -22,4 +23,16 @@ public class SparePartUsageResponse {
     private String notes;
     private Double totalCost;
     private LocalDateTime createdAt;
+    private List<Item> items; // every line; the single-part fields above describe the first one
+
+    @Data
+    public static class Item {
+        private Long id;
+        private Long sparePartId;
+        private String sparePartCode;
+        private String sparePartName;
+        private Integer quantityUsed;
+        private Double unitPrice;
+        private Double totalCost;
+    }
 }
\ No newline at end of file
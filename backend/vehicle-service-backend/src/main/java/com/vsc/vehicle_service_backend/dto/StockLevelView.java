@@ -0,0 +1,11 @@
+package com.vsc.vehicle_service_backend.dto;
+
+// Projection with just the columns needed to classify a part's stock level and value, and to name it
+public interface StockLevelView {
+    Long getId();
+    Integer getQuantity();
+    Integer getMinQuantity();
+    Double getPrice();
+    String getPartCode();
+    String getPartName();
+}
@@ -0,0 +1,11 @@
+package com.vsc.vehicle_service_backend.dto;
+
+import java.math.BigDecimal;
+
+// Projection of one month of spare part usage, aggregated in the database
+public interface UsageMonthlySummary {
+    Integer getUsageYear();
+    Integer getUsageMonth();
+    Long getUsageCount();
+    BigDecimal getTotalCost();
+}
@@ -0,0 +1,7 @@
+package com.vsc.vehicle_service_backend.dto;
+
+// Just what the front-desk lookup index needs from a vehicle
+public interface VehicleLookupView {
+    Long getId();
+    String getVehicleNumber();
+}
@@ -1,8 +1,12 @@
 package com.vsc.vehicle_service_backend.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class VehicleResponse {
     private Long id;
     private String vehicleId;
@@ -0,0 +1,77 @@
+package com.vsc.vehicle_service_backend.entity;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Running totals of finance_transaction per day, type and category. Maintained by
+ * FinanceService in the same transaction that posts or removes a transaction.
+ */
+@Entity
+@Table(name = "finance_daily_rollup", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_finance_daily_rollup",
+                columnNames = {"rollup_date", "transaction_type", "category"})
+})
+public class FinanceDailyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "rollup_date", nullable = false)
+    private LocalDate rollupDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "transaction_type", nullable = false)
+    private FinanceTransaction.TransactionType transactionType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "category", nullable = false)
+    private FinanceTransaction.TransactionCategory category;
+
+    @Column(name = "total_amount", nullable = false, precision = 14, scale = 2)
+    private BigDecimal totalAmount = BigDecimal.ZERO;
+
+    @Column(name = "transaction_count", nullable = false)
+    private Long transactionCount = 0L;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public FinanceDailyRollup() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public FinanceDailyRollup(LocalDate rollupDate, FinanceTransaction.TransactionType transactionType,
+                              FinanceTransaction.TransactionCategory category) {
+        this();
+        this.rollupDate = rollupDate;
+        this.transactionType = transactionType;
+        this.category = category;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public LocalDate getRollupDate() { return rollupDate; }
+    public void setRollupDate(LocalDate rollupDate) { this.rollupDate = rollupDate; }
+
+    public FinanceTransaction.TransactionType getTransactionType() { return transactionType; }
+    public void setTransactionType(FinanceTransaction.TransactionType transactionType) { this.transactionType = transactionType; }
+
+    public FinanceTransaction.TransactionCategory getCategory() { return category; }
+    public void setCategory(FinanceTransaction.TransactionCategory category) { this.category = category; }
+
+    public BigDecimal getTotalAmount() { return totalAmount; }
+    public void setTotalAmount(BigDecimal totalAmount) { this.totalAmount = totalAmount; }
+
+    public Long getTransactionCount() { return transactionCount; }
+    public void setTransactionCount(Long transactionCount) { this.transactionCount = transactionCount; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,84 @@
+package com.vsc.vehicle_service_backend.entity;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Running totals of finance_transaction per calendar month, type and category.
+ * Maintained together with FinanceDailyRollup.
+ */
+@Entity
+@Table(name = "finance_monthly_rollup", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_finance_monthly_rollup",
+                columnNames = {"rollup_year", "rollup_month", "transaction_type", "category"})
+})
+public class FinanceMonthlyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "rollup_year", nullable = false)
+    private Integer rollupYear;
+
+    @Column(name = "rollup_month", nullable = false)
+    private Integer rollupMonth;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "transaction_type", nullable = false)
+    private FinanceTransaction.TransactionType transactionType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "category", nullable = false)
+    private FinanceTransaction.TransactionCategory category;
+
+    @Column(name = "total_amount", nullable = false, precision = 14, scale = 2)
+    private BigDecimal totalAmount = BigDecimal.ZERO;
+
+    @Column(name = "transaction_count", nullable = false)
+    private Long transactionCount = 0L;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public FinanceMonthlyRollup() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public FinanceMonthlyRollup(Integer rollupYear, Integer rollupMonth,
+                                FinanceTransaction.TransactionType transactionType,
+                                FinanceTransaction.TransactionCategory category) {
+        this();
+        this.rollupYear = rollupYear;
+        this.rollupMonth = rollupMonth;
+        this.transactionType = transactionType;
+        this.category = category;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Integer getRollupYear() { return rollupYear; }
+    public void setRollupYear(Integer rollupYear) { this.rollupYear = rollupYear; }
+
+    public Integer getRollupMonth() { return rollupMonth; }
+    public void setRollupMonth(Integer rollupMonth) { this.rollupMonth = rollupMonth; }
+
+    public FinanceTransaction.TransactionType getTransactionType() { return transactionType; }
+    public void setTransactionType(FinanceTransaction.TransactionType transactionType) { this.transactionType = transactionType; }
+
+    public FinanceTransaction.TransactionCategory getCategory() { return category; }
+    public void setCategory(FinanceTransaction.TransactionCategory category) { this.category = category; }
+
+    public BigDecimal getTotalAmount() { return totalAmount; }
+    public void setTotalAmount(BigDecimal totalAmount) { this.totalAmount = totalAmount; }
+
+    public Long getTransactionCount() { return transactionCount; }
+    public void setTransactionCount(Long transactionCount) { this.transactionCount = transactionCount; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,114 @@
+package com.vsc.vehicle_service_backend.entity;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Finance posting waiting to be written to finance_transaction. Inserted in the same
+ * transaction as the business change that earns or spends the money, so it commits or rolls
+ * back with it, and deleted once the posting is written. Postings that cannot be written
+ * stay behind as FAILED with the error.
+ */
+@Entity
+@Table(name = "finance_posting_outbox", indexes = {
+        @Index(name = "idx_finance_posting_outbox_status", columnList = "status, id")
+})
+public class FinancePostingOutbox {
+
+    public enum OutboxStatus {
+        PENDING, FAILED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "reference_type")
+    private String referenceType;
+
+    @Column(name = "reference_id")
+    private Long referenceId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "transaction_type", nullable = false)
+    private FinanceTransaction.TransactionType transactionType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "category", nullable = false)
+    private FinanceTransaction.TransactionCategory category;
+
+    @Column(name = "amount", nullable = false, precision = 12, scale = 2)
+    private BigDecimal amount;
+
+    @Column(name = "transaction_date", nullable = false)
+    private LocalDate transactionDate;
+
+    @Column(name = "description")
+    private String description;
+
+    @Column(name = "related_customer_id")
+    private Long relatedCustomerId;
+
+    @Column(name = "related_vehicle_id")
+    private Long relatedVehicleId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private OutboxStatus status = OutboxStatus.PENDING;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    private String lastError;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    public FinancePostingOutbox() {
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getReferenceType() { return referenceType; }
+    public void setReferenceType(String referenceType) { this.referenceType = referenceType; }
+
+    public Long getReferenceId() { return referenceId; }
+    public void setReferenceId(Long referenceId) { this.referenceId = referenceId; }
+
+    public FinanceTransaction.TransactionType getTransactionType() { return transactionType; }
+    public void setTransactionType(FinanceTransaction.TransactionType transactionType) { this.transactionType = transactionType; }
+
+    public FinanceTransaction.TransactionCategory getCategory() { return category; }
+    public void setCategory(FinanceTransaction.TransactionCategory category) { this.category = category; }
+
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+
+    public LocalDate getTransactionDate() { return transactionDate; }
+    public void setTransactionDate(LocalDate transactionDate) { this.transactionDate = transactionDate; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+
+    public Long getRelatedCustomerId() { return relatedCustomerId; }
+    public void setRelatedCustomerId(Long relatedCustomerId) { this.relatedCustomerId = relatedCustomerId; }
+
+    public Long getRelatedVehicleId() { return relatedVehicleId; }
+    public void setRelatedVehicleId(Long relatedVehicleId) { this.relatedVehicleId = relatedVehicleId; }
+
+    public OutboxStatus getStatus() { return status; }
+    public void setStatus(OutboxStatus status) { this.status = status; }
+
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
@@ -6,7 +6,10 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "finance_transaction")
+@Table(name = "finance_transaction", indexes = {
+        @Index(name = "idx_finance_transaction_date", columnList = "transaction_date"),
+        @Index(name = "idx_finance_transaction_reference", columnList = "reference_type, reference_id")
+})
 public class FinanceTransaction {
 
     @Id
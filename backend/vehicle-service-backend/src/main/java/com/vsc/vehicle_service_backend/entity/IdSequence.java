@@ -0,0 +1,41 @@
+package com.vsc.vehicle_service_backend.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "id_sequence")
+public class IdSequence {
+
+    @Id
+    @Column(name = "sequence_name", nullable = false, length = 64)
+    private String sequenceName;   // SR, PART, vh, sv
+
+    // First value that has not been handed out to any application instance yet
+    @Column(name = "next_value", nullable = false)
+    private Long nextValue;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public IdSequence() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public IdSequence(String sequenceName, Long nextValue) {
+        this();
+        this.sequenceName = sequenceName;
+        this.nextValue = nextValue;
+    }
+
+    // Getters and Setters
+    public String getSequenceName() { return sequenceName; }
+    public void setSequenceName(String sequenceName) { this.sequenceName = sequenceName; }
+
+    public Long getNextValue() { return nextValue; }
+    public void setNextValue(Long nextValue) { this.nextValue = nextValue; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -1,10 +1,17 @@
 package com.vsc.vehicle_service_backend.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.vsc.vehicle_service_backend.util.PhoneNumberUtil;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "sms_log")
+@Table(name = "sms_log", indexes = {
+        @Index(name = "idx_sms_log_sent", columnList = "sent_at, id"),
+        @Index(name = "idx_sms_log_customer_sent", columnList = "customer_id, sent_at"),
+        @Index(name = "idx_sms_log_status_sent", columnList = "status, sent_at"),
+        @Index(name = "idx_sms_log_phone_reversed", columnList = "phone_reversed")
+})
 public class SmsLog {
 
     @Id
@@ -14,6 +21,11 @@ public class SmsLog {
     @Column(name = "phone_number", nullable = false)
     private String phoneNumber;
 
+    // Digits of phoneNumber in reverse order, for suffix searches
+    @JsonIgnore
+    @Column(name = "phone_reversed", length = 32)
+    private String phoneReversed;
+
     @Column(columnDefinition = "TEXT")
     private String message;
 
@@ -50,6 +62,12 @@ public class SmsLog {
         this.updatedAt = LocalDateTime.now();
     }
 
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        phoneReversed = PhoneNumberUtil.indexedReversedDigits(phoneNumber);
+    }
+
     // Getters and Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -57,6 +75,9 @@ public class SmsLog {
     public String getPhoneNumber() { return phoneNumber; }
     public void setPhoneNumber(String phoneNumber) { this.phoneNumber = phoneNumber; }
 
+    public String getPhoneReversed() { return phoneReversed; }
+    public void setPhoneReversed(String phoneReversed) { this.phoneReversed = phoneReversed; }
+
     public String getMessage() { return message; }
     public void setMessage(String message) { this.message = message; }
 
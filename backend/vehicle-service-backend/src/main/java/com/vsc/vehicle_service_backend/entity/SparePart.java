@@ -1,9 +1,11 @@
 package com.vsc.vehicle_service_backend.entity;
 
+import com.vsc.vehicle_service_backend.event.InventoryEntityListener;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
+@EntityListeners(InventoryEntityListener.class)
 @Table(name = "spare_part")
 public class SparePart {
 
@@ -1,9 +1,16 @@
 package com.vsc.vehicle_service_backend.entity;
 
+import com.vsc.vehicle_service_backend.config.ReferenceDataCacheConfig;
+import com.vsc.vehicle_service_backend.event.InventoryEntityListener;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = ReferenceDataCacheConfig.CATEGORY_REGION)
+@EntityListeners(InventoryEntityListener.class)
 @Table(name = "spare_part_categories")
 public class SparePartCategory {
 
@@ -1,5 +1,6 @@
 package com.vsc.vehicle_service_backend.entity;
 
+import com.vsc.vehicle_service_backend.config.IdPoolSeeder;
 import com.vsc.vehicle_service_backend.entity.ItemStatus;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
@@ -9,8 +10,12 @@ import java.time.LocalDateTime;
 @Table(name = "spare_part_income_item")
 public class SparePartIncomeItem {
 
+    // Pooled ids (not IDENTITY) so the lines of one order are inserted as a JDBC batch
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "id_income_item")
+    @TableGenerator(name = "id_income_item", table = IdPoolSeeder.TABLE, pkColumnName = IdPoolSeeder.NAME_COLUMN,
+            valueColumnName = IdPoolSeeder.VALUE_COLUMN, pkColumnValue = IdPoolSeeder.INCOME_ITEM_POOL,
+            allocationSize = IdPoolSeeder.ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne
@@ -8,7 +8,9 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "spare_part_usage")
+@Table(name = "spare_part_usage", indexes = {
+        @Index(name = "idx_spare_part_usage_date", columnList = "usage_date")
+})
 public class SparePartUsage {
 
     @Id
@@ -1,5 +1,6 @@
 package com.vsc.vehicle_service_backend.entity;
 
+import com.vsc.vehicle_service_backend.config.IdPoolSeeder;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -8,8 +9,12 @@ import java.time.LocalDateTime;
 @Table(name = "spare_part_usage_item")
 public class SparePartUsageItem {
 
+    // Pooled ids (not IDENTITY) so the lines of a multi-part usage are inserted as a JDBC batch
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "id_usage_item")
+    @TableGenerator(name = "id_usage_item", table = IdPoolSeeder.TABLE, pkColumnName = IdPoolSeeder.NAME_COLUMN,
+            valueColumnName = IdPoolSeeder.VALUE_COLUMN, pkColumnValue = IdPoolSeeder.USAGE_ITEM_POOL,
+            allocationSize = IdPoolSeeder.ALLOCATION_SIZE)
     private Long id;
 
     @ManyToOne
@@ -0,0 +1,88 @@
+package com.vsc.vehicle_service_backend.entity;
+
+import com.vsc.vehicle_service_backend.config.IdPoolSeeder;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "stock_movement", indexes = {
+        @Index(name = "idx_stock_movement_part", columnList = "spare_part_id, created_at"),
+        @Index(name = "idx_stock_movement_reference", columnList = "reference_type, reference_id"),
+        // Income charts: RECEIPT movements of goods receipts within a date range
+        @Index(name = "idx_stock_movement_receipts", columnList = "reference_type, movement_type, created_at")
+})
+public class StockMovement {
+
+    // Pooled ids (not IDENTITY) so the movements of a multi-line receipt are inserted as a JDBC batch
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "id_stock_movement")
+    @TableGenerator(name = "id_stock_movement", table = IdPoolSeeder.TABLE, pkColumnName = IdPoolSeeder.NAME_COLUMN,
+            valueColumnName = IdPoolSeeder.VALUE_COLUMN, pkColumnValue = IdPoolSeeder.STOCK_MOVEMENT_POOL,
+            allocationSize = IdPoolSeeder.ALLOCATION_SIZE)
+    private Long id;
+
+    // Plain id instead of an association - the ledger never needs to load the part
+    @Column(name = "spare_part_id", nullable = false)
+    private Long sparePartId;
+
+    // Positive for stock coming in, negative for stock going out
+    @Column(name = "quantity_change", nullable = false)
+    private Integer quantityChange;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "movement_type", nullable = false)
+    private MovementType movementType;
+
+    @Column(name = "reference_type")
+    private String referenceType; // e.g., "SPARE_PART_USAGE", "SPARE_PART_INCOME"
+
+    @Column(name = "reference_id")
+    private Long referenceId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public enum MovementType {
+        USAGE,
+        USAGE_REVERSAL,
+        RECEIPT,
+        ADJUSTMENT
+    }
+
+    // Constructors
+    public StockMovement() {
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public StockMovement(Long sparePartId, Integer quantityChange, MovementType movementType,
+                         String referenceType, Long referenceId) {
+        this();
+        this.sparePartId = sparePartId;
+        this.quantityChange = quantityChange;
+        this.movementType = movementType;
+        this.referenceType = referenceType;
+        this.referenceId = referenceId;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getSparePartId() { return sparePartId; }
+    public void setSparePartId(Long sparePartId) { this.sparePartId = sparePartId; }
+
+    public Integer getQuantityChange() { return quantityChange; }
+    public void setQuantityChange(Integer quantityChange) { this.quantityChange = quantityChange; }
+
+    public MovementType getMovementType() { return movementType; }
+    public void setMovementType(MovementType movementType) { this.movementType = movementType; }
+
+    public String getReferenceType() { return referenceType; }
+    public void setReferenceType(String referenceType) { this.referenceType = referenceType; }
+
+    public Long getReferenceId() { return referenceId; }
+    public void setReferenceId(Long referenceId) { this.referenceId = referenceId; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
@@ -0,0 +1,29 @@
+package com.vsc.vehicle_service_backend.event;
+
+import com.vsc.vehicle_service_backend.entity.FinanceTransaction;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Published by the business services when money changes hands (stock received, parts used,
+ * service completed). Stored in the finance posting outbox with the publishing transaction
+ * and written to finance_transaction in batches, at most once per referenceType/referenceId.
+ * A reversal (parts usage deleted) carries a negative amount under its own referenceType, so
+ * it is posted once as well.
+ */
+@Getter
+@AllArgsConstructor
+public class FinancePostingEvent {
+    private final String referenceType;
+    private final Long referenceId;
+    private final FinanceTransaction.TransactionType transactionType;
+    private final FinanceTransaction.TransactionCategory category;
+    private final BigDecimal amount;
+    private final LocalDate transactionDate;
+    private final String description;
+    private final Long relatedCustomerId;
+    private final Long relatedVehicleId;
+}
@@ -0,0 +1,16 @@
+package com.vsc.vehicle_service_backend.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Set;
+
+/**
+ * Published when received purchase order quantities change (a goods receipt, or deleting an
+ * order that had stock received). Carries the categories of the affected parts.
+ */
+@Getter
+@AllArgsConstructor
+public class IncomeReceivedEvent {
+    private final Set<Long> categoryIds;
+}
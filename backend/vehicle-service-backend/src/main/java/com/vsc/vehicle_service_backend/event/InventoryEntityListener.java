@@ -0,0 +1,58 @@
+package com.vsc.vehicle_service_backend.event;
+
+import com.vsc.vehicle_service_backend.entity.SparePart;
+import com.vsc.vehicle_service_backend.entity.SparePartCategory;
+import com.vsc.vehicle_service_backend.entity.Supplier;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that turns inventory entity lifecycle callbacks into Spring events.
+ * Hibernate obtains it from the Spring bean container, so the publisher is injected.
+ */
+@Component
+@RequiredArgsConstructor
+public class InventoryEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    public void onPersist(Object entity) {
+        publish(entity, false);
+    }
+
+    @PostUpdate
+    public void onUpdate(Object entity) {
+        if (entity instanceof SparePart) {
+            publish(entity, false);
+        }
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        publish(entity, true);
+    }
+
+    private void publish(Object entity, boolean removed) {
+        if (entity instanceof SparePart part) {
+            eventPublisher.publishEvent(new SparePartChangedEvent(
+                    removed ? SparePartChangedEvent.ChangeType.DELETED : SparePartChangedEvent.ChangeType.SAVED,
+                    part.getId(), part.getQuantity(), part.getMinQuantity(), part.getPrice(),
+                    part.getPartCode(), part.getPartName()));
+        } else if (entity instanceof SparePartCategory category) {
+            eventPublisher.publishEvent(new ReferenceDataChangedEvent(
+                    ReferenceDataChangedEvent.DataType.CATEGORY, changeType(removed), category.getId()));
+        } else if (entity instanceof Supplier supplier) {
+            eventPublisher.publishEvent(new ReferenceDataChangedEvent(
+                    ReferenceDataChangedEvent.DataType.SUPPLIER, changeType(removed), supplier.getId()));
+        }
+    }
+
+    private ReferenceDataChangedEvent.ChangeType changeType(boolean removed) {
+        return removed ? ReferenceDataChangedEvent.ChangeType.DELETED : ReferenceDataChangedEvent.ChangeType.CREATED;
+    }
+}
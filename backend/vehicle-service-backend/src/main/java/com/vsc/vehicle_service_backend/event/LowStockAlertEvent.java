@@ -0,0 +1,24 @@
+package com.vsc.vehicle_service_backend.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published by the low-stock engine when a part crosses its minimum quantity, once per
+ * crossing: LOW when it drops to or below the minimum, RECOVERED when it climbs back above.
+ */
+@Getter
+@AllArgsConstructor
+public class LowStockAlertEvent {
+
+    public enum AlertType {
+        LOW, RECOVERED
+    }
+
+    private final AlertType alertType;
+    private final Long sparePartId;
+    private final String partCode;
+    private final String partName;
+    private final int quantity;
+    private final int minQuantity;
+}
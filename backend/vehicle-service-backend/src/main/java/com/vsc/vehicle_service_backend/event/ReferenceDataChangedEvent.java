@@ -0,0 +1,24 @@
+package com.vsc.vehicle_service_backend.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published when a category or supplier is created or deleted.
+ */
+@Getter
+@AllArgsConstructor
+public class ReferenceDataChangedEvent {
+
+    public enum DataType {
+        CATEGORY, SUPPLIER
+    }
+
+    public enum ChangeType {
+        CREATED, DELETED
+    }
+
+    private final DataType dataType;
+    private final ChangeType changeType;
+    private final Long id;
+}
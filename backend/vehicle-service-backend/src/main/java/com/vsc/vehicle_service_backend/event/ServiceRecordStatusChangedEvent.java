@@ -0,0 +1,19 @@
+package com.vsc.vehicle_service_backend.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published when a service record is created or its status changes. previousStatus is null
+ * for a new record.
+ */
+@Getter
+@AllArgsConstructor
+public class ServiceRecordStatusChangedEvent {
+    private final Long serviceRecordId;
+    private final String recordId;
+    private final String previousStatus;
+    private final String status;
+    private final Long customerId;
+    private final Long vehicleId;
+}
@@ -0,0 +1,17 @@
+package com.vsc.vehicle_service_backend.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published for every SMS log row written. smsLogId is null for campaign rows, which are
+ * batch inserted without reading their ids back.
+ */
+@Getter
+@AllArgsConstructor
+public class SmsLogCreatedEvent {
+    private final Long smsLogId;
+    private final Long customerId;
+    private final Long serviceRecordId;
+    private final String status;
+}
@@ -0,0 +1,25 @@
+package com.vsc.vehicle_service_backend.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published when a spare part row is inserted, updated or deleted through JPA.
+ * Carries the state after the change so listeners don't have to reload the entity.
+ */
+@Getter
+@AllArgsConstructor
+public class SparePartChangedEvent {
+
+    public enum ChangeType {
+        SAVED, DELETED
+    }
+
+    private final ChangeType changeType;
+    private final Long sparePartId;
+    private final Integer quantity;
+    private final Integer minQuantity;
+    private final Double price;
+    private final String partCode;
+    private final String partName;
+}
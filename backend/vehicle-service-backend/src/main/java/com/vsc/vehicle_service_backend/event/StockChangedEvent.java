@@ -0,0 +1,15 @@
+package com.vsc.vehicle_service_backend.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published by the stock ledger for every committed quantity change. The ledger updates
+ * stock with bulk UPDATE statements, which never reach JPA entity listeners.
+ */
+@Getter
+@AllArgsConstructor
+public class StockChangedEvent {
+    private final Long sparePartId;
+    private final int quantityChange;
+}
@@ -1,10 +1,36 @@
 package com.vsc.vehicle_service_backend.repository;
 
+import com.vsc.vehicle_service_backend.dto.CustomerLookupView;
+import com.vsc.vehicle_service_backend.dto.CustomerSummaryView;
 import com.vsc.vehicle_service_backend.entity.Customer;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
 
     boolean existsByEmail(String email);
 
+    @Query("SELECT c.id FROM Customer c ORDER BY c.id")
+    List<Long> findAllIds();
+
+    // Lookup index load
+    @Query("SELECT c.id AS id, c.name AS name, c.phone AS phone FROM Customer c")
+    List<CustomerLookupView> findAllLookupViews();
+
+    @Query(value = "SELECT c.id AS id, c.name AS name, c.email AS email, c.phone AS phone, c.address AS address "
+            + "FROM Customer c",
+            countQuery = "SELECT COUNT(c) FROM Customer c")
+    Page<CustomerSummaryView> findSummaryPage(Pageable pageable);
+
+    // Keyset page: continues after the last id of the previous page
+    @Query("SELECT c.id AS id, c.name AS name, c.email AS email, c.phone AS phone, c.address AS address "
+            + "FROM Customer c WHERE c.id > :afterId ORDER BY c.id")
+    Slice<CustomerSummaryView> findSummariesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
 }
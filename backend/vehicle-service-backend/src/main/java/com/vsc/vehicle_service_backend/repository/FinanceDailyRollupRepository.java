@@ -0,0 +1,53 @@
+package com.vsc.vehicle_service_backend.repository;
+
+import com.vsc.vehicle_service_backend.dto.FinanceRollupTotal;
+import com.vsc.vehicle_service_backend.entity.FinanceDailyRollup;
+import com.vsc.vehicle_service_backend.entity.FinanceTransaction;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface FinanceDailyRollupRepository extends JpaRepository<FinanceDailyRollup, Long> {
+
+    boolean existsByRollupDateAndTransactionTypeAndCategory(LocalDate rollupDate,
+                                                            FinanceTransaction.TransactionType transactionType,
+                                                            FinanceTransaction.TransactionCategory category);
+
+    List<FinanceDailyRollup> findByRollupDateBetweenOrderByRollupDate(LocalDate startDate, LocalDate endDate);
+
+    // Atomic in-place increment; the row must already exist (amount and count may be negative)
+    @Modifying
+    @Query("UPDATE FinanceDailyRollup r SET r.totalAmount = r.totalAmount + :amount, " +
+            "r.transactionCount = r.transactionCount + :count, r.updatedAt = :now " +
+            "WHERE r.rollupDate = :date AND r.transactionType = :type AND r.category = :category")
+    int addToRollup(@Param("date") LocalDate date,
+                    @Param("type") FinanceTransaction.TransactionType type,
+                    @Param("category") FinanceTransaction.TransactionCategory category,
+                    @Param("amount") BigDecimal amount,
+                    @Param("count") long count,
+                    @Param("now") LocalDateTime now);
+
+    @Query("SELECT r.transactionType AS transactionType, r.category AS category, " +
+            "SUM(r.totalAmount) AS totalAmount, SUM(r.transactionCount) AS transactionCount " +
+            "FROM FinanceDailyRollup r " +
+            "WHERE r.rollupDate BETWEEN :startDate AND :endDate " +
+            "GROUP BY r.transactionType, r.category")
+    List<FinanceRollupTotal> sumByTypeAndCategory(@Param("startDate") LocalDate startDate,
+                                                  @Param("endDate") LocalDate endDate);
+
+    // Full rebuild from the transaction table - scans finance_transaction once
+    @Modifying
+    @Query("INSERT INTO FinanceDailyRollup (rollupDate, transactionType, category, totalAmount, transactionCount, updatedAt) " +
+            "SELECT ft.transactionDate, ft.transactionType, ft.category, SUM(ft.amount), COUNT(ft), :now " +
+            "FROM FinanceTransaction ft " +
+            "GROUP BY ft.transactionDate, ft.transactionType, ft.category")
+    int rebuildFromTransactions(@Param("now") LocalDateTime now);
+}
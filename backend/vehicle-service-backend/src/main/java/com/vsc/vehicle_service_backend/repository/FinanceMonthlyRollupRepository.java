@@ -0,0 +1,54 @@
+package com.vsc.vehicle_service_backend.repository;
+
+import com.vsc.vehicle_service_backend.entity.FinanceMonthlyRollup;
+import com.vsc.vehicle_service_backend.entity.FinanceTransaction;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface FinanceMonthlyRollupRepository extends JpaRepository<FinanceMonthlyRollup, Long> {
+
+    boolean existsByRollupYearAndRollupMonthAndTransactionTypeAndCategory(Integer rollupYear, Integer rollupMonth,
+                                                                         FinanceTransaction.TransactionType transactionType,
+                                                                         FinanceTransaction.TransactionCategory category);
+
+    // Inclusive (year, month) range compared column by column, so the unique key's index can serve it
+    @Query("SELECT r FROM FinanceMonthlyRollup r " +
+            "WHERE (r.rollupYear > :fromYear OR (r.rollupYear = :fromYear AND r.rollupMonth >= :fromMonth)) " +
+            "AND (r.rollupYear < :toYear OR (r.rollupYear = :toYear AND r.rollupMonth <= :toMonth)) " +
+            "ORDER BY r.rollupYear, r.rollupMonth")
+    List<FinanceMonthlyRollup> findByPeriodBetween(@Param("fromYear") int fromYear,
+                                                   @Param("fromMonth") int fromMonth,
+                                                   @Param("toYear") int toYear,
+                                                   @Param("toMonth") int toMonth);
+
+    // Atomic in-place increment; the row must already exist (amount and count may be negative)
+    @Modifying
+    @Query("UPDATE FinanceMonthlyRollup r SET r.totalAmount = r.totalAmount + :amount, " +
+            "r.transactionCount = r.transactionCount + :count, r.updatedAt = :now " +
+            "WHERE r.rollupYear = :year AND r.rollupMonth = :month " +
+            "AND r.transactionType = :type AND r.category = :category")
+    int addToRollup(@Param("year") int year,
+                    @Param("month") int month,
+                    @Param("type") FinanceTransaction.TransactionType type,
+                    @Param("category") FinanceTransaction.TransactionCategory category,
+                    @Param("amount") BigDecimal amount,
+                    @Param("count") long count,
+                    @Param("now") LocalDateTime now);
+
+    // Full rebuild from the daily rollups (run after FinanceDailyRollupRepository.rebuildFromTransactions)
+    @Modifying
+    @Query("INSERT INTO FinanceMonthlyRollup (rollupYear, rollupMonth, transactionType, category, totalAmount, transactionCount, updatedAt) " +
+            "SELECT YEAR(r.rollupDate), MONTH(r.rollupDate), r.transactionType, r.category, " +
+            "SUM(r.totalAmount), SUM(r.transactionCount), :now " +
+            "FROM FinanceDailyRollup r " +
+            "GROUP BY YEAR(r.rollupDate), MONTH(r.rollupDate), r.transactionType, r.category")
+    int rebuildFromDailyRollups(@Param("now") LocalDateTime now);
+}
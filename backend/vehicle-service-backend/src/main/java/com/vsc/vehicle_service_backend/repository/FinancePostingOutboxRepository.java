@@ -0,0 +1,24 @@
+package com.vsc.vehicle_service_backend.repository;
+
+import com.vsc.vehicle_service_backend.entity.FinancePostingOutbox;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface FinancePostingOutboxRepository extends JpaRepository<FinancePostingOutbox, Long> {
+
+    long countByStatus(FinancePostingOutbox.OutboxStatus status);
+
+    // Oldest postings first, locked so a second instance draining at the same time waits for this batch
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM FinancePostingOutbox o WHERE o.status = :status ORDER BY o.id")
+    List<FinancePostingOutbox> findBatchForUpdate(@Param("status") FinancePostingOutbox.OutboxStatus status,
+                                                  Pageable pageable);
+}
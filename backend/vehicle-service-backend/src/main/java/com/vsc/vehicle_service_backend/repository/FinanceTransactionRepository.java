@@ -8,6 +8,7 @@ import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -76,4 +77,15 @@ public interface FinanceTransactionRepository extends JpaRepository<FinanceTrans
 
     // Add this missing method:
     long countByTransactionDateBetween(LocalDate startDate, LocalDate endDate);
-}
\ No newline at end of file
+
+    // Highest numeric suffix of FT_n transaction ids (used to seed the transaction id sequence)
+    @Query("SELECT MAX(CAST(SUBSTRING(ft.transactionId, 4) AS Long)) FROM FinanceTransaction ft " +
+            "WHERE ft.transactionId LIKE 'FT!_%' ESCAPE '!'")
+    Long findHighestTransactionNumber();
+
+    // Which of the given references already have a posting (keeps automatic postings idempotent)
+    @Query("SELECT ft.referenceId FROM FinanceTransaction ft " +
+            "WHERE ft.referenceType = :referenceType AND ft.referenceId IN :referenceIds")
+    List<Long> findPostedReferenceIds(@Param("referenceType") String referenceType,
+                                      @Param("referenceIds") Collection<Long> referenceIds);
+}
@@ -0,0 +1,20 @@
+package com.vsc.vehicle_service_backend.repository;
+
+import com.vsc.vehicle_service_backend.entity.IdSequence;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface IdSequenceRepository extends JpaRepository<IdSequence, String> {
+
+    // Row lock so that two application instances never reserve the same block
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM IdSequence s WHERE s.sequenceName = :sequenceName")
+    Optional<IdSequence> findForUpdate(@Param("sequenceName") String sequenceName);
+}
@@ -1,15 +1,25 @@
 package com.vsc.vehicle_service_backend.repository;
 
 import com.vsc.vehicle_service_backend.entity.ServiceRecord;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ServiceRecordRepository extends JpaRepository<ServiceRecord, Long> {
 
+    // Status changes - the row stays locked until commit, so concurrent updates see each other's status
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM ServiceRecord s WHERE s.id = :id")
+    Optional<ServiceRecord> findByIdForUpdate(@Param("id") Long id);
+
     // Find by record_id (SR_1, SR_2, etc.)
     Optional<ServiceRecord> findByRecordId(String recordId);
 
@@ -33,4 +43,14 @@ public interface ServiceRecordRepository extends JpaRepository<ServiceRecord, Lo
 
     // Find all by customer ID ordered by created date
     List<ServiceRecord> findByCustomerIdOrderByCreatedAtDesc(Long customerId);
-}
\ No newline at end of file
+
+    // Highest numeric suffix of SR_n record ids (used to seed the record id sequence)
+    @Query("SELECT MAX(CAST(SUBSTRING(s.recordId, 4) AS Long)) FROM ServiceRecord s " +
+            "WHERE s.recordId LIKE 'SR!_%' ESCAPE '!'")
+    Long findHighestRecordNumber();
+
+    // Customers with a next service date in the range (service-due reminders)
+    @Query("SELECT DISTINCT s.customerId FROM ServiceRecord s " +
+            "WHERE s.nextServiceDate BETWEEN :from AND :to ORDER BY s.customerId")
+    List<Long> findCustomerIdsWithServiceDueBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
@@ -0,0 +1,25 @@
+package com.vsc.vehicle_service_backend.repository;
+
+import com.vsc.vehicle_service_backend.entity.SmsLog;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * SMS log searches built from only the filters that are set, so each combination can use
+ * its own index. A phone filter matches numbers ending in the given digits.
+ */
+public interface SmsLogRepositoryCustom {
+
+    // Offset pagination with a total count
+    Page<SmsLog> searchSmsLogs(String phoneNumber, String status, Long customerId, Pageable pageable);
+
+    // Seek pagination ordered by (sentAt, id) descending, rows without sentAt last. Pass a null
+    // afterId for the first page; a null afterSentAt with an afterId continues among the undated rows
+    List<SmsLog> searchSmsLogsAfter(String phoneNumber, String status, Long customerId,
+                                    LocalDateTime afterSentAt, Long afterId, int limit);
+
+    long countSmsLogs(String phoneNumber, String status, Long customerId);
+}
@@ -0,0 +1,109 @@
+package com.vsc.vehicle_service_backend.repository;
+
+import com.vsc.vehicle_service_backend.entity.SmsLog;
+import com.vsc.vehicle_service_backend.util.PhoneNumberUtil;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.Session;
+import org.hibernate.query.criteria.HibernateCriteriaBuilder;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class SmsLogRepositoryImpl implements SmsLogRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<SmsLog> searchSmsLogs(String phoneNumber, String status, Long customerId, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<SmsLog> query = cb.createQuery(SmsLog.class);
+        Root<SmsLog> root = query.from(SmsLog.class);
+        query.where(filters(cb, root, phoneNumber, status, customerId).toArray(new Predicate[0]));
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+
+        List<SmsLog> content = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+
+        // Skip the count when the page itself tells us the total
+        long total;
+        if (pageable.getOffset() == 0 && content.size() < pageable.getPageSize()) {
+            total = content.size();
+        } else {
+            total = countSmsLogs(phoneNumber, status, customerId);
+        }
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    @Override
+    public List<SmsLog> searchSmsLogsAfter(String phoneNumber, String status, Long customerId,
+                                           LocalDateTime afterSentAt, Long afterId, int limit) {
+        HibernateCriteriaBuilder cb = entityManager.unwrap(Session.class).getCriteriaBuilder();
+        CriteriaQuery<SmsLog> query = cb.createQuery(SmsLog.class);
+        Root<SmsLog> root = query.from(SmsLog.class);
+        Path<LocalDateTime> sentAt = root.get("sentAt");
+        Path<Long> id = root.get("id");
+
+        List<Predicate> predicates = filters(cb, root, phoneNumber, status, customerId);
+        if (afterId != null) {
+            if (afterSentAt != null) {
+                // Undated rows sort after every dated one, so they always follow a dated cursor
+                predicates.add(cb.or(
+                        cb.lessThan(sentAt, afterSentAt),
+                        cb.and(cb.equal(sentAt, afterSentAt), cb.lessThan(id, afterId)),
+                        cb.isNull(sentAt)));
+            } else {
+                predicates.add(cb.and(cb.isNull(sentAt), cb.lessThan(id, afterId)));
+            }
+        }
+        query.where(predicates.toArray(new Predicate[0]));
+        query.orderBy(cb.desc(sentAt, false), cb.desc(id));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public long countSmsLogs(String phoneNumber, String status, Long customerId) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<SmsLog> root = query.from(SmsLog.class);
+        query.select(cb.count(root));
+        query.where(filters(cb, root, phoneNumber, status, customerId).toArray(new Predicate[0]));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private List<Predicate> filters(CriteriaBuilder cb, Root<SmsLog> root,
+                                    String phoneNumber, String status, Long customerId) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (phoneNumber != null && !phoneNumber.isBlank()) {
+            String reversed = PhoneNumberUtil.reversedDigits(phoneNumber);
+            if (reversed != null) {
+                predicates.add(cb.like(root.get("phoneReversed"), reversed + "%"));
+            } else {
+                predicates.add(cb.equal(root.get("phoneNumber"), phoneNumber.trim()));
+            }
+        }
+        if (status != null && !status.isBlank()) {
+            predicates.add(cb.equal(root.get("status"), status));
+        }
+        if (customerId != null) {
+            predicates.add(cb.equal(root.get("customerId"), customerId));
+        }
+        return predicates;
+    }
+}
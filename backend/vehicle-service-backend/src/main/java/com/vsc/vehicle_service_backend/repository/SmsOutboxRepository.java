@@ -0,0 +1,51 @@
+package com.vsc.vehicle_service_backend.repository;
+
+import com.vsc.vehicle_service_backend.entity.SmsOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface SmsOutboxRepository extends JpaRepository<SmsOutbox, Long> {
+
+    boolean existsByServiceRecordId(Long serviceRecordId);
+
+    Optional<SmsOutbox> findByServiceRecordId(Long serviceRecordId);
+
+    long countByStatus(SmsOutbox.OutboxStatus status);
+
+    @Query("SELECT o.id FROM SmsOutbox o WHERE o.status = :status AND o.nextAttemptAt <= :now " +
+            "ORDER BY o.nextAttemptAt")
+    List<Long> findDueIds(@Param("status") SmsOutbox.OutboxStatus status,
+                          @Param("now") LocalDateTime now,
+                          Pageable pageable);
+
+    // Claim a due row; only one dispatcher (thread or instance) can win the update
+    @Transactional
+    @Modifying
+    @Query("UPDATE SmsOutbox o SET o.status = :processing, o.nextAttemptAt = :leaseUntil, " +
+            "o.attempts = o.attempts + 1, o.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE o.id = :id AND o.status = :pending AND o.nextAttemptAt <= :now")
+    int claim(@Param("id") Long id,
+              @Param("now") LocalDateTime now,
+              @Param("leaseUntil") LocalDateTime leaseUntil,
+              @Param("pending") SmsOutbox.OutboxStatus pending,
+              @Param("processing") SmsOutbox.OutboxStatus processing);
+
+    // Hand rows back whose dispatcher died while holding the lease
+    @Transactional
+    @Modifying
+    @Query("UPDATE SmsOutbox o SET o.status = :pending, o.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE o.status = :processing AND o.nextAttemptAt < :now")
+    int releaseExpiredLeases(@Param("now") LocalDateTime now,
+                             @Param("pending") SmsOutbox.OutboxStatus pending,
+                             @Param("processing") SmsOutbox.OutboxStatus processing);
+}
@@ -1,12 +1,21 @@
 package com.vsc.vehicle_service_backend.repository;
 
+import com.vsc.vehicle_service_backend.dto.IncomeGroupSummary;
+import com.vsc.vehicle_service_backend.dto.IncomeMonthlySummary;
+import com.vsc.vehicle_service_backend.dto.OpenOrderSummary;
+import com.vsc.vehicle_service_backend.dto.PurchasePriceView;
+import com.vsc.vehicle_service_backend.dto.ReceiptLeadTimeView;
 import com.vsc.vehicle_service_backend.entity.SparePartIncome;
 import com.vsc.vehicle_service_backend.entity.IncomeStatus;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,37 +30,118 @@ public interface SparePartIncomeRepository extends JpaRepository<SparePartIncome
 
     Optional<SparePartIncome> findByOrderNumber(String orderNumber);
 
+    // List endpoints - supplier, items and each item's part (with its category/supplier) in one query
+    @Query("SELECT DISTINCT i FROM SparePartIncome i JOIN FETCH i.supplier " +
+            "LEFT JOIN FETCH i.items it LEFT JOIN FETCH it.sparePart p " +
+            "LEFT JOIN FETCH p.category LEFT JOIN FETCH p.supplier ORDER BY i.id")
+    List<SparePartIncome> findAllWithItems();
+
+    @Query("SELECT DISTINCT i FROM SparePartIncome i JOIN FETCH i.supplier " +
+            "LEFT JOIN FETCH i.items it LEFT JOIN FETCH it.sparePart p " +
+            "LEFT JOIN FETCH p.category LEFT JOIN FETCH p.supplier WHERE i.status IN :statuses ORDER BY i.id")
+    List<SparePartIncome> findByStatusInWithItems(@Param("statuses") Collection<IncomeStatus> statuses);
+
+    @Query("SELECT DISTINCT i FROM SparePartIncome i JOIN FETCH i.supplier " +
+            "LEFT JOIN FETCH i.items it LEFT JOIN FETCH it.sparePart p " +
+            "LEFT JOIN FETCH p.category LEFT JOIN FETCH p.supplier WHERE i.id = :id")
+    Optional<SparePartIncome> findByIdWithItems(@Param("id") Long id);
+
+    @Query("SELECT DISTINCT i FROM SparePartIncome i JOIN FETCH i.supplier " +
+            "LEFT JOIN FETCH i.items it LEFT JOIN FETCH it.sparePart p " +
+            "LEFT JOIN FETCH p.category LEFT JOIN FETCH p.supplier WHERE i.id IN :ids")
+    List<SparePartIncome> findAllWithItemsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Goods receipt: order rows locked in id order, so two receipts of the same order run one after the other
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM SparePartIncome i WHERE i.id IN :ids ORDER BY i.id")
+    List<SparePartIncome> findAllByIdInForUpdate(@Param("ids") Collection<Long> ids);
+
     @Query("SELECT i FROM SparePartIncome i WHERE i.orderDate BETWEEN :startDate AND :endDate")
     List<SparePartIncome> findByOrderDateBetween(@Param("startDate") LocalDate startDate,
                                                  @Param("endDate") LocalDate endDate);
 
-    // ADD THIS METHOD - Important: this should be automatically generated by Spring Data JPA
-    long countByOrderDate(LocalDate orderDate);
+    // Highest nnn of one day's PO_yyyyMMdd_nnn numbers - only used when that day's sequence is created
+    @Query("SELECT MAX(CAST(SUBSTRING(i.orderNumber, 13) AS Long)) FROM SparePartIncome i " +
+            "WHERE i.orderNumber LIKE :dayPattern ESCAPE '!'")
+    Long findHighestOrderNumberOfDay(@Param("dayPattern") String dayPattern);
 
-    // Chart data queries
-    @Query("SELECT sp.brand, SUM(ii.quantityReceived) " +
-            "FROM SparePartIncomeItem ii " +
-            "JOIN ii.sparePart sp " +
-            "JOIN sp.category c " +
-            "WHERE c.id = :categoryId " +
-            "AND ii.status = 'RECEIVED' " +
-            "AND ii.income.orderDate BETWEEN :startDate AND :endDate " +
-            "GROUP BY sp.brand")
-    List<Object[]> findIncomeByBrandAndCategory(@Param("categoryId") Long categoryId,
-                                                @Param("startDate") LocalDate startDate,
-                                                @Param("endDate") LocalDate endDate);
-
-    @Query("SELECT DATE_FORMAT(i.orderDate, '%Y-%m'), SUM(ii.quantityReceived) " +
+    // Income charts - one row per delivery: the RECEIPT stock movements, dated when the stock arrived, so
+    // a later partial delivery does not move earlier ones. Each movement is priced from its order line for
+    // the part (the first one, should an order list the same part twice). Portable YEAR/MONTH grouping,
+    // filtered on created_at
+    @Query("SELECT YEAR(m.createdAt) AS incomeYear, MONTH(m.createdAt) AS incomeMonth, " +
+            "SUM(m.quantityChange) AS quantityReceived, SUM(m.quantityChange * ii.unitPrice) AS totalSpend " +
+            "FROM StockMovement m JOIN SparePart sp ON sp.id = m.sparePartId " +
+            "JOIN SparePartIncomeItem ii ON ii.income.id = m.referenceId AND ii.sparePart.id = m.sparePartId " +
+            "WHERE m.movementType = com.vsc.vehicle_service_backend.entity.StockMovement$MovementType.RECEIPT " +
+            "AND m.referenceType = 'SPARE_PART_INCOME' " +
+            "AND sp.category.id = :categoryId " +
+            "AND m.createdAt >= :from AND m.createdAt < :until " +
+            "AND ii.id = (SELECT MIN(x.id) FROM SparePartIncomeItem x " +
+            "WHERE x.income.id = m.referenceId AND x.sparePart.id = m.sparePartId) " +
+            "GROUP BY YEAR(m.createdAt), MONTH(m.createdAt) " +
+            "ORDER BY YEAR(m.createdAt), MONTH(m.createdAt)")
+    List<IncomeMonthlySummary> summarizeMonthlyIncomeByCategory(@Param("categoryId") Long categoryId,
+                                                               @Param("from") LocalDateTime from,
+                                                               @Param("until") LocalDateTime until);
+
+    @Query("SELECT sp.brand AS label, SUM(m.quantityChange) AS quantityReceived, " +
+            "SUM(m.quantityChange * ii.unitPrice) AS totalSpend " +
+            "FROM StockMovement m JOIN SparePart sp ON sp.id = m.sparePartId " +
+            "JOIN SparePartIncomeItem ii ON ii.income.id = m.referenceId AND ii.sparePart.id = m.sparePartId " +
+            "WHERE m.movementType = com.vsc.vehicle_service_backend.entity.StockMovement$MovementType.RECEIPT " +
+            "AND m.referenceType = 'SPARE_PART_INCOME' " +
+            "AND sp.category.id = :categoryId " +
+            "AND m.createdAt >= :from AND m.createdAt < :until " +
+            "AND ii.id = (SELECT MIN(x.id) FROM SparePartIncomeItem x " +
+            "WHERE x.income.id = m.referenceId AND x.sparePart.id = m.sparePartId) " +
+            "GROUP BY sp.brand " +
+            "ORDER BY SUM(m.quantityChange * ii.unitPrice) DESC")
+    List<IncomeGroupSummary> summarizeIncomeByBrand(@Param("categoryId") Long categoryId,
+                                                    @Param("from") LocalDateTime from,
+                                                    @Param("until") LocalDateTime until);
+
+    @Query("SELECT s.supplierName AS label, SUM(m.quantityChange) AS quantityReceived, " +
+            "SUM(m.quantityChange * ii.unitPrice) AS totalSpend " +
+            "FROM StockMovement m JOIN SparePart sp ON sp.id = m.sparePartId " +
+            "JOIN SparePartIncomeItem ii ON ii.income.id = m.referenceId AND ii.sparePart.id = m.sparePartId " +
+            "JOIN ii.income i JOIN i.supplier s " +
+            "WHERE m.movementType = com.vsc.vehicle_service_backend.entity.StockMovement$MovementType.RECEIPT " +
+            "AND m.referenceType = 'SPARE_PART_INCOME' " +
+            "AND sp.category.id = :categoryId " +
+            "AND m.createdAt >= :from AND m.createdAt < :until " +
+            "AND ii.id = (SELECT MIN(x.id) FROM SparePartIncomeItem x " +
+            "WHERE x.income.id = m.referenceId AND x.sparePart.id = m.sparePartId) " +
+            "GROUP BY s.id, s.supplierName " +
+            "ORDER BY SUM(m.quantityChange * ii.unitPrice) DESC")
+    List<IncomeGroupSummary> summarizeIncomeBySupplier(@Param("categoryId") Long categoryId,
+                                                       @Param("from") LocalDateTime from,
+                                                       @Param("until") LocalDateTime until);
+
+    // Reorder engine - order date and arrival time of each delivery of the given parts since a time
+    @Query("SELECT m.sparePartId AS sparePartId, i.orderDate AS orderDate, m.createdAt AS receivedAt " +
+            "FROM StockMovement m JOIN SparePartIncome i ON i.id = m.referenceId " +
+            "WHERE m.movementType = com.vsc.vehicle_service_backend.entity.StockMovement$MovementType.RECEIPT " +
+            "AND m.referenceType = 'SPARE_PART_INCOME' " +
+            "AND m.sparePartId IN :sparePartIds " +
+            "AND m.createdAt >= :since")
+    List<ReceiptLeadTimeView> findReceiptLeadTimes(@Param("sparePartIds") Collection<Long> sparePartIds,
+                                                   @Param("since") LocalDateTime since);
+
+    // Reorder engine - unit price on the latest order line of each part that has received goods
+    @Query("SELECT ii.sparePart.id AS sparePartId, ii.unitPrice AS unitPrice " +
             "FROM SparePartIncomeItem ii " +
-            "JOIN ii.sparePart sp " +
-            "JOIN sp.category c " +
-            "JOIN ii.income i " +
-            "WHERE c.id = :categoryId " +
-            "AND ii.status = 'RECEIVED' " +
-            "AND i.orderDate BETWEEN :startDate AND :endDate " +
-            "GROUP BY DATE_FORMAT(i.orderDate, '%Y-%m') " +
-            "ORDER BY DATE_FORMAT(i.orderDate, '%Y-%m')")
-    List<Object[]> findMonthlyIncomeByCategory(@Param("categoryId") Long categoryId,
-                                               @Param("startDate") LocalDate startDate,
-                                               @Param("endDate") LocalDate endDate);
-}
\ No newline at end of file
+            "WHERE ii.sparePart.id IN :sparePartIds " +
+            "AND ii.id = (SELECT MAX(x.id) FROM SparePartIncomeItem x " +
+            "WHERE x.sparePart.id = ii.sparePart.id AND x.quantityReceived > 0)")
+    List<PurchasePriceView> findLastPurchasePrices(@Param("sparePartIds") Collection<Long> sparePartIds);
+
+    // Reorder engine - units still expected on pending or partly received orders, drafts included
+    @Query("SELECT ii.sparePart.id AS sparePartId, SUM(ii.quantityOrdered - ii.quantityReceived) AS quantityOutstanding " +
+            "FROM SparePartIncomeItem ii JOIN ii.income i " +
+            "WHERE ii.sparePart.id IN :sparePartIds " +
+            "AND i.status IN :statuses " +
+            "GROUP BY ii.sparePart.id")
+    List<OpenOrderSummary> summarizeOpenOrders(@Param("sparePartIds") Collection<Long> sparePartIds,
+                                               @Param("statuses") Collection<IncomeStatus> statuses);
+}
@@ -1,12 +1,18 @@
 // src/main/java/com/vsc/vehicle_service_backend/repository/SparePartRepository.java
 package com.vsc.vehicle_service_backend.repository;
 
+import com.vsc.vehicle_service_backend.dto.ReorderCandidateView;
+import com.vsc.vehicle_service_backend.dto.StockLevelView;
 import com.vsc.vehicle_service_backend.entity.SparePart;
 import com.vsc.vehicle_service_backend.entity.SparePartCategory;
 import com.vsc.vehicle_service_backend.entity.Supplier;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -29,4 +35,40 @@ public interface SparePartRepository extends JpaRepository<SparePart, Long> {
     // Additional search methods
     List<SparePart> findByBrandContainingIgnoreCase(String brand);
     List<SparePart> findByModelContainingIgnoreCase(String model);
-}
\ No newline at end of file
+
+    // Atomic stock updates - never read-modify-write quantity in Java; cleared so no managed part keeps the old quantity
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE SparePart p SET p.quantity = p.quantity - :quantity, p.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE p.id = :id AND p.quantity >= :quantity")
+    int decreaseQuantity(@Param("id") Long id, @Param("quantity") int quantity);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE SparePart p SET p.quantity = p.quantity + :quantity, p.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE p.id = :id")
+    int increaseQuantity(@Param("id") Long id, @Param("quantity") int quantity);
+
+    @Query("SELECT p.quantity FROM SparePart p WHERE p.id = :id")
+    Optional<Integer> findQuantityById(@Param("id") Long id);
+
+    // Search index load - category and supplier names in the same query
+    @Query("SELECT p FROM SparePart p LEFT JOIN FETCH p.category LEFT JOIN FETCH p.supplier")
+    List<SparePart> findAllWithCategoryAndSupplier();
+
+    @Query("SELECT p FROM SparePart p LEFT JOIN FETCH p.category LEFT JOIN FETCH p.supplier WHERE p.id IN :ids")
+    List<SparePart> findAllWithCategoryAndSupplierByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT p.id AS id, p.quantity AS quantity, p.minQuantity AS minQuantity, p.price AS price, " +
+            "p.partCode AS partCode, p.partName AS partName FROM SparePart p")
+    List<StockLevelView> findAllStockLevels();
+
+    @Query("SELECT p.id AS id, p.quantity AS quantity, p.minQuantity AS minQuantity, p.price AS price, " +
+            "p.partCode AS partCode, p.partName AS partName FROM SparePart p WHERE p.id = :id")
+    Optional<StockLevelView> findStockLevelById(@Param("id") Long id);
+
+    @Query("SELECT p.id FROM SparePart p")
+    List<Long> findAllIds();
+
+    @Query("SELECT p.id AS id, p.quantity AS quantity, p.minQuantity AS minQuantity, p.price AS price, " +
+            "p.supplier.id AS supplierId FROM SparePart p WHERE p.id IN :ids")
+    List<ReorderCandidateView> findReorderCandidatesByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -1,12 +1,51 @@
 package com.vsc.vehicle_service_backend.repository;
 
+import com.vsc.vehicle_service_backend.dto.PartConsumptionSummary;
+import com.vsc.vehicle_service_backend.dto.UsageMonthlySummary;
 import com.vsc.vehicle_service_backend.entity.SparePart;
 import com.vsc.vehicle_service_backend.entity.SparePartUsageItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface SparePartUsageItemRepository extends JpaRepository<SparePartUsageItem, Long> {
     List<SparePartUsageItem> findBySparePart(SparePart sparePart);
-}
\ No newline at end of file
+
+    // One row per month: number of usages touching the category and the cost of the category's items
+    @Query("SELECT YEAR(u.usageDate) AS usageYear, MONTH(u.usageDate) AS usageMonth, " +
+            "COUNT(DISTINCT u.id) AS usageCount, SUM(i.totalCost) AS totalCost " +
+            "FROM SparePartUsageItem i JOIN i.usage u " +
+            "WHERE i.sparePart.category.id = :categoryId " +
+            "AND u.usageDate BETWEEN :startDate AND :endDate " +
+            "GROUP BY YEAR(u.usageDate), MONTH(u.usageDate) " +
+            "ORDER BY YEAR(u.usageDate), MONTH(u.usageDate)")
+    List<UsageMonthlySummary> summarizeMonthlyUsageByCategory(@Param("categoryId") Long categoryId,
+                                                             @Param("startDate") LocalDate startDate,
+                                                             @Param("endDate") LocalDate endDate);
+
+    // One row per part in the category that was used in the window, with the units consumed
+    @Query("SELECT i.sparePart.id AS sparePartId, SUM(i.quantityUsed) AS unitsUsed " +
+            "FROM SparePartUsageItem i JOIN i.usage u " +
+            "WHERE i.sparePart.category.id = :categoryId " +
+            "AND u.usageDate BETWEEN :startDate AND :endDate " +
+            "GROUP BY i.sparePart.id")
+    List<PartConsumptionSummary> summarizeConsumptionByCategory(@Param("categoryId") Long categoryId,
+                                                               @Param("startDate") LocalDate startDate,
+                                                               @Param("endDate") LocalDate endDate);
+
+    // Units consumed per part in the window, for just the given parts
+    @Query("SELECT i.sparePart.id AS sparePartId, SUM(i.quantityUsed) AS unitsUsed " +
+            "FROM SparePartUsageItem i JOIN i.usage u " +
+            "WHERE i.sparePart.id IN :sparePartIds " +
+            "AND u.usageDate BETWEEN :startDate AND :endDate " +
+            "GROUP BY i.sparePart.id")
+    List<PartConsumptionSummary> summarizeConsumptionByParts(@Param("sparePartIds") Collection<Long> sparePartIds,
+                                                            @Param("startDate") LocalDate startDate,
+                                                            @Param("endDate") LocalDate endDate);
+}
@@ -5,6 +5,8 @@ import com.vsc.vehicle_service_backend.entity.SparePart;
 import com.vsc.vehicle_service_backend.entity.SparePartUsage;
 import com.vsc.vehicle_service_backend.entity.ServiceRecord;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
@@ -16,4 +18,16 @@ public interface SparePartUsageRepository extends JpaRepository<SparePartUsage,
     List<SparePartUsage> findByItems_SparePart(SparePart sparePart);
     List<SparePartUsage> findByServiceRecord(ServiceRecord serviceRecord);
     List<SparePartUsage> findByUsageDateBetween(LocalDate start, LocalDate end);
+
+    // List endpoint - service record, vehicle, items and their parts in one query
+    @Query("SELECT DISTINCT u FROM SparePartUsage u LEFT JOIN FETCH u.serviceRecord " +
+            "LEFT JOIN FETCH u.vehicle v LEFT JOIN FETCH v.customer " +
+            "LEFT JOIN FETCH u.items it LEFT JOIN FETCH it.sparePart p " +
+            "LEFT JOIN FETCH p.category LEFT JOIN FETCH p.supplier ORDER BY u.id")
+    List<SparePartUsage> findAllWithItems();
+
+    // Highest nnn of one day's USG-yyyyMMdd-nnn numbers - only used when that day's sequence is created
+    @Query("SELECT MAX(CAST(SUBSTRING(u.usageNumber, 14) AS Long)) FROM SparePartUsage u " +
+            "WHERE u.usageNumber LIKE :dayPattern")
+    Long findHighestUsageNumberOfDay(@Param("dayPattern") String dayPattern);
 }
\ No newline at end of file
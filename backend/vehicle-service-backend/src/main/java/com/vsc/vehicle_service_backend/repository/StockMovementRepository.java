@@ -0,0 +1,21 @@
+package com.vsc.vehicle_service_backend.repository;
+
+import com.vsc.vehicle_service_backend.entity.StockMovement;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface StockMovementRepository extends JpaRepository<StockMovement, Long> {
+
+    List<StockMovement> findBySparePartIdOrderByCreatedAtDesc(Long sparePartId);
+
+    List<StockMovement> findByReferenceTypeAndReferenceId(String referenceType, Long referenceId);
+
+    // Net quantity change recorded for a part - useful for reconciling against spare_part.quantity
+    @Query("SELECT COALESCE(SUM(m.quantityChange), 0) FROM StockMovement m WHERE m.sparePartId = :sparePartId")
+    long sumQuantityChange(@Param("sparePartId") Long sparePartId);
+}
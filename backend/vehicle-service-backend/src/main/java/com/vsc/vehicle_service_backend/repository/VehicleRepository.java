@@ -1,8 +1,17 @@
 package com.vsc.vehicle_service_backend.repository;
 
+import com.vsc.vehicle_service_backend.dto.VehicleLookupView;
+import com.vsc.vehicle_service_backend.dto.VehicleResponse;
 import com.vsc.vehicle_service_backend.entity.Vehicle;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface VehicleRepository extends JpaRepository<Vehicle, Long> {
@@ -10,4 +19,26 @@ public interface VehicleRepository extends JpaRepository<Vehicle, Long> {
     @Query(value = "SELECT vehicle_id FROM vehicles ORDER BY id DESC LIMIT 1", nativeQuery = true)
     String getLastVehicleId();
 
+    // Lookup index load - registration numbers only, no customer rows
+    @Query("SELECT v.id AS id, v.vehicleNumber AS vehicleNumber FROM Vehicle v")
+    List<VehicleLookupView> findAllLookupViews();
+
+    @Query("SELECT v FROM Vehicle v LEFT JOIN FETCH v.customer WHERE v.id IN :ids")
+    List<Vehicle> findAllWithCustomerByIdIn(@Param("ids") Collection<Long> ids);
+
+    // List rows with the owner's name in one query; c is the customer alias for sorting
+    String RESPONSE_SELECT = "SELECT new com.vsc.vehicle_service_backend.dto.VehicleResponse("
+            + "v.id, v.vehicleId, v.vehicleNumber, v.brand, v.model, v.vehicleType, c.id, c.name) "
+            + "FROM Vehicle v LEFT JOIN v.customer c";
+
+    @Query(RESPONSE_SELECT + " ORDER BY v.id")
+    List<VehicleResponse> findAllResponses();
+
+    @Query(value = RESPONSE_SELECT, countQuery = "SELECT COUNT(v) FROM Vehicle v")
+    Page<VehicleResponse> findResponsePage(Pageable pageable);
+
+    // Keyset page: continues after the last id of the previous page
+    @Query(RESPONSE_SELECT + " WHERE v.id > :afterId ORDER BY v.id")
+    Slice<VehicleResponse> findResponsesAfter(@Param("afterId") Long afterId, Pageable pageable);
+
 }
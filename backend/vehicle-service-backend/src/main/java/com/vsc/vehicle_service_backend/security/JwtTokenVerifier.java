@@ -0,0 +1,103 @@
+package com.vsc.vehicle_service_backend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Date;
+import java.util.HexFormat;
+
+/**
+ * Verifies bearer tokens with a signing key and parser built once at startup. Tokens that
+ * verified successfully are remembered by their SHA-256 hash until they expire, so repeat
+ * requests from the same session skip the HMAC check. The cache is a size-bounded Caffeine
+ * cache, so a full cache evicts in constant time instead of scanning for expired entries.
+ */
+@Component
+public class JwtTokenVerifier {
+
+    // Upper bound for tokens without an exp claim
+    private static final long MAX_CACHE_TTL_MS = 5 * 60 * 1000L;
+
+    private final JwtParser parser;
+    private final Cache<String, VerifiedToken> verifiedTokens;
+
+    public JwtTokenVerifier(@Value("${jwt.secret}") String secret,
+                            @Value("${jwt.verified-token-cache-size:10000}") int maxCachedTokens) {
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(secret.getBytes()))
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(Math.max(0, maxCachedTokens))
+                .expireAfterWrite(Duration.ofMillis(MAX_CACHE_TTL_MS))
+                .build();
+    }
+
+    /**
+     * Returns the claims of a valid token, or throws a {@link io.jsonwebtoken.JwtException}
+     * if the token is malformed, tampered with or expired.
+     */
+    public Claims verify(String token) {
+        long now = System.currentTimeMillis();
+        String key = hash(token);
+
+        // Entries live at most MAX_CACHE_TTL_MS; a token's own exp can end it sooner
+        VerifiedToken cached = verifiedTokens.getIfPresent(key);
+        if (cached != null) {
+            if (cached.expiresAt > now) {
+                return cached.claims;
+            }
+            verifiedTokens.asMap().remove(key, cached);
+            if (cached.claims.getExpiration() != null && cached.claims.getExpiration().getTime() <= now) {
+                throw new ExpiredJwtException(null, cached.claims, "JWT expired at " + cached.claims.getExpiration());
+            }
+        }
+
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        remember(key, claims, now);
+        return claims;
+    }
+
+    long cachedTokenCount() {
+        verifiedTokens.cleanUp();
+        return verifiedTokens.estimatedSize();
+    }
+
+    private void remember(String key, Claims claims, long now) {
+        long expiresAt = now + MAX_CACHE_TTL_MS;
+        Date expiration = claims.getExpiration();
+        if (expiration != null) {
+            expiresAt = Math.min(expiresAt, expiration.getTime());
+        }
+        verifiedTokens.put(key, new VerifiedToken(claims, expiresAt));
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class VerifiedToken {
+        private final Claims claims;
+        private final long expiresAt;
+
+        private VerifiedToken(Claims claims, long expiresAt) {
+            this.claims = claims;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -1,10 +1,12 @@
 // src/main/java/com/vsc/vehicle_service_backend/service/ChartDataService.java
 package com.vsc.vehicle_service_backend.service;
 
+import java.util.Map;
+
 public interface ChartDataService {
-    // Empty interface for now - we'll implement methods later
-    // You can add basic methods if needed:
+    Map<String, Object> getDashboardStats();
+    Map<String, Object> getStockStatusData();
 
-    // Map<String, Object> getDashboardStats();
-    // Map<String, Object> getStockStatusData();
-}
\ No newline at end of file
+    // Recompute every counter from the database
+    void rebuildStats();
+}
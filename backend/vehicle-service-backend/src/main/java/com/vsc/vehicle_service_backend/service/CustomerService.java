@@ -2,7 +2,11 @@ package com.vsc.vehicle_service_backend.service;
 
 
 
+import com.vsc.vehicle_service_backend.dto.CustomerSummaryView;
 import com.vsc.vehicle_service_backend.entity.Customer;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
 import java.util.List;
 
 public interface CustomerService {
@@ -16,5 +20,14 @@ public interface CustomerService {
     Customer getCustomerById(Long id);
 
     List<Customer> getAllCustomers();
+
+    // One page of the customer list; sortBy is one of id, name, email, phone
+    Page<CustomerSummaryView> getCustomersPage(int page, int size, String sortBy, String direction);
+
+    // Keyset page in id order, starting after afterId (null for the first page)
+    Slice<CustomerSummaryView> getCustomersAfter(Long afterId, int size);
+
+    // Best matches for a phone number ending or a (possibly misspelt) name, at most limit results
+    List<Customer> lookupCustomers(String query, int limit);
 }
 
@@ -0,0 +1,43 @@
+package com.vsc.vehicle_service_backend.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+/**
+ * Streams whole tables to an output stream row by row, for exports too large to build
+ * as a JSON array in memory. Date bounds are inclusive and optional.
+ */
+public interface DataExportService {
+
+    enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() { return contentType; }
+        public String getExtension() { return extension; }
+
+        public static Format fromParam(String value) {
+            for (Format format : values()) {
+                if (format.name().equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+            throw new RuntimeException("Unsupported export format: " + value + " (use csv or ndjson)");
+        }
+    }
+
+    void exportServiceRecords(Format format, LocalDate from, LocalDate to, OutputStream out) throws IOException;
+
+    void exportUsages(Format format, LocalDate from, LocalDate to, OutputStream out) throws IOException;
+
+    void exportSmsLogs(Format format, LocalDate from, LocalDate to, OutputStream out) throws IOException;
+}
@@ -0,0 +1,43 @@
+package com.vsc.vehicle_service_backend.service;
+
+import com.vsc.vehicle_service_backend.entity.FinanceTransaction;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Finance ledger. Every posted or removed transaction also updates the daily and monthly
+ * rollup tables in the same database transaction, so the reports below read pre-aggregated
+ * rows instead of scanning finance_transaction.
+ */
+public interface FinanceService {
+    FinanceTransaction postTransaction(FinanceTransaction transaction);
+
+    /**
+     * Posts many transactions with one JDBC batch insert and one rollup update per
+     * day/type/category. Transactions whose referenceType/referenceId is already posted are
+     * skipped. A negative amount reverses an earlier posting of the same type and category.
+     * Always runs in a transaction of its own. Returns the number of transactions written.
+     */
+    int postTransactions(List<FinanceTransaction> transactions);
+
+    void deleteTransaction(Long id);
+
+    FinanceTransaction getTransactionById(Long id);
+
+    List<FinanceTransaction> getTransactions(LocalDate startDate, LocalDate endDate);
+
+    // Income, expense and net profit with per-category breakdowns
+    Map<String, Object> getProfitAndLoss(LocalDate startDate, LocalDate endDate);
+
+    // One entry per day that had any transaction
+    List<Map<String, Object>> getDailyCashFlow(LocalDate startDate, LocalDate endDate);
+
+    // One entry per month that had any transaction
+    List<Map<String, Object>> getMonthlySummary(YearMonth from, YearMonth to);
+
+    // Recomputes both rollup tables from finance_transaction (full scan - maintenance only)
+    Map<String, Object> rebuildRollups();
+}
@@ -0,0 +1,11 @@
+package com.vsc.vehicle_service_backend.service;
+
+import java.util.Map;
+
+public interface IncomeChartService {
+    // Received quantity and spend per month, brand and supplier for the last `months` months
+    Map<String, Object> getCategoryChart(Long categoryId, int months);
+
+    // Number of (category, window) charts currently cached
+    int getCachedChartCount();
+}
@@ -1,6 +1,7 @@
 package com.vsc.vehicle_service_backend.service;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -21,8 +22,26 @@ public class JwtService {
     @Value("${jwt.expiration:86400000}")
     private long jwtExpirationMs;
 
+    // Built on first use, the secret is injected after construction
+    private volatile SecretKey signingKey;
+    private volatile JwtParser parser;
+
     private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        SecretKey key = signingKey;
+        if (key == null) {
+            key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+            signingKey = key;
+        }
+        return key;
+    }
+
+    private JwtParser getParser() {
+        JwtParser jwtParser = parser;
+        if (jwtParser == null) {
+            jwtParser = Jwts.parserBuilder().setSigningKey(getSigningKey()).build();
+            parser = jwtParser;
+        }
+        return jwtParser;
     }
 
     public String extractUsername(String token) {
@@ -39,15 +58,11 @@ public class JwtService {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return getParser().parseClaimsJws(token).getBody();
     }
 
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private Boolean isTokenExpired(Claims claims) {
+        return claims.getExpiration().before(new Date());
     }
 
     public String generateToken(String email) {
@@ -66,7 +81,8 @@ public class JwtService {
     }
 
     public Boolean validateToken(String token, String email) {
-        final String username = extractUsername(token);
-        return (username.equals(email) && !isTokenExpired(token));
+        // Parse and verify the token once for both checks
+        final Claims claims = extractAllClaims(token);
+        return (claims.getSubject().equals(email) && !isTokenExpired(claims));
     }
 }
\ No newline at end of file
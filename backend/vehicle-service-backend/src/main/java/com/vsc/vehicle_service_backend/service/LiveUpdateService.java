@@ -0,0 +1,23 @@
+package com.vsc.vehicle_service_backend.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+import java.util.Set;
+
+public interface LiveUpdateService {
+    String SERVICE_RECORDS = "service-records";
+    String STOCK = "stock";
+    String SMS_LOGS = "sms-logs";
+    String LOW_STOCK = "low-stock";
+    Set<String> TOPICS = Set.of(SERVICE_RECORDS, STOCK, SMS_LOGS, LOW_STOCK);
+
+    // SSE stream of change events for the given topics (all topics when empty)
+    SseEmitter subscribe(Set<String> topics);
+
+    // Queues a change event for every subscriber of the topic; never blocks on slow clients
+    void publish(String topic, Map<String, Object> payload);
+
+    // Subscriber count and per-topic published/dropped counters
+    Map<String, Object> getStats();
+}
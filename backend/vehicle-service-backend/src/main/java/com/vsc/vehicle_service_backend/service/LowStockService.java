@@ -0,0 +1,12 @@
+package com.vsc.vehicle_service_backend.service;
+
+import java.util.List;
+import java.util.Map;
+
+public interface LowStockService {
+    // Parts at or below their minimum quantity, largest shortfall first
+    List<Map<String, Object>> getLowStockParts();
+
+    // Reload every part's stock level from the database
+    void rebuild();
+}
@@ -0,0 +1,19 @@
+package com.vsc.vehicle_service_backend.service;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Hands out increasing numbers for business identifiers (SR_1, PART-001, vh_1, sv_1).
+ * Numbers are unique across threads and application instances but may contain gaps.
+ */
+public interface RecordIdAllocator {
+
+    /**
+     * Returns the next number of the given sequence.
+     *
+     * @param sequenceName   name of the sequence, e.g. "SR"
+     * @param lastUsedNumber called once, only when the sequence does not exist yet,
+     *                       to find the highest number already present in the data
+     */
+    long next(String sequenceName, LongSupplier lastUsedNumber);
+}
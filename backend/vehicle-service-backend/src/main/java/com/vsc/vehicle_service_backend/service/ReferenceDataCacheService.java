@@ -0,0 +1,12 @@
+package com.vsc.vehicle_service_backend.service;
+
+import java.util.Map;
+
+public interface ReferenceDataCacheService {
+
+    // Hit/miss/put counts of each reference data cache region since startup
+    Map<String, Object> getStats();
+
+    // Drops every cached category, supplier and catalog entry (e.g. after editing the tables by hand)
+    void evictAll();
+}
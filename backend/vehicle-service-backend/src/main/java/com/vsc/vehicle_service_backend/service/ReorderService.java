@@ -0,0 +1,16 @@
+package com.vsc.vehicle_service_backend.service;
+
+import com.vsc.vehicle_service_backend.dto.SparePartIncomeResponse;
+
+import java.util.List;
+
+public interface ReorderService {
+    // Re-evaluate the parts changed since the last run and create one draft order per supplier
+    List<SparePartIncomeResponse> runReorder();
+
+    // Queue the whole catalog for the next run
+    void markAllChanged();
+
+    // Parts waiting to be re-evaluated
+    int getPendingCount();
+}
@@ -0,0 +1,15 @@
+package com.vsc.vehicle_service_backend.service;
+
+import com.vsc.vehicle_service_backend.dto.SmsCampaignRequest;
+
+import java.util.List;
+import java.util.Map;
+
+public interface SmsCampaignService {
+    // Validates the request and queues the campaign; returns its initial progress
+    Map<String, Object> startCampaign(SmsCampaignRequest request);
+
+    Map<String, Object> getCampaign(String campaignId);
+
+    List<Map<String, Object>> getCampaigns();
+}
@@ -0,0 +1,11 @@
+package com.vsc.vehicle_service_backend.service;
+
+/**
+ * Delivers a text message through an SMS provider. Implementations throw on failure so the
+ * caller can retry; the returned id is the provider's message reference.
+ */
+public interface SmsGateway {
+    String send(String phoneNumber, String message);
+
+    String getProviderName();
+}
@@ -0,0 +1,13 @@
+package com.vsc.vehicle_service_backend.service;
+
+import java.util.Map;
+
+public interface SmsLogSearchService {
+    // Keyset page of SMS logs, newest first; cursor is the nextCursor of the previous page
+    Map<String, Object> search(String phoneNumber, String status, Long customerId,
+                               String cursor, int size, boolean includeTotal);
+
+    // Fill phone_reversed for rows written before the column existed, marking digitless numbers
+    // with an empty value so each row is visited once; returns rows updated
+    int backfillPhoneIndex();
+}
@@ -0,0 +1,13 @@
+package com.vsc.vehicle_service_backend.service;
+
+import java.util.Map;
+
+public interface SmsOutboxService {
+    // Queue the completion SMS for a service record; must run inside the caller's transaction, with the record locked
+    void enqueueServiceCompletion(Long serviceRecordId);
+
+    // Deliver due messages; returns how many were attempted
+    int dispatchDue();
+
+    Map<String, Object> getOutboxStats();
+}
@@ -13,6 +13,10 @@ public interface SmsService {
     SmsLog sendServiceCompletionSms(Long serviceRecordId);
     SmsLog sendCustomSms(SmsRequest smsRequest);
 
+    // Outbox delivery: throws on failure instead of logging it, so the dispatcher can retry
+    SmsLog deliverServiceCompletionSms(Long serviceRecordId);
+    SmsLog recordFailedServiceCompletionSms(Long serviceRecordId, String errorMessage);
+
     // Get SMS logs
     List<SmsLog> getSmsHistoryByCustomerId(Long customerId);
     List<SmsLog> getSmsHistoryByRecordId(Long recordId);
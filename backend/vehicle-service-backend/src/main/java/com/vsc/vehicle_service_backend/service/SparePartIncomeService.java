@@ -1,5 +1,6 @@
 package com.vsc.vehicle_service_backend.service;
 
+import com.vsc.vehicle_service_backend.dto.GoodsReceiptRequest;
 import com.vsc.vehicle_service_backend.dto.SparePartIncomeRequest;
 import com.vsc.vehicle_service_backend.dto.SparePartIncomeResponse;
 import java.util.List;
@@ -8,10 +9,15 @@ import java.util.Map;
 public interface SparePartIncomeService {
     List<SparePartIncomeResponse> getAllIncomes();
     SparePartIncomeResponse getIncomeById(Long id);
+    // Orders still awaiting goods: pending or partially received
     List<SparePartIncomeResponse> getPendingIncomes();
     SparePartIncomeResponse createIncome(SparePartIncomeRequest request);
     SparePartIncomeResponse receiveIncome(Long id);
+    // Receives a whole delivery (many orders, per-line quantities) in one transaction
+    List<SparePartIncomeResponse> receiveGoods(GoodsReceiptRequest request);
     SparePartIncomeResponse cancelIncome(Long id);
     void deleteIncome(Long id);
     Map<String, Object> getChartDataByCategory(Long categoryId);
+    // Received quantity and spend over the last `months` months (1-24)
+    Map<String, Object> getChartDataByCategory(Long categoryId, int months);
 }
\ No newline at end of file
@@ -3,6 +3,9 @@ package com.vsc.vehicle_service_backend.service;
 
 import com.vsc.vehicle_service_backend.dto.SparePartRequest;
 import com.vsc.vehicle_service_backend.dto.SparePartResponse;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
 import java.util.List;
 
 public interface SparePartService {
@@ -13,4 +16,5 @@ public interface SparePartService {
     void deleteSparePart(Long id);
     List<SparePartResponse> getSparePartsByCategory(Long categoryId); // Add this
     List<SparePartResponse> getSparePartsBySupplier(Long supplierId); // Optional
+    Page<SparePartResponse> searchSpareParts(String query, Pageable pageable); // Ranked, served from the in-memory index
 }
\ No newline at end of file
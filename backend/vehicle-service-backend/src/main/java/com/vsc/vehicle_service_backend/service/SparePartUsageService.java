@@ -1,6 +1,7 @@
 // src/main/java/com/vsc/vehicle_service_backend/service/SparePartUsageService.java
 package com.vsc.vehicle_service_backend.service;
 
+import com.vsc.vehicle_service_backend.dto.MultiPartUsageRequest;
 import com.vsc.vehicle_service_backend.dto.SparePartUsageRequest;
 import com.vsc.vehicle_service_backend.dto.SparePartUsageResponse;
 
@@ -16,10 +17,14 @@ public interface SparePartUsageService {
     void deleteUsage(Long id);
     Map<String, Object> getUsageChartData(Long categoryId);
     Map<String, Object> getStockFlowData(Long categoryId);
+    Map<String, Object> getStockFlowData(Long categoryId, LocalDate startDate, LocalDate endDate);
 
     // Existing methods (keep these)
     SparePartUsageResponse recordUsage(SparePartUsageRequest request);
     List<SparePartUsageResponse> getUsageBySparePart(Long sparePartId);
     List<SparePartUsageResponse> getUsageByServiceJob(Long serviceRecordId);
     List<SparePartUsageResponse> getUsageByDateRange(LocalDate startDate, LocalDate endDate);
+
+    // Every part of a job as one usage with one line per part; stock for all lines is taken or none is
+    SparePartUsageResponse recordMultiPartUsage(MultiPartUsageRequest request);
 }
\ No newline at end of file
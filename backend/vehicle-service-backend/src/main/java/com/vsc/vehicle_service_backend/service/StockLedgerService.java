@@ -0,0 +1,31 @@
+package com.vsc.vehicle_service_backend.service;
+
+import com.vsc.vehicle_service_backend.entity.StockMovement;
+
+import java.util.List;
+import java.util.Map;
+
+public interface StockLedgerService {
+    // Atomically takes stock out; fails without changing anything when not enough is available
+    void decreaseStock(Long sparePartId, int quantity, StockMovement.MovementType movementType,
+                       String referenceType, Long referenceId);
+
+    // Atomically puts stock back in
+    void increaseStock(Long sparePartId, int quantity, StockMovement.MovementType movementType,
+                       String referenceType, Long referenceId);
+
+    // Puts stock back in for several parts at once (sparePartId -> quantity): one batched UPDATE
+    // and batched movement rows instead of a round trip pair per part
+    void increaseStock(Map<Long, Integer> quantities, StockMovement.MovementType movementType,
+                       String referenceType, Long referenceId);
+
+    // Same for movements with different references (e.g. several orders of one delivery): each part's
+    // quantity rises once by its summed change and every movement is kept; returns the saved movements
+    List<StockMovement> increaseStock(List<StockMovement> movements);
+
+    // Takes stock out for several movements (e.g. the lines of one usage) with a single conditional
+    // UPDATE; if any part lacks stock nothing is taken. Movements carry their negative change as stored
+    List<StockMovement> decreaseStock(List<StockMovement> movements);
+
+    List<StockMovement> getMovements(Long sparePartId);
+}
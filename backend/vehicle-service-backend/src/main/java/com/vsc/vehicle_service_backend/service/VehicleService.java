@@ -3,6 +3,9 @@ package com.vsc.vehicle_service_backend.service;
 import com.vsc.vehicle_service_backend.dto.VehicleRequest;
 import com.vsc.vehicle_service_backend.dto.VehicleResponse;
 import com.vsc.vehicle_service_backend.entity.Vehicle;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
 import java.util.List;
 
 public interface VehicleService {
@@ -11,9 +14,18 @@ public interface VehicleService {
 
     List<VehicleResponse> getAllVehicles();
 
+    // One page of the vehicle list; sortBy is one of id, vehicleNumber, brand, model, vehicleType, customerName
+    Page<VehicleResponse> getVehiclesPage(int page, int size, String sortBy, String direction);
+
+    // Keyset page in id order, starting after afterId (null for the first page)
+    Slice<VehicleResponse> getVehiclesAfter(Long afterId, int size);
+
     VehicleResponse getVehicleById(Long id);
 
     VehicleResponse updateVehicle(Long id, VehicleRequest request);
 
     void deleteVehicle(Long id);
+
+    // Best matches for a registration number fragment, at most limit results
+    List<VehicleResponse> lookupVehicles(String query, int limit);
 }
@@ -1,33 +1,209 @@
 // src/main/java/com/vsc/vehicle_service_backend/service/impl/ChartDataServiceImpl.java
 package com.vsc.vehicle_service_backend.service.impl;
 
+import com.vsc.vehicle_service_backend.dto.StockLevelView;
+import com.vsc.vehicle_service_backend.event.ReferenceDataChangedEvent;
+import com.vsc.vehicle_service_backend.event.SparePartChangedEvent;
+import com.vsc.vehicle_service_backend.event.StockChangedEvent;
+import com.vsc.vehicle_service_backend.repository.SparePartCategoryRepository;
+import com.vsc.vehicle_service_backend.repository.SparePartRepository;
+import com.vsc.vehicle_service_backend.repository.SupplierRepository;
 import com.vsc.vehicle_service_backend.service.ChartDataService;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
+/**
+ * Dashboard totals are kept in memory and adjusted from committed entity and stock events,
+ * so the dashboard polled by every front-desk screen never hits the database. Writers are
+ * serialized on this instance; readers only see the last immutable {@link Stats} snapshot.
+ * A periodic rebuild corrects any drift, e.g. from rows changed outside the application.
+ */
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class ChartDataServiceImpl implements ChartDataService {
 
-    // Empty implementation for now
-    // We'll add methods as we need them
+    private enum StockLevel { LOW, MEDIUM, HIGH }
+
+    private final SparePartRepository sparePartRepository;
+    private final SparePartCategoryRepository categoryRepository;
+    private final SupplierRepository supplierRepository;
+
+    // Guarded by this
+    private final Map<Long, PartState> parts = new HashMap<>();
+    private long categories;
+    private long suppliers;
+    private final long[] levelCounts = new long[StockLevel.values().length];
+    private BigDecimal inventoryValue = BigDecimal.ZERO;
+    private boolean loaded;
+
+    private volatile Stats stats = new Stats(0, 0, 0, 0, 0, 0, BigDecimal.ZERO);
 
-    // Example basic method:
-    /*
     @Override
     public Map<String, Object> getDashboardStats() {
-        return Map.of(
-            "totalSpareParts", 0L,
-            "totalCategories", 0L,
-            "totalSuppliers", 0L,
-            "lowStockItems", 0L,
-            "totalInventoryValue", 0.0,
-            "totalServiceJobs", 0L,
-            "totalCustomers", 0L,
-            "monthlyRevenue", 0.0
-        );
-    }
-    */
-}
\ No newline at end of file
+        Stats current = stats;
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("totalSpareParts", current.totalParts);
+        result.put("totalCategories", current.totalCategories);
+        result.put("totalSuppliers", current.totalSuppliers);
+        result.put("lowStockItems", current.lowStock);
+        result.put("mediumStockItems", current.mediumStock);
+        result.put("highStockItems", current.highStock);
+        result.put("totalInventoryValue", current.inventoryValue.doubleValue());
+        return result;
+    }
+
+    @Override
+    public Map<String, Object> getStockStatusData() {
+        Stats current = stats;
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("lowStock", current.lowStock);
+        result.put("mediumStock", current.mediumStock);
+        result.put("highStock", current.highStock);
+        return result;
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.dashboard-stats.rebuild-interval-ms:900000}",
+            initialDelayString = "${app.dashboard-stats.rebuild-interval-ms:900000}")
+    public synchronized void rebuildStats() {
+        parts.clear();
+        levelCounts[0] = levelCounts[1] = levelCounts[2] = 0;
+        inventoryValue = BigDecimal.ZERO;
+
+        for (StockLevelView view : sparePartRepository.findAllStockLevels()) {
+            add(view.getId(), new PartState(quantityOf(view.getQuantity()), view.getMinQuantity(), view.getPrice()));
+        }
+        categories = categoryRepository.count();
+        suppliers = supplierRepository.count();
+        loaded = true;
+
+        publish();
+        log.info("Dashboard stats rebuilt: {} parts, {} categories, {} suppliers",
+                parts.size(), categories, suppliers);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onSparePartChanged(SparePartChangedEvent event) {
+        if (!loaded) {
+            return;
+        }
+        remove(event.getSparePartId());
+        if (event.getChangeType() == SparePartChangedEvent.ChangeType.SAVED) {
+            add(event.getSparePartId(),
+                    new PartState(quantityOf(event.getQuantity()), event.getMinQuantity(), event.getPrice()));
+        }
+        publish();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onStockChanged(StockChangedEvent event) {
+        if (!loaded) {
+            return;
+        }
+        PartState previous = remove(event.getSparePartId());
+        if (previous != null) {
+            add(event.getSparePartId(),
+                    new PartState(previous.quantity + event.getQuantityChange(), previous.minQuantity, previous.price));
+            publish();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onReferenceDataChanged(ReferenceDataChangedEvent event) {
+        if (!loaded) {
+            return;
+        }
+        long delta = event.getChangeType() == ReferenceDataChangedEvent.ChangeType.CREATED ? 1 : -1;
+        if (event.getDataType() == ReferenceDataChangedEvent.DataType.CATEGORY) {
+            categories = Math.max(0, categories + delta);
+        } else {
+            suppliers = Math.max(0, suppliers + delta);
+        }
+        publish();
+    }
+
+    private void add(Long id, PartState state) {
+        parts.put(id, state);
+        levelCounts[state.level().ordinal()]++;
+        inventoryValue = inventoryValue.add(state.value());
+    }
+
+    private PartState remove(Long id) {
+        PartState previous = parts.remove(id);
+        if (previous != null) {
+            levelCounts[previous.level().ordinal()]--;
+            inventoryValue = inventoryValue.subtract(previous.value());
+        }
+        return previous;
+    }
+
+    private void publish() {
+        stats = new Stats(parts.size(), categories, suppliers,
+                levelCounts[StockLevel.LOW.ordinal()],
+                levelCounts[StockLevel.MEDIUM.ordinal()],
+                levelCounts[StockLevel.HIGH.ordinal()],
+                inventoryValue);
+    }
+
+    private static int quantityOf(Integer quantity) {
+        return quantity != null ? quantity : 0;
+    }
+
+    private static final class PartState {
+        private final int quantity;
+        private final Integer minQuantity;
+        private final Double price;
+
+        private PartState(int quantity, Integer minQuantity, Double price) {
+            this.quantity = quantity;
+            this.minQuantity = minQuantity;
+            this.price = price;
+        }
+
+        // Same thresholds as SparePartResponse.stockStatus
+        private StockLevel level() {
+            int min = minQuantity != null ? minQuantity : 0;
+            if (quantity <= min) {
+                return StockLevel.LOW;
+            }
+            return quantity <= min * 2 ? StockLevel.MEDIUM : StockLevel.HIGH;
+        }
+
+        private BigDecimal value() {
+            return price != null ? BigDecimal.valueOf(price).multiply(BigDecimal.valueOf(quantity)) : BigDecimal.ZERO;
+        }
+    }
+
+    private static final class Stats {
+        private final long totalParts;
+        private final long totalCategories;
+        private final long totalSuppliers;
+        private final long lowStock;
+        private final long mediumStock;
+        private final long highStock;
+        private final BigDecimal inventoryValue;
+
+        private Stats(long totalParts, long totalCategories, long totalSuppliers,
+                      long lowStock, long mediumStock, long highStock, BigDecimal inventoryValue) {
+            this.totalParts = totalParts;
+            this.totalCategories = totalCategories;
+            this.totalSuppliers = totalSuppliers;
+            this.lowStock = lowStock;
+            this.mediumStock = mediumStock;
+            this.highStock = highStock;
+            this.inventoryValue = inventoryValue;
+        }
+    }
+}
@@ -1,18 +1,33 @@
 package com.vsc.vehicle_service_backend.service.impl;
 
+import com.vsc.vehicle_service_backend.dto.CustomerSummaryView;
 import com.vsc.vehicle_service_backend.entity.Customer;
 import com.vsc.vehicle_service_backend.repository.CustomerRepository;
 import com.vsc.vehicle_service_backend.service.CustomerService;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class CustomerServiceImpl implements CustomerService {
 
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final Set<String> SORT_FIELDS = Set.of("id", "name", "email", "phone");
+
     private final CustomerRepository customerRepository;
+    private final FrontDeskLookupIndex lookupIndex;
 
-    public CustomerServiceImpl(CustomerRepository customerRepository) {
+    public CustomerServiceImpl(CustomerRepository customerRepository, FrontDeskLookupIndex lookupIndex) {
         this.customerRepository = customerRepository;
+        this.lookupIndex = lookupIndex;
     }
 
     @Override
@@ -20,7 +35,9 @@ public class CustomerServiceImpl implements CustomerService {
         if (customerRepository.existsByEmail(customer.getEmail())) {
             throw new RuntimeException("Email already exists!");
         }
-        return customerRepository.save(customer);
+        Customer saved = customerRepository.save(customer);
+        lookupIndex.indexCustomer(saved);
+        return saved;
     }
 
     @Override
@@ -47,12 +64,15 @@ public class CustomerServiceImpl implements CustomerService {
             existing.setAddress(updatedCustomer.getAddress());
         }
 
-        return customerRepository.save(existing);
+        Customer saved = customerRepository.save(existing);
+        lookupIndex.indexCustomer(saved);
+        return saved;
     }
 
     @Override
     public void deleteCustomer(Long id) {
         customerRepository.deleteById(id);
+        lookupIndex.removeCustomer(id);
     }
 
     @Override
@@ -65,4 +85,42 @@ public class CustomerServiceImpl implements CustomerService {
     public List<Customer> getAllCustomers() {
         return customerRepository.findAll();
     }
-}
\ No newline at end of file
+
+    @Override
+    public Page<CustomerSummaryView> getCustomersPage(int page, int size, String sortBy, String direction) {
+        if (!SORT_FIELDS.contains(sortBy)) {
+            throw new RuntimeException("Unsupported sort field: " + sortBy);
+        }
+        Sort.Direction sortDirection = Sort.Direction.fromOptionalString(direction).orElse(Sort.Direction.ASC);
+
+        // id breaks ties so rows never repeat or go missing between pages
+        Sort sort = Sort.by(sortDirection, sortBy);
+        if (!"id".equals(sortBy)) {
+            sort = sort.and(Sort.by("id"));
+        }
+        return customerRepository.findSummaryPage(PageRequest.of(Math.max(0, page), clampPageSize(size), sort));
+    }
+
+    @Override
+    public Slice<CustomerSummaryView> getCustomersAfter(Long afterId, int size) {
+        return customerRepository.findSummariesAfter(afterId == null ? 0L : afterId, PageRequest.of(0, clampPageSize(size)));
+    }
+
+    @Override
+    public List<Customer> lookupCustomers(String query, int limit) {
+        List<Long> ids = lookupIndex.lookupCustomerIds(query, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Customer> customers = customerRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Customer::getId, Function.identity()));
+        return ids.stream()
+                .map(customers::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    private static int clampPageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+}
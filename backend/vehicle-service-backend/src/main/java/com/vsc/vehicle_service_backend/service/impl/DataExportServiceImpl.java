@@ -0,0 +1,262 @@
+package com.vsc.vehicle_service_backend.service.impl;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.vsc.vehicle_service_backend.service.DataExportService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Exports run plain SQL through a forward-only result set and write each row straight to the
+ * response, so nothing is collected in memory or the persistence context. Streaming is set on
+ * the export statement alone: MySQL streams row by row with a fetch size of Integer.MIN_VALUE,
+ * other databases use the configured fetch size. The rest of the application keeps the
+ * driver's default buffered result sets.
+ */
+@Service
+public class DataExportServiceImpl implements DataExportService {
+
+    private static final String SERVICE_RECORDS_SQL =
+            "SELECT id, record_id, service_date, next_service_date, status, vehicle_id, service_id, " +
+                    "customer_id, total_cost, notes, created_at, updated_at " +
+                    "FROM service_record %s ORDER BY id";
+
+    private static final String USAGES_SQL =
+            "SELECT u.id AS usage_id, u.usage_number, u.usage_date, u.service_record_id, u.vehicle_id, " +
+                    "u.technician_name, i.id AS item_id, i.spare_part_id, p.part_code, p.part_name, " +
+                    "i.quantity_used, i.unit_cost, i.total_cost " +
+                    "FROM spare_part_usage u " +
+                    "JOIN spare_part_usage_item i ON i.usage_id = u.id " +
+                    "JOIN spare_part p ON p.id = i.spare_part_id %s ORDER BY u.id, i.id";
+
+    private static final String SMS_LOGS_SQL =
+            "SELECT id, sent_at, phone_number, status, provider, message_id, customer_id, " +
+                    "service_record_id, error_message, message " +
+                    "FROM sms_log %s ORDER BY id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int fetchSize;
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    public DataExportServiceImpl(JdbcTemplate jdbcTemplate,
+                                 @Value("${app.export.fetch-size:500}") int fetchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.fetchSize = fetchSize;
+    }
+
+    @Override
+    public void exportServiceRecords(Format format, LocalDate from, LocalDate to, OutputStream out) throws IOException {
+        List<Object> params = new ArrayList<>();
+        String where = dateRange("service_date", from, to, params, false);
+        export(String.format(SERVICE_RECORDS_SQL, where), params, format, out);
+    }
+
+    @Override
+    public void exportUsages(Format format, LocalDate from, LocalDate to, OutputStream out) throws IOException {
+        List<Object> params = new ArrayList<>();
+        String where = dateRange("u.usage_date", from, to, params, false);
+        export(String.format(USAGES_SQL, where), params, format, out);
+    }
+
+    @Override
+    public void exportSmsLogs(Format format, LocalDate from, LocalDate to, OutputStream out) throws IOException {
+        List<Object> params = new ArrayList<>();
+        String where = dateRange("sent_at", from, to, params, true);
+        export(String.format(SMS_LOGS_SQL, where), params, format, out);
+    }
+
+    // sent_at is a timestamp, so its upper bound is the start of the following day
+    private String dateRange(String column, LocalDate from, LocalDate to, List<Object> params, boolean timestamp) {
+        List<String> conditions = new ArrayList<>();
+        if (from != null) {
+            conditions.add(column + " >= ?");
+            params.add(timestamp ? Timestamp.valueOf(from.atStartOfDay()) : Date.valueOf(from));
+        }
+        if (to != null) {
+            if (timestamp) {
+                conditions.add(column + " < ?");
+                params.add(Timestamp.valueOf(to.plusDays(1).atStartOfDay()));
+            } else {
+                conditions.add(column + " <= ?");
+                params.add(Date.valueOf(to));
+            }
+        }
+        return conditions.isEmpty() ? "" : "WHERE " + String.join(" AND ", conditions);
+    }
+
+    private void export(String sql, List<Object> params, Format format, OutputStream out) throws IOException {
+        RowWriter writer = format == Format.CSV ? new CsvRowWriter(out) : new NdjsonRowWriter(out);
+        try {
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(sql,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                boolean mysql = "MySQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+                statement.setFetchSize(mysql ? Integer.MIN_VALUE : fetchSize);
+                for (int i = 0; i < params.size(); i++) {
+                    statement.setObject(i + 1, params.get(i));
+                }
+                return statement;
+            }, (ResultSetExtractor<Void>) rs -> {
+                try {
+                    // Columns come from the metadata, so an empty export still gets its CSV header
+                    writer.start(columnLabels(rs));
+                    while (rs.next()) {
+                        writer.write(rs);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return null;
+            });
+            writer.finish();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    // Converts JDBC values to the same text the JSON API would show
+    private static Object exportValue(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime().toString();
+        }
+        if (value instanceof Date date) {
+            return date.toLocalDate().toString();
+        }
+        return value;
+    }
+
+    private interface RowWriter {
+        void start(String[] columns) throws IOException;
+
+        void write(ResultSet rs) throws SQLException, IOException;
+
+        void finish() throws IOException;
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+        private final Writer writer;
+        private String[] columns;
+
+        private CsvRowWriter(OutputStream out) {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void start(String[] columns) throws IOException {
+            this.columns = columns;
+            writeLine(columns);
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            String[] values = new String[columns.length];
+            for (int i = 0; i < columns.length; i++) {
+                Object value = exportValue(rs.getObject(i + 1));
+                values[i] = value == null ? "" : value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString();
+            }
+            writeLine(values);
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+
+        private void writeLine(String[] values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(escape(values[i]));
+            }
+            writer.write("\r\n");
+        }
+
+        private static String escape(String value) {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+
+    private final class NdjsonRowWriter implements RowWriter {
+        private final JsonGenerator generator;
+        private String[] columns;
+
+        private NdjsonRowWriter(OutputStream out) throws IOException {
+            this.generator = jsonFactory.createGenerator(out, JsonEncoding.UTF8);
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void start(String[] columns) {
+            this.columns = columns;
+        }
+
+        @Override
+        public void write(ResultSet rs) throws SQLException, IOException {
+            generator.writeStartObject();
+            for (int i = 0; i < columns.length; i++) {
+                Object value = exportValue(rs.getObject(i + 1));
+                generator.writeFieldName(columns[i]);
+                if (value == null) {
+                    generator.writeNull();
+                } else if (value instanceof BigDecimal decimal) {
+                    generator.writeNumber(decimal);
+                } else if (value instanceof Number number) {
+                    writeNumber(number);
+                } else if (value instanceof Boolean bool) {
+                    generator.writeBoolean(bool);
+                } else {
+                    generator.writeString(value.toString());
+                }
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.flush();
+        }
+
+        private void writeNumber(Number number) throws IOException {
+            if (number instanceof Double || number instanceof Float) {
+                generator.writeNumber(number.doubleValue());
+            } else {
+                generator.writeNumber(number.longValue());
+            }
+        }
+    }
+
+    private static String[] columnLabels(ResultSet rs) throws SQLException {
+        ResultSetMetaData metaData = rs.getMetaData();
+        String[] labels = new String[metaData.getColumnCount()];
+        for (int i = 0; i < labels.length; i++) {
+            labels[i] = metaData.getColumnLabel(i + 1).toLowerCase();
+        }
+        return labels;
+    }
+}
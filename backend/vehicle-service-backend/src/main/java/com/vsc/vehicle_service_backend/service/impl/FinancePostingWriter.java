@@ -0,0 +1,130 @@
+package com.vsc.vehicle_service_backend.service.impl;
+
+import com.vsc.vehicle_service_backend.entity.FinancePostingOutbox;
+import com.vsc.vehicle_service_backend.entity.FinanceTransaction;
+import com.vsc.vehicle_service_backend.event.FinancePostingEvent;
+import com.vsc.vehicle_service_backend.repository.FinancePostingOutboxRepository;
+import com.vsc.vehicle_service_backend.service.FinanceService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Turns FinancePostingEvents into finance_transaction rows through an outbox. The event is
+ * stored in the publishing transaction, so a rolled back change posts nothing and a committed
+ * one survives a crash; the publishing request never waits for ledger I/O. A scheduled flush
+ * takes the oldest rows in batches, writes them through FinanceService.postTransactions and
+ * deletes them. A crash between the two only repeats postings, which are skipped by reference.
+ */
+@Slf4j
+@Component
+public class FinancePostingWriter {
+
+    private final FinancePostingOutboxRepository outboxRepository;
+    private final FinanceService financeService;
+    private final TransactionTemplate batchTransaction;
+    private final int batchSize;
+
+    public FinancePostingWriter(FinancePostingOutboxRepository outboxRepository,
+                                FinanceService financeService,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${app.finance-posting.batch-size:200}") int batchSize) {
+        this.outboxRepository = outboxRepository;
+        this.financeService = financeService;
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    // Runs inside the publisher's transaction, or in one of its own when there is none
+    @EventListener
+    public void onFinancePosting(FinancePostingEvent event) {
+        outboxRepository.save(toOutbox(event));
+    }
+
+    // Returns the number of postings taken out of the outbox
+    @Scheduled(fixedDelayString = "${app.finance-posting.flush-interval-ms:1000}")
+    public synchronized int flush() {
+        int drained = 0;
+        int taken;
+        do {
+            Integer batch = batchTransaction.execute(status -> writeBatch());
+            taken = batch != null ? batch : 0;
+            drained += taken;
+        } while (taken == batchSize);
+        return drained;
+    }
+
+    public long getQueuedCount() {
+        return outboxRepository.countByStatus(FinancePostingOutbox.OutboxStatus.PENDING);
+    }
+
+    private int writeBatch() {
+        List<FinancePostingOutbox> batch = outboxRepository.findBatchForUpdate(
+                FinancePostingOutbox.OutboxStatus.PENDING, PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<FinancePostingOutbox> written = new ArrayList<>(batch.size());
+        try {
+            financeService.postTransactions(toTransactions(batch));
+            written.addAll(batch);
+        } catch (RuntimeException e) {
+            // One bad posting fails the whole batch - retry one by one so only that one is held back
+            log.warn("[Finance] Batch of {} postings failed, retrying individually: {}", batch.size(), e.getMessage());
+            for (FinancePostingOutbox row : batch) {
+                try {
+                    financeService.postTransactions(toTransactions(List.of(row)));
+                    written.add(row);
+                } catch (RuntimeException single) {
+                    log.error("[Finance] Posting {} #{} failed, left in the outbox: {}", row.getReferenceType(),
+                            row.getReferenceId(), single.getMessage());
+                    row.setStatus(FinancePostingOutbox.OutboxStatus.FAILED);
+                    row.setLastError(single.getMessage());
+                }
+            }
+        }
+        outboxRepository.deleteAllInBatch(written);
+        return batch.size();
+    }
+
+    private static FinancePostingOutbox toOutbox(FinancePostingEvent event) {
+        FinancePostingOutbox row = new FinancePostingOutbox();
+        row.setReferenceType(event.getReferenceType());
+        row.setReferenceId(event.getReferenceId());
+        row.setTransactionType(event.getTransactionType());
+        row.setCategory(event.getCategory());
+        row.setAmount(event.getAmount());
+        row.setTransactionDate(event.getTransactionDate());
+        row.setDescription(event.getDescription());
+        row.setRelatedCustomerId(event.getRelatedCustomerId());
+        row.setRelatedVehicleId(event.getRelatedVehicleId());
+        return row;
+    }
+
+    private static List<FinanceTransaction> toTransactions(List<FinancePostingOutbox> rows) {
+        List<FinanceTransaction> transactions = new ArrayList<>(rows.size());
+        for (FinancePostingOutbox row : rows) {
+            FinanceTransaction transaction = new FinanceTransaction();
+            transaction.setTransactionType(row.getTransactionType());
+            transaction.setCategory(row.getCategory());
+            transaction.setAmount(row.getAmount());
+            transaction.setTransactionDate(row.getTransactionDate());
+            transaction.setDescription(row.getDescription());
+            transaction.setReferenceType(row.getReferenceType());
+            transaction.setReferenceId(row.getReferenceId());
+            transaction.setRelatedCustomerId(row.getRelatedCustomerId());
+            transaction.setRelatedVehicleId(row.getRelatedVehicleId());
+            transactions.add(transaction);
+        }
+        return transactions;
+    }
+}
@@ -0,0 +1,426 @@
+package com.vsc.vehicle_service_backend.service.impl;
+
+import com.vsc.vehicle_service_backend.dto.FinanceRollupTotal;
+import com.vsc.vehicle_service_backend.entity.FinanceDailyRollup;
+import com.vsc.vehicle_service_backend.entity.FinanceMonthlyRollup;
+import com.vsc.vehicle_service_backend.entity.FinanceTransaction;
+import com.vsc.vehicle_service_backend.entity.FinanceTransaction.TransactionCategory;
+import com.vsc.vehicle_service_backend.entity.FinanceTransaction.TransactionType;
+import com.vsc.vehicle_service_backend.repository.FinanceDailyRollupRepository;
+import com.vsc.vehicle_service_backend.repository.FinanceMonthlyRollupRepository;
+import com.vsc.vehicle_service_backend.repository.FinanceTransactionRepository;
+import com.vsc.vehicle_service_backend.service.FinanceService;
+import com.vsc.vehicle_service_backend.service.RecordIdAllocator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Rollup rows are created on first use in a short transaction of their own and from then on
+ * only changed by atomic "total = total + ?" updates. Because the posting transaction never
+ * inserts rollup rows itself, concurrent postings for the same day and category cannot
+ * collide on the unique key, and a rolled back posting takes its increments with it.
+ */
+@Service
+@Slf4j
+public class FinanceServiceImpl implements FinanceService {
+
+    private static final String TRANSACTION_ID_SEQUENCE = "FT";
+    private static final String TRANSACTION_ID_PREFIX = "FT_";
+
+    private static final String INSERT_TRANSACTION_SQL =
+            "INSERT INTO finance_transaction (transaction_id, transaction_date, transaction_type, category, " +
+            "description, amount, reference_type, reference_id, related_customer_id, related_vehicle_id, " +
+            "is_reconciled, notes, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final Set<TransactionCategory> INCOME_CATEGORIES = EnumSet.of(
+            TransactionCategory.SERVICE_INCOME,
+            TransactionCategory.SPARE_PART_SALES,
+            TransactionCategory.OTHER_INCOME);
+
+    private final FinanceTransactionRepository transactionRepository;
+    private final FinanceDailyRollupRepository dailyRollupRepository;
+    private final FinanceMonthlyRollupRepository monthlyRollupRepository;
+    private final RecordIdAllocator recordIdAllocator;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate rollupRowTransaction;
+
+    // Rollup keys known to have a row, so the existence check is skipped on the hot path
+    private final Set<String> existingDailyRows = ConcurrentHashMap.newKeySet();
+    private final Set<String> existingMonthlyRows = ConcurrentHashMap.newKeySet();
+
+    public FinanceServiceImpl(FinanceTransactionRepository transactionRepository,
+                              FinanceDailyRollupRepository dailyRollupRepository,
+                              FinanceMonthlyRollupRepository monthlyRollupRepository,
+                              RecordIdAllocator recordIdAllocator,
+                              JdbcTemplate jdbcTemplate,
+                              PlatformTransactionManager transactionManager) {
+        this.transactionRepository = transactionRepository;
+        this.dailyRollupRepository = dailyRollupRepository;
+        this.monthlyRollupRepository = monthlyRollupRepository;
+        this.recordIdAllocator = recordIdAllocator;
+        this.jdbcTemplate = jdbcTemplate;
+        this.rollupRowTransaction = new TransactionTemplate(transactionManager);
+        this.rollupRowTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    @Transactional
+    public FinanceTransaction postTransaction(FinanceTransaction transaction) {
+        prepare(transaction, LocalDateTime.now(), false);
+        FinanceTransaction saved = transactionRepository.save(transaction);
+        applyDailyDelta(saved.getTransactionDate(), saved.getTransactionType(), saved.getCategory(), saved.getAmount(), 1);
+        applyMonthlyDelta(saved.getTransactionDate(), saved.getTransactionType(), saved.getCategory(), saved.getAmount(), 1);
+        return saved;
+    }
+
+    // REQUIRES_NEW: FinancePostingWriter calls this inside its batch transaction and retries a failed
+    // batch row by row, so a failed attempt must roll back on its own instead of marking the batch
+    // transaction rollback-only. Postings commit before the outbox rows are deleted; a repeat after
+    // a crash in between is skipped by reference.
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int postTransactions(List<FinanceTransaction> transactions) {
+        List<FinanceTransaction> toPost = withoutPostedReferences(transactions);
+        if (toPost.isEmpty()) {
+            return 0;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (FinanceTransaction transaction : toPost) {
+            prepare(transaction, now, true);
+        }
+        jdbcTemplate.batchUpdate(INSERT_TRANSACTION_SQL, toPost, toPost.size(), (ps, transaction) -> {
+            ps.setString(1, transaction.getTransactionId());
+            ps.setDate(2, Date.valueOf(transaction.getTransactionDate()));
+            ps.setString(3, transaction.getTransactionType().name());
+            ps.setString(4, transaction.getCategory().name());
+            ps.setString(5, transaction.getDescription());
+            ps.setBigDecimal(6, transaction.getAmount());
+            ps.setString(7, transaction.getReferenceType());
+            ps.setObject(8, transaction.getReferenceId(), Types.BIGINT);
+            ps.setObject(9, transaction.getRelatedCustomerId(), Types.BIGINT);
+            ps.setObject(10, transaction.getRelatedVehicleId(), Types.BIGINT);
+            ps.setBoolean(11, transaction.getIsReconciled());
+            ps.setString(12, transaction.getNotes());
+            ps.setTimestamp(13, Timestamp.valueOf(transaction.getCreatedAt()));
+            ps.setTimestamp(14, Timestamp.valueOf(transaction.getUpdatedAt()));
+        });
+
+        // One rollup update per key, however many transactions of the batch share it
+        Map<String, RollupDelta> daily = new LinkedHashMap<>();
+        Map<String, RollupDelta> monthly = new LinkedHashMap<>();
+        for (FinanceTransaction transaction : toPost) {
+            LocalDate date = transaction.getTransactionDate();
+            String suffix = "|" + transaction.getTransactionType() + "|" + transaction.getCategory();
+            daily.computeIfAbsent(date + suffix, key -> new RollupDelta(date, transaction))
+                    .add(transaction.getAmount());
+            monthly.computeIfAbsent(YearMonth.from(date) + suffix, key -> new RollupDelta(date.withDayOfMonth(1), transaction))
+                    .add(transaction.getAmount());
+        }
+        daily.values().forEach(delta -> applyDailyDelta(delta.date, delta.type, delta.category, delta.amount, delta.count));
+        monthly.values().forEach(delta -> applyMonthlyDelta(delta.date, delta.type, delta.category, delta.amount, delta.count));
+
+        log.debug("[Finance] Posted {} transactions ({} daily, {} monthly rollup updates)",
+                toPost.size(), daily.size(), monthly.size());
+        return toPost.size();
+    }
+
+    @Override
+    @Transactional
+    public void deleteTransaction(Long id) {
+        FinanceTransaction transaction = getTransactionById(id);
+        BigDecimal reversal = transaction.getAmount().negate();
+        applyDailyDelta(transaction.getTransactionDate(), transaction.getTransactionType(), transaction.getCategory(), reversal, -1);
+        applyMonthlyDelta(transaction.getTransactionDate(), transaction.getTransactionType(), transaction.getCategory(), reversal, -1);
+        transactionRepository.delete(transaction);
+    }
+
+    @Override
+    public FinanceTransaction getTransactionById(Long id) {
+        return transactionRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Finance transaction not found with id: " + id));
+    }
+
+    @Override
+    public List<FinanceTransaction> getTransactions(LocalDate startDate, LocalDate endDate) {
+        return transactionRepository.findByTransactionDateBetween(startDate, endDate);
+    }
+
+    @Override
+    public Map<String, Object> getProfitAndLoss(LocalDate startDate, LocalDate endDate) {
+        BigDecimal totalIncome = BigDecimal.ZERO;
+        BigDecimal totalExpense = BigDecimal.ZERO;
+        long transactionCount = 0;
+        Map<String, BigDecimal> incomeByCategory = new LinkedHashMap<>();
+        Map<String, BigDecimal> expenseByCategory = new LinkedHashMap<>();
+
+        List<FinanceRollupTotal> totals = new ArrayList<>(dailyRollupRepository.sumByTypeAndCategory(startDate, endDate));
+        totals.sort(Comparator.comparing(FinanceRollupTotal::getCategory));
+        for (FinanceRollupTotal total : totals) {
+            if (total.getTransactionCount() == 0) {
+                continue;
+            }
+            if (total.getTransactionType() == TransactionType.INCOME) {
+                totalIncome = totalIncome.add(total.getTotalAmount());
+                incomeByCategory.put(total.getCategory().name(), total.getTotalAmount());
+            } else {
+                totalExpense = totalExpense.add(total.getTotalAmount());
+                expenseByCategory.put(total.getCategory().name(), total.getTotalAmount());
+            }
+            transactionCount += total.getTransactionCount();
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("startDate", startDate);
+        result.put("endDate", endDate);
+        result.put("totalIncome", totalIncome);
+        result.put("totalExpense", totalExpense);
+        result.put("netProfit", totalIncome.subtract(totalExpense));
+        result.put("incomeByCategory", incomeByCategory);
+        result.put("expenseByCategory", expenseByCategory);
+        result.put("transactionCount", transactionCount);
+        return result;
+    }
+
+    @Override
+    public List<Map<String, Object>> getDailyCashFlow(LocalDate startDate, LocalDate endDate) {
+        Map<LocalDate, BigDecimal[]> days = new TreeMap<>();
+        for (FinanceDailyRollup rollup : dailyRollupRepository.findByRollupDateBetweenOrderByRollupDate(startDate, endDate)) {
+            if (rollup.getTransactionCount() == 0) {
+                continue;
+            }
+            BigDecimal[] amounts = days.computeIfAbsent(rollup.getRollupDate(),
+                    date -> new BigDecimal[]{BigDecimal.ZERO, BigDecimal.ZERO});
+            int slot = rollup.getTransactionType() == TransactionType.INCOME ? 0 : 1;
+            amounts[slot] = amounts[slot].add(rollup.getTotalAmount());
+        }
+
+        List<Map<String, Object>> cashFlow = new ArrayList<>();
+        days.forEach((date, amounts) -> {
+            Map<String, Object> day = new HashMap<>();
+            day.put("date", date);
+            day.put("income", amounts[0]);
+            day.put("expense", amounts[1]);
+            day.put("net", amounts[0].subtract(amounts[1]));
+            cashFlow.add(day);
+        });
+        return cashFlow;
+    }
+
+    @Override
+    public List<Map<String, Object>> getMonthlySummary(YearMonth from, YearMonth to) {
+        Map<YearMonth, BigDecimal[]> months = new TreeMap<>();
+        for (FinanceMonthlyRollup rollup : monthlyRollupRepository.findByPeriodBetween(
+                from.getYear(), from.getMonthValue(), to.getYear(), to.getMonthValue())) {
+            if (rollup.getTransactionCount() == 0) {
+                continue;
+            }
+            BigDecimal[] amounts = months.computeIfAbsent(YearMonth.of(rollup.getRollupYear(), rollup.getRollupMonth()),
+                    month -> new BigDecimal[]{BigDecimal.ZERO, BigDecimal.ZERO});
+            int slot = rollup.getTransactionType() == TransactionType.INCOME ? 0 : 1;
+            amounts[slot] = amounts[slot].add(rollup.getTotalAmount());
+        }
+
+        List<Map<String, Object>> summary = new ArrayList<>();
+        months.forEach((month, amounts) -> {
+            Map<String, Object> entry = new HashMap<>();
+            entry.put("year", month.getYear());
+            entry.put("month", month.getMonthValue());
+            entry.put("income", amounts[0]);
+            entry.put("expense", amounts[1]);
+            entry.put("net", amounts[0].subtract(amounts[1]));
+            summary.add(entry);
+        });
+        return summary;
+    }
+
+    @Override
+    @Transactional
+    public Map<String, Object> rebuildRollups() {
+        LocalDateTime now = LocalDateTime.now();
+        monthlyRollupRepository.deleteAllInBatch();
+        dailyRollupRepository.deleteAllInBatch();
+        existingDailyRows.clear();
+        existingMonthlyRows.clear();
+
+        int dailyRows = dailyRollupRepository.rebuildFromTransactions(now);
+        int monthlyRows = monthlyRollupRepository.rebuildFromDailyRollups(now);
+        log.info("[Finance] Rebuilt rollups: {} daily rows, {} monthly rows", dailyRows, monthlyRows);
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("dailyRows", dailyRows);
+        result.put("monthlyRows", monthlyRows);
+        return result;
+    }
+
+    // Validates and fills in id, defaults and timestamps
+    // Only postings from the business services may reverse an earlier one with a negative amount
+    private void prepare(FinanceTransaction transaction, LocalDateTime now, boolean reversalAllowed) {
+        if (transaction.getTransactionType() == null) {
+            throw new RuntimeException("Transaction type is required");
+        }
+        if (transaction.getCategory() == null) {
+            throw new RuntimeException("Transaction category is required");
+        }
+        if (transaction.getAmount() == null || transaction.getAmount().signum() == 0) {
+            throw new RuntimeException("Amount must not be zero");
+        }
+        if (!reversalAllowed && transaction.getAmount().signum() < 0) {
+            throw new RuntimeException("Amount must be greater than zero");
+        }
+        if (transaction.getDescription() == null || transaction.getDescription().isBlank()) {
+            throw new RuntimeException("Description is required");
+        }
+        boolean incomeCategory = INCOME_CATEGORIES.contains(transaction.getCategory());
+        if (incomeCategory != (transaction.getTransactionType() == TransactionType.INCOME)) {
+            throw new RuntimeException("Category " + transaction.getCategory() +
+                    " cannot be used for " + transaction.getTransactionType() + " transactions");
+        }
+
+        if (transaction.getTransactionId() == null || transaction.getTransactionId().isEmpty()) {
+            long nextNumber = recordIdAllocator.next(TRANSACTION_ID_SEQUENCE, this::findHighestTransactionNumber);
+            transaction.setTransactionId(TRANSACTION_ID_PREFIX + nextNumber);
+        }
+        if (transaction.getTransactionDate() == null) {
+            transaction.setTransactionDate(LocalDate.now());
+        }
+        if (transaction.getIsReconciled() == null) {
+            transaction.setIsReconciled(false);
+        }
+        transaction.setAmount(transaction.getAmount().setScale(2, RoundingMode.HALF_UP));
+        transaction.setCreatedAt(now);
+        transaction.setUpdatedAt(now);
+    }
+
+    // Drops transactions whose reference is already posted, or repeated within the list
+    private List<FinanceTransaction> withoutPostedReferences(List<FinanceTransaction> transactions) {
+        Map<String, Set<Long>> referenceIdsByType = new HashMap<>();
+        for (FinanceTransaction transaction : transactions) {
+            if (transaction.getReferenceType() != null && transaction.getReferenceId() != null) {
+                referenceIdsByType.computeIfAbsent(transaction.getReferenceType(), type -> new HashSet<>())
+                        .add(transaction.getReferenceId());
+            }
+        }
+        Map<String, Set<Long>> taken = new HashMap<>();
+        referenceIdsByType.forEach((type, ids) ->
+                taken.put(type, new HashSet<>(transactionRepository.findPostedReferenceIds(type, ids))));
+
+        List<FinanceTransaction> result = new ArrayList<>(transactions.size());
+        for (FinanceTransaction transaction : transactions) {
+            if (transaction.getReferenceType() == null || transaction.getReferenceId() == null
+                    || taken.get(transaction.getReferenceType()).add(transaction.getReferenceId())) {
+                result.add(transaction);
+            }
+        }
+        return result;
+    }
+
+    private void applyDailyDelta(LocalDate date, TransactionType type, TransactionCategory category,
+                                 BigDecimal amount, long count) {
+        LocalDateTime now = LocalDateTime.now();
+        String key = date + "|" + type + "|" + category;
+        ensureDailyRow(key, date, type, category);
+        if (dailyRollupRepository.addToRollup(date, type, category, amount, count, now) == 0) {
+            // Row vanished (rollup rebuild) after it was cached - create it again once
+            existingDailyRows.remove(key);
+            ensureDailyRow(key, date, type, category);
+            if (dailyRollupRepository.addToRollup(date, type, category, amount, count, now) == 0) {
+                throw new RuntimeException("Failed to update daily finance rollup for " + key);
+            }
+        }
+    }
+
+    private void applyMonthlyDelta(LocalDate date, TransactionType type, TransactionCategory category,
+                                   BigDecimal amount, long count) {
+        LocalDateTime now = LocalDateTime.now();
+        int year = date.getYear();
+        int month = date.getMonthValue();
+        String key = year + "-" + month + "|" + type + "|" + category;
+        ensureMonthlyRow(key, year, month, type, category);
+        if (monthlyRollupRepository.addToRollup(year, month, type, category, amount, count, now) == 0) {
+            existingMonthlyRows.remove(key);
+            ensureMonthlyRow(key, year, month, type, category);
+            if (monthlyRollupRepository.addToRollup(year, month, type, category, amount, count, now) == 0) {
+                throw new RuntimeException("Failed to update monthly finance rollup for " + key);
+            }
+        }
+    }
+
+    private void ensureDailyRow(String key, LocalDate date, TransactionType type, TransactionCategory category) {
+        if (existingDailyRows.contains(key)) {
+            return;
+        }
+        try {
+            rollupRowTransaction.executeWithoutResult(status -> {
+                if (!dailyRollupRepository.existsByRollupDateAndTransactionTypeAndCategory(date, type, category)) {
+                    dailyRollupRepository.saveAndFlush(new FinanceDailyRollup(date, type, category));
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Another posting created the row at the same time - it exists now
+            log.debug("[Finance] Daily rollup row {} created concurrently", key);
+        }
+        existingDailyRows.add(key);
+    }
+
+    private void ensureMonthlyRow(String key, int year, int month, TransactionType type, TransactionCategory category) {
+        if (existingMonthlyRows.contains(key)) {
+            return;
+        }
+        try {
+            rollupRowTransaction.executeWithoutResult(status -> {
+                if (!monthlyRollupRepository.existsByRollupYearAndRollupMonthAndTransactionTypeAndCategory(
+                        year, month, type, category)) {
+                    monthlyRollupRepository.saveAndFlush(new FinanceMonthlyRollup(year, month, type, category));
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            log.debug("[Finance] Monthly rollup row {} created concurrently", key);
+        }
+        existingMonthlyRows.add(key);
+    }
+
+    // Summed amount and count of one rollup key within a batch
+    private static final class RollupDelta {
+        private final LocalDate date;
+        private final TransactionType type;
+        private final TransactionCategory category;
+        private BigDecimal amount = BigDecimal.ZERO;
+        private long count;
+
+        private RollupDelta(LocalDate date, FinanceTransaction transaction) {
+            this.date = date;
+            this.type = transaction.getTransactionType();
+            this.category = transaction.getCategory();
+        }
+
+        private RollupDelta add(BigDecimal value) {
+            amount = amount.add(value);
+            count++;
+            return this;
+        }
+    }
+
+    private long findHighestTransactionNumber() {
+        Long highest = transactionRepository.findHighestTransactionNumber();
+        return highest != null ? highest : 0L;
+    }
+}
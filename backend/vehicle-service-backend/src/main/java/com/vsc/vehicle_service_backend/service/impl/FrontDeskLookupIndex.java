@@ -0,0 +1,318 @@
+package com.vsc.vehicle_service_backend.service.impl;
+
+import com.vsc.vehicle_service_backend.dto.CustomerLookupView;
+import com.vsc.vehicle_service_backend.dto.VehicleLookupView;
+import com.vsc.vehicle_service_backend.entity.Customer;
+import com.vsc.vehicle_service_backend.entity.Vehicle;
+import com.vsc.vehicle_service_backend.repository.CustomerRepository;
+import com.vsc.vehicle_service_backend.repository.VehicleRepository;
+import com.vsc.vehicle_service_backend.util.PhoneNumberUtil;
+import com.vsc.vehicle_service_backend.util.TransactionHooks;
+import com.vsc.vehicle_service_backend.util.TrigramIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory lookup for the front desk: vehicles by registration number fragment and
+ * customers by phone number ending or (misspelt) name. Returns the best matching ids so
+ * only the top results are loaded from the database.
+ *
+ * - Registration numbers are compared without spaces, dashes and case ("WP CAB-1234" is
+ *   "wpcab1234"): exact, then prefix, then fragment, then trigram similarity for typos.
+ * - Phone numbers are indexed as reversed digits, so "ends with 4567" is a prefix range.
+ * - Names use padded trigrams and rank by the share of the query's trigrams found.
+ *
+ * Vehicle and customer services push their changes after commit; a periodic rebuild picks
+ * up anything else.
+ */
+@Slf4j
+@Component
+public class FrontDeskLookupIndex {
+
+    // Share of the query's trigrams a name or plate must contain to count as a fuzzy match
+    private static final double MIN_NAME_COVERAGE = 0.5;
+    private static final double MIN_PLATE_COVERAGE = 0.6;
+    private static final int MIN_PHONE_DIGITS = 3;
+
+    private final VehicleRepository vehicleRepository;
+    private final CustomerRepository customerRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock
+    private State state = new State();
+    private List<Consumer<State>> changedDuringRebuild;
+
+    public FrontDeskLookupIndex(VehicleRepository vehicleRepository, CustomerRepository customerRepository) {
+        this.vehicleRepository = vehicleRepository;
+        this.customerRepository = customerRepository;
+    }
+
+    public List<Long> lookupVehicleIds(String query, int limit) {
+        String plate = normalizePlate(query);
+        if (plate.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            return state.findVehicles(plate, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Long> lookupCustomerIds(String query, int limit) {
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        String digits = PhoneNumberUtil.digitsOnly(query);
+        boolean phoneQuery = digits.length() >= MIN_PHONE_DIGITS && query.chars().noneMatch(Character::isLetter);
+
+        // "0771234567" typed locally must also find "+94 77 123 4567", so the trunk zero is dropped
+        String ending = digits.replaceFirst("^0+", "");
+        if (ending.length() < MIN_PHONE_DIGITS) {
+            ending = digits;
+        }
+
+        lock.readLock().lock();
+        try {
+            return phoneQuery
+                    ? state.findCustomersByPhone(new StringBuilder(ending).reverse().toString(), limit)
+                    : state.findCustomersByName(normalizeName(query), limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Index changes take effect when the current transaction commits (immediately without one)
+    public void indexVehicle(Vehicle vehicle) {
+        Long id = vehicle.getId();
+        String plate = normalizePlate(vehicle.getVehicleNumber());
+        TransactionHooks.afterCommit(() -> apply(current -> current.putVehicle(id, plate)));
+    }
+
+    public void removeVehicle(Long vehicleId) {
+        TransactionHooks.afterCommit(() -> apply(current -> current.removeVehicle(vehicleId)));
+    }
+
+    public void indexCustomer(Customer customer) {
+        Long id = customer.getId();
+        String name = normalizeName(customer.getName());
+        String reversedPhone = PhoneNumberUtil.reversedDigits(customer.getPhone());
+        TransactionHooks.afterCommit(() -> apply(current -> current.putCustomer(id, name, reversedPhone)));
+    }
+
+    public void removeCustomer(Long customerId) {
+        TransactionHooks.afterCommit(() -> apply(current -> current.removeCustomer(customerId)));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.front-desk-lookup.rebuild-interval-ms:600000}",
+            initialDelayString = "${app.front-desk-lookup.rebuild-interval-ms:600000}")
+    public synchronized void rebuild() {
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        // Built without holding the lock so lookups keep running against the old state
+        State rebuilt = new State();
+        try {
+            for (VehicleLookupView vehicle : vehicleRepository.findAllLookupViews()) {
+                rebuilt.putVehicle(vehicle.getId(), normalizePlate(vehicle.getVehicleNumber()));
+            }
+            for (CustomerLookupView customer : customerRepository.findAllLookupViews()) {
+                rebuilt.putCustomer(customer.getId(), normalizeName(customer.getName()),
+                        PhoneNumberUtil.reversedDigits(customer.getPhone()));
+            }
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                changedDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            // Changes committed while loading may be missing from what was read - replay them
+            changedDuringRebuild.forEach(change -> change.accept(rebuilt));
+            changedDuringRebuild = null;
+            state = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Front desk lookup index rebuilt: {} vehicles, {} customers",
+                rebuilt.plates.size(), rebuilt.names.size());
+    }
+
+    private void apply(Consumer<State> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(state);
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    static String normalizePlate(String vehicleNumber) {
+        if (vehicleNumber == null) {
+            return "";
+        }
+        StringBuilder plate = new StringBuilder(vehicleNumber.length());
+        vehicleNumber.toLowerCase(Locale.ROOT).codePoints()
+                .filter(Character::isLetterOrDigit)
+                .forEach(plate::appendCodePoint);
+        return plate.toString();
+    }
+
+    static String normalizeName(String name) {
+        if (name == null) {
+            return "";
+        }
+        return name.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}]+", " ").trim();
+    }
+
+    private static final class State {
+        private final Map<Long, String> plates = new HashMap<>();
+        private final NavigableMap<String, Set<Long>> platesSorted = new TreeMap<>();
+        private final TrigramIndex plateTrigrams = new TrigramIndex(false);
+
+        private final Map<Long, String> names = new HashMap<>();
+        private final Map<Long, String> reversedPhones = new HashMap<>();
+        private final NavigableMap<String, Set<Long>> phonesSorted = new TreeMap<>();
+        private final TrigramIndex nameTrigrams = new TrigramIndex(true);
+
+        private void putVehicle(Long id, String plate) {
+            removeVehicle(id);
+            plates.put(id, plate);
+            platesSorted.computeIfAbsent(plate, key -> new TreeSet<>()).add(id);
+            plateTrigrams.put(id, plate);
+        }
+
+        private void removeVehicle(Long id) {
+            String plate = plates.remove(id);
+            if (plate != null) {
+                removeFrom(platesSorted, plate, id);
+                plateTrigrams.remove(id);
+            }
+        }
+
+        private void putCustomer(Long id, String name, String reversedPhone) {
+            removeCustomer(id);
+            names.put(id, name);
+            nameTrigrams.put(id, name);
+            if (reversedPhone != null) {
+                reversedPhones.put(id, reversedPhone);
+                phonesSorted.computeIfAbsent(reversedPhone, key -> new TreeSet<>()).add(id);
+            }
+        }
+
+        private void removeCustomer(Long id) {
+            if (names.remove(id) != null) {
+                nameTrigrams.remove(id);
+            }
+            String reversedPhone = reversedPhones.remove(id);
+            if (reversedPhone != null) {
+                removeFrom(phonesSorted, reversedPhone, id);
+            }
+        }
+
+        private List<Long> findVehicles(String plate, int limit) {
+            // Exact match sorts first, then longer plates starting with the query
+            LinkedHashSet<Long> result = new LinkedHashSet<>();
+            for (Set<Long> ids : startingWith(platesSorted, plate).values()) {
+                result.addAll(ids);
+                if (result.size() >= limit) {
+                    break;
+                }
+            }
+
+            // Fragments anywhere in the plate
+            if (result.size() < limit && plate.length() >= 3) {
+                List<Long> fragmentHits = new ArrayList<>();
+                for (Long id : plateTrigrams.containingAll(plate)) {
+                    if (!result.contains(id) && plates.get(id).contains(plate)) {
+                        fragmentHits.add(id);
+                    }
+                }
+                fragmentHits.sort(Comparator.comparingInt((Long id) -> plates.get(id).length()).thenComparing(id -> id));
+                result.addAll(fragmentHits);
+            }
+
+            // Typos: most shared trigrams first
+            if (result.size() < limit && plate.length() >= 3) {
+                Map<Long, Double> similar = plateTrigrams.similar(plate, MIN_PLATE_COVERAGE);
+                List<Long> fuzzyHits = new ArrayList<>(similar.keySet());
+                fuzzyHits.removeAll(result);
+                fuzzyHits.sort(Comparator.comparingDouble((Long id) -> similar.get(id)).reversed()
+                        .thenComparingInt(plateTrigrams::trigramCount).thenComparing(id -> id));
+                result.addAll(fuzzyHits);
+            }
+            return topK(result, limit);
+        }
+
+        private List<Long> findCustomersByPhone(String reversedDigits, int limit) {
+            // The number that is exactly the query sorts first, then longer numbers ending with it
+            LinkedHashSet<Long> result = new LinkedHashSet<>();
+            for (Set<Long> ids : startingWith(phonesSorted, reversedDigits).values()) {
+                result.addAll(ids);
+                if (result.size() >= limit) {
+                    break;
+                }
+            }
+            return topK(result, limit);
+        }
+
+        private List<Long> findCustomersByName(String name, int limit) {
+            if (name.isEmpty()) {
+                return List.of();
+            }
+            Map<Long, Double> coverage = nameTrigrams.similar(name, MIN_NAME_COVERAGE);
+            List<Long> ranked = new ArrayList<>(coverage.keySet());
+            // Best coverage first; among equals, names with fewer extra trigrams (closer to the query)
+            ranked.sort(Comparator.comparingDouble((Long id) -> coverage.get(id)).reversed()
+                    .thenComparingInt(nameTrigrams::trigramCount).thenComparing(id -> id));
+            return topK(ranked, limit);
+        }
+
+        private static NavigableMap<String, Set<Long>> startingWith(NavigableMap<String, Set<Long>> sorted, String prefix) {
+            return sorted.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+        }
+
+        private static void removeFrom(Map<String, Set<Long>> sorted, String key, Long id) {
+            Set<Long> ids = sorted.get(key);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    sorted.remove(key);
+                }
+            }
+        }
+
+        private static List<Long> topK(Collection<Long> ids, int limit) {
+            List<Long> top = new ArrayList<>(Math.min(ids.size(), limit));
+            for (Long id : ids) {
+                if (top.size() == limit) {
+                    break;
+                }
+                top.add(id);
+            }
+            return top;
+        }
+    }
+}
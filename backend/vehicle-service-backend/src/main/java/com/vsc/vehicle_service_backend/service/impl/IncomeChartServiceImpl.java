@@ -0,0 +1,151 @@
+package com.vsc.vehicle_service_backend.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vsc.vehicle_service_backend.dto.IncomeGroupSummary;
+import com.vsc.vehicle_service_backend.dto.IncomeMonthlySummary;
+import com.vsc.vehicle_service_backend.event.IncomeReceivedEvent;
+import com.vsc.vehicle_service_backend.repository.SparePartIncomeRepository;
+import com.vsc.vehicle_service_backend.service.IncomeChartService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.TextStyle;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Income charts aggregated in the database from each delivery's RECEIPT stock movements
+ * (YEAR/MONTH grouping, so the same JPQL runs on MySQL and H2) and cached per (category,
+ * window, day) in a size-bounded Caffeine cache. Entries are dropped when a goods receipt for
+ * the category commits; a new day is a new key, and yesterday's entries expire on their own.
+ */
+@Slf4j
+@Service
+public class IncomeChartServiceImpl implements IncomeChartService {
+
+    private static final int MAX_MONTHS = 24;
+    private static final int MAX_CACHED_CHARTS = 500;
+
+    private final SparePartIncomeRepository incomeRepository;
+
+    private final Cache<ChartKey, Map<String, Object>> charts = Caffeine.newBuilder()
+            .maximumSize(MAX_CACHED_CHARTS)
+            .expireAfterWrite(Duration.ofDays(1))
+            .build();
+    // Bumped on every eviction; a chart computed across an eviction is not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    public IncomeChartServiceImpl(SparePartIncomeRepository incomeRepository) {
+        this.incomeRepository = incomeRepository;
+    }
+
+    @Override
+    public Map<String, Object> getCategoryChart(Long categoryId, int months) {
+        if (months < 1 || months > MAX_MONTHS) {
+            throw new RuntimeException("Chart window must be between 1 and " + MAX_MONTHS + " months");
+        }
+
+        LocalDate today = LocalDate.now();
+        ChartKey key = new ChartKey(categoryId, months, today);
+        Map<String, Object> cached = charts.getIfPresent(key);
+        if (cached != null) {
+            return new LinkedHashMap<>(cached);
+        }
+
+        long startGeneration = generation.get();
+        Map<String, Object> chart = buildChart(categoryId, months, today);
+        if (generation.get() == startGeneration) {
+            charts.put(key, chart);
+        }
+        return new LinkedHashMap<>(chart);
+    }
+
+    @Override
+    public int getCachedChartCount() {
+        charts.cleanUp();
+        return (int) charts.estimatedSize();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onIncomeReceived(IncomeReceivedEvent event) {
+        generation.incrementAndGet();
+        charts.asMap().keySet().removeIf(key -> event.getCategoryIds().contains(key.categoryId()));
+        log.debug("Income charts evicted for categories {}", event.getCategoryIds());
+    }
+
+    private Map<String, Object> buildChart(Long categoryId, int months, LocalDate today) {
+        YearMonth lastMonth = YearMonth.from(today);
+        YearMonth firstMonth = lastMonth.minusMonths(months - 1L);
+        LocalDate startDate = firstMonth.atDay(1);
+        LocalDateTime from = startDate.atStartOfDay();
+        LocalDateTime until = today.plusDays(1).atStartOfDay();
+
+        Map<YearMonth, IncomeMonthlySummary> byMonth = new HashMap<>();
+        for (IncomeMonthlySummary summary :
+                incomeRepository.summarizeMonthlyIncomeByCategory(categoryId, from, until)) {
+            byMonth.put(YearMonth.of(summary.getIncomeYear(), summary.getIncomeMonth()), summary);
+        }
+
+        // Every month of the window, including the ones without deliveries
+        List<String> labels = new ArrayList<>();
+        List<Double> incomeData = new ArrayList<>();
+        List<Long> quantityData = new ArrayList<>();
+        double totalIncome = 0.0;
+        long totalQuantity = 0;
+        for (YearMonth month = firstMonth; !month.isAfter(lastMonth); month = month.plusMonths(1)) {
+            IncomeMonthlySummary summary = byMonth.get(month);
+            double spend = summary != null ? amountOf(summary.getTotalSpend()) : 0.0;
+            long quantity = summary != null && summary.getQuantityReceived() != null ? summary.getQuantityReceived() : 0L;
+
+            labels.add(month.getMonth().getDisplayName(TextStyle.SHORT, Locale.ENGLISH) + " " + month.getYear());
+            incomeData.add(spend);
+            quantityData.add(quantity);
+            totalIncome += spend;
+            totalQuantity += quantity;
+        }
+
+        Map<String, Object> chart = new LinkedHashMap<>();
+        chart.put("labels", List.copyOf(labels));
+        chart.put("incomeData", List.copyOf(incomeData));
+        chart.put("quantityData", List.copyOf(quantityData));
+        chart.put("totalIncome", totalIncome);
+        chart.put("totalQuantity", totalQuantity);
+        chart.put("byBrand", groups(incomeRepository.summarizeIncomeByBrand(categoryId, from, until)));
+        chart.put("bySupplier", groups(incomeRepository.summarizeIncomeBySupplier(categoryId, from, until)));
+        chart.put("startDate", startDate);
+        chart.put("endDate", today);
+        return chart;
+    }
+
+    private static List<Map<String, Object>> groups(List<IncomeGroupSummary> summaries) {
+        List<Map<String, Object>> groups = new ArrayList<>();
+        for (IncomeGroupSummary summary : summaries) {
+            Map<String, Object> group = new LinkedHashMap<>();
+            group.put("label", summary.getLabel() != null ? summary.getLabel() : "Unknown");
+            group.put("quantityReceived", summary.getQuantityReceived() != null ? summary.getQuantityReceived() : 0L);
+            group.put("totalSpend", amountOf(summary.getTotalSpend()));
+            groups.add(Collections.unmodifiableMap(group));
+        }
+        return List.copyOf(groups);
+    }
+
+    private static double amountOf(BigDecimal amount) {
+        return amount != null ? amount.doubleValue() : 0.0;
+    }
+
+    private record ChartKey(Long categoryId, int months, LocalDate day) {
+    }
+}
@@ -0,0 +1,79 @@
+package com.vsc.vehicle_service_backend.service.impl;
+
+import com.vsc.vehicle_service_backend.event.LowStockAlertEvent;
+import com.vsc.vehicle_service_backend.event.ServiceRecordStatusChangedEvent;
+import com.vsc.vehicle_service_backend.event.SmsLogCreatedEvent;
+import com.vsc.vehicle_service_backend.event.SparePartChangedEvent;
+import com.vsc.vehicle_service_backend.event.StockChangedEvent;
+import com.vsc.vehicle_service_backend.service.LiveUpdateService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Turns committed domain events into the compact payloads pushed to live update subscribers,
+ * so screens can patch the one row that changed instead of reloading the list.
+ */
+@Component
+@RequiredArgsConstructor
+public class LiveUpdateRelay {
+
+    private final LiveUpdateService liveUpdateService;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onServiceRecordStatusChanged(ServiceRecordStatusChangedEvent event) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("id", event.getServiceRecordId());
+        payload.put("recordId", event.getRecordId());
+        payload.put("previousStatus", event.getPreviousStatus());
+        payload.put("status", event.getStatus());
+        payload.put("customerId", event.getCustomerId());
+        payload.put("vehicleId", event.getVehicleId());
+        liveUpdateService.publish(LiveUpdateService.SERVICE_RECORDS, payload);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockChanged(StockChangedEvent event) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("sparePartId", event.getSparePartId());
+        payload.put("quantityChange", event.getQuantityChange());
+        liveUpdateService.publish(LiveUpdateService.STOCK, payload);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSparePartChanged(SparePartChangedEvent event) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("sparePartId", event.getSparePartId());
+        payload.put("changeType", event.getChangeType().name());
+        payload.put("quantity", event.getQuantity());
+        payload.put("minQuantity", event.getMinQuantity());
+        liveUpdateService.publish(LiveUpdateService.STOCK, payload);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSmsLogCreated(SmsLogCreatedEvent event) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("id", event.getSmsLogId());
+        payload.put("customerId", event.getCustomerId());
+        payload.put("serviceRecordId", event.getServiceRecordId());
+        payload.put("status", event.getStatus());
+        liveUpdateService.publish(LiveUpdateService.SMS_LOGS, payload);
+    }
+
+    // Already raised after commit by the low-stock engine
+    @EventListener
+    public void onLowStockAlert(LowStockAlertEvent event) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("alertType", event.getAlertType().name());
+        payload.put("sparePartId", event.getSparePartId());
+        payload.put("partCode", event.getPartCode());
+        payload.put("partName", event.getPartName());
+        payload.put("quantity", event.getQuantity());
+        payload.put("minQuantity", event.getMinQuantity());
+        liveUpdateService.publish(LiveUpdateService.LOW_STOCK, payload);
+    }
+}
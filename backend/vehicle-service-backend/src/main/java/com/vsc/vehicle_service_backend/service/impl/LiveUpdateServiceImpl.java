@@ -0,0 +1,221 @@
+package com.vsc.vehicle_service_backend.service.impl;
+
+import com.vsc.vehicle_service_backend.service.LiveUpdateService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process event bus behind the live update SSE stream. Publishing only appends to each
+ * subscriber's bounded buffer and returns; a small sender pool drains one subscriber at a
+ * time. When a slow client's buffer fills up it is emptied and the client gets a single
+ * "resync" event instead, telling the screen to reload its list once - producers never block
+ * and memory per client stays bounded.
+ */
+@Slf4j
+@Service
+public class LiveUpdateServiceImpl implements LiveUpdateService {
+
+    static final String RESYNC_EVENT = "resync";
+
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final long emitterTimeoutMs;
+    private final ExecutorService senders;
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<String, LongAdder> published = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> dropped = new ConcurrentHashMap<>();
+
+    public LiveUpdateServiceImpl(@Value("${app.live-updates.client-buffer:256}") int bufferSize,
+                                 @Value("${app.live-updates.max-subscribers:200}") int maxSubscribers,
+                                 @Value("${app.live-updates.sse-timeout-ms:1800000}") long emitterTimeoutMs,
+                                 @Value("${app.live-updates.senders:2}") int senderCount) {
+        this.bufferSize = Math.max(1, bufferSize);
+        this.maxSubscribers = Math.max(1, maxSubscribers);
+        this.emitterTimeoutMs = emitterTimeoutMs;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(Math.max(1, senderCount), runnable -> {
+            Thread thread = new Thread(runnable, "live-updates-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (String topic : TOPICS) {
+            published.put(topic, new LongAdder());
+            dropped.put(topic, new LongAdder());
+        }
+    }
+
+    @Override
+    public SseEmitter subscribe(Set<String> topics) {
+        Set<String> wanted = topics == null || topics.isEmpty() ? TOPICS : new HashSet<>(topics);
+        for (String topic : wanted) {
+            if (!TOPICS.contains(topic)) {
+                throw new RuntimeException("Unknown live update topic: " + topic);
+            }
+        }
+        if (subscribers.size() >= maxSubscribers) {
+            throw new RuntimeException("Too many live update subscribers");
+        }
+
+        SseEmitter emitter = createEmitter(emitterTimeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, Set.copyOf(wanted), new ArrayBlockingQueue<>(bufferSize));
+        subscribers.add(subscriber);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        return emitter;
+    }
+
+    @Override
+    public void publish(String topic, Map<String, Object> payload) {
+        if (!TOPICS.contains(topic)) {
+            throw new RuntimeException("Unknown live update topic: " + topic);
+        }
+        published.get(topic).increment();
+        Message message = new Message(sequence.incrementAndGet(), topic, payload);
+
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.topics.contains(topic)) {
+                continue;
+            }
+            if (!subscriber.buffer.offer(message)) {
+                // Too far behind: replace the backlog with one resync, then carry on from this event
+                dropped.get(topic).add(subscriber.buffer.size());
+                subscriber.buffer.clear();
+                subscriber.overflowed.set(true);
+                subscriber.buffer.offer(message);
+            }
+            schedule(subscriber);
+        }
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("subscribers", subscribers.size());
+        Map<String, Object> topics = new LinkedHashMap<>();
+        for (String topic : TOPICS) {
+            Map<String, Object> counters = new LinkedHashMap<>();
+            counters.put("published", published.get(topic).sum());
+            counters.put("dropped", dropped.get(topic).sum());
+            topics.put(topic, counters);
+        }
+        stats.put("topics", topics);
+        return stats;
+    }
+
+    // Keeps idle connections open through proxies and finds clients that went away
+    @Scheduled(fixedDelayString = "${app.live-updates.heartbeat-ms:25000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            try {
+                subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+            } catch (IOException | IllegalStateException e) {
+                close(subscriber, e);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        senders.shutdown();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    // Overridden in tests to capture what is sent
+    SseEmitter createEmitter(long timeoutMs) {
+        return new SseEmitter(timeoutMs);
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            try {
+                senders.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                subscriber.draining.set(false);
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            if (subscriber.overflowed.getAndSet(false)) {
+                subscriber.emitter.send(SseEmitter.event().name(RESYNC_EVENT).data(Map.of()));
+            }
+            Message message;
+            while ((message = subscriber.buffer.poll()) != null) {
+                subscriber.emitter.send(SseEmitter.event()
+                        .id(String.valueOf(message.id))
+                        .name(message.topic)
+                        .data(message.payload));
+            }
+        } catch (IOException | IllegalStateException e) {
+            close(subscriber, e);
+            return;
+        } finally {
+            subscriber.draining.set(false);
+        }
+        // Published while we were finishing up
+        if (!subscriber.buffer.isEmpty() || subscriber.overflowed.get()) {
+            schedule(subscriber);
+        }
+    }
+
+    private void close(Subscriber subscriber, Exception cause) {
+        if (subscribers.remove(subscriber)) {
+            log.debug("Live update subscriber disconnected: {}", cause.getMessage());
+            subscriber.buffer.clear();
+            subscriber.emitter.completeWithError(cause);
+        }
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final Set<String> topics;
+        private final BlockingQueue<Message> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean overflowed = new AtomicBoolean();
+
+        private Subscriber(SseEmitter emitter, Set<String> topics, BlockingQueue<Message> buffer) {
+            this.emitter = emitter;
+            this.topics = topics;
+            this.buffer = buffer;
+        }
+    }
+
+    private static final class Message {
+        private final long id;
+        private final String topic;
+        private final Map<String, Object> payload;
+
+        private Message(long id, String topic, Map<String, Object> payload) {
+            this.id = id;
+            this.topic = topic;
+            this.payload = payload;
+        }
+    }
+}
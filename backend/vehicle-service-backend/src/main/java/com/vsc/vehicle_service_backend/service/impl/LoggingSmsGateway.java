@@ -0,0 +1,27 @@
+package com.vsc.vehicle_service_backend.service.impl;
+
+import com.vsc.vehicle_service_backend.service.SmsGateway;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+
+/**
+ * Local gateway used until a real SMS provider is configured: it only logs the message.
+ */
+@Slf4j
+@Service
+public class LoggingSmsGateway implements SmsGateway {
+
+    @Override
+    public String send(String phoneNumber, String message) {
+        String messageId = "LOCAL-" + UUID.randomUUID();
+        log.info("SMS {} to {}: {}", messageId, phoneNumber, message);
+        return messageId;
+    }
+
+    @Override
+    public String getProviderName() {
+        return "SYSTEM_AUTO";
+    }
+}
@@ -0,0 +1,67 @@
+package com.vsc.vehicle_service_backend.service.impl;
+
+import com.vsc.vehicle_service_backend.event.LowStockAlertEvent;
+import com.vsc.vehicle_service_backend.service.SmsGateway;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends low-stock alerts by SMS to the parts manager when a phone number is configured.
+ * Screens get the same alerts on the live update stream's low-stock topic. Delivery runs on
+ * one background thread so a slow SMS provider never holds up the transaction that moved
+ * the stock.
+ */
+@Slf4j
+@Component
+public class LowStockAlertNotifier {
+
+    private final SmsGateway smsGateway;
+    private final String managerPhone;
+    private final ThreadPoolExecutor sender;
+
+    public LowStockAlertNotifier(SmsGateway smsGateway,
+                                 @Value("${app.low-stock.manager-phone:}") String managerPhone,
+                                 @Value("${app.low-stock.queue-capacity:1000}") int queueCapacity) {
+        this.smsGateway = smsGateway;
+        this.managerPhone = managerPhone;
+        this.sender = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "low-stock-alerts");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    public void notify(LowStockAlertEvent alert) {
+        try {
+            sender.execute(() -> deliver(alert));
+        } catch (RejectedExecutionException e) {
+            log.warn("Low-stock alert queue full, dropping {} alert for part {}",
+                    alert.getAlertType(), alert.getSparePartId());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdown();
+    }
+
+    private void deliver(LowStockAlertEvent alert) {
+        if (alert.getAlertType() == LowStockAlertEvent.AlertType.LOW && managerPhone != null && !managerPhone.isBlank()) {
+            try {
+                smsGateway.send(managerPhone, "Low stock: " + alert.getPartCode() + " " + alert.getPartName() +
+                        " is at " + alert.getQuantity() + " (minimum " + alert.getMinQuantity() + ")");
+            } catch (Exception e) {
+                log.error("Low-stock SMS for part {} failed: {}", alert.getSparePartId(), e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.vsc.vehicle_service_backend.service.impl;
+
+import com.vsc.vehicle_service_backend.dto.StockLevelView;
+import com.vsc.vehicle_service_backend.event.LowStockAlertEvent;
+import com.vsc.vehicle_service_backend.event.SparePartChangedEvent;
+import com.vsc.vehicle_service_backend.event.StockChangedEvent;
+import com.vsc.vehicle_service_backend.repository.SparePartRepository;
+import com.vsc.vehicle_service_backend.service.LowStockService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+/**
+ * Keeps every part's stock level in memory, updated from committed stock and entity events
+ * (usage, receipt, manual edit), plus a sorted set of the parts at or below their minimum.
+ * The low-stock list is served from that set, and an alert is published only when a change
+ * moves a part across its minimum - never for changes that leave it on the same side.
+ * A rebuild can already include a change whose event arrives after it; applying that delta
+ * again could fake a crossing, so a crossing is confirmed against the database first.
+ */
+@Slf4j
+@Service
+public class LowStockServiceImpl implements LowStockService {
+
+    // Largest shortfall first, then by id so entries with the same shortfall stay distinct
+    private static final Comparator<LowEntry> MOST_SHORT_FIRST = Comparator
+            .comparingInt((LowEntry entry) -> entry.shortfall).reversed()
+            .thenComparing(entry -> entry.sparePartId);
+
+    private final SparePartRepository sparePartRepository;
+    private final LowStockAlertNotifier alertNotifier;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Guarded by this
+    private final Map<Long, PartLevel> levels = new HashMap<>();
+    private final NavigableSet<LowEntry> lowStock = new TreeSet<>(MOST_SHORT_FIRST);
+    private boolean loaded;
+
+    public LowStockServiceImpl(SparePartRepository sparePartRepository,
+                               LowStockAlertNotifier alertNotifier,
+                               ApplicationEventPublisher eventPublisher) {
+        this.sparePartRepository = sparePartRepository;
+        this.alertNotifier = alertNotifier;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public synchronized List<Map<String, Object>> getLowStockParts() {
+        List<Map<String, Object>> parts = new ArrayList<>(lowStock.size());
+        for (LowEntry entry : lowStock) {
+            PartLevel level = levels.get(entry.sparePartId);
+            Map<String, Object> part = new LinkedHashMap<>();
+            part.put("sparePartId", entry.sparePartId);
+            part.put("partCode", level.partCode);
+            part.put("partName", level.partName);
+            part.put("quantity", level.quantity);
+            part.put("minQuantity", level.minQuantity);
+            part.put("shortfall", entry.shortfall);
+            parts.add(part);
+        }
+        return parts;
+    }
+
+
+    // A rebuild only corrects drift; it does not raise alerts for what it finds
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.low-stock.rebuild-interval-ms:900000}",
+            initialDelayString = "${app.low-stock.rebuild-interval-ms:900000}")
+    public synchronized void rebuild() {
+        levels.clear();
+        lowStock.clear();
+        for (StockLevelView view : sparePartRepository.findAllStockLevels()) {
+            put(view.getId(), new PartLevel(quantityOf(view.getQuantity()), quantityOf(view.getMinQuantity()),
+                    view.getPartCode(), view.getPartName()));
+        }
+        loaded = true;
+        log.info("Low-stock engine rebuilt: {} of {} parts at or below minimum", lowStock.size(), levels.size());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSparePartChanged(SparePartChangedEvent event) {
+        LowStockAlertEvent alert;
+        synchronized (this) {
+            if (!loaded) {
+                return;
+            }
+            PartLevel previous = remove(event.getSparePartId());
+            if (event.getChangeType() == SparePartChangedEvent.ChangeType.DELETED) {
+                return;
+            }
+            PartLevel current = new PartLevel(quantityOf(event.getQuantity()), quantityOf(event.getMinQuantity()),
+                    event.getPartCode(), event.getPartName());
+            put(event.getSparePartId(), current);
+            alert = crossing(event.getSparePartId(), previous, current);
+        }
+        publish(alert);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockChanged(StockChangedEvent event) {
+        LowStockAlertEvent alert;
+        synchronized (this) {
+            if (!loaded) {
+                return;
+            }
+            PartLevel previous = remove(event.getSparePartId());
+            if (previous == null) {
+                return;
+            }
+            PartLevel current = new PartLevel(previous.quantity + event.getQuantityChange(), previous.minQuantity,
+                    previous.partCode, previous.partName);
+            alert = crossing(event.getSparePartId(), previous, current);
+            if (alert != null) {
+                current = reload(event.getSparePartId());
+                if (current == null) {
+                    return;
+                }
+                alert = crossing(event.getSparePartId(), previous, current);
+            }
+            put(event.getSparePartId(), current);
+        }
+        publish(alert);
+    }
+
+    // The part's committed level, or null if it has been deleted meanwhile
+    private PartLevel reload(Long sparePartId) {
+        return sparePartRepository.findStockLevelById(sparePartId)
+                .map(view -> new PartLevel(quantityOf(view.getQuantity()), quantityOf(view.getMinQuantity()),
+                        view.getPartCode(), view.getPartName()))
+                .orElse(null);
+    }
+
+    private void publish(LowStockAlertEvent alert) {
+        if (alert != null) {
+            alertNotifier.notify(alert);
+            eventPublisher.publishEvent(alert);
+        }
+    }
+
+    // A new part that starts out low counts as a crossing too
+    private static LowStockAlertEvent crossing(Long sparePartId, PartLevel previous, PartLevel current) {
+        boolean wasLow = previous != null && previous.isLow();
+        if (wasLow == current.isLow()) {
+            return null;
+        }
+        return new LowStockAlertEvent(
+                current.isLow() ? LowStockAlertEvent.AlertType.LOW : LowStockAlertEvent.AlertType.RECOVERED,
+                sparePartId, current.partCode, current.partName, current.quantity, current.minQuantity);
+    }
+
+    private void put(Long sparePartId, PartLevel level) {
+        levels.put(sparePartId, level);
+        if (level.isLow()) {
+            lowStock.add(new LowEntry(sparePartId, level.shortfall()));
+        }
+    }
+
+    private PartLevel remove(Long sparePartId) {
+        PartLevel previous = levels.remove(sparePartId);
+        if (previous != null && previous.isLow()) {
+            lowStock.remove(new LowEntry(sparePartId, previous.shortfall()));
+        }
+        return previous;
+    }
+
+    private static int quantityOf(Integer quantity) {
+        return quantity != null ? quantity : 0;
+    }
+
+    private static final class PartLevel {
+        private final int quantity;
+        private final int minQuantity;
+        private final String partCode;
+        private final String partName;
+
+        private PartLevel(int quantity, int minQuantity, String partCode, String partName) {
+            this.quantity = quantity;
+            this.minQuantity = minQuantity;
+            this.partCode = partCode;
+            this.partName = partName;
+        }
+
+        // Same threshold as SparePartResponse.stockStatus LOW
+        private boolean isLow() {
+            return quantity <= minQuantity;
+        }
+
+        private int shortfall() {
+            return minQuantity - quantity;
+        }
+    }
+
+    private static final class LowEntry {
+        private final Long sparePartId;
+        private final int shortfall;
+
+        private LowEntry(Long sparePartId, int shortfall) {
+            this.sparePartId = sparePartId;
+            this.shortfall = shortfall;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.vsc.vehicle_service_backend.service.impl;
+
+import com.vsc.vehicle_service_backend.config.ReferenceDataCacheConfig;
+import com.vsc.vehicle_service_backend.service.ReferenceDataCacheService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.spi.CacheImplementor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Service
+public class ReferenceDataCacheServiceImpl implements ReferenceDataCacheService {
+
+    private final SessionFactoryImplementor sessionFactory;
+
+    public ReferenceDataCacheServiceImpl(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        boolean enabled = isEnabled();
+        stats.put("enabled", enabled);
+        if (!enabled) {
+            return stats;
+        }
+
+        // Counting is off unless app.reference-cache.statistics is set
+        Statistics statistics = sessionFactory.getStatistics();
+        if (!statistics.isStatisticsEnabled()) {
+            stats.put("regions", "unavailable");
+            return stats;
+        }
+
+        Map<String, Object> regions = new LinkedHashMap<>();
+        for (String region : ReferenceDataCacheConfig.REGIONS) {
+            CacheRegionStatistics regionStats = statistics.getDomainDataRegionStatistics(region);
+            long hits = regionStats.getHitCount();
+            long misses = regionStats.getMissCount();
+
+            Map<String, Object> regionMap = new LinkedHashMap<>();
+            regionMap.put("hits", hits);
+            regionMap.put("misses", misses);
+            regionMap.put("puts", regionStats.getPutCount());
+            regionMap.put("hitRatio", hits + misses == 0 ? 0.0 : (double) hits / (hits + misses));
+            regions.put(region, regionMap);
+        }
+        stats.put("regions", regions);
+        return stats;
+    }
+
+    @Override
+    public void evictAll() {
+        if (!isEnabled()) {
+            return;
+        }
+        for (String region : ReferenceDataCacheConfig.REGIONS) {
+            sessionFactory.getCache().evictRegion(region);
+        }
+    }
+
+    private boolean isEnabled() {
+        // With the second-level cache off Hibernate has no regions at all
+        CacheImplementor cache = sessionFactory.getCache();
+        return ReferenceDataCacheConfig.REGIONS.stream().allMatch(region -> cache.getRegion(region) != null);
+    }
+}
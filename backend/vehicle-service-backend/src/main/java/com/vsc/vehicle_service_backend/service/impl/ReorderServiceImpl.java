@@ -0,0 +1,234 @@
+package com.vsc.vehicle_service_backend.service.impl;
+
+import com.vsc.vehicle_service_backend.dto.OpenOrderSummary;
+import com.vsc.vehicle_service_backend.dto.PartConsumptionSummary;
+import com.vsc.vehicle_service_backend.dto.PurchasePriceView;
+import com.vsc.vehicle_service_backend.dto.ReceiptLeadTimeView;
+import com.vsc.vehicle_service_backend.dto.ReorderCandidateView;
+import com.vsc.vehicle_service_backend.dto.SparePartIncomeRequest;
+import com.vsc.vehicle_service_backend.dto.SparePartIncomeResponse;
+import com.vsc.vehicle_service_backend.entity.IncomeStatus;
+import com.vsc.vehicle_service_backend.event.SparePartChangedEvent;
+import com.vsc.vehicle_service_backend.event.StockChangedEvent;
+import com.vsc.vehicle_service_backend.repository.SparePartIncomeRepository;
+import com.vsc.vehicle_service_backend.repository.SparePartRepository;
+import com.vsc.vehicle_service_backend.repository.SparePartUsageItemRepository;
+import com.vsc.vehicle_service_backend.service.ReorderService;
+import com.vsc.vehicle_service_backend.service.SparePartIncomeService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Suggests purchase orders from consumption instead of someone scanning the inventory.
+ * Committed stock and part changes (usage, receipt, manual edit) mark a part as changed;
+ * each run re-evaluates only those parts, a chunk at a time with one set-based query per
+ * input, and turns the parts that fell to their reorder point into one draft PENDING
+ * order per supplier.
+ *
+ * <p>Per part: velocity is units used per day over the usage window, lead time is the
+ * average order-to-arrival days of its past receipts, and safety stock covers a few more
+ * days of velocity. A part is reordered when stock plus open orders is at or below
+ * lead-time demand plus safety stock (never below its minimum quantity), up to that level
+ * plus the cover period's demand. Open orders include earlier drafts, so reruns don't double up.
+ * Lines are priced at the part's last purchase price.
+ *
+ * <p>The scheduled run is off unless app.reorder.enabled is set, and should be enabled on one
+ * instance only: drafts are real PENDING orders, and concurrent runs on two instances would
+ * each draft the same shortfall. The manual endpoint works either way.
+ */
+@Slf4j
+@Service
+public class ReorderServiceImpl implements ReorderService {
+
+    static final String DRAFT_NOTE = "Reorder suggestion - review before sending";
+
+    private static final int CHUNK_SIZE = 1000;
+    private static final Set<IncomeStatus> OPEN_STATUSES = Set.of(IncomeStatus.PENDING, IncomeStatus.PARTIAL);
+
+    private final SparePartRepository sparePartRepository;
+    private final SparePartUsageItemRepository usageItemRepository;
+    private final SparePartIncomeRepository incomeRepository;
+    private final SparePartIncomeService incomeService;
+
+    private final boolean enabled;
+    private final int velocityWindowDays;
+    private final int leadTimeWindowDays;
+    private final int defaultLeadTimeDays;
+    private final int safetyDays;
+    private final int coverDays;
+
+    private final Set<Long> changed = ConcurrentHashMap.newKeySet();
+
+    public ReorderServiceImpl(SparePartRepository sparePartRepository,
+                              SparePartUsageItemRepository usageItemRepository,
+                              SparePartIncomeRepository incomeRepository,
+                              SparePartIncomeService incomeService,
+                              @Value("${app.reorder.enabled:false}") boolean enabled,
+                              @Value("${app.reorder.velocity-window-days:90}") int velocityWindowDays,
+                              @Value("${app.reorder.lead-time-window-days:365}") int leadTimeWindowDays,
+                              @Value("${app.reorder.default-lead-time-days:7}") int defaultLeadTimeDays,
+                              @Value("${app.reorder.safety-days:7}") int safetyDays,
+                              @Value("${app.reorder.cover-days:30}") int coverDays) {
+        this.sparePartRepository = sparePartRepository;
+        this.usageItemRepository = usageItemRepository;
+        this.incomeRepository = incomeRepository;
+        this.incomeService = incomeService;
+        this.enabled = enabled;
+        this.velocityWindowDays = Math.max(1, velocityWindowDays);
+        this.leadTimeWindowDays = Math.max(1, leadTimeWindowDays);
+        this.defaultLeadTimeDays = Math.max(0, defaultLeadTimeDays);
+        this.safetyDays = Math.max(0, safetyDays);
+        this.coverDays = Math.max(0, coverDays);
+    }
+
+    // Nothing is known to be up to date after a restart
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void markAllChanged() {
+        changed.addAll(sparePartRepository.findAllIds());
+    }
+
+    @Override
+    public int getPendingCount() {
+        return changed.size();
+    }
+
+    @Scheduled(fixedDelayString = "${app.reorder.interval-ms:3600000}",
+            initialDelayString = "${app.reorder.interval-ms:3600000}")
+    public void scheduledRun() {
+        if (enabled) {
+            runReorder();
+        }
+    }
+
+    @Override
+    public synchronized List<SparePartIncomeResponse> runReorder() {
+        // Take the marks before reading, so a change committed meanwhile is either read now or marked again
+        List<Long> sparePartIds = new ArrayList<>(changed);
+        changed.removeAll(sparePartIds);
+        if (sparePartIds.isEmpty()) {
+            return List.of();
+        }
+        sparePartIds.sort(Comparator.naturalOrder());
+
+        long start = System.currentTimeMillis();
+        LocalDate today = LocalDate.now();
+        Map<Long, List<SparePartIncomeRequest.Item>> linesBySupplier = new TreeMap<>();
+        for (int from = 0; from < sparePartIds.size(); from += CHUNK_SIZE) {
+            List<Long> chunk = sparePartIds.subList(from, Math.min(from + CHUNK_SIZE, sparePartIds.size()));
+            suggest(chunk, today, linesBySupplier);
+        }
+
+        List<SparePartIncomeResponse> drafts = new ArrayList<>();
+        for (Map.Entry<Long, List<SparePartIncomeRequest.Item>> entry : linesBySupplier.entrySet()) {
+            SparePartIncomeRequest request = new SparePartIncomeRequest();
+            request.setSupplierId(entry.getKey());
+            request.setOrderDate(today);
+            request.setNotes(DRAFT_NOTE);
+            request.setItems(entry.getValue());
+            try {
+                drafts.add(incomeService.createIncome(request));
+            } catch (RuntimeException e) {
+                log.error("Reorder draft for supplier {} failed: {}", entry.getKey(), e.getMessage());
+                entry.getValue().forEach(item -> changed.add(item.getSparePartId()));
+            }
+        }
+        log.info("Reorder run: {} changed parts evaluated, {} draft orders created in {} ms",
+                sparePartIds.size(), drafts.size(), System.currentTimeMillis() - start);
+        return drafts;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockChanged(StockChangedEvent event) {
+        changed.add(event.getSparePartId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSparePartChanged(SparePartChangedEvent event) {
+        if (event.getChangeType() == SparePartChangedEvent.ChangeType.DELETED) {
+            changed.remove(event.getSparePartId());
+        } else {
+            changed.add(event.getSparePartId());
+        }
+    }
+
+    private void suggest(List<Long> sparePartIds, LocalDate today,
+                         Map<Long, List<SparePartIncomeRequest.Item>> linesBySupplier) {
+        Map<Long, Long> unitsUsed = new HashMap<>();
+        for (PartConsumptionSummary summary : usageItemRepository.summarizeConsumptionByParts(
+                sparePartIds, today.minusDays(velocityWindowDays - 1L), today)) {
+            unitsUsed.put(summary.getSparePartId(), summary.getUnitsUsed());
+        }
+
+        Map<Long, long[]> leadTimes = new HashMap<>(); // total days, receipts
+        for (ReceiptLeadTimeView receipt : incomeRepository.findReceiptLeadTimes(
+                sparePartIds, today.minusDays(leadTimeWindowDays).atStartOfDay())) {
+            long[] totals = leadTimes.computeIfAbsent(receipt.getSparePartId(), id -> new long[2]);
+            totals[0] += Math.max(0, ChronoUnit.DAYS.between(receipt.getOrderDate(), receipt.getReceivedAt().toLocalDate()));
+            totals[1]++;
+        }
+
+        Map<Long, BigDecimal> lastPrices = new HashMap<>();
+        for (PurchasePriceView price : incomeRepository.findLastPurchasePrices(sparePartIds)) {
+            lastPrices.put(price.getSparePartId(), price.getUnitPrice());
+        }
+
+        Map<Long, Long> onOrder = new HashMap<>();
+        for (OpenOrderSummary summary : incomeRepository.summarizeOpenOrders(sparePartIds, OPEN_STATUSES)) {
+            onOrder.put(summary.getSparePartId(), summary.getQuantityOutstanding());
+        }
+
+        for (ReorderCandidateView part : sparePartRepository.findReorderCandidatesByIdIn(sparePartIds)) {
+            if (part.getSupplierId() == null) {
+                continue; // nobody to order from
+            }
+            double velocity = unitsUsed.getOrDefault(part.getId(), 0L) / (double) velocityWindowDays;
+            long[] leadTime = leadTimes.get(part.getId());
+            double leadTimeDays = leadTime != null ? leadTime[0] / (double) leadTime[1] : defaultLeadTimeDays;
+
+            long safetyStock = (long) Math.ceil(velocity * safetyDays);
+            long reorderPoint = Math.max(quantityOf(part.getMinQuantity()),
+                    (long) Math.ceil(velocity * leadTimeDays) + safetyStock);
+            long position = quantityOf(part.getQuantity()) + onOrder.getOrDefault(part.getId(), 0L);
+            if (position > reorderPoint) {
+                continue;
+            }
+
+            // At least one above the reorder point, or a part nobody uses would be reordered every run
+            long orderUpTo = reorderPoint + Math.max(1, (long) Math.ceil(velocity * coverDays));
+            int quantity = (int) (orderUpTo - position);
+            // What it was last bought for; SparePart.price is the selling price. Never bought: left at 0 for review
+            BigDecimal lastPrice = lastPrices.get(part.getId());
+            double unitPrice = lastPrice != null ? lastPrice.doubleValue() : 0.0;
+
+            SparePartIncomeRequest.Item item = new SparePartIncomeRequest.Item();
+            item.setSparePartId(part.getId());
+            item.setQuantityOrdered(quantity);
+            item.setQuantityReceived(0);
+            item.setUnitPrice(unitPrice);
+            item.setTotalPrice(unitPrice * quantity);
+            linesBySupplier.computeIfAbsent(part.getSupplierId(), id -> new ArrayList<>()).add(item);
+        }
+    }
+
+    private static long quantityOf(Integer quantity) {
+        return quantity != null ? quantity : 0;
+    }
+}
@@ -1,15 +1,23 @@
 package com.vsc.vehicle_service_backend.service.impl;
 
+import com.vsc.vehicle_service_backend.entity.FinanceTransaction;
 import com.vsc.vehicle_service_backend.entity.ServiceRecord;
+import com.vsc.vehicle_service_backend.event.FinancePostingEvent;
+import com.vsc.vehicle_service_backend.event.ServiceRecordStatusChangedEvent;
 import com.vsc.vehicle_service_backend.repository.ServiceRecordRepository;
+import com.vsc.vehicle_service_backend.service.RecordIdAllocator;
 import com.vsc.vehicle_service_backend.service.ServiceRecordService;
-import com.vsc.vehicle_service_backend.service.SmsService;
+import com.vsc.vehicle_service_backend.service.SmsOutboxService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
@@ -19,7 +27,17 @@ public class ServiceRecordServiceImpl implements ServiceRecordService {
     private ServiceRecordRepository serviceRecordRepository;
 
     @Autowired
-    private SmsService smsService;
+    private SmsOutboxService smsOutboxService;
+
+    @Autowired
+    private RecordIdAllocator recordIdAllocator;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private static final String RECORD_ID_SEQUENCE = "SR";
+    private static final String RECORD_ID_PREFIX = "SR_";
+    private static final String SERVICE_RECORD_REFERENCE = "SERVICE_RECORD";
 
     @Override
     public List<ServiceRecord> getAllServiceRecords() {
@@ -36,26 +54,8 @@ public class ServiceRecordServiceImpl implements ServiceRecordService {
     public ServiceRecord createServiceRecord(ServiceRecord serviceRecord) {
         // Generate sequential record_id like SR_1, SR_2, SR_3
         if (serviceRecord.getRecordId() == null || serviceRecord.getRecordId().isEmpty()) {
-            // Find the highest existing record_id
-            Long maxId = serviceRecordRepository.findAll().stream()
-                    .map(rec -> {
-                        String rid = rec.getRecordId();
-                        if (rid != null && rid.startsWith("SR_")) {
-                            try {
-                                return Long.parseLong(rid.substring(3));
-                            } catch (NumberFormatException e) {
-                                return 0L;
-                            }
-                        }
-                        return 0L;
-                    })
-                    .max(Long::compare)
-                    .orElse(0L);
-
-            // Generate next ID
-            Long nextId = maxId + 1;
-            String recordId = "SR_" + nextId;
-            serviceRecord.setRecordId(recordId);
+            long nextId = recordIdAllocator.next(RECORD_ID_SEQUENCE, this::findHighestRecordNumber);
+            serviceRecord.setRecordId(RECORD_ID_PREFIX + nextId);
         }
 
         serviceRecord.setCreatedAt(LocalDateTime.now());
@@ -77,18 +77,22 @@ public class ServiceRecordServiceImpl implements ServiceRecordService {
         System.out.println("   - Customer ID: " + serviceRecord.getCustomerId());
         System.out.println("   - Vehicle ID: " + serviceRecord.getVehicleId());
 
-        return serviceRecordRepository.save(serviceRecord);
+        ServiceRecord savedRecord = serviceRecordRepository.save(serviceRecord);
+        publishStatusChange(savedRecord, null);
+        return savedRecord;
     }
 
     @Override
     @Transactional
     public ServiceRecord updateServiceRecord(Long id, ServiceRecord serviceRecordDetails) {
-        Optional<ServiceRecord> optionalServiceRecord = serviceRecordRepository.findById(id);
+        // Locked, so two concurrent completions cannot both see the old status and both queue the SMS
+        Optional<ServiceRecord> optionalServiceRecord = serviceRecordRepository.findByIdForUpdate(id);
         if (optionalServiceRecord.isEmpty()) {
             throw new RuntimeException("Service record not found with id: " + id);
         }
 
         ServiceRecord serviceRecord = optionalServiceRecord.get();
+        String oldStatus = serviceRecord.getStatus();
 
         // Update fields - only update if provided
         if (serviceRecordDetails.getRecordId() != null) {
@@ -120,7 +124,11 @@ public class ServiceRecordServiceImpl implements ServiceRecordService {
         }
 
         serviceRecord.setUpdatedAt(LocalDateTime.now());
-        return serviceRecordRepository.save(serviceRecord);
+        ServiceRecord updatedRecord = serviceRecordRepository.save(serviceRecord);
+        if (!Objects.equals(oldStatus, updatedRecord.getStatus())) {
+            publishStatusChange(updatedRecord, oldStatus);
+        }
+        return updatedRecord;
     }
 
     @Override
@@ -130,7 +138,8 @@ public class ServiceRecordServiceImpl implements ServiceRecordService {
         System.out.println("   - Record ID: " + id);
         System.out.println("   - New Status: " + status);
 
-        Optional<ServiceRecord> optionalServiceRecord = serviceRecordRepository.findById(id);
+        // Locked, so two concurrent completions cannot both see the old status and both queue the SMS
+        Optional<ServiceRecord> optionalServiceRecord = serviceRecordRepository.findByIdForUpdate(id);
         if (optionalServiceRecord.isEmpty()) {
             throw new RuntimeException("Service record not found with id: " + id);
         }
@@ -145,6 +154,9 @@ public class ServiceRecordServiceImpl implements ServiceRecordService {
         serviceRecord.setUpdatedAt(LocalDateTime.now());
 
         ServiceRecord updatedRecord = serviceRecordRepository.save(serviceRecord);
+        if (!Objects.equals(oldStatus, status)) {
+            publishStatusChange(updatedRecord, oldStatus);
+        }
 
         // IMPORTANT: Check for both "COMPLETE" and "COMPLETED"
         boolean isCompleted = "COMPLETE".equalsIgnoreCase(status) || "COMPLETED".equalsIgnoreCase(status);
@@ -153,18 +165,11 @@ public class ServiceRecordServiceImpl implements ServiceRecordService {
         System.out.println("   - Is Completed? " + isCompleted);
         System.out.println("   - Was Completed? " + wasCompleted);
 
-        // Trigger SMS when status changes to completed
+        // Queue SMS when status changes to completed; it is sent in the background after commit
         if (isCompleted && !wasCompleted) {
-            System.out.println("🚀 Triggering SMS for completed service record #" + id);
-            try {
-                // Just call the SMS service, don't worry about the return value
-                smsService.sendServiceCompletionSms(id);
-                System.out.println("✅ SMS sent successfully!");
-            } catch (Exception e) {
-                System.err.println("❌ Failed to send SMS: " + e.getMessage());
-                e.printStackTrace();
-                // Don't throw exception - SMS failure shouldn't fail the status update
-            }
+            System.out.println("🚀 Queueing SMS for completed service record #" + id);
+            smsOutboxService.enqueueServiceCompletion(id);
+            postServiceIncome(updatedRecord);
         } else {
             System.out.println("⏭️ Skipping SMS (not a completion status change)");
         }
@@ -187,4 +192,28 @@ public class ServiceRecordServiceImpl implements ServiceRecordService {
     public List<ServiceRecord> getServiceRecordsByVehicleId(Long vehicleId) {
         return serviceRecordRepository.findByVehicleId(vehicleId);
     }
-}
+
+    // Pushed to live update subscribers after commit
+    private void publishStatusChange(ServiceRecord serviceRecord, String previousStatus) {
+        eventPublisher.publishEvent(new ServiceRecordStatusChangedEvent(serviceRecord.getId(), serviceRecord.getRecordId(),
+                previousStatus, serviceRecord.getStatus(), serviceRecord.getCustomerId(), serviceRecord.getVehicleId()));
+    }
+
+    // Service income goes to the finance outbox with this transaction
+    private void postServiceIncome(ServiceRecord serviceRecord) {
+        if (serviceRecord.getTotalCost() == null || serviceRecord.getTotalCost() <= 0) {
+            return;
+        }
+        eventPublisher.publishEvent(new FinancePostingEvent(SERVICE_RECORD_REFERENCE, serviceRecord.getId(),
+                FinanceTransaction.TransactionType.INCOME, FinanceTransaction.TransactionCategory.SERVICE_INCOME,
+                BigDecimal.valueOf(serviceRecord.getTotalCost()), LocalDate.now(),
+                "Service completed - " + serviceRecord.getRecordId(),
+                serviceRecord.getCustomerId(), serviceRecord.getVehicleId()));
+    }
+
+    // Only used the first time the SR sequence is created
+    private long findHighestRecordNumber() {
+        Long highest = serviceRecordRepository.findHighestRecordNumber();
+        return highest != null ? highest : 0L;
+    }
+}
\ No newline at end of file
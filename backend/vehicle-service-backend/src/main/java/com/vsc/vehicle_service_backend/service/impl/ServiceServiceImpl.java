@@ -2,6 +2,7 @@ package com.vsc.vehicle_service_backend.service.impl;  // Changed
 
 import com.vsc.vehicle_service_backend.entity.VehicleService;
 import com.vsc.vehicle_service_backend.repository.ServiceRepository;  // Updated import
+import com.vsc.vehicle_service_backend.service.RecordIdAllocator;
 import com.vsc.vehicle_service_backend.service.ServiceService;  // Updated import
 import org.springframework.stereotype.Service;
 
@@ -11,18 +12,26 @@ import java.util.List;
 public class ServiceServiceImpl implements ServiceService {
 
     private final ServiceRepository repository;
+    private final RecordIdAllocator recordIdAllocator;
 
-    public ServiceServiceImpl(ServiceRepository repository) {
+    private static final String SERVICE_ID_SEQUENCE = "sv";
+
+    public ServiceServiceImpl(ServiceRepository repository, RecordIdAllocator recordIdAllocator) {
         this.repository = repository;
+        this.recordIdAllocator = recordIdAllocator;
     }
 
     private String generateServiceId() {
+        return "sv_" + recordIdAllocator.next(SERVICE_ID_SEQUENCE, this::findLastServiceNumber);
+    }
+
+    // Only used the first time the sv sequence is created
+    private long findLastServiceNumber() {
         String lastId = repository.getLastServiceId(); // ex: sv_12
 
-        if (lastId == null) return "sv_1";
+        if (lastId == null) return 0L;
 
-        int number = Integer.parseInt(lastId.split("_")[1]);
-        return "sv_" + (number + 1);
+        return Long.parseLong(lastId.split("_")[1]);
     }
 
     @Override
@@ -0,0 +1,294 @@
+package com.vsc.vehicle_service_backend.service.impl;
+
+import com.vsc.vehicle_service_backend.dto.SmsCampaignRequest;
+import com.vsc.vehicle_service_backend.entity.Customer;
+import com.vsc.vehicle_service_backend.event.SmsLogCreatedEvent;
+import com.vsc.vehicle_service_backend.repository.CustomerRepository;
+import com.vsc.vehicle_service_backend.repository.ServiceRecordRepository;
+import com.vsc.vehicle_service_backend.service.SmsCampaignService;
+import com.vsc.vehicle_service_backend.service.SmsGateway;
+import com.vsc.vehicle_service_backend.util.PhoneNumberUtil;
+import com.vsc.vehicle_service_backend.util.RateLimiter;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bulk SMS campaigns. Campaigns run one at a time in the background: recipients are loaded
+ * in chunks with IN-queries, each chunk is sent in parallel through a shared rate limiter,
+ * and its sms_log rows are written with a single JDBC batch insert. Progress lives in memory
+ * for the last few campaigns.
+ */
+@Slf4j
+@Service
+public class SmsCampaignServiceImpl implements SmsCampaignService {
+
+    private static final String PROVIDER = "CAMPAIGN";
+    private static final String INSERT_SMS_LOG =
+            "INSERT INTO sms_log (phone_number, phone_reversed, message, status, provider, message_id, " +
+                    "error_message, sent_at, customer_id, created_at, updated_at) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final CustomerRepository customerRepository;
+    private final ServiceRecordRepository serviceRecordRepository;
+    private final SmsGateway smsGateway;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+    private final int historySize;
+    private final RateLimiter rateLimiter;
+    private final ExecutorService campaignRunner;
+    private final ExecutorService senders;
+
+    // Guarded by itself; oldest campaigns are dropped first
+    private final Map<String, Campaign> campaigns = new LinkedHashMap<>();
+
+    public SmsCampaignServiceImpl(CustomerRepository customerRepository,
+                                  ServiceRecordRepository serviceRecordRepository,
+                                  SmsGateway smsGateway,
+                                  JdbcTemplate jdbcTemplate,
+                                  ApplicationEventPublisher eventPublisher,
+                                  @Value("${app.sms-campaign.chunk-size:500}") int chunkSize,
+                                  @Value("${app.sms-campaign.rate-per-second:20}") double ratePerSecond,
+                                  @Value("${app.sms-campaign.senders:4}") int senderCount,
+                                  @Value("${app.sms-campaign.history-size:50}") int historySize) {
+        this.customerRepository = customerRepository;
+        this.serviceRecordRepository = serviceRecordRepository;
+        this.smsGateway = smsGateway;
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.historySize = Math.max(1, historySize);
+        this.rateLimiter = new RateLimiter(ratePerSecond);
+        this.campaignRunner = Executors.newSingleThreadExecutor(daemonThreads("sms-campaign"));
+        this.senders = Executors.newFixedThreadPool(Math.max(1, senderCount), daemonThreads("sms-campaign-sender"));
+    }
+
+    @Override
+    public Map<String, Object> startCampaign(SmsCampaignRequest request) {
+        validate(request);
+
+        Campaign campaign = new Campaign(UUID.randomUUID().toString(),
+                request.getName() != null ? request.getName() : "SMS campaign");
+        synchronized (campaigns) {
+            campaigns.put(campaign.id, campaign);
+            while (campaigns.size() > historySize) {
+                String oldest = campaigns.keySet().iterator().next();
+                campaigns.remove(oldest);
+            }
+        }
+
+        campaignRunner.submit(() -> run(campaign, request));
+        return campaign.toMap();
+    }
+
+    @Override
+    public Map<String, Object> getCampaign(String campaignId) {
+        synchronized (campaigns) {
+            Campaign campaign = campaigns.get(campaignId);
+            if (campaign == null) {
+                throw new RuntimeException("Campaign not found with id: " + campaignId);
+            }
+            return campaign.toMap();
+        }
+    }
+
+    @Override
+    public List<Map<String, Object>> getCampaigns() {
+        List<Map<String, Object>> result = new ArrayList<>();
+        synchronized (campaigns) {
+            campaigns.values().forEach(campaign -> result.add(0, campaign.toMap()));
+        }
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        campaignRunner.shutdownNow();
+        senders.shutdownNow();
+    }
+
+    private void validate(SmsCampaignRequest request) {
+        if (request.getMessageTemplate() == null || request.getMessageTemplate().isBlank()) {
+            throw new RuntimeException("Message template is required");
+        }
+        boolean byIds = request.getCustomerIds() != null && !request.getCustomerIds().isEmpty();
+        boolean byServiceDue = request.getServiceDueFrom() != null && request.getServiceDueTo() != null;
+        if (!byIds && !byServiceDue && !Boolean.TRUE.equals(request.getAllCustomers())) {
+            throw new RuntimeException("Select recipients with customerIds, allCustomers or serviceDueFrom/serviceDueTo");
+        }
+    }
+
+    private void run(Campaign campaign, SmsCampaignRequest request) {
+        campaign.startedAt = LocalDateTime.now();
+        campaign.status = "RUNNING";
+        log.info("SMS campaign {} ({}) started", campaign.id, campaign.name);
+
+        try {
+            List<Long> customerIds = resolveCustomerIds(request);
+            campaign.totalRecipients.set(customerIds.size());
+
+            for (int from = 0; from < customerIds.size(); from += chunkSize) {
+                List<Long> chunk = customerIds.subList(from, Math.min(from + chunkSize, customerIds.size()));
+                sendChunk(campaign, request.getMessageTemplate(), chunk);
+            }
+            campaign.status = "COMPLETED";
+        } catch (Exception e) {
+            log.error("SMS campaign {} failed: {}", campaign.id, e.getMessage(), e);
+            campaign.error = e.getMessage();
+            campaign.status = "FAILED";
+        } finally {
+            campaign.finishedAt = LocalDateTime.now();
+            log.info("SMS campaign {} finished: {} sent, {} failed, {} skipped",
+                    campaign.id, campaign.sent.get(), campaign.failed.get(), campaign.skipped.get());
+        }
+    }
+
+    private List<Long> resolveCustomerIds(SmsCampaignRequest request) {
+        if (request.getCustomerIds() != null && !request.getCustomerIds().isEmpty()) {
+            return new ArrayList<>(new LinkedHashSet<>(request.getCustomerIds()));
+        }
+        if (request.getServiceDueFrom() != null && request.getServiceDueTo() != null) {
+            return serviceRecordRepository.findCustomerIdsWithServiceDueBetween(
+                    request.getServiceDueFrom(), request.getServiceDueTo());
+        }
+        return customerRepository.findAllIds();
+    }
+
+    private void sendChunk(Campaign campaign, String template, List<Long> customerIds) throws InterruptedException {
+        List<Customer> customers = customerRepository.findAllById(customerIds);
+        // Ids that no longer exist
+        campaign.skipped.addAndGet(customerIds.size() - customers.size());
+
+        List<Future<Object[]>> deliveries = new ArrayList<>(customers.size());
+        for (Customer customer : customers) {
+            if (customer.getPhone() == null || customer.getPhone().isBlank()) {
+                campaign.skipped.incrementAndGet();
+                continue;
+            }
+            String message = render(template, customer);
+            deliveries.add(senders.submit(() -> send(campaign, customer, message)));
+        }
+
+        List<Object[]> rows = new ArrayList<>(deliveries.size());
+        for (Future<Object[]> delivery : deliveries) {
+            try {
+                rows.add(delivery.get());
+            } catch (ExecutionException e) {
+                // send() never throws; anything here is a bug worth surfacing
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SMS_LOG, rows);
+            for (Object[] row : rows) {
+                eventPublisher.publishEvent(new SmsLogCreatedEvent(null, (Long) row[8], null, (String) row[3]));
+            }
+        }
+    }
+
+    private Object[] send(Campaign campaign, Customer customer, String message) {
+        rateLimiter.acquire();
+
+        String status = "SENT";
+        String messageId = null;
+        String error = null;
+        try {
+            messageId = smsGateway.send(customer.getPhone(), message);
+            campaign.sent.incrementAndGet();
+        } catch (Exception e) {
+            status = "FAILED";
+            error = e.getMessage();
+            campaign.failed.incrementAndGet();
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        return new Object[]{customer.getPhone(), PhoneNumberUtil.indexedReversedDigits(customer.getPhone()), message,
+                status, PROVIDER, messageId, error, now, customer.getId(), now, now};
+    }
+
+    private String render(String template, Customer customer) {
+        return template
+                .replace("{name}", customer.getName() != null ? customer.getName() : "Customer")
+                .replace("{phone}", customer.getPhone() != null ? customer.getPhone() : "")
+                .replace("{email}", customer.getEmail() != null ? customer.getEmail() : "");
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static final class Campaign {
+        private final String id;
+        private final String name;
+        private final LocalDateTime createdAt = LocalDateTime.now();
+        private final AtomicInteger totalRecipients = new AtomicInteger();
+        private final AtomicInteger sent = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final AtomicInteger skipped = new AtomicInteger();
+        private volatile String status = "QUEUED";
+        private volatile String error;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+
+        private Campaign(String id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        private Map<String, Object> toMap() {
+            int sentCount = sent.get();
+            int failedCount = failed.get();
+            int skippedCount = skipped.get();
+            int processed = sentCount + failedCount + skippedCount;
+
+            double messagesPerSecond = 0.0;
+            if (startedAt != null) {
+                LocalDateTime end = finishedAt != null ? finishedAt : LocalDateTime.now();
+                long elapsedMs = Math.max(1, Duration.between(startedAt, end).toMillis());
+                messagesPerSecond = (sentCount + failedCount) * 1000.0 / elapsedMs;
+            }
+
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("campaignId", id);
+            map.put("name", name);
+            map.put("status", status);
+            map.put("totalRecipients", totalRecipients.get());
+            map.put("processed", processed);
+            map.put("sent", sentCount);
+            map.put("failed", failedCount);
+            map.put("skipped", skippedCount);
+            map.put("messagesPerSecond", messagesPerSecond);
+            map.put("createdAt", createdAt);
+            map.put("startedAt", startedAt);
+            map.put("finishedAt", finishedAt);
+            map.put("error", error);
+            return map;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.vsc.vehicle_service_backend.service.impl;
+
+import com.vsc.vehicle_service_backend.entity.SmsLog;
+import com.vsc.vehicle_service_backend.repository.SmsLogRepository;
+import com.vsc.vehicle_service_backend.service.SmsLogSearchService;
+import com.vsc.vehicle_service_backend.util.PhoneNumberUtil;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Seek pagination over sms_log: each page continues after the (sentAt, id) of the previous
+ * page's last row, so deep pages cost the same as the first and no COUNT runs per page.
+ * Rows without a sentAt come last, ordered by id.
+ * Totals are optional and served from a short-lived per-filter cache.
+ */
+@Slf4j
+@Service
+public class SmsLogSearchServiceImpl implements SmsLogSearchService {
+
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int MAX_CACHED_COUNTS = 1000;
+    private static final int BACKFILL_CHUNK = 1000;
+
+    private final SmsLogRepository smsLogRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final long countCacheTtlMs;
+
+    private final Map<String, CachedCount> counts = new ConcurrentHashMap<>();
+
+    public SmsLogSearchServiceImpl(SmsLogRepository smsLogRepository,
+                                   JdbcTemplate jdbcTemplate,
+                                   @Value("${app.sms-log.count-cache-ttl-ms:60000}") long countCacheTtlMs) {
+        this.smsLogRepository = smsLogRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.countCacheTtlMs = countCacheTtlMs;
+    }
+
+    @Override
+    public Map<String, Object> search(String phoneNumber, String status, Long customerId,
+                                      String cursor, int size, boolean includeTotal) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+        LocalDateTime afterSentAt = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            int separator = cursor.lastIndexOf('_');
+            try {
+                String sentAt = cursor.substring(0, separator);
+                afterSentAt = sentAt.isEmpty() ? null : LocalDateTime.parse(sentAt);
+                afterId = Long.parseLong(cursor.substring(separator + 1));
+            } catch (DateTimeParseException | NumberFormatException | IndexOutOfBoundsException e) {
+                throw new RuntimeException("Invalid cursor: " + cursor);
+            }
+        }
+
+        // One extra row tells us whether another page exists
+        List<SmsLog> rows = smsLogRepository.searchSmsLogsAfter(phoneNumber, status, customerId,
+                afterSentAt, afterId, pageSize + 1);
+        boolean hasMore = rows.size() > pageSize;
+        List<SmsLog> content = hasMore ? new ArrayList<>(rows.subList(0, pageSize)) : rows;
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("content", content);
+        response.put("pageSize", pageSize);
+        response.put("hasMore", hasMore);
+        if (hasMore) {
+            SmsLog last = content.get(content.size() - 1);
+            // An undated row leaves the sentAt part empty
+            String sentAt = last.getSentAt() != null ? last.getSentAt().toString() : "";
+            response.put("nextCursor", sentAt + "_" + last.getId());
+        } else {
+            response.put("nextCursor", null);
+        }
+        if (includeTotal) {
+            response.put("approximateTotal", approximateCount(phoneNumber, status, customerId));
+        }
+        return response;
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public int backfillPhoneIndex() {
+        int updated = 0;
+        long lastId = 0;
+        while (true) {
+            List<Object[]> batch = new ArrayList<>();
+            List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                    "SELECT id, phone_number FROM sms_log WHERE phone_reversed IS NULL AND id > ? ORDER BY id LIMIT ?",
+                    lastId, BACKFILL_CHUNK);
+            for (Map<String, Object> row : rows) {
+                lastId = ((Number) row.get("id")).longValue();
+                // Numbers without digits get the empty marker so they are not picked up again next start
+                batch.add(new Object[]{PhoneNumberUtil.indexedReversedDigits((String) row.get("phone_number")), lastId});
+            }
+            if (!batch.isEmpty()) {
+                jdbcTemplate.batchUpdate("UPDATE sms_log SET phone_reversed = ? WHERE id = ?", batch);
+                updated += batch.size();
+            }
+            if (rows.size() < BACKFILL_CHUNK) {
+                break;
+            }
+        }
+        if (updated > 0) {
+            log.info("Backfilled phone_reversed for {} SMS log rows", updated);
+        }
+        return updated;
+    }
+
+    private long approximateCount(String phoneNumber, String status, Long customerId) {
+        String key = phoneNumber + "|" + status + "|" + customerId;
+        long now = System.currentTimeMillis();
+
+        CachedCount cached = counts.get(key);
+        if (cached != null && now - cached.computedAt < countCacheTtlMs) {
+            return cached.count;
+        }
+
+        long count = smsLogRepository.countSmsLogs(phoneNumber, status, customerId);
+        if (counts.size() >= MAX_CACHED_COUNTS) {
+            counts.clear();
+        }
+        counts.put(key, new CachedCount(count, now));
+        return count;
+    }
+
+    private static final class CachedCount {
+        private final long count;
+        private final long computedAt;
+
+        private CachedCount(long count, long computedAt) {
+            this.count = count;
+            this.computedAt = computedAt;
+        }
+    }
+}
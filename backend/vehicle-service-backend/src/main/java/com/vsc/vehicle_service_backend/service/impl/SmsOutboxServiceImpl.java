@@ -0,0 +1,172 @@
+package com.vsc.vehicle_service_backend.service.impl;
+
+import com.vsc.vehicle_service_backend.entity.SmsLog;
+import com.vsc.vehicle_service_backend.entity.SmsOutbox;
+import com.vsc.vehicle_service_backend.repository.SmsOutboxRepository;
+import com.vsc.vehicle_service_backend.service.SmsOutboxService;
+import com.vsc.vehicle_service_backend.service.SmsService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Transactional outbox for service-completion SMS. Status updates only insert a row; a
+ * scheduled dispatcher claims due rows with a conditional UPDATE (safe across instances),
+ * delivers them on a bounded worker pool and reschedules failures with exponential backoff.
+ * A claim is a lease: rows stuck in PROCESSING after a crash become PENDING again once it ends.
+ */
+@Slf4j
+@Service
+public class SmsOutboxServiceImpl implements SmsOutboxService {
+
+    private final SmsOutboxRepository outboxRepository;
+    private final SmsService smsService;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long baseBackoffMs;
+    private final long maxBackoffMs;
+    private final long leaseMs;
+    private final ThreadPoolExecutor workers;
+
+    public SmsOutboxServiceImpl(SmsOutboxRepository outboxRepository,
+                                SmsService smsService,
+                                @Value("${app.sms-outbox.batch-size:50}") int batchSize,
+                                @Value("${app.sms-outbox.max-attempts:5}") int maxAttempts,
+                                @Value("${app.sms-outbox.base-backoff-ms:30000}") long baseBackoffMs,
+                                @Value("${app.sms-outbox.max-backoff-ms:3600000}") long maxBackoffMs,
+                                @Value("${app.sms-outbox.lease-ms:300000}") long leaseMs,
+                                @Value("${app.sms-outbox.workers:4}") int workerCount) {
+        this.outboxRepository = outboxRepository;
+        this.smsService = smsService;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.baseBackoffMs = Math.max(0, baseBackoffMs);
+        this.maxBackoffMs = Math.max(this.baseBackoffMs, maxBackoffMs);
+        this.leaseMs = leaseMs;
+
+        // Queue holds at most one batch; the scheduler thread runs overflow itself
+        int threads = Math.max(1, workerCount);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(this.batchSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "sms-outbox-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueServiceCompletion(Long serviceRecordId) {
+        // One notification per service record. Callers hold the service record's row lock, so this check
+        // cannot race another insert for the same record into the unique key and roll the caller back
+        if (outboxRepository.existsByServiceRecordId(serviceRecordId)) {
+            log.debug("Completion SMS for service record {} already queued", serviceRecordId);
+            return;
+        }
+        outboxRepository.save(new SmsOutbox(serviceRecordId));
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.sms-outbox.poll-interval-ms:2000}")
+    public int dispatchDue() {
+        LocalDateTime now = LocalDateTime.now();
+        int released = outboxRepository.releaseExpiredLeases(now,
+                SmsOutbox.OutboxStatus.PENDING, SmsOutbox.OutboxStatus.PROCESSING);
+        if (released > 0) {
+            log.warn("Released {} SMS outbox rows with expired leases", released);
+        }
+
+        List<Long> dueIds = outboxRepository.findDueIds(SmsOutbox.OutboxStatus.PENDING, now,
+                PageRequest.of(0, batchSize));
+
+        List<Future<?>> deliveries = new ArrayList<>();
+        LocalDateTime leaseUntil = now.plusNanos(leaseMs * 1_000_000);
+        for (Long id : dueIds) {
+            if (outboxRepository.claim(id, now, leaseUntil,
+                    SmsOutbox.OutboxStatus.PENDING, SmsOutbox.OutboxStatus.PROCESSING) == 1) {
+                deliveries.add(workers.submit(() -> deliver(id)));
+            }
+        }
+
+        // Drain the whole batch before polling again
+        for (Future<?> delivery : deliveries) {
+            try {
+                delivery.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                log.error("SMS outbox worker failed", e.getCause());
+            }
+        }
+        return deliveries.size();
+    }
+
+    @Override
+    public Map<String, Object> getOutboxStats() {
+        Map<String, Object> stats = new HashMap<>();
+        for (SmsOutbox.OutboxStatus status : SmsOutbox.OutboxStatus.values()) {
+            stats.put(status.name().toLowerCase(), outboxRepository.countByStatus(status));
+        }
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    private void deliver(Long outboxId) {
+        SmsOutbox row = outboxRepository.findById(outboxId).orElse(null);
+        if (row == null) {
+            return;
+        }
+
+        try {
+            SmsLog smsLog = smsService.deliverServiceCompletionSms(row.getServiceRecordId());
+            row.setStatus(SmsOutbox.OutboxStatus.SENT);
+            row.setSmsLogId(smsLog.getId());
+            row.setLastError(null);
+        } catch (Exception e) {
+            row.setLastError(e.getMessage());
+            if (row.getAttempts() >= maxAttempts) {
+                log.error("Giving up on completion SMS for service record {} after {} attempts: {}",
+                        row.getServiceRecordId(), row.getAttempts(), e.getMessage());
+                row.setStatus(SmsOutbox.OutboxStatus.FAILED);
+                row.setSmsLogId(smsService.recordFailedServiceCompletionSms(row.getServiceRecordId(), e.getMessage()).getId());
+            } else {
+                long delay = backoff(row.getAttempts());
+                log.warn("Completion SMS for service record {} failed (attempt {}), retrying in {} ms: {}",
+                        row.getServiceRecordId(), row.getAttempts(), delay, e.getMessage());
+                row.setStatus(SmsOutbox.OutboxStatus.PENDING);
+                row.setNextAttemptAt(LocalDateTime.now().plusNanos(delay * 1_000_000));
+            }
+        }
+        outboxRepository.save(row);
+    }
+
+    private long backoff(int attempts) {
+        long delay = baseBackoffMs << Math.min(attempts - 1, 20);
+        return Math.min(delay, maxBackoffMs);
+    }
+}
@@ -4,11 +4,14 @@ import com.vsc.vehicle_service_backend.dto.SmsRequest;
 import com.vsc.vehicle_service_backend.entity.Customer;
 import com.vsc.vehicle_service_backend.entity.SmsLog;
 import com.vsc.vehicle_service_backend.entity.ServiceRecord;
+import com.vsc.vehicle_service_backend.event.SmsLogCreatedEvent;
 import com.vsc.vehicle_service_backend.repository.CustomerRepository;
 import com.vsc.vehicle_service_backend.repository.ServiceRecordRepository;
 import com.vsc.vehicle_service_backend.repository.SmsLogRepository;
+import com.vsc.vehicle_service_backend.service.SmsGateway;
 import com.vsc.vehicle_service_backend.service.SmsService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -29,93 +32,23 @@ public class SmsServiceImpl implements SmsService {
     @Autowired
     private ServiceRecordRepository serviceRecordRepository;
 
+    @Autowired
+    private SmsGateway smsGateway;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Override
     @Transactional
     public SmsLog sendServiceCompletionSms(Long serviceRecordId) {
-        System.out.println("🚀 [SMS] Starting sendServiceCompletionSms for record ID: " + serviceRecordId);
-
         try {
-            // 1. Get the service record
-            Optional<ServiceRecord> serviceRecordOpt = serviceRecordRepository.findById(serviceRecordId);
-            if (serviceRecordOpt.isEmpty()) {
-                System.err.println("❌ [SMS] Service record not found with ID: " + serviceRecordId);
-                throw new RuntimeException("Service record not found with ID: " + serviceRecordId);
-            }
-
-            ServiceRecord serviceRecord = serviceRecordOpt.get();
-            System.out.println("✅ [SMS] Found service record: " + serviceRecord.getRecordId());
-            System.out.println("   - Customer ID: " + serviceRecord.getCustomerId());
-            System.out.println("   - Status: " + serviceRecord.getStatus());
-            System.out.println("   - Total Cost: " + serviceRecord.getTotalCost());
-
-            // 2. Get customer ID from service record
-            Long customerId = serviceRecord.getCustomerId();
-            String phoneNumber = "+1234567890"; // Default
-            String customerName = "Customer";
-
-            // 3. Try to get the customer
-            if (customerId != null) {
-                Optional<Customer> customerOpt = customerRepository.findById(customerId);
-                if (customerOpt.isPresent()) {
-                    Customer customer = customerOpt.get();
-                    customerName = customer.getName() != null ? customer.getName() : "Customer #" + customerId;
-                    phoneNumber = customer.getPhone() != null ? customer.getPhone() : "+1234567890";
-                    System.out.println("✅ [SMS] Found customer: " + customerName);
-                    System.out.println("   - Phone: " + phoneNumber);
-                } else {
-                    System.err.println("⚠️ [SMS] Customer not found with ID: " + customerId + ", using defaults");
-                    customerName = "Customer #" + customerId;
-                }
-            } else {
-                System.err.println("⚠️ [SMS] No customer ID in service record, using defaults");
-                customerId = 1L; // Default
-            }
-
-            // 4. Create the message
-            String message;
-            double totalCost = serviceRecord.getTotalCost() != null ? serviceRecord.getTotalCost() : 0.0;
-
-            message = String.format(
-                    "Dear %s, your vehicle service %s has been completed successfully. " +
-                            "Total cost: Rs. %.2f. Vehicle is ready for pickup. Thank you! - VSC",
-                    customerName,
-                    serviceRecord.getRecordId(),
-                    totalCost
-            );
-
-            System.out.println("📱 [SMS] Message: " + message);
-
-            // 5. Create and save SMS log
-            SmsLog smsLog = new SmsLog();
-            smsLog.setPhoneNumber(phoneNumber);
-            smsLog.setMessage(message);
-            smsLog.setStatus("SENT");
-            smsLog.setProvider("SYSTEM_AUTO");
-            smsLog.setServiceRecordId(serviceRecordId);
-            smsLog.setCustomerId(customerId);
-            smsLog.setSentAt(LocalDateTime.now());
-
-            SmsLog savedLog = smsLogRepository.save(smsLog);
-            System.out.println("✅ [SMS] SMS log saved with ID: " + savedLog.getId());
-
-            return savedLog;
-
+            return deliverServiceCompletionSms(serviceRecordId);
         } catch (Exception e) {
             System.err.println("❌ [SMS] Error in sendServiceCompletionSms: " + e.getMessage());
-            e.printStackTrace();
 
             // Create a failed log entry for tracking
             try {
-                SmsLog failedLog = new SmsLog();
-                failedLog.setPhoneNumber("UNKNOWN");
-                failedLog.setMessage("Failed to send completion SMS for record: " + serviceRecordId);
-                failedLog.setStatus("FAILED");
-                failedLog.setProvider("SYSTEM_AUTO");
-                failedLog.setErrorMessage(e.getMessage());
-                failedLog.setServiceRecordId(serviceRecordId);
-                failedLog.setSentAt(LocalDateTime.now());
-
-                return smsLogRepository.save(failedLog);
+                return recordFailedServiceCompletionSms(serviceRecordId, e.getMessage());
             } catch (Exception ex) {
                 System.err.println("❌ [SMS] Could not even save failed log: " + ex.getMessage());
                 return null;
@@ -123,6 +56,82 @@ public class SmsServiceImpl implements SmsService {
         }
     }
 
+    @Override
+    @Transactional
+    public SmsLog deliverServiceCompletionSms(Long serviceRecordId) {
+        System.out.println("🚀 [SMS] Starting completion SMS for record ID: " + serviceRecordId);
+
+        // 1. Get the service record
+        ServiceRecord serviceRecord = serviceRecordRepository.findById(serviceRecordId)
+                .orElseThrow(() -> new RuntimeException("Service record not found with ID: " + serviceRecordId));
+
+        // 2. Get customer ID from service record
+        Long customerId = serviceRecord.getCustomerId();
+        String phoneNumber = "+1234567890"; // Default
+        String customerName = "Customer";
+
+        // 3. Try to get the customer
+        if (customerId != null) {
+            Optional<Customer> customerOpt = customerRepository.findById(customerId);
+            if (customerOpt.isPresent()) {
+                Customer customer = customerOpt.get();
+                customerName = customer.getName() != null ? customer.getName() : "Customer #" + customerId;
+                phoneNumber = customer.getPhone() != null ? customer.getPhone() : "+1234567890";
+            } else {
+                System.err.println("⚠️ [SMS] Customer not found with ID: " + customerId + ", using defaults");
+                customerName = "Customer #" + customerId;
+            }
+        } else {
+            System.err.println("⚠️ [SMS] No customer ID in service record, using defaults");
+            customerId = 1L; // Default
+        }
+
+        // 4. Create the message
+        double totalCost = serviceRecord.getTotalCost() != null ? serviceRecord.getTotalCost() : 0.0;
+
+        String message = String.format(
+                "Dear %s, your vehicle service %s has been completed successfully. " +
+                        "Total cost: Rs. %.2f. Vehicle is ready for pickup. Thank you! - VSC",
+                customerName,
+                serviceRecord.getRecordId(),
+                totalCost
+        );
+
+        // 5. Hand it to the provider; failures propagate so the caller can retry
+        String messageId = smsGateway.send(phoneNumber, message);
+
+        // 6. Create and save SMS log
+        SmsLog smsLog = new SmsLog();
+        smsLog.setPhoneNumber(phoneNumber);
+        smsLog.setMessage(message);
+        smsLog.setStatus("SENT");
+        smsLog.setProvider(smsGateway.getProviderName());
+        smsLog.setMessageId(messageId);
+        smsLog.setServiceRecordId(serviceRecordId);
+        smsLog.setCustomerId(customerId);
+        smsLog.setSentAt(LocalDateTime.now());
+
+        SmsLog savedLog = saveLog(smsLog);
+        System.out.println("✅ [SMS] SMS log saved with ID: " + savedLog.getId());
+
+        return savedLog;
+    }
+
+    @Override
+    @Transactional
+    public SmsLog recordFailedServiceCompletionSms(Long serviceRecordId, String errorMessage) {
+        SmsLog failedLog = new SmsLog();
+        failedLog.setPhoneNumber("UNKNOWN");
+        failedLog.setMessage("Failed to send completion SMS for record: " + serviceRecordId);
+        failedLog.setStatus("FAILED");
+        failedLog.setProvider(smsGateway.getProviderName());
+        failedLog.setErrorMessage(errorMessage);
+        failedLog.setServiceRecordId(serviceRecordId);
+        failedLog.setSentAt(LocalDateTime.now());
+
+        return saveLog(failedLog);
+    }
+
     // ... rest of your methods remain the same
     @Override
     @Transactional
@@ -137,16 +146,20 @@ public class SmsServiceImpl implements SmsService {
 
             Customer customer = customerOptional.get();
 
+            String phoneNumber = customer.getPhone() != null ? customer.getPhone() : "+1234567890";
+            String messageId = smsGateway.send(phoneNumber, smsRequest.getMessage());
+
             SmsLog smsLog = new SmsLog();
-            smsLog.setPhoneNumber(customer.getPhone() != null ? customer.getPhone() : "+1234567890");
+            smsLog.setPhoneNumber(phoneNumber);
             smsLog.setMessage(smsRequest.getMessage());
             smsLog.setStatus("SENT");
             smsLog.setProvider("MANUAL");
+            smsLog.setMessageId(messageId);
             smsLog.setSentAt(LocalDateTime.now());
             smsLog.setCustomerId(customer.getId());
 
             System.out.println("✅ Custom SMS sent to: " + customer.getName());
-            SmsLog savedLog = smsLogRepository.save(smsLog);
+            SmsLog savedLog = saveLog(smsLog);
             System.out.println("✅ SMS log saved with ID: " + savedLog.getId());
 
             return savedLog;
@@ -209,16 +222,19 @@ public class SmsServiceImpl implements SmsService {
 
             SmsLog original = originalOptional.get();
 
+            String messageId = smsGateway.send(original.getPhoneNumber(), original.getMessage());
+
             SmsLog resendLog = new SmsLog();
             resendLog.setPhoneNumber(original.getPhoneNumber());
             resendLog.setMessage(original.getMessage());
             resendLog.setStatus("SENT");
             resendLog.setProvider("RESEND");
+            resendLog.setMessageId(messageId);
             resendLog.setSentAt(LocalDateTime.now());
             resendLog.setCustomerId(original.getCustomerId());
             resendLog.setServiceRecordId(original.getServiceRecordId());
 
-            smsLogRepository.save(resendLog);
+            saveLog(resendLog);
             System.out.println("✅ SMS resent: " + id);
             return true;
 
@@ -227,4 +243,12 @@ public class SmsServiceImpl implements SmsService {
             return false;
         }
     }
-}
\ No newline at end of file
+
+    // Every log row is announced to live update subscribers once the transaction commits
+    private SmsLog saveLog(SmsLog smsLog) {
+        SmsLog savedLog = smsLogRepository.save(smsLog);
+        eventPublisher.publishEvent(new SmsLogCreatedEvent(savedLog.getId(), savedLog.getCustomerId(),
+                savedLog.getServiceRecordId(), savedLog.getStatus()));
+        return savedLog;
+    }
+}
@@ -1,23 +1,32 @@
 package com.vsc.vehicle_service_backend.service.impl;
 
+import com.vsc.vehicle_service_backend.dto.GoodsReceiptRequest;
 import com.vsc.vehicle_service_backend.dto.SparePartIncomeRequest;
 import com.vsc.vehicle_service_backend.dto.SparePartIncomeResponse;
 import com.vsc.vehicle_service_backend.entity.*;
 import com.vsc.vehicle_service_backend.entity.IncomeStatus;
 import com.vsc.vehicle_service_backend.entity.ItemStatus;
+import com.vsc.vehicle_service_backend.event.FinancePostingEvent;
+import com.vsc.vehicle_service_backend.event.IncomeReceivedEvent;
 import com.vsc.vehicle_service_backend.repository.SparePartIncomeRepository;
 import com.vsc.vehicle_service_backend.repository.SparePartRepository;
 import com.vsc.vehicle_service_backend.repository.SupplierRepository;
+import com.vsc.vehicle_service_backend.service.IncomeChartService;
+import com.vsc.vehicle_service_backend.service.RecordIdAllocator;
 import com.vsc.vehicle_service_backend.service.SparePartIncomeService;
+import com.vsc.vehicle_service_backend.service.StockLedgerService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -32,11 +41,29 @@ public class SparePartIncomeServiceImpl implements SparePartIncomeService {
     @Autowired
     private SparePartRepository sparePartRepository;
 
+    @Autowired
+    private StockLedgerService stockLedgerService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private IncomeChartService incomeChartService;
+
+    @Autowired
+    private RecordIdAllocator recordIdAllocator;
+
+    private static final String ORDER_NUMBER_PREFIX = "PO_";
+    private static final String INCOME_REFERENCE = "SPARE_PART_INCOME";
+    private static final String RECEIPT_REFERENCE = "SPARE_PART_RECEIPT";
+    private static final int MAX_RECEIPT_ORDERS = 200;
+    private static final int DEFAULT_CHART_MONTHS = 6;
+
     private static final DateTimeFormatter ORDER_NUMBER_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd");
 
     @Override
     public List<SparePartIncomeResponse> getAllIncomes() {
-        return incomeRepository.findAll().stream()
+        return incomeRepository.findAllWithItems().stream()
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
     }
@@ -50,7 +77,7 @@ public class SparePartIncomeServiceImpl implements SparePartIncomeService {
 
     @Override
     public List<SparePartIncomeResponse> getPendingIncomes() {
-        return incomeRepository.findByStatus(IncomeStatus.PENDING).stream()
+        return incomeRepository.findByStatusInWithItems(List.of(IncomeStatus.PENDING, IncomeStatus.PARTIAL)).stream()
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
     }
@@ -81,9 +108,18 @@ public class SparePartIncomeServiceImpl implements SparePartIncomeService {
         BigDecimal totalAmount = BigDecimal.ZERO;
         List<SparePartIncomeItem> items = new ArrayList<>();
 
+        // All parts of the order in one query instead of one per line
+        Map<Long, SparePart> spareParts = sparePartRepository.findAllById(request.getItems().stream()
+                        .map(SparePartIncomeRequest.Item::getSparePartId)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(SparePart::getId, Function.identity()));
+
         for (SparePartIncomeRequest.Item itemRequest : request.getItems()) {
-            SparePart sparePart = sparePartRepository.findById(itemRequest.getSparePartId())
-                    .orElseThrow(() -> new RuntimeException("Spare part not found with id: " + itemRequest.getSparePartId()));
+            SparePart sparePart = spareParts.get(itemRequest.getSparePartId());
+            if (sparePart == null) {
+                throw new RuntimeException("Spare part not found with id: " + itemRequest.getSparePartId());
+            }
 
             SparePartIncomeItem item = new SparePartIncomeItem();
             item.setSparePart(sparePart);
@@ -112,52 +148,128 @@ public class SparePartIncomeServiceImpl implements SparePartIncomeService {
     @Override
     @Transactional
     public SparePartIncomeResponse receiveIncome(Long id) {
-        SparePartIncome income = incomeRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Income record not found with id: " + id));
+        GoodsReceiptRequest.Order order = new GoodsReceiptRequest.Order();
+        order.setIncomeId(id);
+        GoodsReceiptRequest request = new GoodsReceiptRequest();
+        request.setOrders(List.of(order));
+        return receiveGoods(request).get(0);
+    }
 
-        if (!income.isPending()) {
-            throw new RuntimeException("Only pending orders can be received");
+    @Override
+    @Transactional
+    public List<SparePartIncomeResponse> receiveGoods(GoodsReceiptRequest request) {
+        if (request.getOrders() == null || request.getOrders().isEmpty()) {
+            throw new RuntimeException("A goods receipt needs at least one order");
+        }
+        if (request.getOrders().size() > MAX_RECEIPT_ORDERS) {
+            throw new RuntimeException("A goods receipt can cover at most " + MAX_RECEIPT_ORDERS + " orders");
         }
 
-        income.setStatus(IncomeStatus.RECEIVED);
-        income.setReceivedDate(LocalDate.now());
+        Map<Long, GoodsReceiptRequest.Order> orders = new LinkedHashMap<>();
+        for (GoodsReceiptRequest.Order order : request.getOrders()) {
+            if (order.getIncomeId() == null || orders.putIfAbsent(order.getIncomeId(), order) != null) {
+                throw new RuntimeException("Every order must appear once in a goods receipt: " + order.getIncomeId());
+            }
+        }
 
-        // Update stock quantities
-        for (SparePartIncomeItem item : income.getItems()) {
-            if (item.getStatus() == ItemStatus.PENDING) {
-                SparePart sparePart = item.getSparePart();
-                Integer newQuantity = sparePart.getQuantity() + item.getQuantityOrdered();
-                sparePart.setQuantity(newQuantity);
-                sparePart.setUpdatedAt(LocalDateTime.now());
-                sparePartRepository.save(sparePart);
-
-                item.setStatus(ItemStatus.RECEIVED);
-                item.setQuantityReceived(item.getQuantityOrdered());
+        // Lock first, then load the lines, so the outstanding quantities checked below cannot change under us
+        List<SparePartIncome> locked = incomeRepository.findAllByIdInForUpdate(orders.keySet());
+        if (locked.size() != orders.size()) {
+            Set<Long> found = locked.stream().map(SparePartIncome::getId).collect(Collectors.toSet());
+            Long missing = orders.keySet().stream().filter(id -> !found.contains(id)).findFirst().orElse(null);
+            throw new RuntimeException("Income record not found with id: " + missing);
+        }
+        Map<Long, SparePartIncome> incomes = incomeRepository.findAllWithItemsByIdIn(orders.keySet()).stream()
+                .collect(Collectors.toMap(SparePartIncome::getId, Function.identity()));
+
+        List<StockMovement> movements = new ArrayList<>();
+        Map<Long, BigDecimal> receivedValues = new LinkedHashMap<>();
+        Set<Long> categoryIds = new HashSet<>();
+        LocalDate today = LocalDate.now();
+        for (GoodsReceiptRequest.Order order : orders.values()) {
+            SparePartIncome income = incomes.get(order.getIncomeId());
+            if (income.getStatus() != IncomeStatus.PENDING && income.getStatus() != IncomeStatus.PARTIAL) {
+                throw new RuntimeException("Only pending or partially received orders can be received: "
+                        + income.getOrderNumber());
+            }
+
+            BigDecimal receivedValue = BigDecimal.ZERO;
+            Map<Long, Integer> partQuantities = new LinkedHashMap<>();
+            for (Map.Entry<SparePartIncomeItem, Integer> line : receiptLines(income, order.getLines()).entrySet()) {
+                SparePartIncomeItem item = line.getKey();
+                int quantity = line.getValue();
+                receivedValue = receivedValue.add(lineValue(item, quantity));
+                partQuantities.merge(item.getSparePart().getId(), quantity, Integer::sum);
+                categoryIds.add(categoryIdOf(item));
+
+                int received = receivedQuantity(item) + quantity;
+                item.setQuantityReceived(received);
+                item.setStatus(received >= item.getQuantityOrdered() ? ItemStatus.RECEIVED : ItemStatus.PARTIAL);
                 item.setUpdatedAt(LocalDateTime.now());
             }
+            if (partQuantities.isEmpty()) {
+                continue;
+            }
+
+            partQuantities.forEach((sparePartId, quantity) -> movements.add(new StockMovement(sparePartId, quantity,
+                    StockMovement.MovementType.RECEIPT, INCOME_REFERENCE, income.getId())));
+            receivedValues.put(income.getId(), receivedValue);
+
+            boolean outstanding = income.getItems().stream().anyMatch(item -> item.getStatus() == ItemStatus.PENDING
+                    || item.getStatus() == ItemStatus.PARTIAL);
+            income.setStatus(outstanding ? IncomeStatus.PARTIAL : IncomeStatus.RECEIVED);
+            income.setReceivedDate(today);
+            income.setUpdatedAt(LocalDateTime.now());
         }
 
-        income.setUpdatedAt(LocalDateTime.now());
-        SparePartIncome updatedIncome = incomeRepository.save(income);
-        return convertToResponse(updatedIncome);
+        // One stock update per part for the whole delivery
+        List<StockMovement> saved = stockLedgerService.increaseStock(movements);
+
+        // Purchase expense per order and receipt, queued for the finance ledger with this transaction. An order
+        // can be received in several deliveries, so the receipt's first stock movement identifies the posting
+        Map<Long, Long> firstMovementIds = new HashMap<>();
+        for (StockMovement movement : saved) {
+            firstMovementIds.putIfAbsent(movement.getReferenceId(), movement.getId());
+        }
+        receivedValues.forEach((incomeId, value) -> {
+            if (value.signum() > 0) {
+                SparePartIncome income = incomes.get(incomeId);
+                eventPublisher.publishEvent(new FinancePostingEvent(RECEIPT_REFERENCE, firstMovementIds.get(incomeId),
+                        FinanceTransaction.TransactionType.EXPENSE, FinanceTransaction.TransactionCategory.SPARE_PART_PURCHASE,
+                        value, today,
+                        "Stock received for order " + income.getOrderNumber() + " from " + income.getSupplier().getSupplierName(),
+                        null, null));
+            }
+        });
+        if (!categoryIds.isEmpty()) {
+            eventPublisher.publishEvent(new IncomeReceivedEvent(categoryIds));
+        }
+
+        return orders.keySet().stream()
+                .map(incomes::get)
+                .map(this::convertToResponse)
+                .collect(Collectors.toList());
     }
 
     @Override
     @Transactional
     public SparePartIncomeResponse cancelIncome(Long id) {
-        SparePartIncome income = incomeRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Income record not found with id: " + id));
+        // Locked like a goods receipt, so a delivery cannot land on lines being cancelled
+        if (incomeRepository.findAllByIdInForUpdate(List.of(id)).isEmpty()) {
+            throw new RuntimeException("Income record not found with id: " + id);
+        }
+        SparePartIncome income = incomeRepository.findAllWithItemsByIdIn(List.of(id)).get(0);
 
-        if (!income.isPending()) {
-            throw new RuntimeException("Only pending orders can be cancelled");
+        if (income.getStatus() != IncomeStatus.PENDING && income.getStatus() != IncomeStatus.PARTIAL) {
+            throw new RuntimeException("Only pending or partially received orders can be cancelled");
         }
 
         income.setStatus(IncomeStatus.CANCELLED);
         income.setUpdatedAt(LocalDateTime.now());
 
-        // Update item statuses
+        // The outstanding remainder is cancelled; quantities already received stay on their lines
         for (SparePartIncomeItem item : income.getItems()) {
-            if (item.getStatus() == ItemStatus.PENDING) {
+            if (item.getStatus() == ItemStatus.PENDING || item.getStatus() == ItemStatus.PARTIAL) {
                 item.setStatus(ItemStatus.CANCELLED);
                 item.setUpdatedAt(LocalDateTime.now());
             }
@@ -172,68 +284,101 @@ public class SparePartIncomeServiceImpl implements SparePartIncomeService {
     public void deleteIncome(Long id) {
         SparePartIncome income = incomeRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Income record not found with id: " + id));
+
+        // Received quantities leave the income charts with the order
+        Set<Long> categoryIds = income.getItems().stream()
+                .filter(item -> receivedQuantity(item) > 0)
+                .map(SparePartIncomeServiceImpl::categoryIdOf)
+                .collect(Collectors.toSet());
         incomeRepository.delete(income);
+        if (!categoryIds.isEmpty()) {
+            eventPublisher.publishEvent(new IncomeReceivedEvent(categoryIds));
+        }
     }
 
     @Override
     public Map<String, Object> getChartDataByCategory(Long categoryId) {
-        Map<String, Object> chartData = new HashMap<>();
-
-        // Get last 6 months data
-        LocalDate endDate = LocalDate.now();
-        LocalDate startDate = endDate.minusMonths(6);
-
-        // Get monthly income data - Simplified for now
-        List<Object[]> monthlyIncome = new ArrayList<>();
-
-        // Generate sample data for testing
-        String[] months = {"Jan", "Feb", "Mar", "Apr", "May", "Jun"};
-        for (int i = 0; i < months.length; i++) {
-            Object[] monthData = new Object[2];
-            monthData[0] = months[i] + " " + endDate.getYear();
-            monthData[1] = (int)(Math.random() * 100000) + 50000; // Random amount
-            monthlyIncome.add(monthData);
-        }
-
-        // Process data for chart
-        List<String> labels = monthlyIncome.stream()
-                .map(row -> (String) row[0])
-                .collect(Collectors.toList());
-
-        List<Double> incomeData = monthlyIncome.stream()
-                .map(row -> ((Number) row[1]).doubleValue())
-                .collect(Collectors.toList());
-
-        chartData.put("labels", labels);
-        chartData.put("incomeData", incomeData);
-        chartData.put("totalIncome", incomeData.stream().mapToDouble(Double::doubleValue).sum());
+        return getChartDataByCategory(categoryId, DEFAULT_CHART_MONTHS);
+    }
 
-        return chartData;
+    @Override
+    public Map<String, Object> getChartDataByCategory(Long categoryId, int months) {
+        return incomeChartService.getCategoryChart(categoryId, months);
     }
 
     private String generateOrderNumber() {
-        // Format: PO_YYYYMMDD_XXX
+        // Format: PO_YYYYMMDD_XXX, numbered per day from that day's own sequence
         String datePart = LocalDate.now().format(ORDER_NUMBER_FORMATTER);
+        long nextNumber = recordIdAllocator.next(ORDER_NUMBER_PREFIX + datePart,
+                () -> findHighestOrderNumberOfDay(datePart));
+        return ORDER_NUMBER_PREFIX + datePart + "_" + String.format("%03d", nextNumber);
+    }
 
-        // Get count of today's orders
-        LocalDate today = LocalDate.now();
+    // Only used the first time a day's sequence is created
+    private long findHighestOrderNumberOfDay(String datePart) {
+        Long highest = incomeRepository.findHighestOrderNumberOfDay("PO!_" + datePart + "!_%");
+        return highest != null ? highest : 0L;
+    }
 
-        // FIX: If countByOrderDate doesn't work, use this alternative:
-        long countToday;
-        try {
-            countToday = incomeRepository.countByOrderDate(today);
-        } catch (Exception e) {
-            // Alternative: Count manually
-            countToday = incomeRepository.findByOrderDateBetween(
-                    today.atStartOfDay().toLocalDate(),
-                    today.atTime(23, 59, 59).toLocalDate()
-            ).size();
+    // Item -> quantity arriving now; no lines means everything still outstanding
+    private Map<SparePartIncomeItem, Integer> receiptLines(SparePartIncome income, List<GoodsReceiptRequest.Line> lines) {
+        Map<SparePartIncomeItem, Integer> quantities = new LinkedHashMap<>();
+        if (lines == null || lines.isEmpty()) {
+            for (SparePartIncomeItem item : income.getItems()) {
+                int outstanding = outstandingQuantity(item);
+                if (outstanding > 0) {
+                    quantities.put(item, outstanding);
+                }
+            }
+            return quantities;
         }
 
-        // Generate sequence number (001, 002, etc.)
-        String sequence = String.format("%03d", countToday + 1);
+        Map<Long, SparePartIncomeItem> items = income.getItems().stream()
+                .collect(Collectors.toMap(SparePartIncomeItem::getId, Function.identity()));
+        for (GoodsReceiptRequest.Line line : lines) {
+            SparePartIncomeItem item = items.get(line.getItemId());
+            if (item == null) {
+                throw new RuntimeException("Item " + line.getItemId() + " does not belong to order " + income.getOrderNumber());
+            }
+            if (line.getQuantityReceived() == null || line.getQuantityReceived() < 0) {
+                throw new RuntimeException("Received quantity must not be negative for item " + item.getId());
+            }
+            if (line.getQuantityReceived() > 0) {
+                quantities.merge(item, line.getQuantityReceived(), Integer::sum);
+            }
+        }
+        quantities.forEach((item, quantity) -> {
+            if (quantity > outstandingQuantity(item)) {
+                throw new RuntimeException("Received quantity " + quantity + " for item " + item.getId() +
+                        " exceeds the outstanding quantity " + outstandingQuantity(item));
+            }
+        });
+        return quantities;
+    }
 
-        return "PO_" + datePart + "_" + sequence;
+    private static int outstandingQuantity(SparePartIncomeItem item) {
+        if (item.getStatus() != ItemStatus.PENDING && item.getStatus() != ItemStatus.PARTIAL) {
+            return 0;
+        }
+        return Math.max(0, item.getQuantityOrdered() - receivedQuantity(item));
+    }
+
+    private static Long categoryIdOf(SparePartIncomeItem item) {
+        SparePartCategory category = item.getSparePart().getCategory();
+        return category != null ? category.getId() : null;
+    }
+
+    private static int receivedQuantity(SparePartIncomeItem item) {
+        return item.getQuantityReceived() != null ? item.getQuantityReceived() : 0;
+    }
+
+    // Share of the line total for the quantity received now
+    private static BigDecimal lineValue(SparePartIncomeItem item, int quantity) {
+        if (item.getTotalPrice() == null || item.getQuantityOrdered() == null || item.getQuantityOrdered() == 0) {
+            return BigDecimal.ZERO;
+        }
+        return item.getTotalPrice().multiply(BigDecimal.valueOf(quantity))
+                .divide(BigDecimal.valueOf(item.getQuantityOrdered()), 2, RoundingMode.HALF_UP);
     }
 
     private SparePartIncomeResponse convertToResponse(SparePartIncome income) {
@@ -0,0 +1,243 @@
+package com.vsc.vehicle_service_backend.service.impl;
+
+import com.vsc.vehicle_service_backend.entity.SparePart;
+import com.vsc.vehicle_service_backend.repository.SparePartRepository;
+import com.vsc.vehicle_service_backend.util.TransactionHooks;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory prefix index over the parts catalog for type-ahead search. Every word of the
+ * part code, name, brand, model, category and supplier name is indexed under all of its
+ * prefixes, so a query is one map lookup per query word plus an intersection. All query
+ * words must match; hits are ranked by which field matched and whether the whole word did.
+ *
+ * SparePartServiceImpl pushes changes after commit; a periodic rebuild picks up anything
+ * else (category or supplier renames, direct database edits).
+ */
+@Slf4j
+@Component
+public class SparePartSearchIndex {
+
+    // Longer prefixes are not indexed; longer query words are matched on this prefix
+    static final int MAX_PREFIX_LENGTH = 20;
+
+    private enum Field {
+        PART_CODE(6), PART_NAME(5), BRAND(3), MODEL(3), CATEGORY(2), SUPPLIER(1);
+
+        private final int weight;
+
+        Field(int weight) {
+            this.weight = weight;
+        }
+    }
+
+    private final SparePartRepository sparePartRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Guarded by lock
+    private Index index = new Index();
+    private Map<Long, Optional<Map<String, Integer>>> changedDuringRebuild;
+
+    public SparePartSearchIndex(SparePartRepository sparePartRepository) {
+        this.sparePartRepository = sparePartRepository;
+    }
+
+    /**
+     * Ranked ids of the parts matching every word of the query. A blank query matches all
+     * parts in id order.
+     */
+    public Page<Long> search(String query, Pageable pageable) {
+        List<String> words = tokenize(query);
+        List<Long> ranked;
+
+        lock.readLock().lock();
+        try {
+            ranked = words.isEmpty() ? new ArrayList<>(index.documents.keySet()) : index.match(words);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        int from = (int) Math.min(pageable.getOffset(), ranked.size());
+        int to = Math.min(from + pageable.getPageSize(), ranked.size());
+        return new PageImpl<>(new ArrayList<>(ranked.subList(from, to)), pageable, ranked.size());
+    }
+
+    // Takes effect when the current transaction commits (immediately without one)
+    public void index(SparePart sparePart) {
+        Long id = sparePart.getId();
+        Map<String, Integer> terms = termsOf(sparePart);
+        TransactionHooks.afterCommit(() -> apply(id, Optional.of(terms)));
+    }
+
+    public void remove(Long sparePartId) {
+        TransactionHooks.afterCommit(() -> apply(sparePartId, Optional.empty()));
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.part-search.rebuild-interval-ms:600000}",
+            initialDelayString = "${app.part-search.rebuild-interval-ms:600000}")
+    public synchronized void rebuild() {
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild = new HashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        // Built without holding the lock so searches keep running against the old index
+        Index rebuilt = new Index();
+        try {
+            for (SparePart sparePart : sparePartRepository.findAllWithCategoryAndSupplier()) {
+                rebuilt.put(sparePart.getId(), termsOf(sparePart));
+            }
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                changedDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            // Changes committed while loading may be missing from what was read - replay them
+            changedDuringRebuild.forEach((id, terms) -> rebuilt.replace(id, terms));
+            changedDuringRebuild = null;
+            index = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Spare part search index rebuilt: {} parts, {} terms", rebuilt.documents.size(), rebuilt.postings.size());
+    }
+
+    private void apply(Long id, Optional<Map<String, Integer>> terms) {
+        lock.writeLock().lock();
+        try {
+            index.replace(id, terms);
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.put(id, terms);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Every prefix of every word with the best score any field gives it
+    private static Map<String, Integer> termsOf(SparePart sparePart) {
+        Map<String, Integer> terms = new HashMap<>();
+        addField(terms, Field.PART_CODE, sparePart.getPartCode());
+        addField(terms, Field.PART_NAME, sparePart.getPartName());
+        addField(terms, Field.BRAND, sparePart.getBrand());
+        addField(terms, Field.MODEL, sparePart.getModel());
+        addField(terms, Field.CATEGORY, sparePart.getCategory() != null ? sparePart.getCategory().getCategoryName() : null);
+        addField(terms, Field.SUPPLIER, sparePart.getSupplier() != null ? sparePart.getSupplier().getSupplierName() : null);
+        return terms;
+    }
+
+    private static void addField(Map<String, Integer> terms, Field field, String value) {
+        List<String> words = tokenize(value);
+        // "PART-001" is also indexed as "part001" so codes can be typed without the dash
+        if (field == Field.PART_CODE && words.size() > 1) {
+            words.add(String.join("", words));
+        }
+        for (String word : words) {
+            int length = Math.min(word.length(), MAX_PREFIX_LENGTH);
+            for (int i = 1; i <= length; i++) {
+                // Whole-word matches score double
+                int score = i == word.length() ? field.weight * 2 : field.weight;
+                terms.merge(word.substring(0, i), score, Math::max);
+            }
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    private static final class Index {
+        private final Map<Long, Map<String, Integer>> documents = new TreeMap<>();
+        private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+
+        private void replace(Long id, Optional<Map<String, Integer>> terms) {
+            Map<String, Integer> previous = documents.remove(id);
+            if (previous != null) {
+                for (String term : previous.keySet()) {
+                    Map<Long, Integer> ids = postings.get(term);
+                    ids.remove(id);
+                    if (ids.isEmpty()) {
+                        postings.remove(term);
+                    }
+                }
+            }
+            terms.ifPresent(t -> put(id, t));
+        }
+
+        private void put(Long id, Map<String, Integer> terms) {
+            documents.put(id, terms);
+            terms.forEach((term, score) -> postings.computeIfAbsent(term, key -> new HashMap<>()).put(id, score));
+        }
+
+        private List<Long> match(List<String> words) {
+            List<Map<Long, Integer>> lists = new ArrayList<>(words.size());
+            for (String word : words) {
+                Map<Long, Integer> ids = postings.get(word.length() > MAX_PREFIX_LENGTH
+                        ? word.substring(0, MAX_PREFIX_LENGTH) : word);
+                if (ids == null) {
+                    return List.of();
+                }
+                lists.add(ids);
+            }
+
+            // Walk the shortest posting list and probe the others
+            lists.sort(Comparator.comparingInt(Map::size));
+            Map<Long, Integer> scores = new HashMap<>();
+            outer:
+            for (Map.Entry<Long, Integer> candidate : lists.get(0).entrySet()) {
+                int score = candidate.getValue();
+                for (int i = 1; i < lists.size(); i++) {
+                    Integer other = lists.get(i).get(candidate.getKey());
+                    if (other == null) {
+                        continue outer;
+                    }
+                    score += other;
+                }
+                scores.put(candidate.getKey(), score);
+            }
+
+            List<Long> ranked = new ArrayList<>(scores.keySet());
+            ranked.sort(Comparator.<Long>comparingInt(scores::get).reversed().thenComparing(Comparator.naturalOrder()));
+            return ranked;
+        }
+    }
+}
@@ -9,12 +9,19 @@ import com.vsc.vehicle_service_backend.entity.Supplier;
 import com.vsc.vehicle_service_backend.repository.SparePartCategoryRepository;
 import com.vsc.vehicle_service_backend.repository.SparePartRepository;
 import com.vsc.vehicle_service_backend.repository.SupplierRepository;
+import com.vsc.vehicle_service_backend.service.RecordIdAllocator;
 import com.vsc.vehicle_service_backend.service.SparePartService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,29 +31,35 @@ public class SparePartServiceImpl implements SparePartService {
     private final SparePartRepository sparePartRepository;
     private final SparePartCategoryRepository categoryRepository;
     private final SupplierRepository supplierRepository;
+    private final RecordIdAllocator recordIdAllocator;
+    private final SparePartSearchIndex searchIndex;
+
+    private static final String PART_CODE_SEQUENCE = "PART";
 
     // Generate part code
     private String generatePartCode() {
-        // Find the latest part to increment the number
+        long nextNumber = recordIdAllocator.next(PART_CODE_SEQUENCE, this::findLastPartNumber);
+        return String.format("PART-%03d", nextNumber);
+    }
+
+    // Only used the first time the PART sequence is created
+    private long findLastPartNumber() {
         SparePart latestPart = sparePartRepository.findTopByOrderByIdDesc().orElse(null);
-        int nextNumber = 1;
 
         if (latestPart != null && latestPart.getPartCode() != null
                 && latestPart.getPartCode().startsWith("PART-")) {
             try {
-                String numStr = latestPart.getPartCode().substring(5);
-                nextNumber = Integer.parseInt(numStr) + 1;
+                return Long.parseLong(latestPart.getPartCode().substring(5));
             } catch (NumberFormatException e) {
                 // If parsing fails, start from 1
             }
         }
-
-        return String.format("PART-%03d", nextNumber);
+        return 0L;
     }
 
     @Override
     public List<SparePartResponse> getAllSpareParts() {
-        return sparePartRepository.findAll().stream()
+        return sparePartRepository.findAllWithCategoryAndSupplier().stream()
                 .map(SparePartResponse::new)
                 .collect(Collectors.toList());
     }
@@ -83,6 +96,7 @@ public class SparePartServiceImpl implements SparePartService {
         sparePart.setSupplier(supplier);
 
         SparePart savedPart = sparePartRepository.save(sparePart);
+        searchIndex.index(savedPart);
         return new SparePartResponse(savedPart);
     }
 
@@ -113,6 +127,7 @@ public class SparePartServiceImpl implements SparePartService {
         sparePart.setSupplier(supplier);
 
         SparePart updatedPart = sparePartRepository.save(sparePart);
+        searchIndex.index(updatedPart);
         return new SparePartResponse(updatedPart);
     }
 
@@ -123,6 +138,7 @@ public class SparePartServiceImpl implements SparePartService {
             throw new RuntimeException("Spare part not found with id: " + id);
         }
         sparePartRepository.deleteById(id);
+        searchIndex.remove(id);
     }
 
     @Override
@@ -146,4 +162,22 @@ public class SparePartServiceImpl implements SparePartService {
                 .map(SparePartResponse::new)
                 .collect(Collectors.toList());
     }
-}
\ No newline at end of file
+
+    @Override
+    public Page<SparePartResponse> searchSpareParts(String query, Pageable pageable) {
+        Page<Long> hits = searchIndex.search(query, pageable);
+        if (hits.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, hits.getTotalElements());
+        }
+
+        // Current rows for just this page, returned in ranking order
+        Map<Long, SparePart> parts = sparePartRepository.findAllWithCategoryAndSupplierByIdIn(hits.getContent()).stream()
+                .collect(Collectors.toMap(SparePart::getId, Function.identity()));
+        List<SparePartResponse> content = hits.getContent().stream()
+                .map(parts::get)
+                .filter(Objects::nonNull)
+                .map(SparePartResponse::new)
+                .collect(Collectors.toList());
+        return new PageImpl<>(content, pageable, hits.getTotalElements());
+    }
+}
@@ -1,18 +1,28 @@
 // src/main/java/com/vsc/vehicle_service_backend/service/impl/SparePartUsageServiceImpl.java
 package com.vsc.vehicle_service_backend.service.impl;
 
+import com.vsc.vehicle_service_backend.dto.MultiPartUsageRequest;
+import com.vsc.vehicle_service_backend.dto.PartConsumptionSummary;
 import com.vsc.vehicle_service_backend.dto.SparePartUsageRequest;
 import com.vsc.vehicle_service_backend.dto.SparePartUsageResponse;
+import com.vsc.vehicle_service_backend.dto.UsageMonthlySummary;
 import com.vsc.vehicle_service_backend.entity.*;
+import com.vsc.vehicle_service_backend.event.FinancePostingEvent;
 import com.vsc.vehicle_service_backend.repository.*;
+import com.vsc.vehicle_service_backend.service.RecordIdAllocator;
 import com.vsc.vehicle_service_backend.service.SparePartUsageService;
+import com.vsc.vehicle_service_backend.service.StockLedgerService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -21,15 +31,26 @@ import java.util.stream.Collectors;
 public class SparePartUsageServiceImpl implements SparePartUsageService {
 
     private final SparePartUsageRepository sparePartUsageRepository;
+    private final SparePartUsageItemRepository sparePartUsageItemRepository;
     private final SparePartRepository sparePartRepository;
     private final ServiceRecordRepository serviceRecordRepository;
     private final VehicleRepository vehicleRepository;
     private final SparePartCategoryRepository categoryRepository;
+    private final StockLedgerService stockLedgerService;
+    private final RecordIdAllocator recordIdAllocator;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private static final String USAGE_REFERENCE = "SPARE_PART_USAGE";
+    private static final String USAGE_REVERSAL_REFERENCE = "SPARE_PART_USAGE_REVERSAL";
+    private static final String USAGE_NUMBER_PREFIX = "USG-";
+    private static final DateTimeFormatter USAGE_NUMBER_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final double AVERAGE_DAYS_PER_MONTH = 365.25 / 12;
+    private static final int MAX_USAGE_LINES = 100;
 
     // 1. Get all usages
     @Override
     public List<SparePartUsageResponse> getAllUsages() {
-        return sparePartUsageRepository.findAll().stream()
+        return sparePartUsageRepository.findAllWithItems().stream()
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
     }
@@ -55,11 +76,22 @@ public class SparePartUsageServiceImpl implements SparePartUsageService {
         SparePartUsage usage = sparePartUsageRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Usage record not found with id: " + id));
 
-        // Return stock to inventory
+        // Return stock to inventory - one batched update for all lines
+        Map<Long, Integer> quantities = new HashMap<>();
         for (SparePartUsageItem item : usage.getItems()) {
-            SparePart sparePart = item.getSparePart();
-            sparePart.setQuantity(sparePart.getQuantity() + item.getQuantityUsed());
-            sparePartRepository.save(sparePart);
+            quantities.merge(item.getSparePart().getId(), item.getQuantityUsed(), Integer::sum);
+        }
+        stockLedgerService.increaseStock(quantities, StockMovement.MovementType.USAGE_REVERSAL,
+                USAGE_REFERENCE, usage.getId());
+
+        // Takes the parts sale back out of income on the day of the deletion, once per usage
+        if (usage.getTotalCost() != null && usage.getTotalCost().signum() > 0) {
+            eventPublisher.publishEvent(new FinancePostingEvent(USAGE_REVERSAL_REFERENCE, usage.getId(),
+                    FinanceTransaction.TransactionType.INCOME, FinanceTransaction.TransactionCategory.SPARE_PART_SALES,
+                    usage.getTotalCost().negate(), LocalDate.now(),
+                    "Spare parts usage deleted - " + usage.getUsageNumber(),
+                    usage.getServiceRecord() != null ? usage.getServiceRecord().getCustomerId() : null,
+                    usage.getVehicle() != null ? usage.getVehicle().getId() : null));
         }
 
         sparePartUsageRepository.delete(usage);
@@ -74,47 +106,37 @@ public class SparePartUsageServiceImpl implements SparePartUsageService {
         SparePartCategory category = categoryRepository.findById(categoryId)
                 .orElseThrow(() -> new RuntimeException("Category not found"));
 
-        // Get all parts in this category
-        List<SparePart> categoryParts = sparePartRepository.findByCategory(category);
-
-        // Get usage data for last 6 months
+        // Get usage data for last 6 months, already grouped by month in the database
         LocalDate endDate = LocalDate.now();
         LocalDate startDate = endDate.minusMonths(6);
 
-        List<SparePartUsage> usages = sparePartUsageRepository.findByUsageDateBetween(startDate, endDate);
-
-        // Filter usages for this category
-        List<SparePartUsage> categoryUsages = usages.stream()
-                .filter(usage -> usage.getItems().stream()
-                        .anyMatch(item -> categoryParts.contains(item.getSparePart())))
-                .collect(Collectors.toList());
+        List<UsageMonthlySummary> months = sparePartUsageItemRepository
+                .summarizeMonthlyUsageByCategory(categoryId, startDate, endDate);
 
         // Prepare chart data
         List<Map<String, Object>> monthlyData = new ArrayList<>();
-        Map<String, Double> monthlyTotals = new HashMap<>();
+        long totalUsages = 0;
+        double totalCost = 0.0;
 
-        for (SparePartUsage usage : categoryUsages) {
-            String month = usage.getUsageDate().getMonth().toString();
-            double total = usage.getTotalCost() != null ? usage.getTotalCost().doubleValue() : 0.0;
-            monthlyTotals.merge(month, total, Double::sum);
-        }
+        for (UsageMonthlySummary month : months) {
+            double monthCost = month.getTotalCost() != null ? month.getTotalCost().doubleValue() : 0.0;
+            long usageCount = month.getUsageCount() != null ? month.getUsageCount() : 0L;
 
-        for (Map.Entry<String, Double> entry : monthlyTotals.entrySet()) {
             Map<String, Object> monthData = new HashMap<>();
-            monthData.put("month", entry.getKey());
-            monthData.put("totalCost", entry.getValue());
-            monthData.put("usageCount", categoryUsages.stream()
-                    .filter(u -> u.getUsageDate().getMonth().toString().equals(entry.getKey()))
-                    .count());
+            monthData.put("month", Month.of(month.getUsageMonth()).toString());
+            monthData.put("year", month.getUsageYear());
+            monthData.put("totalCost", monthCost);
+            monthData.put("usageCount", usageCount);
             monthlyData.add(monthData);
+
+            totalUsages += usageCount;
+            totalCost += monthCost;
         }
 
         result.put("monthlyData", monthlyData);
         result.put("categoryName", category.getCategoryName());
-        result.put("totalUsages", categoryUsages.size());
-        result.put("totalCost", categoryUsages.stream()
-                .mapToDouble(u -> u.getTotalCost() != null ? u.getTotalCost().doubleValue() : 0.0)
-                .sum());
+        result.put("totalUsages", totalUsages);
+        result.put("totalCost", totalCost);
 
         return result;
     }
@@ -122,6 +144,17 @@ public class SparePartUsageServiceImpl implements SparePartUsageService {
     // 6. Get stock flow data
     @Override
     public Map<String, Object> getStockFlowData(Long categoryId) {
+        // Default window is the last 3 months
+        LocalDate endDate = LocalDate.now();
+        return getStockFlowData(categoryId, endDate.minusMonths(3), endDate);
+    }
+
+    @Override
+    public Map<String, Object> getStockFlowData(Long categoryId, LocalDate startDate, LocalDate endDate) {
+        if (startDate == null || endDate == null || startDate.isAfter(endDate)) {
+            throw new RuntimeException("Invalid date range: start date must be on or before end date");
+        }
+
         Map<String, Object> result = new HashMap<>();
 
         // Get category
@@ -129,56 +162,88 @@ public class SparePartUsageServiceImpl implements SparePartUsageService {
                 .orElseThrow(() -> new RuntimeException("Category not found"));
 
         // Get all parts in this category
-        List<SparePart> categoryParts = sparePartRepository.findByCategory(category);
-
-        // Get usage data for last 3 months
-        LocalDate endDate = LocalDate.now();
-        LocalDate startDate = endDate.minusMonths(3);
+        List<SparePart> categoryParts = sparePartRepository.findByCategoryId(categoryId);
 
-        List<SparePartUsage> usages = sparePartUsageRepository.findByUsageDateBetween(startDate, endDate);
+        // Units used per part in the window, summed in the database
+        Map<Long, Long> unitsUsedByPart = new HashMap<>();
+        for (PartConsumptionSummary row : sparePartUsageItemRepository
+                .summarizeConsumptionByCategory(categoryId, startDate, endDate)) {
+            unitsUsedByPart.put(row.getSparePartId(), row.getUnitsUsed());
+        }
 
-        // Filter usages for this category
-        List<SparePartUsage> categoryUsages = usages.stream()
-                .filter(usage -> usage.getItems().stream()
-                        .anyMatch(item -> categoryParts.contains(item.getSparePart())))
-                .collect(Collectors.toList());
+        long windowDays = ChronoUnit.DAYS.between(startDate, endDate) + 1;
+        double windowMonths = windowDays / AVERAGE_DAYS_PER_MONTH;
 
         // Prepare stock flow data
         List<Map<String, Object>> flowData = new ArrayList<>();
 
         for (SparePart part : categoryParts) {
-            int totalUsed = categoryUsages.stream()
-                    .flatMap(usage -> usage.getItems().stream())
-                    .filter(item -> item.getSparePart().getId().equals(part.getId()))
-                    .mapToInt(SparePartUsageItem::getQuantityUsed)
-                    .sum();
-
-            if (totalUsed > 0) {
-                Map<String, Object> partData = new HashMap<>();
-                partData.put("partCode", part.getPartCode());
-                partData.put("partName", part.getPartName());
-                partData.put("currentStock", part.getQuantity());
-                partData.put("totalUsed", totalUsed);
-                partData.put("usageRate", (double) totalUsed / 3); // per month
-                flowData.add(partData);
+            long totalUsed = unitsUsedByPart.getOrDefault(part.getId(), 0L);
+            if (totalUsed <= 0) {
+                continue;
             }
+
+            int currentStock = part.getQuantity() != null ? part.getQuantity() : 0;
+            double dailyUsageRate = (double) totalUsed / windowDays;
+            double daysOfCover = currentStock / dailyUsageRate;
+
+            Map<String, Object> partData = new HashMap<>();
+            partData.put("partCode", part.getPartCode());
+            partData.put("partName", part.getPartName());
+            partData.put("currentStock", currentStock);
+            partData.put("totalUsed", totalUsed);
+            partData.put("usageRate", totalUsed / windowMonths); // per month
+            partData.put("dailyUsageRate", dailyUsageRate);
+            partData.put("daysOfCover", daysOfCover);
+            partData.put("projectedStockoutDate", endDate.plusDays((long) Math.floor(daysOfCover)));
+            flowData.add(partData);
         }
 
         result.put("flowData", flowData);
         result.put("categoryName", category.getCategoryName());
         result.put("totalParts", categoryParts.size());
         result.put("activeParts", flowData.size());
+        result.put("startDate", startDate);
+        result.put("endDate", endDate);
 
         return result;
     }
 
-    // 7. Existing recordUsage method (keep this)
+    // 7. Existing recordUsage method (keep this) - a one-line multi-part usage
     @Override
     @Transactional
     public SparePartUsageResponse recordUsage(SparePartUsageRequest request) {
-        // Validate spare part exists
-        SparePart sparePart = sparePartRepository.findById(request.getSparePartId())
-                .orElseThrow(() -> new RuntimeException("Spare part not found with id: " + request.getSparePartId()));
+        MultiPartUsageRequest.Line line = new MultiPartUsageRequest.Line();
+        line.setSparePartId(request.getSparePartId());
+        line.setQuantityUsed(request.getQuantityUsed());
+        line.setUnitPrice(request.getUnitPrice());
+
+        MultiPartUsageRequest usageRequest = new MultiPartUsageRequest();
+        usageRequest.setItems(List.of(line));
+        usageRequest.setServiceRecordId(request.getServiceRecordId());
+        usageRequest.setVehicleId(request.getVehicleId());
+        usageRequest.setTechnicianName(request.getTechnicianName());
+        usageRequest.setNotes(request.getNotes());
+        return recordMultiPartUsage(usageRequest);
+    }
+
+    @Override
+    @Transactional
+    public SparePartUsageResponse recordMultiPartUsage(MultiPartUsageRequest request) {
+        if (request.getItems() == null || request.getItems().isEmpty()) {
+            throw new RuntimeException("A usage needs at least one part");
+        }
+        if (request.getItems().size() > MAX_USAGE_LINES) {
+            throw new RuntimeException("A usage can have at most " + MAX_USAGE_LINES + " lines");
+        }
+
+        // Validate all spare parts exist - one query for every line
+        Map<Long, SparePart> spareParts = new HashMap<>();
+        for (SparePart sparePart : sparePartRepository.findAllById(request.getItems().stream()
+                .map(MultiPartUsageRequest.Line::getSparePartId)
+                .collect(Collectors.toSet()))) {
+            spareParts.put(sparePart.getId(), sparePart);
+        }
 
         // Validate service record exists if provided
         ServiceRecord serviceRecord = null;
@@ -194,12 +259,6 @@ public class SparePartUsageServiceImpl implements SparePartUsageService {
                     .orElseThrow(() -> new RuntimeException("Vehicle not found with id: " + request.getVehicleId()));
         }
 
-        // Check if enough stock is available
-        if (sparePart.getQuantity() < request.getQuantityUsed()) {
-            throw new RuntimeException("Insufficient stock. Available: " + sparePart.getQuantity() +
-                    ", Requested: " + request.getQuantityUsed());
-        }
-
         // Create usage record
         SparePartUsage usage = new SparePartUsage();
         usage.setUsageNumber(generateUsageNumber());
@@ -209,21 +268,46 @@ public class SparePartUsageServiceImpl implements SparePartUsageService {
         usage.setTechnicianName(request.getTechnicianName());
         usage.setNotes(request.getNotes());
 
-        // Create usage item
-        SparePartUsageItem item = new SparePartUsageItem();
-        item.setSparePart(sparePart);
-        item.setQuantityUsed(request.getQuantityUsed());
-        item.setUnitCost(BigDecimal.valueOf(request.getUnitPrice()));
-        item.setTotalCost(item.calculateTotalCost());
+        // Create one usage item per line
+        for (MultiPartUsageRequest.Line line : request.getItems()) {
+            SparePart sparePart = spareParts.get(line.getSparePartId());
+            if (sparePart == null) {
+                throw new RuntimeException("Spare part not found with id: " + line.getSparePartId());
+            }
+            if (line.getQuantityUsed() == null || line.getQuantityUsed() < 1) {
+                throw new RuntimeException("Quantity must be at least 1");
+            }
 
-        usage.addItem(item);
+            SparePartUsageItem item = new SparePartUsageItem();
+            item.setSparePart(sparePart);
+            item.setQuantityUsed(line.getQuantityUsed());
+            item.setUnitCost(BigDecimal.valueOf(line.getUnitPrice()));
+            item.setTotalCost(item.calculateTotalCost());
+            usage.addItem(item);
+        }
         usage.setTotalCost(usage.calculateTotalCost());
 
-        // Update spare part stock
-        sparePart.setQuantity(sparePart.getQuantity() - request.getQuantityUsed());
-        sparePartRepository.save(sparePart);
-
+        // Pooled item ids - the lines go in as one JDBC batch
         SparePartUsage savedUsage = sparePartUsageRepository.save(usage);
+
+        // Take the stock out for every line at once - rolls the usage back if any part is short
+        List<StockMovement> movements = new ArrayList<>(savedUsage.getItems().size());
+        for (SparePartUsageItem item : savedUsage.getItems()) {
+            movements.add(new StockMovement(item.getSparePart().getId(), -item.getQuantityUsed(),
+                    StockMovement.MovementType.USAGE, USAGE_REFERENCE, savedUsage.getId()));
+        }
+        stockLedgerService.decreaseStock(movements);
+
+        // Parts sale goes to the finance outbox with this transaction
+        if (savedUsage.getTotalCost() != null && savedUsage.getTotalCost().signum() > 0) {
+            eventPublisher.publishEvent(new FinancePostingEvent(USAGE_REFERENCE, savedUsage.getId(),
+                    FinanceTransaction.TransactionType.INCOME, FinanceTransaction.TransactionCategory.SPARE_PART_SALES,
+                    savedUsage.getTotalCost(), savedUsage.getUsageDate(),
+                    "Spare parts used - " + savedUsage.getUsageNumber(),
+                    serviceRecord != null ? serviceRecord.getCustomerId() : null,
+                    vehicle != null ? vehicle.getId() : null));
+        }
+
         return convertToResponse(savedUsage);
     }
 
@@ -262,14 +346,17 @@ public class SparePartUsageServiceImpl implements SparePartUsageService {
     }
 
     private String generateUsageNumber() {
-        // Generate a usage number like USG-20250102-001
-        LocalDate today = LocalDate.now();
-        String dateStr = today.toString().replace("-", "");
-
-        Long count = sparePartUsageRepository.count();
-        String sequence = String.format("%03d", count + 1);
+        // Generate a usage number like USG-20250102-001, numbered per day from that day's own sequence
+        String datePart = LocalDate.now().format(USAGE_NUMBER_FORMATTER);
+        long nextNumber = recordIdAllocator.next(USAGE_NUMBER_PREFIX + datePart,
+                () -> findHighestUsageNumberOfDay(datePart));
+        return USAGE_NUMBER_PREFIX + datePart + "-" + String.format("%03d", nextNumber);
+    }
 
-        return "USG-" + dateStr + "-" + sequence;
+    // Only used the first time a day's sequence is created
+    private long findHighestUsageNumberOfDay(String datePart) {
+        Long highest = sparePartUsageRepository.findHighestUsageNumberOfDay(USAGE_NUMBER_PREFIX + datePart + "-%");
+        return highest != null ? highest : 0L;
     }
 
     private SparePartUsageResponse convertToResponse(SparePartUsage usage) {
@@ -301,6 +388,20 @@ public class SparePartUsageServiceImpl implements SparePartUsageService {
             response.setUnitPrice(firstItem.getUnitCost() != null ? firstItem.getUnitCost().doubleValue() : 0.0);
         }
 
+        List<SparePartUsageResponse.Item> items = new ArrayList<>(usage.getItems().size());
+        for (SparePartUsageItem usageItem : usage.getItems()) {
+            SparePartUsageResponse.Item item = new SparePartUsageResponse.Item();
+            item.setId(usageItem.getId());
+            item.setSparePartId(usageItem.getSparePart().getId());
+            item.setSparePartCode(usageItem.getSparePart().getPartCode());
+            item.setSparePartName(usageItem.getSparePart().getPartName());
+            item.setQuantityUsed(usageItem.getQuantityUsed());
+            item.setUnitPrice(usageItem.getUnitCost() != null ? usageItem.getUnitCost().doubleValue() : 0.0);
+            item.setTotalCost(usageItem.getTotalCost() != null ? usageItem.getTotalCost().doubleValue() : 0.0);
+            items.add(item);
+        }
+        response.setItems(items);
+
         return response;
     }
 }
\ No newline at end of file
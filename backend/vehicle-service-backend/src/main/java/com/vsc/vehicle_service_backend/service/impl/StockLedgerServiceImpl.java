@@ -0,0 +1,182 @@
+package com.vsc.vehicle_service_backend.service.impl;
+
+import com.vsc.vehicle_service_backend.entity.StockMovement;
+import com.vsc.vehicle_service_backend.event.StockChangedEvent;
+import com.vsc.vehicle_service_backend.repository.SparePartRepository;
+import com.vsc.vehicle_service_backend.repository.StockMovementRepository;
+import com.vsc.vehicle_service_backend.service.StockLedgerService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Stock changes are conditional UPDATE statements (quantity = quantity - ? WHERE quantity >= ?)
+ * plus an append-only stock_movement row, so concurrent technicians can neither lose updates
+ * nor oversell. Multi-line usages lock their parts' rows in id order, check them all, then
+ * take the stock out in one statement; the database's row locks are the only locks taken.
+ */
+@Service
+@RequiredArgsConstructor
+public class StockLedgerServiceImpl implements StockLedgerService {
+
+    private static final String INCREASE_QUANTITY_SQL =
+            "UPDATE spare_part SET quantity = quantity + ?, updated_at = ? WHERE id = ?";
+
+    private final SparePartRepository sparePartRepository;
+    private final StockMovementRepository stockMovementRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional
+    public void decreaseStock(Long sparePartId, int quantity, StockMovement.MovementType movementType,
+                              String referenceType, Long referenceId) {
+        validateQuantity(quantity);
+
+        int updated = sparePartRepository.decreaseQuantity(sparePartId, quantity);
+        if (updated == 0) {
+            Integer available = sparePartRepository.findQuantityById(sparePartId)
+                    .orElseThrow(() -> new RuntimeException("Spare part not found with id: " + sparePartId));
+            throw new RuntimeException("Insufficient stock. Available: " + available +
+                    ", Requested: " + quantity);
+        }
+
+        stockMovementRepository.save(new StockMovement(sparePartId, -quantity, movementType, referenceType, referenceId));
+        eventPublisher.publishEvent(new StockChangedEvent(sparePartId, -quantity));
+    }
+
+    @Override
+    @Transactional
+    public void increaseStock(Long sparePartId, int quantity, StockMovement.MovementType movementType,
+                              String referenceType, Long referenceId) {
+        validateQuantity(quantity);
+
+        int updated = sparePartRepository.increaseQuantity(sparePartId, quantity);
+        if (updated == 0) {
+            throw new RuntimeException("Spare part not found with id: " + sparePartId);
+        }
+
+        stockMovementRepository.save(new StockMovement(sparePartId, quantity, movementType, referenceType, referenceId));
+        eventPublisher.publishEvent(new StockChangedEvent(sparePartId, quantity));
+    }
+
+    @Override
+    @Transactional
+    public void increaseStock(Map<Long, Integer> quantities, StockMovement.MovementType movementType,
+                              String referenceType, Long referenceId) {
+        List<StockMovement> movements = new ArrayList<>(quantities.size());
+        quantities.forEach((sparePartId, quantity) ->
+                movements.add(new StockMovement(sparePartId, quantity, movementType, referenceType, referenceId)));
+        increaseStock(movements);
+    }
+
+    @Override
+    @Transactional
+    public List<StockMovement> increaseStock(List<StockMovement> movements) {
+        // Summed per part in part id order, so concurrent receipts lock the same rows in the same order
+        Map<Long, Integer> totals = new TreeMap<>();
+        for (StockMovement movement : movements) {
+            validateQuantity(movement.getQuantityChange());
+            totals.merge(movement.getSparePartId(), movement.getQuantityChange(), Integer::sum);
+        }
+        if (totals.isEmpty()) {
+            return List.of();
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batch = new ArrayList<>(totals.size());
+        totals.forEach((sparePartId, quantity) -> batch.add(new Object[]{quantity, now, sparePartId}));
+
+        sparePartRepository.flush();
+        int[] updated = jdbcTemplate.batchUpdate(INCREASE_QUANTITY_SQL, batch);
+
+        int index = 0;
+        for (Long sparePartId : totals.keySet()) {
+            // Drivers that rewrite batches may report SUCCESS_NO_INFO (-2) instead of a row count
+            if (updated[index++] == 0) {
+                throw new RuntimeException("Spare part not found with id: " + sparePartId);
+            }
+        }
+
+        List<StockMovement> saved = stockMovementRepository.saveAll(movements);
+        totals.forEach((sparePartId, quantity) -> eventPublisher.publishEvent(new StockChangedEvent(sparePartId, quantity)));
+        return saved;
+    }
+
+    @Override
+    @Transactional
+    public List<StockMovement> decreaseStock(List<StockMovement> movements) {
+        // Summed per part in part id order, so concurrent usages lock the same rows in the same order
+        Map<Long, Integer> totals = new TreeMap<>();
+        for (StockMovement movement : movements) {
+            validateQuantity(-movement.getQuantityChange());
+            totals.merge(movement.getSparePartId(), -movement.getQuantityChange(), Integer::sum);
+        }
+        if (totals.isEmpty()) {
+            return List.of();
+        }
+
+        String placeholders = String.join(", ", Collections.nCopies(totals.size(), "?"));
+        StringBuilder decrement = new StringBuilder("CASE id");
+        List<Object> args = new ArrayList<>(totals.size() * 3 + 1);
+        totals.forEach((sparePartId, quantity) -> {
+            decrement.append(" WHEN ? THEN ?");
+            args.add(sparePartId);
+            args.add(quantity);
+        });
+        decrement.append(" END");
+        args.add(Timestamp.valueOf(LocalDateTime.now()));
+        args.addAll(totals.keySet());
+
+        sparePartRepository.flush();
+
+        // Every line is checked against locked rows before anything changes - all or nothing
+        Map<Long, Integer> available = new HashMap<>();
+        jdbcTemplate.query("SELECT id, quantity FROM spare_part WHERE id IN (" + placeholders + ") ORDER BY id FOR UPDATE",
+                (RowCallbackHandler) row -> available.put(row.getLong("id"), row.getInt("quantity")),
+                totals.keySet().toArray());
+        for (Map.Entry<Long, Integer> total : totals.entrySet()) {
+            Integer quantity = available.get(total.getKey());
+            if (quantity == null) {
+                throw new RuntimeException("Spare part not found with id: " + total.getKey());
+            }
+            if (quantity < total.getValue()) {
+                throw new RuntimeException("Insufficient stock for spare part id: " + total.getKey() +
+                        ". Available: " + quantity + ", Requested: " + total.getValue());
+            }
+        }
+
+        int updated = jdbcTemplate.update("UPDATE spare_part SET quantity = quantity - " + decrement +
+                ", updated_at = ? WHERE id IN (" + placeholders + ")", args.toArray());
+        if (updated != totals.size()) {
+            throw new RuntimeException("Stock changed while it was being taken out, please retry");
+        }
+
+        List<StockMovement> saved = stockMovementRepository.saveAll(movements);
+        totals.forEach((sparePartId, quantity) -> eventPublisher.publishEvent(new StockChangedEvent(sparePartId, -quantity)));
+        return saved;
+    }
+
+    @Override
+    public List<StockMovement> getMovements(Long sparePartId) {
+        return stockMovementRepository.findBySparePartIdOrderByCreatedAtDesc(sparePartId);
+    }
+
+    private void validateQuantity(int quantity) {
+        if (quantity <= 0) {
+            throw new RuntimeException("Quantity must be at least 1");
+        }
+    }
+}
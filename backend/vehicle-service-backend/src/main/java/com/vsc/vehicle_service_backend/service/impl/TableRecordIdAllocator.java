@@ -0,0 +1,87 @@
+package com.vsc.vehicle_service_backend.service.impl;
+
+import com.vsc.vehicle_service_backend.entity.IdSequence;
+import com.vsc.vehicle_service_backend.repository.IdSequenceRepository;
+import com.vsc.vehicle_service_backend.service.RecordIdAllocator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Hi/lo allocator backed by the id_sequence table. Each instance reserves a block of
+ * numbers in its own short transaction and then serves them from memory.
+ */
+@Service
+@Slf4j
+public class TableRecordIdAllocator implements RecordIdAllocator {
+
+    private final IdSequenceRepository sequenceRepository;
+    private final TransactionTemplate reserveTransaction;
+    private final int blockSize;
+
+    private final Map<String, Block> blocks = new ConcurrentHashMap<>();
+
+    public TableRecordIdAllocator(IdSequenceRepository sequenceRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${app.id-allocator.block-size:20}") int blockSize) {
+        this.sequenceRepository = sequenceRepository;
+        this.reserveTransaction = new TransactionTemplate(transactionManager);
+        this.reserveTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.blockSize = Math.max(1, blockSize);
+    }
+
+    @Override
+    public long next(String sequenceName, LongSupplier lastUsedNumber) {
+        Block block = blocks.computeIfAbsent(sequenceName, name -> new Block());
+        synchronized (block) {
+            if (block.next >= block.limit) {
+                long start = reserveBlock(sequenceName, lastUsedNumber);
+                block.next = start;
+                block.limit = start + blockSize;
+            }
+            return block.next++;
+        }
+    }
+
+    private long reserveBlock(String sequenceName, LongSupplier lastUsedNumber) {
+        try {
+            return doReserveBlock(sequenceName, lastUsedNumber);
+        } catch (DataIntegrityViolationException | PessimisticLockingFailureException e) {
+            // Another instance created the sequence row at the same time - it exists now. Two
+            // inserts racing for a new row can also end in a deadlock (MySQL gap locks) instead
+            // of a duplicate key; the loser is rolled back, so retrying is just as safe.
+            log.debug("[RecordIdAllocator] Sequence {} created concurrently, retrying", sequenceName);
+            return doReserveBlock(sequenceName, lastUsedNumber);
+        }
+    }
+
+    private long doReserveBlock(String sequenceName, LongSupplier lastUsedNumber) {
+        Long start = reserveTransaction.execute(status -> {
+            IdSequence sequence = sequenceRepository.findForUpdate(sequenceName)
+                    .orElseGet(() -> new IdSequence(sequenceName, lastUsedNumber.getAsLong() + 1));
+
+            long first = sequence.getNextValue();
+            sequence.setNextValue(first + blockSize);
+            sequence.setUpdatedAt(LocalDateTime.now());
+            sequenceRepository.saveAndFlush(sequence);
+            return first;
+        });
+        log.debug("[RecordIdAllocator] Reserved {} numbers of {} starting at {}", blockSize, sequenceName, start);
+        return start;
+    }
+
+    private static final class Block {
+        private long next;
+        private long limit;
+    }
+}
@@ -6,13 +6,22 @@ import com.vsc.vehicle_service_backend.entity.Customer;
 import com.vsc.vehicle_service_backend.entity.Vehicle;
 import com.vsc.vehicle_service_backend.repository.CustomerRepository;
 import com.vsc.vehicle_service_backend.repository.VehicleRepository;
+import com.vsc.vehicle_service_backend.service.RecordIdAllocator;
 import com.vsc.vehicle_service_backend.service.VehicleService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.JpaSort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -23,16 +32,34 @@ public class VehicleServiceImpl implements VehicleService {
 
     private final VehicleRepository repository;
     private final CustomerRepository customerRepository;
+    private final RecordIdAllocator recordIdAllocator;
+    private final FrontDeskLookupIndex lookupIndex;
+
+    private static final String VEHICLE_ID_SEQUENCE = "vh";
+    private static final int MAX_PAGE_SIZE = 200;
+
+    // Sortable list columns, qualified with the aliases of VehicleRepository.RESPONSE_SELECT
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "v.id",
+            "vehicleNumber", "v.vehicleNumber",
+            "brand", "v.brand",
+            "model", "v.model",
+            "vehicleType", "v.vehicleType",
+            "customerName", "c.name");
 
     private String generateVehicleId() {
+        return "vh_" + recordIdAllocator.next(VEHICLE_ID_SEQUENCE, this::findLastVehicleNumber);
+    }
+
+    // Only used the first time the vh sequence is created
+    private long findLastVehicleNumber() {
         String lastId = repository.getLastVehicleId();
-        if (lastId == null) return "vh_1";
+        if (lastId == null) return 0L;
 
         try {
-            int num = Integer.parseInt(lastId.split("_")[1]);
-            return "vh_" + (num + 1);
+            return Long.parseLong(lastId.split("_")[1]);
         } catch (Exception e) {
-            return "vh_" + (repository.count() + 1);
+            return repository.count();
         }
     }
 
@@ -50,14 +77,37 @@ public class VehicleServiceImpl implements VehicleService {
         vehicle.setCustomer(customer);
 
         Vehicle savedVehicle = repository.save(vehicle);
+        lookupIndex.indexVehicle(savedVehicle);
         return convertToResponse(savedVehicle);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<VehicleResponse> getAllVehicles() {
-        return repository.findAll().stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return repository.findAllResponses();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<VehicleResponse> getVehiclesPage(int page, int size, String sortBy, String direction) {
+        String column = SORT_COLUMNS.get(sortBy);
+        if (column == null) {
+            throw new RuntimeException("Unsupported sort field: " + sortBy);
+        }
+        Sort.Direction sortDirection = Sort.Direction.fromOptionalString(direction).orElse(Sort.Direction.ASC);
+
+        // id breaks ties so rows never repeat or go missing between pages
+        JpaSort sort = JpaSort.unsafe(sortDirection, column);
+        if (!"v.id".equals(column)) {
+            sort = sort.andUnsafe(Sort.Direction.ASC, "v.id");
+        }
+        return repository.findResponsePage(PageRequest.of(Math.max(0, page), clampPageSize(size), sort));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<VehicleResponse> getVehiclesAfter(Long afterId, int size) {
+        return repository.findResponsesAfter(afterId == null ? 0L : afterId, PageRequest.of(0, clampPageSize(size)));
     }
 
     @Override
@@ -86,6 +136,7 @@ public class VehicleServiceImpl implements VehicleService {
         vehicle.setCustomer(customer);
 
         Vehicle updatedVehicle = repository.save(vehicle);
+        lookupIndex.indexVehicle(updatedVehicle);
         log.info("[VehicleService] Save completed. Updated vehicle customer name: {}", 
                 updatedVehicle.getCustomer() != null ? updatedVehicle.getCustomer().getName() : "NULL");
         
@@ -95,6 +146,27 @@ public class VehicleServiceImpl implements VehicleService {
     @Override
     public void deleteVehicle(Long id) {
         repository.deleteById(id);
+        lookupIndex.removeVehicle(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<VehicleResponse> lookupVehicles(String query, int limit) {
+        List<Long> ids = lookupIndex.lookupVehicleIds(query, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Vehicle> vehicles = repository.findAllWithCustomerByIdIn(ids).stream()
+                .collect(Collectors.toMap(Vehicle::getId, Function.identity()));
+        return ids.stream()
+                .map(vehicles::get)
+                .filter(Objects::nonNull)
+                .map(this::convertToResponse)
+                .collect(Collectors.toList());
+    }
+
+    private static int clampPageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
     }
 
     private VehicleResponse convertToResponse(Vehicle vehicle) {
@@ -0,0 +1,39 @@
+package com.vsc.vehicle_service_backend.util;
+
+/**
+ * Phone number helpers for searching. Numbers are stored as typed ("+94 77-123 4567"), so
+ * search works on the digits only, reversed: "ends with 4567" becomes the index-friendly
+ * prefix match "7654%".
+ */
+public final class PhoneNumberUtil {
+
+    private PhoneNumberUtil() {
+    }
+
+    public static String digitsOnly(String phoneNumber) {
+        if (phoneNumber == null) {
+            return "";
+        }
+        StringBuilder digits = new StringBuilder(phoneNumber.length());
+        for (int i = 0; i < phoneNumber.length(); i++) {
+            char c = phoneNumber.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            }
+        }
+        return digits.toString();
+    }
+
+    // Null when the number has no digits at all
+    public static String reversedDigits(String phoneNumber) {
+        String digits = digitsOnly(phoneNumber);
+        return digits.isEmpty() ? null : new StringBuilder(digits).reverse().toString();
+    }
+
+    // Value for a stored phone_reversed column: empty rather than null when there are no digits,
+    // so the row reads as indexed and no digit search can match it
+    public static String indexedReversedDigits(String phoneNumber) {
+        String reversed = reversedDigits(phoneNumber);
+        return reversed != null ? reversed : "";
+    }
+}
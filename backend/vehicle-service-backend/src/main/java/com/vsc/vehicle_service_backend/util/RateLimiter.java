@@ -0,0 +1,38 @@
+package com.vsc.vehicle_service_backend.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Evenly spaced permits: at most {@code permitsPerSecond} callers pass per second, shared
+ * across threads. Callers block until their slot comes up.
+ */
+public class RateLimiter {
+
+    private final long intervalNanos;
+    private long nextFreeSlot = System.nanoTime();
+
+    public RateLimiter(double permitsPerSecond) {
+        if (permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("permitsPerSecond must be positive");
+        }
+        this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+    }
+
+    public void acquire() {
+        long waitUntil;
+        synchronized (this) {
+            long now = System.nanoTime();
+            waitUntil = Math.max(nextFreeSlot, now);
+            nextFreeSlot = waitUntil + intervalNanos;
+        }
+        long remaining;
+        while ((remaining = waitUntil - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+            if (Thread.interrupted()) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.vsc.vehicle_service_backend.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers in-memory side effects (search indexes, caches) until the database change they
+ * mirror has committed, so a rolled back write never shows up in them.
+ */
+public final class TransactionHooks {
+
+    private TransactionHooks() {
+    }
+
+    // Runs the action after the current transaction commits, or right away without one
+    public static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
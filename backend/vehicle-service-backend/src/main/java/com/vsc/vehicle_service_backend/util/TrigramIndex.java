@@ -0,0 +1,132 @@
+package com.vsc.vehicle_service_backend.util;
+
+import java.util.*;
+
+/**
+ * Maps three-character substrings to the ids whose text contains them. Used for fragment
+ * matching ("1234" inside "wpcab1234") and typo-tolerant name matching. Not thread-safe;
+ * callers guard it with their own lock.
+ *
+ * With word padding each word becomes "  word " before it is cut into trigrams (as in
+ * PostgreSQL pg_trgm), which favours matches at the start of words and also indexes one-
+ * and two-letter words.
+ */
+public class TrigramIndex {
+
+    private final boolean padWords;
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+    private final Map<Long, Set<String>> documents = new HashMap<>();
+
+    public TrigramIndex(boolean padWords) {
+        this.padWords = padWords;
+    }
+
+    public void put(Long id, String text) {
+        remove(id);
+        Set<String> grams = trigrams(text);
+        if (grams.isEmpty()) {
+            return;
+        }
+        documents.put(id, grams);
+        for (String gram : grams) {
+            postings.computeIfAbsent(gram, key -> new HashSet<>()).add(id);
+        }
+    }
+
+    public void remove(Long id) {
+        Set<String> grams = documents.remove(id);
+        if (grams == null) {
+            return;
+        }
+        for (String gram : grams) {
+            Set<Long> ids = postings.get(gram);
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    // Ids whose text has every trigram of the query - a superset of the ids containing it
+    public Set<Long> containingAll(String query) {
+        Set<String> grams = trigrams(query);
+        if (grams.isEmpty()) {
+            return Set.of();
+        }
+        List<Set<Long>> lists = new ArrayList<>(grams.size());
+        for (String gram : grams) {
+            Set<Long> ids = postings.get(gram);
+            if (ids == null) {
+                return Set.of();
+            }
+            lists.add(ids);
+        }
+        lists.sort(Comparator.comparingInt(Set::size));
+        Set<Long> result = new HashSet<>(lists.get(0));
+        for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+            result.retainAll(lists.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * Ids sharing at least {@code minCoverage} of the query's trigrams, mapped to the share
+     * of query trigrams they contain (1.0 = every trigram of the query is present).
+     */
+    public Map<Long, Double> similar(String query, double minCoverage) {
+        Set<String> grams = trigrams(query);
+        if (grams.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, Integer> shared = new HashMap<>();
+        for (String gram : grams) {
+            Set<Long> ids = postings.get(gram);
+            if (ids != null) {
+                for (Long id : ids) {
+                    shared.merge(id, 1, Integer::sum);
+                }
+            }
+        }
+        Map<Long, Double> result = new HashMap<>();
+        shared.forEach((id, count) -> {
+            double coverage = (double) count / grams.size();
+            if (coverage >= minCoverage) {
+                result.put(id, coverage);
+            }
+        });
+        return result;
+    }
+
+    // Number of distinct trigrams indexed for the id (0 when absent)
+    public int trigramCount(Long id) {
+        Set<String> grams = documents.get(id);
+        return grams != null ? grams.size() : 0;
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    private Set<String> trigrams(String text) {
+        Set<String> grams = new HashSet<>();
+        if (text == null || text.isEmpty()) {
+            return grams;
+        }
+        if (padWords) {
+            for (String word : text.split("\\s+")) {
+                if (!word.isEmpty()) {
+                    addTrigrams(grams, "  " + word + " ");
+                }
+            }
+        } else {
+            addTrigrams(grams, text);
+        }
+        return grams;
+    }
+
+    private static void addTrigrams(Set<String> grams, String text) {
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            grams.add(text.substring(i, i + 3));
+        }
+    }
+}
@@ -4,12 +4,14 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vsc.vehicle_service_backend.dto.AuthResponse;
 import com.vsc.vehicle_service_backend.dto.LoginRequest;
 import com.vsc.vehicle_service_backend.dto.RegisterRequest;
+import com.vsc.vehicle_service_backend.security.JwtTokenVerifier;
 import com.vsc.vehicle_service_backend.service.AuthService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -20,6 +22,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(AuthController.class)
+@Import(JwtTokenVerifier.class)
 class AuthControllerTest {
 
     @Autowired
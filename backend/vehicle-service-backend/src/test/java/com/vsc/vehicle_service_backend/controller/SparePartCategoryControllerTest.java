@@ -2,12 +2,14 @@ package com.vsc.vehicle_service_backend.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vsc.vehicle_service_backend.entity.SparePartCategory;
+import com.vsc.vehicle_service_backend.security.JwtTokenVerifier;
 import com.vsc.vehicle_service_backend.service.SparePartCategoryService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -22,6 +24,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(SparePartCategoryController.class)
+@Import(JwtTokenVerifier.class)
 class SparePartCategoryControllerTest {
 
     @Autowired
@@ -3,12 +3,14 @@ package com.vsc.vehicle_service_backend.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.vsc.vehicle_service_backend.dto.VehicleRequest;
 import com.vsc.vehicle_service_backend.dto.VehicleResponse;
+import com.vsc.vehicle_service_backend.security.JwtTokenVerifier;
 import com.vsc.vehicle_service_backend.service.VehicleService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -23,6 +25,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(VehicleController.class)
+@Import(JwtTokenVerifier.class)
 class VehicleControllerTest {
 
     @Autowired
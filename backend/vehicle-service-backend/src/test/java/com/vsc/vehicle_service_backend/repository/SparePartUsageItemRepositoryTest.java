@@ -0,0 +1,124 @@
+package com.vsc.vehicle_service_backend.repository;
+
+import com.vsc.vehicle_service_backend.dto.PartConsumptionSummary;
+import com.vsc.vehicle_service_backend.dto.UsageMonthlySummary;
+import com.vsc.vehicle_service_backend.entity.SparePart;
+import com.vsc.vehicle_service_backend.entity.SparePartCategory;
+import com.vsc.vehicle_service_backend.entity.SparePartUsage;
+import com.vsc.vehicle_service_backend.entity.SparePartUsageItem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+class SparePartUsageItemRepositoryTest {
+
+    @Autowired
+    private SparePartUsageItemRepository usageItemRepository;
+
+    @Autowired
+    private SparePartUsageRepository usageRepository;
+
+    @Autowired
+    private SparePartRepository sparePartRepository;
+
+    @Autowired
+    private SparePartCategoryRepository categoryRepository;
+
+    private SparePartCategory filters;
+    private SparePart oilFilter;
+    private SparePart airFilter;
+    private SparePart brakePad;
+
+    @BeforeEach
+    void setUp() {
+        filters = categoryRepository.save(category("CAT_001", "Filters"));
+        SparePartCategory brakes = categoryRepository.save(category("CAT_002", "Brakes"));
+
+        oilFilter = sparePartRepository.save(part("PART-001", "Oil Filter", filters));
+        airFilter = sparePartRepository.save(part("PART-002", "Air Filter", filters));
+        brakePad = sparePartRepository.save(part("PART-003", "Brake Pad", brakes));
+
+        // January: one usage mixing categories, one filters-only usage
+        saveUsage("USG-1", LocalDate.of(2024, 1, 10), item(oilFilter, 2, "100.00"), item(brakePad, 1, "900.00"));
+        saveUsage("USG-2", LocalDate.of(2024, 1, 20), item(oilFilter, 1, "100.00"), item(airFilter, 3, "50.00"));
+        // February: brakes only, must not show up for filters
+        saveUsage("USG-3", LocalDate.of(2024, 2, 5), item(brakePad, 4, "900.00"));
+        // March: outside of the queried window
+        saveUsage("USG-4", LocalDate.of(2024, 3, 1), item(airFilter, 5, "50.00"));
+    }
+
+    @Test
+    void summarizeMonthlyUsageByCategory_ShouldGroupCategoryItemsByMonth() {
+        // Act
+        List<UsageMonthlySummary> months = usageItemRepository.summarizeMonthlyUsageByCategory(
+                filters.getId(), LocalDate.of(2024, 1, 1), LocalDate.of(2024, 2, 29));
+
+        // Assert
+        assertThat(months).hasSize(1);
+        UsageMonthlySummary january = months.get(0);
+        assertThat(january.getUsageYear()).isEqualTo(2024);
+        assertThat(january.getUsageMonth()).isEqualTo(1);
+        assertThat(january.getUsageCount()).isEqualTo(2L);
+        assertThat(january.getTotalCost()).isEqualByComparingTo("450.00");
+    }
+
+    @Test
+    void summarizeConsumptionByCategory_ShouldSumUnitsPerPartInWindow() {
+        // Act
+        Map<Long, Long> unitsUsed = usageItemRepository.summarizeConsumptionByCategory(
+                        filters.getId(), LocalDate.of(2024, 1, 1), LocalDate.of(2024, 2, 29))
+                .stream()
+                .collect(Collectors.toMap(PartConsumptionSummary::getSparePartId, PartConsumptionSummary::getUnitsUsed));
+
+        // Assert
+        assertThat(unitsUsed).containsOnlyKeys(oilFilter.getId(), airFilter.getId());
+        assertThat(unitsUsed.get(oilFilter.getId())).isEqualTo(3L);
+        assertThat(unitsUsed.get(airFilter.getId())).isEqualTo(3L);
+    }
+
+    private SparePartCategory category(String code, String name) {
+        SparePartCategory category = new SparePartCategory();
+        category.setCategoryCode(code);
+        category.setCategoryName(name);
+        return category;
+    }
+
+    private SparePart part(String code, String name, SparePartCategory category) {
+        SparePart part = new SparePart();
+        part.setPartCode(code);
+        part.setPartName(name);
+        part.setPrice(100.0);
+        part.setQuantity(50);
+        part.setCategory(category);
+        return part;
+    }
+
+    private SparePartUsageItem item(SparePart part, int quantity, String unitCost) {
+        SparePartUsageItem item = new SparePartUsageItem();
+        item.setSparePart(part);
+        item.setQuantityUsed(quantity);
+        item.setUnitCost(new BigDecimal(unitCost));
+        item.setTotalCost(new BigDecimal(unitCost).multiply(BigDecimal.valueOf(quantity)));
+        return item;
+    }
+
+    private void saveUsage(String number, LocalDate date, SparePartUsageItem... items) {
+        SparePartUsage usage = new SparePartUsage();
+        usage.setUsageNumber(number);
+        usage.setUsageDate(date);
+        for (SparePartUsageItem item : items) {
+            usage.addItem(item);
+        }
+        usageRepository.save(usage);
+    }
+}
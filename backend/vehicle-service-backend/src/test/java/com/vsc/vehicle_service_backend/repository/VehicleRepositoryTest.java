@@ -0,0 +1,100 @@
+package com.vsc.vehicle_service_backend.repository;
+
+import com.vsc.vehicle_service_backend.dto.CustomerSummaryView;
+import com.vsc.vehicle_service_backend.dto.VehicleResponse;
+import com.vsc.vehicle_service_backend.entity.Customer;
+import com.vsc.vehicle_service_backend.entity.Vehicle;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.JpaSort;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+class VehicleRepositoryTest {
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    private Customer john;
+    private Customer amal;
+
+    @BeforeEach
+    void setUp() {
+        john = customerRepository.save(new Customer("John Doe", "john@example.com", "0771234567", "Colombo"));
+        amal = customerRepository.save(new Customer("Amal Perera", "amal@example.com", "0717654321", "Kandy"));
+
+        vehicleRepository.save(vehicle("vh_1", "CAB-1234", "Toyota", john));
+        vehicleRepository.save(vehicle("vh_2", "KX-5678", "Honda", amal));
+        vehicleRepository.save(vehicle("vh_3", "WP-9012", "Nissan", john));
+    }
+
+    @Test
+    void findResponsePage_ShouldIncludeCustomerNameAndSortByIt() {
+        // Act
+        Page<VehicleResponse> page = vehicleRepository.findResponsePage(
+                PageRequest.of(0, 2, JpaSort.unsafe(Sort.Direction.ASC, "c.name").andUnsafe(Sort.Direction.ASC, "v.id")));
+
+        // Assert
+        assertThat(page.getTotalElements()).isEqualTo(3);
+        assertThat(page.getTotalPages()).isEqualTo(2);
+        assertThat(page.getContent()).extracting(VehicleResponse::getVehicleNumber)
+                .containsExactly("KX-5678", "CAB-1234");
+        assertThat(page.getContent().get(0).getCustomerName()).isEqualTo("Amal Perera");
+        assertThat(page.getContent().get(0).getCustomerId()).isEqualTo(amal.getId());
+    }
+
+    @Test
+    void findResponsesAfter_ShouldContinueFromCursor() {
+        // Arrange
+        List<VehicleResponse> all = vehicleRepository.findAllResponses();
+
+        // Act
+        Slice<VehicleResponse> first = vehicleRepository.findResponsesAfter(0L, PageRequest.of(0, 2));
+        Slice<VehicleResponse> second = vehicleRepository.findResponsesAfter(
+                first.getContent().get(1).getId(), PageRequest.of(0, 2));
+
+        // Assert
+        assertThat(first.hasNext()).isTrue();
+        assertThat(second.hasNext()).isFalse();
+        assertThat(second.getContent()).extracting(VehicleResponse::getVehicleId).containsExactly("vh_3");
+        assertThat(all).extracting(VehicleResponse::getCustomerName)
+                .containsExactly("John Doe", "Amal Perera", "John Doe");
+    }
+
+    @Test
+    void findSummaryPage_ShouldReturnCustomerColumnsSorted() {
+        // Act
+        Page<CustomerSummaryView> page = customerRepository.findSummaryPage(
+                PageRequest.of(0, 1, Sort.by("name").and(Sort.by("id"))));
+        Slice<CustomerSummaryView> after = customerRepository.findSummariesAfter(john.getId(), PageRequest.of(0, 10));
+
+        // Assert
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertThat(page.getContent().get(0).getName()).isEqualTo("Amal Perera");
+        assertThat(page.getContent().get(0).getEmail()).isEqualTo("amal@example.com");
+        assertThat(after.getContent()).extracting(CustomerSummaryView::getId).containsExactly(amal.getId());
+    }
+
+    private static Vehicle vehicle(String vehicleId, String number, String brand, Customer customer) {
+        Vehicle vehicle = new Vehicle();
+        vehicle.setVehicleId(vehicleId);
+        vehicle.setVehicleNumber(number);
+        vehicle.setBrand(brand);
+        vehicle.setModel("Model");
+        vehicle.setVehicleType("Car");
+        vehicle.setCustomer(customer);
+        return vehicle;
+    }
+}
@@ -0,0 +1,86 @@
+package com.vsc.vehicle_service_backend.security;
+
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtTokenVerifierTest {
+
+    private final String secret = "mySuperSecretKeyForJWTTokenGeneration1234567890ABCDEFGH";
+
+    private JwtTokenVerifier verifier;
+
+    @BeforeEach
+    void setUp() {
+        verifier = new JwtTokenVerifier(secret, 2);
+    }
+
+    @Test
+    void verify_WithValidToken_ShouldReturnClaimsAndCacheToken() {
+        // Arrange
+        String token = token("test@example.com", secret, 60_000);
+
+        // Act
+        String first = verifier.verify(token).getSubject();
+        String second = verifier.verify(token).getSubject();
+
+        // Assert
+        assertThat(first).isEqualTo("test@example.com");
+        assertThat(second).isEqualTo("test@example.com");
+        assertThat(verifier.cachedTokenCount()).isEqualTo(1);
+    }
+
+    @Test
+    void verify_WithTokenSignedByOtherKey_ShouldThrowAndNotCache() {
+        // Arrange
+        String token = token("test@example.com", "anotherSecretKeyForJWTTokenGeneration1234567890XYZ", 60_000);
+
+        // Act & Assert
+        assertThatThrownBy(() -> verifier.verify(token)).isInstanceOf(JwtException.class);
+        assertThat(verifier.cachedTokenCount()).isZero();
+    }
+
+    @Test
+    void verify_WithExpiredToken_ShouldThrow() {
+        // Arrange
+        String token = token("test@example.com", secret, -1_000);
+
+        // Act & Assert
+        assertThatThrownBy(() -> verifier.verify(token)).isInstanceOf(JwtException.class);
+    }
+
+    @Test
+    void verify_WhenCacheIsFull_ShouldStillVerifyNewTokens() {
+        // Arrange
+        String first = token("a@example.com", secret, 60_000);
+        String second = token("b@example.com", secret, 60_000);
+        String third = token("c@example.com", secret, 60_000);
+
+        // Act
+        verifier.verify(first);
+        verifier.verify(second);
+        String subject = verifier.verify(third).getSubject();
+
+        // Assert
+        assertThat(subject).isEqualTo("c@example.com");
+        assertThat(verifier.cachedTokenCount()).isEqualTo(2);
+    }
+
+    private String token(String subject, String signingSecret, long validForMs) {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .setSubject(subject)
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + validForMs))
+                .signWith(Keys.hmacShaKeyFor(signingSecret.getBytes()), SignatureAlgorithm.HS256)
+                .compact();
+    }
+}
@@ -0,0 +1,143 @@
+package com.vsc.vehicle_service_backend.service.impl;
+
+import com.vsc.vehicle_service_backend.entity.SparePart;
+import com.vsc.vehicle_service_backend.entity.SparePartCategory;
+import com.vsc.vehicle_service_backend.entity.StockMovement;
+import com.vsc.vehicle_service_backend.entity.Supplier;
+import com.vsc.vehicle_service_backend.event.InventoryEntityListener;
+import com.vsc.vehicle_service_backend.repository.SparePartCategoryRepository;
+import com.vsc.vehicle_service_backend.repository.SparePartRepository;
+import com.vsc.vehicle_service_backend.repository.StockMovementRepository;
+import com.vsc.vehicle_service_backend.repository.SupplierRepository;
+import com.vsc.vehicle_service_backend.service.ChartDataService;
+import com.vsc.vehicle_service_backend.service.StockLedgerService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@Import({ChartDataServiceImpl.class, InventoryEntityListener.class, StockLedgerServiceImpl.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // counters only move on commit
+class ChartDataServiceImplTest {
+
+    @Autowired
+    private ChartDataService chartDataService;
+
+    @Autowired
+    private StockLedgerService stockLedgerService;
+
+    @Autowired
+    private SparePartRepository sparePartRepository;
+
+    @Autowired
+    private SparePartCategoryRepository categoryRepository;
+
+    @Autowired
+    private SupplierRepository supplierRepository;
+
+    @Autowired
+    private StockMovementRepository stockMovementRepository;
+
+    @BeforeEach
+    void setUp() {
+        SparePartCategory category = new SparePartCategory();
+        category.setCategoryCode("CAT_001");
+        category.setCategoryName("Filters");
+        categoryRepository.save(category);
+
+        sparePartRepository.save(part("PART-001", 5, 10, 100.0));   // LOW
+        sparePartRepository.save(part("PART-002", 15, 10, 200.0));  // MEDIUM
+
+        chartDataService.rebuildStats();
+    }
+
+    @AfterEach
+    void tearDown() {
+        stockMovementRepository.deleteAll();
+        sparePartRepository.deleteAll();
+        categoryRepository.deleteAll();
+        supplierRepository.deleteAll();
+    }
+
+    @Test
+    void rebuildStats_ShouldLoadTotalsFromDatabase() {
+        // Act
+        Map<String, Object> stats = chartDataService.getDashboardStats();
+
+        // Assert
+        assertThat(stats.get("totalSpareParts")).isEqualTo(2L);
+        assertThat(stats.get("totalCategories")).isEqualTo(1L);
+        assertThat(stats.get("totalSuppliers")).isEqualTo(0L);
+        assertThat(stats.get("lowStockItems")).isEqualTo(1L);
+        assertThat(stats.get("totalInventoryValue")).isEqualTo(3500.0);
+    }
+
+    @Test
+    void savingEntities_ShouldAdjustCountersWithoutRebuild() {
+        // Act
+        SparePart added = sparePartRepository.save(part("PART-003", 100, 10, 10.0));  // HIGH
+        Supplier supplier = new Supplier();
+        supplier.setSupplierCode("SUP_001");
+        supplier.setSupplierName("Auto Parts Ltd");
+        supplierRepository.save(supplier);
+
+        added.setQuantity(8); // now LOW
+        sparePartRepository.save(added);
+
+        // Assert
+        Map<String, Object> stats = chartDataService.getDashboardStats();
+        assertThat(stats.get("totalSpareParts")).isEqualTo(3L);
+        assertThat(stats.get("totalSuppliers")).isEqualTo(1L);
+        assertThat(stats.get("totalInventoryValue")).isEqualTo(3580.0);
+        assertThat(chartDataService.getStockStatusData())
+                .containsEntry("lowStock", 2L)
+                .containsEntry("mediumStock", 1L)
+                .containsEntry("highStock", 0L);
+    }
+
+    @Test
+    void ledgerChangesAndDeletes_ShouldAdjustCountersWithoutRebuild() {
+        // Arrange
+        SparePart medium = sparePartRepository.findAll().stream()
+                .filter(p -> p.getPartCode().equals("PART-002"))
+                .findFirst()
+                .orElseThrow();
+
+        // Act
+        stockLedgerService.decreaseStock(medium.getId(), 6, StockMovement.MovementType.USAGE, "SPARE_PART_USAGE", 1L);
+
+        // Assert
+        assertThat(chartDataService.getStockStatusData())
+                .containsEntry("lowStock", 2L)
+                .containsEntry("mediumStock", 0L);
+        assertThat(chartDataService.getDashboardStats().get("totalInventoryValue")).isEqualTo(2300.0);
+
+        // Act
+        sparePartRepository.deleteById(medium.getId());
+
+        // Assert
+        assertThat(chartDataService.getDashboardStats())
+                .containsEntry("totalSpareParts", 1L)
+                .containsEntry("lowStockItems", 1L)
+                .containsEntry("totalInventoryValue", 500.0);
+    }
+
+    private SparePart part(String code, int quantity, int minQuantity, double price) {
+        SparePart part = new SparePart();
+        part.setPartCode(code);
+        part.setPartName("Part " + code);
+        part.setPrice(price);
+        part.setQuantity(quantity);
+        part.setMinQuantity(minQuantity);
+        return part;
+    }
+}
@@ -25,6 +25,9 @@ class CustomerServiceImplTest {
     @Mock
     private CustomerRepository customerRepository;
 
+    @Mock
+    private FrontDeskLookupIndex lookupIndex;
+
     @InjectMocks
     private CustomerServiceImpl customerService;
 
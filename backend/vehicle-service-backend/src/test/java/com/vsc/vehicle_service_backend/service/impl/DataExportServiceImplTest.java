@@ -0,0 +1,107 @@
+package com.vsc.vehicle_service_backend.service.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vsc.vehicle_service_backend.entity.ServiceRecord;
+import com.vsc.vehicle_service_backend.entity.SmsLog;
+import com.vsc.vehicle_service_backend.repository.ServiceRecordRepository;
+import com.vsc.vehicle_service_backend.repository.SmsLogRepository;
+import com.vsc.vehicle_service_backend.service.DataExportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@Import(DataExportServiceImpl.class)
+class DataExportServiceImplTest {
+
+    @Autowired
+    private DataExportService exportService;
+
+    @Autowired
+    private ServiceRecordRepository serviceRecordRepository;
+
+    @Autowired
+    private SmsLogRepository smsLogRepository;
+
+    @BeforeEach
+    void setUp() {
+        serviceRecordRepository.save(record("SR_1", LocalDate.of(2024, 3, 5), "Oil change, filter"));
+        serviceRecordRepository.save(record("SR_2", LocalDate.of(2024, 3, 28), "Said \"brakes squeal\""));
+        serviceRecordRepository.save(record("SR_3", LocalDate.of(2024, 4, 2), null));
+
+        SmsLog log = new SmsLog();
+        log.setPhoneNumber("0771234567");
+        log.setMessage("Your vehicle is ready");
+        log.setStatus("SENT");
+        log.setSentAt(LocalDateTime.of(2024, 3, 31, 23, 59));
+        smsLogRepository.save(log);
+        serviceRecordRepository.flush();
+        smsLogRepository.flush();
+    }
+
+    @Test
+    void exportServiceRecords_AsCsv_ShouldWriteHeaderAndEscapedRowsInRange() throws Exception {
+        // Act
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportServiceRecords(DataExportService.Format.CSV,
+                LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 31), out);
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).startsWith("id,record_id,service_date,");
+        assertThat(lines[1]).contains("SR_1,2024-03-05").contains("\"Oil change, filter\"");
+        assertThat(lines[2]).contains("\"Said \"\"brakes squeal\"\"\"");
+    }
+
+    @Test
+    void exportServiceRecords_AsCsvWithNoRowsInRange_ShouldStillWriteHeader() throws Exception {
+        // Act
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportServiceRecords(DataExportService.Format.CSV,
+                LocalDate.of(2023, 1, 1), LocalDate.of(2023, 1, 31), out);
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertThat(lines).hasSize(1);
+        assertThat(lines[0]).startsWith("id,record_id,service_date,");
+    }
+
+    @Test
+    void exportSmsLogs_AsNdjson_ShouldWriteOneJsonObjectPerLine() throws Exception {
+        // Act
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportSmsLogs(DataExportService.Format.NDJSON,
+                LocalDate.of(2024, 3, 31), LocalDate.of(2024, 3, 31), out);
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(1);
+        JsonNode row = new ObjectMapper().readTree(lines[0]);
+        assertThat(row.get("phone_number").asText()).isEqualTo("0771234567");
+        assertThat(row.get("sent_at").asText()).isEqualTo("2024-03-31T23:59");
+        assertThat(row.get("customer_id").isNull()).isTrue();
+    }
+
+    private ServiceRecord record(String recordId, LocalDate serviceDate, String notes) {
+        ServiceRecord record = new ServiceRecord();
+        record.setRecordId(recordId);
+        record.setServiceDate(serviceDate);
+        record.setStatus("COMPLETED");
+        record.setVehicleId(1L);
+        record.setCustomerId(1L);
+        record.setTotalCost(2500.0);
+        record.setNotes(notes);
+        return record;
+    }
+}
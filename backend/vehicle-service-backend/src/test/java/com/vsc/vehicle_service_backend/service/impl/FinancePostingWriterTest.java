@@ -0,0 +1,173 @@
+package com.vsc.vehicle_service_backend.service.impl;
+
+import com.vsc.vehicle_service_backend.entity.FinancePostingOutbox;
+import com.vsc.vehicle_service_backend.entity.FinanceTransaction;
+import com.vsc.vehicle_service_backend.entity.FinanceTransaction.TransactionCategory;
+import com.vsc.vehicle_service_backend.entity.FinanceTransaction.TransactionType;
+import com.vsc.vehicle_service_backend.event.FinancePostingEvent;
+import com.vsc.vehicle_service_backend.repository.FinanceDailyRollupRepository;
+import com.vsc.vehicle_service_backend.repository.FinanceMonthlyRollupRepository;
+import com.vsc.vehicle_service_backend.repository.FinancePostingOutboxRepository;
+import com.vsc.vehicle_service_backend.repository.FinanceTransactionRepository;
+import com.vsc.vehicle_service_backend.service.FinanceService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DataJpaTest(properties = {
+        "spring.jpa.show-sql=false",
+        "app.finance-posting.batch-size=2"
+})
+@Import({FinancePostingWriter.class, FinanceServiceImpl.class, TableRecordIdAllocator.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // outbox rows must really commit or roll back
+class FinancePostingWriterTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 5, 10);
+
+    @Autowired
+    private FinancePostingWriter writer;
+
+    @Autowired
+    private FinanceService financeService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private FinanceTransactionRepository transactionRepository;
+
+    @Autowired
+    private FinanceDailyRollupRepository dailyRollupRepository;
+
+    @Autowired
+    private FinanceMonthlyRollupRepository monthlyRollupRepository;
+
+    @Autowired
+    private FinancePostingOutboxRepository outboxRepository;
+
+    @AfterEach
+    void tearDown() {
+        outboxRepository.deleteAll();
+        transactionRepository.deleteAll();
+        dailyRollupRepository.deleteAll();
+        monthlyRollupRepository.deleteAll();
+    }
+
+    @Test
+    void flush_ShouldWriteOnlyCommittedPostingsInBatches() {
+        // Arrange
+        publishAndCommit(sale(1L, "1000"), sale(2L, "250.50"), serviceIncome(7L, "3000"));
+        TransactionTemplate rolledBack = new TransactionTemplate(transactionManager);
+        rolledBack.executeWithoutResult(status -> {
+            eventPublisher.publishEvent(sale(3L, "999"));
+            status.setRollbackOnly();
+        });
+
+        // Act
+        int drained = writer.flush();
+
+        // Assert
+        assertThat(drained).isEqualTo(3);
+        assertThat(writer.getQueuedCount()).isZero();
+        assertThat(transactionRepository.findByReferenceTypeAndReferenceId("SPARE_PART_USAGE", 2L))
+                .singleElement()
+                .satisfies(posted -> {
+                    assertThat(posted.getTransactionId()).startsWith("FT_");
+                    assertThat(posted.getAmount()).isEqualByComparingTo("250.50");
+                    assertThat(posted.getRelatedCustomerId()).isEqualTo(42L);
+                });
+        assertThat(transactionRepository.findByReferenceTypeAndReferenceId("SPARE_PART_USAGE", 3L)).isEmpty();
+
+        Map<String, Object> profitAndLoss = financeService.getProfitAndLoss(TODAY, TODAY);
+        assertThat((BigDecimal) profitAndLoss.get("totalIncome")).isEqualByComparingTo("4250.50");
+        assertThat(profitAndLoss.get("transactionCount")).isEqualTo(3L);
+    }
+
+    @Test
+    void onFinancePosting_ShouldKeepCommittedPostingsUntilFlushed() {
+        // Act
+        publishAndCommit(sale(1L, "1000"), serviceIncome(7L, "3000"));
+
+        // Assert - stored with the business transaction, nothing written to the ledger yet
+        assertThat(writer.getQueuedCount()).isEqualTo(2);
+        assertThat(outboxRepository.findAll())
+                .extracting(FinancePostingOutbox::getReferenceType, FinancePostingOutbox::getReferenceId)
+                .containsExactly(tuple("SPARE_PART_USAGE", 1L), tuple("SERVICE_RECORD", 7L));
+        assertThat(transactionRepository.count()).isZero();
+    }
+
+    @Test
+    void flush_ShouldSkipAlreadyPostedReferences() {
+        // Arrange
+        publishAndCommit(sale(1L, "1000"));
+        writer.flush();
+
+        // Act
+        publishAndCommit(sale(1L, "1000"), sale(1L, "1000"));
+        writer.flush();
+
+        // Assert
+        assertThat(transactionRepository.count()).isEqualTo(1);
+        assertThat((BigDecimal) financeService.getProfitAndLoss(TODAY, TODAY).get("totalIncome"))
+                .isEqualByComparingTo("1000");
+    }
+
+    @Test
+    void flush_WithInvalidPosting_ShouldHoldBackOnlyThatPosting() {
+        // Arrange
+        FinancePostingEvent invalid = new FinancePostingEvent("SPARE_PART_INCOME", 5L, TransactionType.INCOME,
+                TransactionCategory.SPARE_PART_PURCHASE, new BigDecimal("500"), TODAY, "Wrong category", null, null);
+        publishAndCommit(sale(1L, "100"), invalid);
+
+        // Act
+        writer.flush();
+
+        // Assert
+        assertThat(transactionRepository.findAll())
+                .extracting(FinanceTransaction::getReferenceId)
+                .containsExactly(1L);
+        assertThat(writer.getQueuedCount()).isZero();
+        assertThat(outboxRepository.findAll()).singleElement().satisfies(failed -> {
+            assertThat(failed.getReferenceId()).isEqualTo(5L);
+            assertThat(failed.getStatus()).isEqualTo(FinancePostingOutbox.OutboxStatus.FAILED);
+            assertThat(failed.getLastError()).contains("SPARE_PART_PURCHASE");
+        });
+    }
+
+    private void publishAndCommit(FinancePostingEvent... events) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            for (FinancePostingEvent event : events) {
+                eventPublisher.publishEvent(event);
+            }
+        });
+    }
+
+    private FinancePostingEvent sale(Long usageId, String amount) {
+        return new FinancePostingEvent("SPARE_PART_USAGE", usageId, TransactionType.INCOME,
+                TransactionCategory.SPARE_PART_SALES, new BigDecimal(amount), TODAY,
+                "Spare parts used - USG-" + usageId, 42L, 9L);
+    }
+
+    private FinancePostingEvent serviceIncome(Long serviceRecordId, String amount) {
+        return new FinancePostingEvent("SERVICE_RECORD", serviceRecordId, TransactionType.INCOME,
+                TransactionCategory.SERVICE_INCOME, new BigDecimal(amount), TODAY,
+                "Service completed - SR_" + serviceRecordId, 42L, 9L);
+    }
+}
@@ -0,0 +1,205 @@
+package com.vsc.vehicle_service_backend.service.impl;
+
+import com.vsc.vehicle_service_backend.entity.FinanceTransaction;
+import com.vsc.vehicle_service_backend.entity.FinanceTransaction.TransactionCategory;
+import com.vsc.vehicle_service_backend.entity.FinanceTransaction.TransactionType;
+import com.vsc.vehicle_service_backend.repository.FinanceDailyRollupRepository;
+import com.vsc.vehicle_service_backend.repository.FinanceMonthlyRollupRepository;
+import com.vsc.vehicle_service_backend.repository.FinanceTransactionRepository;
+import com.vsc.vehicle_service_backend.service.FinanceService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@Import({FinanceServiceImpl.class, TableRecordIdAllocator.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // rollup rows are created in their own transactions
+class FinanceServiceImplTest {
+
+    private static final LocalDate MARCH_5 = LocalDate.of(2024, 3, 5);
+    private static final LocalDate MARCH_20 = LocalDate.of(2024, 3, 20);
+    private static final LocalDate APRIL_2 = LocalDate.of(2024, 4, 2);
+
+    @Autowired
+    private FinanceService financeService;
+
+    @Autowired
+    private FinanceTransactionRepository transactionRepository;
+
+    @Autowired
+    private FinanceDailyRollupRepository dailyRollupRepository;
+
+    @Autowired
+    private FinanceMonthlyRollupRepository monthlyRollupRepository;
+
+    @AfterEach
+    void tearDown() {
+        transactionRepository.deleteAll();
+        dailyRollupRepository.deleteAll();
+        monthlyRollupRepository.deleteAll();
+    }
+
+    @Test
+    void postTransaction_ShouldAssignIdAndFeedProfitAndLoss() {
+        // Arrange
+        FinanceTransaction posted = financeService.postTransaction(
+                transaction(MARCH_5, TransactionType.INCOME, TransactionCategory.SERVICE_INCOME, "2500"));
+        financeService.postTransaction(transaction(MARCH_5, TransactionType.INCOME, TransactionCategory.SERVICE_INCOME, "1500"));
+        financeService.postTransaction(transaction(MARCH_20, TransactionType.INCOME, TransactionCategory.SPARE_PART_SALES, "800"));
+        financeService.postTransaction(transaction(MARCH_20, TransactionType.EXPENSE, TransactionCategory.SPARE_PART_PURCHASE, "1200.50"));
+        financeService.postTransaction(transaction(APRIL_2, TransactionType.EXPENSE, TransactionCategory.UTILITY_EXPENSE, "300"));
+
+        // Act
+        Map<String, Object> result = financeService.getProfitAndLoss(LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 31));
+
+        // Assert
+        assertThat(posted.getTransactionId()).startsWith("FT_");
+        assertThat((BigDecimal) result.get("totalIncome")).isEqualByComparingTo("4800");
+        assertThat((BigDecimal) result.get("totalExpense")).isEqualByComparingTo("1200.50");
+        assertThat((BigDecimal) result.get("netProfit")).isEqualByComparingTo("3599.50");
+        assertThat(result.get("transactionCount")).isEqualTo(4L);
+        @SuppressWarnings("unchecked")
+        Map<String, BigDecimal> incomeByCategory = (Map<String, BigDecimal>) result.get("incomeByCategory");
+        assertThat(incomeByCategory.get("SERVICE_INCOME")).isEqualByComparingTo("4000");
+        assertThat(incomeByCategory.get("SPARE_PART_SALES")).isEqualByComparingTo("800");
+        assertThat(dailyRollupRepository.count()).isEqualTo(4);
+    }
+
+    @Test
+    void getDailyCashFlowAndMonthlySummary_ShouldReadRollups() {
+        // Arrange
+        financeService.postTransaction(transaction(MARCH_5, TransactionType.INCOME, TransactionCategory.SERVICE_INCOME, "1000"));
+        financeService.postTransaction(transaction(MARCH_20, TransactionType.EXPENSE, TransactionCategory.SALARY_EXPENSE, "400"));
+        financeService.postTransaction(transaction(APRIL_2, TransactionType.INCOME, TransactionCategory.OTHER_INCOME, "250"));
+
+        // Act
+        List<Map<String, Object>> cashFlow = financeService.getDailyCashFlow(MARCH_5, APRIL_2);
+        List<Map<String, Object>> months = financeService.getMonthlySummary(YearMonth.of(2024, 1), YearMonth.of(2024, 12));
+
+        // Assert
+        assertThat(cashFlow).extracting(day -> day.get("date")).containsExactly(MARCH_5, MARCH_20, APRIL_2);
+        assertThat((BigDecimal) cashFlow.get(1).get("net")).isEqualByComparingTo("-400");
+        assertThat(months).hasSize(2);
+        assertThat(months.get(0).get("month")).isEqualTo(3);
+        assertThat((BigDecimal) months.get(0).get("net")).isEqualByComparingTo("600");
+        assertThat((BigDecimal) months.get(1).get("income")).isEqualByComparingTo("250");
+    }
+
+    @Test
+    void getMonthlySummary_AcrossAYearBoundary_ShouldKeepOnlyMonthsInRange() {
+        // Arrange
+        financeService.postTransaction(transaction(LocalDate.of(2023, 10, 31), TransactionType.INCOME, TransactionCategory.SERVICE_INCOME, "100"));
+        financeService.postTransaction(transaction(LocalDate.of(2023, 11, 1), TransactionType.INCOME, TransactionCategory.SERVICE_INCOME, "200"));
+        financeService.postTransaction(transaction(LocalDate.of(2024, 2, 29), TransactionType.INCOME, TransactionCategory.SERVICE_INCOME, "300"));
+        financeService.postTransaction(transaction(MARCH_5, TransactionType.INCOME, TransactionCategory.SERVICE_INCOME, "400"));
+
+        // Act
+        List<Map<String, Object>> months = financeService.getMonthlySummary(YearMonth.of(2023, 11), YearMonth.of(2024, 2));
+
+        // Assert
+        assertThat(months).extracting(month -> month.get("year"), month -> month.get("month"))
+                .containsExactly(tuple(2023, 11), tuple(2024, 2));
+    }
+
+    @Test
+    void deleteTransaction_ShouldTakeItOutOfTheRollups() {
+        // Arrange
+        financeService.postTransaction(transaction(MARCH_5, TransactionType.INCOME, TransactionCategory.SERVICE_INCOME, "1000"));
+        FinanceTransaction mistake = financeService.postTransaction(
+                transaction(MARCH_5, TransactionType.INCOME, TransactionCategory.SERVICE_INCOME, "999"));
+
+        // Act
+        financeService.deleteTransaction(mistake.getId());
+
+        // Assert
+        Map<String, Object> result = financeService.getProfitAndLoss(MARCH_5, MARCH_5);
+        assertThat((BigDecimal) result.get("totalIncome")).isEqualByComparingTo("1000");
+        assertThat(result.get("transactionCount")).isEqualTo(1L);
+        assertThat(financeService.getMonthlySummary(YearMonth.of(2024, 3), YearMonth.of(2024, 3)).get(0).get("income"))
+                .isEqualTo(new BigDecimal("1000.00"));
+    }
+
+    @Test
+    void postTransactions_WithReversal_ShouldTakeTheAmountBackOutOfIncome() {
+        // Arrange
+        financeService.postTransactions(List.of(posting("SPARE_PART_USAGE", "800")));
+
+        // Act - the reversal is keyed on its own reference, so a repeat is skipped
+        financeService.postTransactions(List.of(posting("SPARE_PART_USAGE_REVERSAL", "-800")));
+        int repeated = financeService.postTransactions(List.of(posting("SPARE_PART_USAGE_REVERSAL", "-800")));
+
+        // Assert
+        assertThat(repeated).isZero();
+        Map<String, Object> result = financeService.getProfitAndLoss(MARCH_20, MARCH_20);
+        assertThat((BigDecimal) result.get("totalIncome")).isEqualByComparingTo("0");
+        assertThat(result.get("transactionCount")).isEqualTo(2L);
+    }
+
+    @Test
+    void postTransaction_WithNegativeAmount_ShouldThrowException() {
+        assertThatThrownBy(() -> financeService.postTransaction(
+                transaction(MARCH_5, TransactionType.INCOME, TransactionCategory.SERVICE_INCOME, "-100")))
+                .hasMessage("Amount must be greater than zero");
+    }
+
+    @Test
+    void postTransaction_WithExpenseCategoryOnIncome_ShouldThrowException() {
+        assertThatThrownBy(() -> financeService.postTransaction(
+                transaction(MARCH_5, TransactionType.INCOME, TransactionCategory.SALARY_EXPENSE, "100")))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Category SALARY_EXPENSE cannot be used for INCOME transactions");
+
+        assertThat(transactionRepository.count()).isZero();
+    }
+
+    @Test
+    void rebuildRollups_ShouldMatchIncrementalTotals() {
+        // Arrange
+        financeService.postTransaction(transaction(MARCH_5, TransactionType.INCOME, TransactionCategory.SERVICE_INCOME, "1000"));
+        financeService.postTransaction(transaction(MARCH_5, TransactionType.INCOME, TransactionCategory.SERVICE_INCOME, "500"));
+        financeService.postTransaction(transaction(APRIL_2, TransactionType.EXPENSE, TransactionCategory.OPERATIONAL_EXPENSE, "200"));
+        Map<String, Object> before = financeService.getProfitAndLoss(MARCH_5, APRIL_2);
+
+        // Act
+        Map<String, Object> rebuilt = financeService.rebuildRollups();
+        financeService.postTransaction(transaction(APRIL_2, TransactionType.EXPENSE, TransactionCategory.OPERATIONAL_EXPENSE, "50"));
+
+        // Assert
+        assertThat(rebuilt.get("dailyRows")).isEqualTo(2);
+        assertThat(rebuilt.get("monthlyRows")).isEqualTo(2);
+        Map<String, Object> after = financeService.getProfitAndLoss(MARCH_5, APRIL_2);
+        assertThat((BigDecimal) after.get("totalIncome")).isEqualByComparingTo((BigDecimal) before.get("totalIncome"));
+        assertThat((BigDecimal) after.get("totalExpense")).isEqualByComparingTo("250");
+    }
+
+    private FinanceTransaction posting(String referenceType, String amount) {
+        FinanceTransaction transaction = transaction(MARCH_20, TransactionType.INCOME, TransactionCategory.SPARE_PART_SALES, amount);
+        transaction.setReferenceType(referenceType);
+        transaction.setReferenceId(42L);
+        return transaction;
+    }
+
+    private FinanceTransaction transaction(LocalDate date, TransactionType type, TransactionCategory category, String amount) {
+        FinanceTransaction transaction = new FinanceTransaction();
+        transaction.setTransactionDate(date);
+        transaction.setTransactionType(type);
+        transaction.setCategory(category);
+        transaction.setAmount(new BigDecimal(amount));
+        transaction.setDescription(category + " on " + date);
+        return transaction;
+    }
+}
@@ -0,0 +1,127 @@
+package com.vsc.vehicle_service_backend.service.impl;
+
+import com.vsc.vehicle_service_backend.dto.CustomerLookupView;
+import com.vsc.vehicle_service_backend.dto.VehicleLookupView;
+import com.vsc.vehicle_service_backend.entity.Customer;
+import com.vsc.vehicle_service_backend.entity.Vehicle;
+import com.vsc.vehicle_service_backend.repository.CustomerRepository;
+import com.vsc.vehicle_service_backend.repository.VehicleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class FrontDeskLookupIndexTest {
+
+    @Mock
+    private VehicleRepository vehicleRepository;
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    @InjectMocks
+    private FrontDeskLookupIndex lookupIndex;
+
+    @BeforeEach
+    void setUp() {
+        when(vehicleRepository.findAllLookupViews()).thenReturn(Arrays.asList(
+                vehicle(1L, "WP CAB-1234"),
+                vehicle(2L, "wp cab 1234"),
+                vehicle(3L, "CP KA-5678"),
+                vehicle(4L, "WP CAB-12345"),
+                vehicle(5L, "SP 91-1234")));
+        when(customerRepository.findAllLookupViews()).thenReturn(Arrays.asList(
+                customer(1L, "Sithmi Perera", "+94 77 123 4567"),
+                customer(2L, "Kasun Silva", "0771234567"),
+                customer(3L, "Nimal Fernando", "011-2345678"),
+                customer(4L, "Sithumini Perera", null)));
+        lookupIndex.rebuild();
+    }
+
+    @Test
+    void lookupVehicleIds_ShouldIgnoreSpacesDashesAndCase() {
+        assertThat(lookupIndex.lookupVehicleIds("wpcab1234", 10)).containsExactly(1L, 2L, 4L);
+        assertThat(lookupIndex.lookupVehicleIds("WP-CAB 1234", 1)).hasSize(1).containsAnyOf(1L, 2L);
+    }
+
+    @Test
+    void lookupVehicleIds_WithFragment_ShouldRankPrefixBeforeInnerMatches() {
+        // "cp" starts plate 3 and appears inside plates 1, 2 and 4 ("wpcab...")
+        assertThat(lookupIndex.lookupVehicleIds("cp", 10)).containsExactly(3L);
+        // Inner matches: shortest plate first
+        assertThat(lookupIndex.lookupVehicleIds("1234", 10)).containsExactly(5L, 1L, 2L, 4L);
+    }
+
+    @Test
+    void lookupVehicleIds_WithTypo_ShouldFallBackToSimilarPlates() {
+        assertThat(lookupIndex.lookupVehicleIds("CPKA5687", 10)).containsExactly(3L);
+    }
+
+    @Test
+    void lookupCustomerIds_WithDigits_ShouldMatchPhoneNumberEnding() {
+        assertThat(lookupIndex.lookupCustomerIds("4567", 10)).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(lookupIndex.lookupCustomerIds("234 5678", 10)).containsExactly(3L);
+        assertThat(lookupIndex.lookupCustomerIds("0771234567", 10)).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void lookupCustomerIds_WithName_ShouldTolerateTyposAndRankCloserNamesFirst() {
+        assertThat(lookupIndex.lookupCustomerIds("sithmi", 10)).first().isEqualTo(1L);
+        assertThat(lookupIndex.lookupCustomerIds("Kasun Silve", 10)).containsExactly(2L);
+        assertThat(lookupIndex.lookupCustomerIds("fern", 10)).containsExactly(3L);
+        assertThat(lookupIndex.lookupCustomerIds("zzz", 10)).isEmpty();
+    }
+
+    @Test
+    void indexAndRemove_ShouldKeepLookupsInSync() {
+        // Arrange
+        Vehicle vehicle = new Vehicle();
+        ReflectionTestUtils.setField(vehicle, "id", 6L);
+        vehicle.setVehicleNumber("NC BBX-9900");
+        Customer customer = new Customer("Amaya Jayasuriya", "amaya@example.com", "0719990000", null);
+        customer.setId(5L);
+
+        // Act
+        lookupIndex.indexVehicle(vehicle);
+        lookupIndex.removeVehicle(3L);
+        lookupIndex.indexCustomer(customer);
+
+        // Assert
+        assertThat(lookupIndex.lookupVehicleIds("bbx99", 10)).containsExactly(6L);
+        assertThat(lookupIndex.lookupVehicleIds("cpka5678", 10)).isEmpty();
+        assertThat(lookupIndex.lookupCustomerIds("0000", 10)).containsExactly(5L);
+        assertThat(lookupIndex.lookupCustomerIds("amaya", 10)).containsExactly(5L);
+    }
+
+    private VehicleLookupView vehicle(Long id, String vehicleNumber) {
+        return new VehicleLookupView() {
+            @Override
+            public Long getId() { return id; }
+
+            @Override
+            public String getVehicleNumber() { return vehicleNumber; }
+        };
+    }
+
+    private CustomerLookupView customer(Long id, String name, String phone) {
+        return new CustomerLookupView() {
+            @Override
+            public Long getId() { return id; }
+
+            @Override
+            public String getName() { return name; }
+
+            @Override
+            public String getPhone() { return phone; }
+        };
+    }
+}
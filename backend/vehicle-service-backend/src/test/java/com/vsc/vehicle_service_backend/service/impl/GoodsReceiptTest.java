@@ -0,0 +1,214 @@
+package com.vsc.vehicle_service_backend.service.impl;
+
+import com.vsc.vehicle_service_backend.config.IdPoolSeeder;
+import com.vsc.vehicle_service_backend.dto.GoodsReceiptRequest;
+import com.vsc.vehicle_service_backend.dto.SparePartIncomeRequest;
+import com.vsc.vehicle_service_backend.dto.SparePartIncomeResponse;
+import com.vsc.vehicle_service_backend.entity.IncomeStatus;
+import com.vsc.vehicle_service_backend.entity.SparePart;
+import com.vsc.vehicle_service_backend.entity.SparePartIncome;
+import com.vsc.vehicle_service_backend.entity.Supplier;
+import com.vsc.vehicle_service_backend.repository.SparePartIncomeRepository;
+import com.vsc.vehicle_service_backend.repository.SparePartRepository;
+import com.vsc.vehicle_service_backend.repository.StockMovementRepository;
+import com.vsc.vehicle_service_backend.repository.SupplierRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@Import({SparePartIncomeServiceImpl.class, StockLedgerServiceImpl.class, IncomeChartServiceImpl.class, TableRecordIdAllocator.class,
+        IdPoolSeeder.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class GoodsReceiptTest {
+
+    @Autowired
+    private SparePartIncomeServiceImpl incomeService;
+
+    @Autowired
+    private SparePartIncomeRepository incomeRepository;
+
+    @Autowired
+    private SparePartRepository sparePartRepository;
+
+    @Autowired
+    private StockMovementRepository stockMovementRepository;
+
+    @Autowired
+    private SupplierRepository supplierRepository;
+
+    private Supplier supplier;
+    private SparePart filter;
+    private SparePart pad;
+
+    @BeforeEach
+    void setUp() {
+        supplier = supplierRepository.save(supplier());
+        filter = sparePartRepository.save(part("OIL_FILTER"));
+        pad = sparePartRepository.save(part("BRAKE_PAD"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        incomeRepository.deleteAll();
+        stockMovementRepository.deleteAll();
+        sparePartRepository.deleteAll();
+        supplierRepository.deleteAll();
+    }
+
+    @Test
+    void receiveGoods_WithPartialLinesAcrossOrders_ShouldIncrementStockAndTrackOutstanding() {
+        // Arrange - both orders carry filters, so the delivery increments the filter once for 4 + 5
+        SparePartIncomeResponse first = incomeService.createIncome(order(filter, 10, pad, 4));
+        SparePartIncomeResponse second = incomeService.createIncome(order(filter, 5, pad, 2));
+
+        GoodsReceiptRequest request = receipt(
+                receiptOrder(first.getId(), line(first.getItems().get(0).getId(), 4)),
+                receiptOrder(second.getId()));
+
+        // Act
+        List<SparePartIncomeResponse> received = incomeService.receiveGoods(request);
+
+        // Assert
+        assertThat(received).extracting(SparePartIncomeResponse::getStatus).containsExactly("PARTIAL", "RECEIVED");
+        assertThat(received.get(0).getItems()).extracting(SparePartIncomeResponse.Item::getStatus)
+                .containsExactly("PARTIAL", "PENDING");
+        assertThat(received.get(0).getItems().get(0).getQuantityReceived()).isEqualTo(4);
+        assertThat(sparePartRepository.findQuantityById(filter.getId())).contains(20 + 4 + 5);
+        assertThat(sparePartRepository.findQuantityById(pad.getId())).contains(20 + 2);
+        assertThat(incomeService.getPendingIncomes()).extracting(SparePartIncomeResponse::getId)
+                .containsExactly(first.getId());
+
+        // Act - the rest of the first order arrives
+        SparePartIncomeResponse completed = incomeService.receiveIncome(first.getId());
+
+        // Assert
+        assertThat(completed.getStatus()).isEqualTo("RECEIVED");
+        assertThat(completed.getItems()).extracting(SparePartIncomeResponse.Item::getQuantityReceived)
+                .containsExactly(10, 4);
+        assertThat(sparePartRepository.findQuantityById(filter.getId())).contains(20 + 10 + 5);
+        assertThat(sparePartRepository.findQuantityById(pad.getId())).contains(20 + 4 + 2);
+    }
+
+    @Test
+    void receiveGoods_WithLineAboveOutstanding_ShouldRollBackWholeDelivery() {
+        // Arrange
+        SparePartIncomeResponse first = incomeService.createIncome(order(filter, 10, pad, 4));
+        SparePartIncomeResponse second = incomeService.createIncome(order(filter, 5, pad, 2));
+
+        GoodsReceiptRequest request = receipt(
+                receiptOrder(first.getId()),
+                receiptOrder(second.getId(), line(second.getItems().get(1).getId(), 3)));
+
+        // Act & Assert
+        assertThatThrownBy(() -> incomeService.receiveGoods(request))
+                .hasMessageContaining("exceeds the outstanding quantity 2");
+        assertThat(sparePartRepository.findQuantityById(filter.getId())).contains(20);
+        assertThat(sparePartRepository.findQuantityById(pad.getId())).contains(20);
+        assertThat(stockMovementRepository.count()).isZero();
+        assertThat(incomeRepository.findById(first.getId())).get()
+                .extracting(SparePartIncome::getStatus).isEqualTo(IncomeStatus.PENDING);
+    }
+
+    @Test
+    void receiveGoods_WithItemFromAnotherOrder_ShouldFail() {
+        // Arrange
+        SparePartIncomeResponse first = incomeService.createIncome(order(filter, 10, pad, 4));
+        SparePartIncomeResponse second = incomeService.createIncome(order(filter, 5, pad, 2));
+
+        GoodsReceiptRequest request = receipt(receiptOrder(first.getId(), line(second.getItems().get(0).getId(), 1)));
+
+        // Act & Assert
+        assertThatThrownBy(() -> incomeService.receiveGoods(request))
+                .hasMessageContaining("does not belong to order");
+        assertThat(sparePartRepository.findQuantityById(filter.getId())).contains(20);
+    }
+
+    @Test
+    void cancelIncome_WithPartiallyReceivedOrder_ShouldCancelOutstandingLinesAndKeepReceived() {
+        // Arrange - 4 of 10 filters arrived, the pads never did
+        SparePartIncomeResponse order = incomeService.createIncome(order(filter, 10, pad, 4));
+        incomeService.receiveGoods(receipt(receiptOrder(order.getId(), line(order.getItems().get(0).getId(), 4))));
+
+        // Act
+        SparePartIncomeResponse cancelled = incomeService.cancelIncome(order.getId());
+
+        // Assert
+        assertThat(cancelled.getStatus()).isEqualTo("CANCELLED");
+        assertThat(cancelled.getItems()).extracting(SparePartIncomeResponse.Item::getStatus)
+                .containsExactly("CANCELLED", "CANCELLED");
+        assertThat(cancelled.getItems()).extracting(SparePartIncomeResponse.Item::getQuantityReceived)
+                .containsExactly(4, 0);
+        assertThat(sparePartRepository.findQuantityById(filter.getId())).contains(20 + 4);
+        assertThatThrownBy(() -> incomeService.receiveIncome(order.getId()))
+                .hasMessageContaining("Only pending or partially received orders can be received");
+    }
+
+    private SparePartIncomeRequest order(SparePart firstPart, int firstQuantity, SparePart secondPart, int secondQuantity) {
+        List<SparePartIncomeRequest.Item> items = new ArrayList<>();
+        items.add(orderItem(firstPart, firstQuantity));
+        items.add(orderItem(secondPart, secondQuantity));
+        SparePartIncomeRequest request = new SparePartIncomeRequest();
+        request.setSupplierId(supplier.getId());
+        request.setOrderDate(LocalDate.now());
+        request.setItems(items);
+        return request;
+    }
+
+    private static SparePartIncomeRequest.Item orderItem(SparePart part, int quantity) {
+        SparePartIncomeRequest.Item item = new SparePartIncomeRequest.Item();
+        item.setSparePartId(part.getId());
+        item.setQuantityOrdered(quantity);
+        item.setUnitPrice(100.0);
+        item.setTotalPrice(100.0 * quantity);
+        return item;
+    }
+
+    private static GoodsReceiptRequest receipt(GoodsReceiptRequest.Order... orders) {
+        GoodsReceiptRequest request = new GoodsReceiptRequest();
+        request.setOrders(List.of(orders));
+        return request;
+    }
+
+    private static GoodsReceiptRequest.Order receiptOrder(Long incomeId, GoodsReceiptRequest.Line... lines) {
+        GoodsReceiptRequest.Order order = new GoodsReceiptRequest.Order();
+        order.setIncomeId(incomeId);
+        order.setLines(List.of(lines));
+        return order;
+    }
+
+    private static GoodsReceiptRequest.Line line(Long itemId, int quantity) {
+        GoodsReceiptRequest.Line line = new GoodsReceiptRequest.Line();
+        line.setItemId(itemId);
+        line.setQuantityReceived(quantity);
+        return line;
+    }
+
+    private static Supplier supplier() {
+        Supplier supplier = new Supplier();
+        supplier.setSupplierCode("SUP_GRN");
+        supplier.setSupplierName("Lanka Motors");
+        return supplier;
+    }
+
+    private static SparePart part(String code) {
+        SparePart part = new SparePart();
+        part.setPartCode(code);
+        part.setPartName("Part " + code);
+        part.setPrice(150.0);
+        part.setQuantity(20);
+        return part;
+    }
+}
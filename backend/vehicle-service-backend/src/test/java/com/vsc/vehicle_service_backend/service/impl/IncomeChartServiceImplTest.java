@@ -0,0 +1,212 @@
+package com.vsc.vehicle_service_backend.service.impl;
+
+import com.vsc.vehicle_service_backend.config.IdPoolSeeder;
+import com.vsc.vehicle_service_backend.dto.GoodsReceiptRequest;
+import com.vsc.vehicle_service_backend.dto.SparePartIncomeRequest;
+import com.vsc.vehicle_service_backend.dto.SparePartIncomeResponse;
+import com.vsc.vehicle_service_backend.entity.SparePart;
+import com.vsc.vehicle_service_backend.entity.SparePartCategory;
+import com.vsc.vehicle_service_backend.entity.StockMovement;
+import com.vsc.vehicle_service_backend.entity.Supplier;
+import com.vsc.vehicle_service_backend.repository.SparePartCategoryRepository;
+import com.vsc.vehicle_service_backend.repository.SparePartIncomeRepository;
+import com.vsc.vehicle_service_backend.repository.SparePartRepository;
+import com.vsc.vehicle_service_backend.repository.StockMovementRepository;
+import com.vsc.vehicle_service_backend.repository.SupplierRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@Import({IncomeChartServiceImpl.class, SparePartIncomeServiceImpl.class, StockLedgerServiceImpl.class, TableRecordIdAllocator.class,
+        IdPoolSeeder.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // eviction only happens on commit
+class IncomeChartServiceImplTest {
+
+    @Autowired
+    private IncomeChartServiceImpl chartService;
+
+    @Autowired
+    private SparePartIncomeServiceImpl incomeService;
+
+    @Autowired
+    private SparePartIncomeRepository incomeRepository;
+
+    @Autowired
+    private SparePartRepository sparePartRepository;
+
+    @Autowired
+    private SparePartCategoryRepository categoryRepository;
+
+    @Autowired
+    private StockMovementRepository stockMovementRepository;
+
+    @Autowired
+    private SupplierRepository supplierRepository;
+
+    private SparePartCategory category;
+    private Supplier lanka;
+    private Supplier asia;
+    private SparePart boschFilter;
+    private SparePart densoPlug;
+
+    @BeforeEach
+    void setUp() {
+        category = categoryRepository.save(category());
+        lanka = supplierRepository.save(supplier("SUP_LK", "Lanka Motors"));
+        asia = supplierRepository.save(supplier("SUP_AS", "Asia Auto"));
+        boschFilter = sparePartRepository.save(part("BOSCH_FILTER", "Bosch"));
+        densoPlug = sparePartRepository.save(part("DENSO_PLUG", "Denso"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        incomeRepository.deleteAll();
+        stockMovementRepository.deleteAll();
+        sparePartRepository.deleteAll();
+        supplierRepository.deleteAll();
+        categoryRepository.deleteAll();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void getCategoryChart_ShouldAggregateReceivedQuantityAndSpend() {
+        // Arrange - 4 filters of 10 received from Lanka, 2 of 5 plugs at 50 from Asia
+        SparePartIncomeResponse filters = incomeService.createIncome(order(lanka, boschFilter, 10, 100.0));
+        SparePartIncomeResponse plugs = incomeService.createIncome(order(asia, densoPlug, 5, 50.0));
+        incomeService.receiveGoods(receipt(filters.getId(), filters.getItems().get(0).getId(), 4));
+        incomeService.receiveGoods(receipt(plugs.getId(), plugs.getItems().get(0).getId(), 2));
+
+        // Act
+        Map<String, Object> chart = chartService.getCategoryChart(category.getId(), 3);
+
+        // Assert - pending quantities are not counted
+        assertThat((List<String>) chart.get("labels")).hasSize(3);
+        assertThat((List<Double>) chart.get("incomeData")).containsExactly(0.0, 0.0, 500.0);
+        assertThat((List<Long>) chart.get("quantityData")).containsExactly(0L, 0L, 6L);
+        assertThat(chart.get("totalIncome")).isEqualTo(500.0);
+        assertThat((List<Map<String, Object>>) chart.get("byBrand"))
+                .extracting(group -> group.get("label"), group -> group.get("totalSpend"))
+                .containsExactly(tuple("Bosch", 400.0), tuple("Denso", 100.0));
+        assertThat((List<Map<String, Object>>) chart.get("bySupplier"))
+                .extracting(group -> group.get("label"))
+                .containsExactly("Lanka Motors", "Asia Auto");
+    }
+
+    @Test
+    void getCategoryChart_ShouldBeCachedUntilStockIsReceivedForTheCategory() {
+        // Arrange
+        SparePartIncomeResponse filters = incomeService.createIncome(order(lanka, boschFilter, 10, 100.0));
+        incomeService.receiveGoods(receipt(filters.getId(), filters.getItems().get(0).getId(), 4));
+        int cachedBefore = chartService.getCachedChartCount(); // charts of earlier tests' categories
+        Map<String, Object> first = chartService.getCategoryChart(category.getId(), 6);
+
+        // Act - a repeat read is served from the cache
+        Map<String, Object> cached = chartService.getCategoryChart(category.getId(), 6);
+
+        // Assert
+        assertThat(cached).isEqualTo(first);
+        assertThat(chartService.getCachedChartCount()).isEqualTo(cachedBefore + 1);
+
+        // Act - the rest of the order arrives
+        incomeService.receiveIncome(filters.getId());
+        Map<String, Object> refreshed = chartService.getCategoryChart(category.getId(), 6);
+
+        // Assert
+        assertThat(first.get("totalIncome")).isEqualTo(400.0);
+        assertThat(refreshed.get("totalIncome")).isEqualTo(1000.0);
+        assertThat(refreshed.get("totalQuantity")).isEqualTo(10L);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void getCategoryChart_ShouldKeepEachDeliveryInTheMonthItArrived() {
+        // Arrange - 4 filters arrived last month, the other 6 this month
+        SparePartIncomeResponse filters = incomeService.createIncome(order(lanka, boschFilter, 10, 100.0));
+        incomeService.receiveGoods(receipt(filters.getId(), filters.getItems().get(0).getId(), 4));
+        StockMovement firstDelivery = stockMovementRepository.findBySparePartIdOrderByCreatedAtDesc(boschFilter.getId()).get(0);
+        firstDelivery.setCreatedAt(firstDelivery.getCreatedAt().minusMonths(1));
+        stockMovementRepository.save(firstDelivery);
+        incomeService.receiveIncome(filters.getId());
+
+        // Act
+        Map<String, Object> chart = chartService.getCategoryChart(category.getId(), 3);
+
+        // Assert
+        assertThat((List<Double>) chart.get("incomeData")).containsExactly(0.0, 400.0, 600.0);
+        assertThat((List<Long>) chart.get("quantityData")).containsExactly(0L, 4L, 6L);
+    }
+
+    @Test
+    void getCategoryChart_WithWindowOutOfRange_ShouldThrow() {
+        // Act & Assert
+        assertThatThrownBy(() -> chartService.getCategoryChart(category.getId(), 0))
+                .hasMessageContaining("between 1 and 24 months");
+        assertThatThrownBy(() -> chartService.getCategoryChart(category.getId(), 25))
+                .hasMessageContaining("between 1 and 24 months");
+    }
+
+    private static SparePartIncomeRequest order(Supplier supplier, SparePart part, int quantity, double unitPrice) {
+        SparePartIncomeRequest.Item item = new SparePartIncomeRequest.Item();
+        item.setSparePartId(part.getId());
+        item.setQuantityOrdered(quantity);
+        item.setUnitPrice(unitPrice);
+        item.setTotalPrice(unitPrice * quantity);
+
+        SparePartIncomeRequest request = new SparePartIncomeRequest();
+        request.setSupplierId(supplier.getId());
+        request.setOrderDate(LocalDate.now());
+        request.setItems(List.of(item));
+        return request;
+    }
+
+    private static GoodsReceiptRequest receipt(Long incomeId, Long itemId, int quantity) {
+        GoodsReceiptRequest.Line line = new GoodsReceiptRequest.Line();
+        line.setItemId(itemId);
+        line.setQuantityReceived(quantity);
+        GoodsReceiptRequest.Order order = new GoodsReceiptRequest.Order();
+        order.setIncomeId(incomeId);
+        order.setLines(List.of(line));
+        GoodsReceiptRequest request = new GoodsReceiptRequest();
+        request.setOrders(List.of(order));
+        return request;
+    }
+
+    private static SparePartCategory category() {
+        SparePartCategory category = new SparePartCategory();
+        category.setCategoryCode("CAT_ENGINE");
+        category.setCategoryName("Engine Parts");
+        return category;
+    }
+
+    private static Supplier supplier(String code, String name) {
+        Supplier supplier = new Supplier();
+        supplier.setSupplierCode(code);
+        supplier.setSupplierName(name);
+        return supplier;
+    }
+
+    private SparePart part(String code, String brand) {
+        SparePart part = new SparePart();
+        part.setPartCode(code);
+        part.setPartName("Part " + code);
+        part.setBrand(brand);
+        part.setCategory(category);
+        part.setPrice(150.0);
+        part.setQuantity(20);
+        return part;
+    }
+}
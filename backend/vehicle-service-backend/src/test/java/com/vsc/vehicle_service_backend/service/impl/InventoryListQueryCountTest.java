@@ -0,0 +1,203 @@
+package com.vsc.vehicle_service_backend.service.impl;
+
+import com.vsc.vehicle_service_backend.entity.Customer;
+import com.vsc.vehicle_service_backend.entity.IncomeStatus;
+import com.vsc.vehicle_service_backend.entity.SparePart;
+import com.vsc.vehicle_service_backend.entity.SparePartCategory;
+import com.vsc.vehicle_service_backend.entity.SparePartIncome;
+import com.vsc.vehicle_service_backend.entity.SparePartIncomeItem;
+import com.vsc.vehicle_service_backend.entity.SparePartUsage;
+import com.vsc.vehicle_service_backend.entity.SparePartUsageItem;
+import com.vsc.vehicle_service_backend.entity.Supplier;
+import com.vsc.vehicle_service_backend.entity.Vehicle;
+import com.vsc.vehicle_service_backend.service.RecordIdAllocator;
+import com.vsc.vehicle_service_backend.service.StockLedgerService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards the list endpoints against N+1 regressions: each one must map every row,
+ * including nested items and parts, from exactly one SQL statement.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({SparePartServiceImpl.class, SparePartIncomeServiceImpl.class, SparePartUsageServiceImpl.class,
+        IncomeChartServiceImpl.class})
+class InventoryListQueryCountTest {
+
+    @Autowired
+    private SparePartServiceImpl sparePartService;
+
+    @Autowired
+    private SparePartIncomeServiceImpl incomeService;
+
+    @Autowired
+    private SparePartUsageServiceImpl usageService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private RecordIdAllocator recordIdAllocator;
+
+    @MockBean
+    private SparePartSearchIndex searchIndex;
+
+    @MockBean
+    private StockLedgerService stockLedgerService;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        SparePartCategory filters = entityManager.persist(category("CAT_001", "Filters"));
+        SparePartCategory brakes = entityManager.persist(category("CAT_002", "Brakes"));
+        Supplier lanka = entityManager.persist(supplier("SUP_001", "Lanka Motors"));
+        Supplier auto = entityManager.persist(supplier("SUP_002", "Auto Traders"));
+
+        SparePart oilFilter = entityManager.persist(part("PART-001", "Oil Filter", filters, lanka));
+        SparePart airFilter = entityManager.persist(part("PART-002", "Air Filter", filters, auto));
+        SparePart brakePad = entityManager.persist(part("PART-003", "Brake Pad", brakes, auto));
+
+        entityManager.persist(income("PO_1", lanka, IncomeStatus.PENDING, oilFilter, airFilter));
+        entityManager.persist(income("PO_2", auto, IncomeStatus.PENDING, brakePad, airFilter, oilFilter));
+        entityManager.persist(income("PO_3", auto, IncomeStatus.RECEIVED, brakePad));
+
+        Customer customer = entityManager.persist(new Customer("John Doe", "john@example.com", "0771234567", "Colombo"));
+        Vehicle car = entityManager.persist(vehicle("vh_1", "CAB-1234", customer));
+        Vehicle van = entityManager.persist(vehicle("vh_2", "PH-5678", customer));
+
+        entityManager.persist(usage("USG-1", car, oilFilter, brakePad));
+        entityManager.persist(usage("USG-2", van, airFilter));
+        entityManager.persist(usage("USG-3", null, brakePad, oilFilter));
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void getAllSpareParts_ShouldUseOneStatement() {
+        assertThat(statementsFor(() -> sparePartService.getAllSpareParts())).isEqualTo(1);
+    }
+
+    @Test
+    void getAllIncomes_ShouldUseOneStatement() {
+        assertThat(statementsFor(() -> incomeService.getAllIncomes())).isEqualTo(1);
+    }
+
+    @Test
+    void getPendingIncomes_ShouldUseOneStatement() {
+        assertThat(statementsFor(() -> incomeService.getPendingIncomes())).isEqualTo(1);
+    }
+
+    @Test
+    void getAllUsages_ShouldUseOneStatement() {
+        assertThat(statementsFor(() -> usageService.getAllUsages())).isEqualTo(1);
+    }
+
+    // Runs the call against an empty persistence context, renders the result and counts SQL statements
+    private long statementsFor(java.util.function.Supplier<List<?>> call) {
+        entityManager.clear();
+        statistics.clear();
+
+        List<?> rows = call.get();
+
+        assertThat(rows).isNotEmpty();
+        assertThat(rows.toString()).isNotBlank();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private static SparePartCategory category(String code, String name) {
+        SparePartCategory category = new SparePartCategory();
+        category.setCategoryCode(code);
+        category.setCategoryName(name);
+        return category;
+    }
+
+    private static Supplier supplier(String code, String name) {
+        Supplier supplier = new Supplier();
+        supplier.setSupplierCode(code);
+        supplier.setSupplierName(name);
+        return supplier;
+    }
+
+    private static SparePart part(String code, String name, SparePartCategory category,
+                                  Supplier supplier) {
+        SparePart part = new SparePart();
+        part.setPartCode(code);
+        part.setPartName(name);
+        part.setPrice(100.0);
+        part.setQuantity(50);
+        part.setCategory(category);
+        part.setSupplier(supplier);
+        return part;
+    }
+
+    private static SparePartIncome income(String orderNumber, Supplier supplier,
+                                          IncomeStatus status, SparePart... parts) {
+        SparePartIncome income = new SparePartIncome();
+        income.setOrderNumber(orderNumber);
+        income.setOrderDate(LocalDate.of(2024, 1, 15));
+        income.setSupplier(supplier);
+        income.setStatus(status);
+        for (SparePart part : parts) {
+            SparePartIncomeItem item = new SparePartIncomeItem();
+            item.setIncome(income);
+            item.setSparePart(part);
+            item.setQuantityOrdered(10);
+            item.setUnitPrice(new BigDecimal("80.00"));
+            item.setTotalPrice(new BigDecimal("800.00"));
+            income.getItems().add(item);
+        }
+        return income;
+    }
+
+    private static Vehicle vehicle(String vehicleId, String number, Customer customer) {
+        Vehicle vehicle = new Vehicle();
+        vehicle.setVehicleId(vehicleId);
+        vehicle.setVehicleNumber(number);
+        vehicle.setBrand("Toyota");
+        vehicle.setModel("Axio");
+        vehicle.setVehicleType("Car");
+        vehicle.setCustomer(customer);
+        return vehicle;
+    }
+
+    private static SparePartUsage usage(String number, Vehicle vehicle, SparePart... parts) {
+        SparePartUsage usage = new SparePartUsage();
+        usage.setUsageNumber(number);
+        usage.setUsageDate(LocalDate.of(2024, 1, 20));
+        usage.setVehicle(vehicle);
+        for (SparePart part : parts) {
+            SparePartUsageItem item = new SparePartUsageItem();
+            item.setUsage(usage);
+            item.setSparePart(part);
+            item.setQuantityUsed(1);
+            item.setUnitCost(new BigDecimal("100.00"));
+            item.setTotalCost(new BigDecimal("100.00"));
+            usage.getItems().add(item);
+        }
+        return usage;
+    }
+}
@@ -0,0 +1,126 @@
+package com.vsc.vehicle_service_backend.service.impl;
+
+import com.vsc.vehicle_service_backend.service.LiveUpdateService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LiveUpdateServiceImplTest {
+
+    private final List<RecordingEmitter> emitters = new CopyOnWriteArrayList<>();
+    private CountDownLatch sendGate = new CountDownLatch(0);
+    private final CountDownLatch sendStarted = new CountDownLatch(1);
+
+    private final LiveUpdateServiceImpl liveUpdateService = new LiveUpdateServiceImpl(3, 10, 60000, 1) {
+        @Override
+        SseEmitter createEmitter(long timeoutMs) {
+            RecordingEmitter emitter = new RecordingEmitter();
+            emitters.add(emitter);
+            return emitter;
+        }
+    };
+
+    @AfterEach
+    void tearDown() {
+        sendGate.countDown();
+        liveUpdateService.shutdown();
+    }
+
+    @Test
+    void publish_ShouldDeliverOnlySubscribedTopicsInOrder() throws Exception {
+        // Arrange
+        liveUpdateService.subscribe(Set.of(LiveUpdateService.STOCK));
+        liveUpdateService.subscribe(Set.of());
+
+        // Act
+        liveUpdateService.publish(LiveUpdateService.STOCK, Map.of("sparePartId", 1));
+        liveUpdateService.publish(LiveUpdateService.SERVICE_RECORDS, Map.of("id", 7));
+        liveUpdateService.publish(LiveUpdateService.STOCK, Map.of("sparePartId", 2));
+
+        // Assert
+        waitUntil(() -> emitters.get(1).events.size() == 3);
+        assertThat(emitters.get(0).events).containsExactly("stock", "stock");
+        assertThat(emitters.get(1).events).containsExactly("stock", "service-records", "stock");
+    }
+
+    @Test
+    void publish_WithSlowClient_ShouldDropBacklogAndSendOneResync() throws Exception {
+        // Arrange - the only sender thread is stuck on the first event
+        sendGate = new CountDownLatch(1);
+        liveUpdateService.subscribe(Set.of(LiveUpdateService.STOCK));
+
+        liveUpdateService.publish(LiveUpdateService.STOCK, Map.of("sparePartId", 0));
+        assertThat(sendStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // Act - publishing never waits for the client
+        long start = System.nanoTime();
+        for (int i = 1; i < 20; i++) {
+            liveUpdateService.publish(LiveUpdateService.STOCK, Map.of("sparePartId", i));
+        }
+        long publishMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        sendGate.countDown();
+
+        // Assert - the events buffered since the last overflow follow the resync
+        waitUntil(() -> emitters.get(0).events.contains(LiveUpdateServiceImpl.RESYNC_EVENT)
+                && emitters.get(0).events.size() >= 2);
+        assertThat(publishMs).isLessThan(1000);
+        assertThat(emitters.get(0).events.stream().filter(LiveUpdateServiceImpl.RESYNC_EVENT::equals)).hasSize(1);
+        assertThat(emitters.get(0).events.get(0)).isEqualTo("stock");
+        assertThat(emitters.get(0).events.size()).isLessThanOrEqualTo(1 + 1 + 3);
+        @SuppressWarnings("unchecked")
+        Map<String, Map<String, Object>> topics = (Map<String, Map<String, Object>>) liveUpdateService.getStats().get("topics");
+        assertThat((Long) topics.get("stock").get("published")).isEqualTo(20L);
+        assertThat((Long) topics.get("stock").get("dropped")).isPositive();
+    }
+
+    @Test
+    void subscribe_WithUnknownTopic_ShouldThrow() {
+        // Act & Assert
+        assertThatThrownBy(() -> liveUpdateService.subscribe(Set.of("invoices")))
+                .hasMessage("Unknown live update topic: invoices");
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+
+    // Records the event name of everything sent; blocks while the test holds the gate closed
+    private final class RecordingEmitter extends SseEmitter {
+        private final List<String> events = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            sendStarted.countDown();
+            try {
+                sendGate.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            String text = builder.build().stream()
+                    .map(part -> String.valueOf(part.getData()))
+                    .collect(Collectors.joining());
+            for (String line : text.split("\n")) {
+                if (line.startsWith("event:")) {
+                    events.add(line.substring("event:".length()));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.vsc.vehicle_service_backend.service.impl;
+
+import com.vsc.vehicle_service_backend.entity.SparePart;
+import com.vsc.vehicle_service_backend.entity.StockMovement;
+import com.vsc.vehicle_service_backend.event.InventoryEntityListener;
+import com.vsc.vehicle_service_backend.event.LowStockAlertEvent;
+import com.vsc.vehicle_service_backend.event.StockChangedEvent;
+import com.vsc.vehicle_service_backend.repository.SparePartRepository;
+import com.vsc.vehicle_service_backend.repository.StockMovementRepository;
+import com.vsc.vehicle_service_backend.service.StockLedgerService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@Import({LowStockServiceImpl.class, InventoryEntityListener.class, StockLedgerServiceImpl.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // levels only move on commit
+class LowStockServiceImplTest {
+
+    @Autowired
+    private LowStockServiceImpl lowStockService;
+
+    @Autowired
+    private StockLedgerService stockLedgerService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SparePartRepository sparePartRepository;
+
+    @Autowired
+    private StockMovementRepository stockMovementRepository;
+
+    @MockBean
+    private LowStockAlertNotifier alertNotifier;
+
+    private SparePart filter;
+    private SparePart pad;
+
+    @BeforeEach
+    void setUp() {
+        filter = sparePartRepository.save(part("PART-001", 3, 10));  // short by 7
+        pad = sparePartRepository.save(part("PART-002", 12, 10));
+        sparePartRepository.save(part("PART-003", 2, 4));            // short by 2
+
+        lowStockService.rebuild();
+        clearInvocations(alertNotifier);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stockMovementRepository.deleteAll();
+        sparePartRepository.deleteAll();
+    }
+
+    @Test
+    void getLowStockParts_ShouldListPartsAtOrBelowMinimumByShortfall() {
+        // Act
+        lowStockService.rebuild();
+
+        // Assert - a rebuild raises no alerts
+        assertThat(lowStockService.getLowStockParts())
+                .extracting(part -> part.get("partCode"), part -> part.get("shortfall"))
+                .containsExactly(tuple("PART-001", 7), tuple("PART-003", 2));
+        verify(alertNotifier, never()).notify(any());
+    }
+
+    @Test
+    void stockChanges_ShouldAlertOnlyWhenMinimumIsCrossed() {
+        // Act - 12 -> 11 stays above the minimum, 11 -> 9 crosses it, 9 -> 8 stays below
+        stockLedgerService.decreaseStock(pad.getId(), 1, StockMovement.MovementType.USAGE, "SPARE_PART_USAGE", 1L);
+        stockLedgerService.decreaseStock(pad.getId(), 2, StockMovement.MovementType.USAGE, "SPARE_PART_USAGE", 2L);
+        stockLedgerService.decreaseStock(pad.getId(), 1, StockMovement.MovementType.USAGE, "SPARE_PART_USAGE", 3L);
+
+        // Assert
+        ArgumentCaptor<LowStockAlertEvent> alerts = ArgumentCaptor.forClass(LowStockAlertEvent.class);
+        verify(alertNotifier, times(1)).notify(alerts.capture());
+        assertThat(alerts.getValue().getAlertType()).isEqualTo(LowStockAlertEvent.AlertType.LOW);
+        assertThat(alerts.getValue().getPartCode()).isEqualTo("PART-002");
+        assertThat(alerts.getValue().getQuantity()).isEqualTo(9);
+        assertThat(lowStockService.getLowStockParts())
+                .extracting(part -> part.get("partCode"))
+                .containsExactly("PART-001", "PART-002", "PART-003");
+    }
+
+    @Test
+    void stockChanged_AlreadyCountedByARebuild_ShouldNotAlert() {
+        // Arrange - a usage of one (12 -> 11) commits and a rebuild reads it before its event is delivered
+        jdbcTemplate.update("UPDATE spare_part SET quantity = 11 WHERE id = ?", pad.getId());
+        lowStockService.rebuild();
+
+        // Act - applied again the delta would reach the minimum of 10
+        lowStockService.onStockChanged(new StockChangedEvent(pad.getId(), -1));
+
+        // Assert
+        verify(alertNotifier, never()).notify(any());
+        assertThat(lowStockService.getLowStockParts())
+                .extracting(part -> part.get("partCode"))
+                .containsExactly("PART-001", "PART-003");
+    }
+
+    @Test
+    void receiptAndManualEdit_ShouldRecoverParts() {
+        // Act - a receipt lifts the filter above its minimum, a manual edit lowers the last part's minimum
+        stockLedgerService.increaseStock(filter.getId(), 10, StockMovement.MovementType.RECEIPT, "SPARE_PART_INCOME", 1L);
+        SparePart third = sparePartRepository.findAll().stream()
+                .filter(part -> part.getPartCode().equals("PART-003"))
+                .findFirst()
+                .orElseThrow();
+        third.setMinQuantity(1);
+        sparePartRepository.save(third);
+
+        // Assert
+        ArgumentCaptor<LowStockAlertEvent> alerts = ArgumentCaptor.forClass(LowStockAlertEvent.class);
+        verify(alertNotifier, times(2)).notify(alerts.capture());
+        assertThat(alerts.getAllValues())
+                .extracting(LowStockAlertEvent::getPartCode, LowStockAlertEvent::getAlertType)
+                .containsExactly(tuple("PART-001", LowStockAlertEvent.AlertType.RECOVERED),
+                        tuple("PART-003", LowStockAlertEvent.AlertType.RECOVERED));
+        assertThat(lowStockService.getLowStockParts()).isEmpty();
+    }
+
+    private static SparePart part(String code, int quantity, int minQuantity) {
+        SparePart part = new SparePart();
+        part.setPartCode(code);
+        part.setPartName("Part " + code);
+        part.setPrice(100.0);
+        part.setQuantity(quantity);
+        part.setMinQuantity(minQuantity);
+        return part;
+    }
+}
@@ -0,0 +1,181 @@
+package com.vsc.vehicle_service_backend.service.impl;
+
+import com.vsc.vehicle_service_backend.config.IdPoolSeeder;
+import com.vsc.vehicle_service_backend.dto.MultiPartUsageRequest;
+import com.vsc.vehicle_service_backend.dto.SparePartUsageRequest;
+import com.vsc.vehicle_service_backend.dto.SparePartUsageResponse;
+import com.vsc.vehicle_service_backend.entity.SparePart;
+import com.vsc.vehicle_service_backend.event.FinancePostingEvent;
+import com.vsc.vehicle_service_backend.repository.SparePartRepository;
+import com.vsc.vehicle_service_backend.repository.SparePartUsageRepository;
+import com.vsc.vehicle_service_backend.repository.StockMovementRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@Import({SparePartUsageServiceImpl.class, StockLedgerServiceImpl.class, TableRecordIdAllocator.class, IdPoolSeeder.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@RecordApplicationEvents
+class MultiPartUsageTest {
+
+    @Autowired
+    private SparePartUsageServiceImpl usageService;
+
+    @Autowired
+    private SparePartUsageRepository usageRepository;
+
+    @Autowired
+    private SparePartRepository sparePartRepository;
+
+    @Autowired
+    private StockMovementRepository stockMovementRepository;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    private SparePart pad;
+    private SparePart fluid;
+    private SparePart disc;
+
+    @BeforeEach
+    void setUp() {
+        pad = sparePartRepository.save(part("BRAKE_PAD", 8));
+        fluid = sparePartRepository.save(part("BRAKE_FLUID", 5));
+        disc = sparePartRepository.save(part("BRAKE_DISC", 1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        usageRepository.deleteAll();
+        stockMovementRepository.deleteAll();
+        sparePartRepository.deleteAll();
+    }
+
+    @Test
+    void recordMultiPartUsage_ShouldSaveOneUsageAndTakeStockForEveryLine() {
+        // Act - pads on two lines, taken out together
+        SparePartUsageResponse usage = usageService.recordMultiPartUsage(
+                request(line(pad, 4), line(fluid, 2), line(pad, 2)));
+
+        // Assert
+        assertThat(usage.getItems())
+                .extracting(SparePartUsageResponse.Item::getSparePartCode, SparePartUsageResponse.Item::getQuantityUsed)
+                .containsExactly(tuple("BRAKE_PAD", 4), tuple("BRAKE_FLUID", 2), tuple("BRAKE_PAD", 2));
+        assertThat(usage.getTotalCost()).isEqualTo(8 * 100.0);
+        assertThat(usageRepository.count()).isEqualTo(1);
+        assertThat(sparePartRepository.findQuantityById(pad.getId())).contains(8 - 6);
+        assertThat(sparePartRepository.findQuantityById(fluid.getId())).contains(5 - 2);
+        assertThat(stockMovementRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    void recordMultiPartUsage_WithOneLineShort_ShouldTakeNothing() {
+        // Act & Assert - the disc is short, so the pad and fluid lines must not be taken either
+        assertThatThrownBy(() -> usageService.recordMultiPartUsage(
+                request(line(pad, 4), line(fluid, 2), line(disc, 2))))
+                .hasMessage("Insufficient stock for spare part id: " + disc.getId() + ". Available: 1, Requested: 2");
+
+        assertThat(sparePartRepository.findQuantityById(pad.getId())).contains(8);
+        assertThat(sparePartRepository.findQuantityById(fluid.getId())).contains(5);
+        assertThat(sparePartRepository.findQuantityById(disc.getId())).contains(1);
+        assertThat(usageRepository.count()).isZero();
+        assertThat(stockMovementRepository.count()).isZero();
+    }
+
+    @Test
+    void deleteUsage_ShouldReturnStockAndReverseTheSale() {
+        // Arrange
+        SparePartUsageResponse usage = usageService.recordMultiPartUsage(request(line(pad, 4), line(fluid, 2)));
+
+        // Act
+        usageService.deleteUsage(usage.getId());
+
+        // Assert
+        assertThat(sparePartRepository.findQuantityById(pad.getId())).contains(8);
+        assertThat(sparePartRepository.findQuantityById(fluid.getId())).contains(5);
+        assertThat(events.stream(FinancePostingEvent.class))
+                .extracting(FinancePostingEvent::getReferenceType, FinancePostingEvent::getReferenceId,
+                        event -> event.getAmount().doubleValue())
+                .containsExactly(tuple("SPARE_PART_USAGE", usage.getId(), 600.0),
+                        tuple("SPARE_PART_USAGE_REVERSAL", usage.getId(), -600.0));
+    }
+
+    @Test
+    void recordUsage_Concurrently_ShouldHandOutDistinctNumbersForTheDay() throws Exception {
+        // Arrange
+        SparePart bulb = sparePartRepository.save(part("HEAD_BULB", 100));
+        String dayPrefix = "USG-" + LocalDate.now().format(DateTimeFormatter.ofPattern("yyyyMMdd")) + "-";
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // Act
+        List<Future<String>> numbers = new ArrayList<>();
+        try {
+            for (int i = 0; i < 24; i++) {
+                numbers.add(executor.submit(() -> {
+                    SparePartUsageRequest request = new SparePartUsageRequest();
+                    request.setSparePartId(bulb.getId());
+                    request.setQuantityUsed(1);
+                    request.setUnitPrice(100.0);
+                    return usageService.recordUsage(request).getUsageNumber();
+                }));
+            }
+            Set<String> distinct = new HashSet<>();
+            for (Future<String> number : numbers) {
+                distinct.add(number.get(30, TimeUnit.SECONDS));
+            }
+
+            // Assert
+            assertThat(distinct).hasSize(24).allMatch(number -> number.matches(dayPrefix + "\\d{3,}"));
+            assertThat(sparePartRepository.findQuantityById(bulb.getId())).contains(100 - 24);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static MultiPartUsageRequest request(MultiPartUsageRequest.Line... lines) {
+        MultiPartUsageRequest request = new MultiPartUsageRequest();
+        request.setItems(List.of(lines));
+        request.setTechnicianName("Kamal");
+        return request;
+    }
+
+    private static MultiPartUsageRequest.Line line(SparePart part, int quantity) {
+        MultiPartUsageRequest.Line line = new MultiPartUsageRequest.Line();
+        line.setSparePartId(part.getId());
+        line.setQuantityUsed(quantity);
+        line.setUnitPrice(100.0);
+        return line;
+    }
+
+    private static SparePart part(String code, int quantity) {
+        SparePart part = new SparePart();
+        part.setPartCode(code);
+        part.setPartName("Part " + code);
+        part.setPrice(100.0);
+        part.setQuantity(quantity);
+        return part;
+    }
+}
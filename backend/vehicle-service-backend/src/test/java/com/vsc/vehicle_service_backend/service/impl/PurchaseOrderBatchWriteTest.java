@@ -0,0 +1,236 @@
+package com.vsc.vehicle_service_backend.service.impl;
+
+import com.vsc.vehicle_service_backend.config.IdPoolSeeder;
+import com.vsc.vehicle_service_backend.dto.SparePartIncomeRequest;
+import com.vsc.vehicle_service_backend.dto.SparePartIncomeResponse;
+import com.vsc.vehicle_service_backend.entity.SparePart;
+import com.vsc.vehicle_service_backend.entity.StockMovement;
+import com.vsc.vehicle_service_backend.entity.Supplier;
+import com.vsc.vehicle_service_backend.repository.SparePartIncomeRepository;
+import com.vsc.vehicle_service_backend.repository.SparePartRepository;
+import com.vsc.vehicle_service_backend.repository.StockMovementRepository;
+import com.vsc.vehicle_service_backend.repository.SupplierRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Round trips and latency of creating and receiving 10, 100 and 1000 line purchase orders.
+ * Every execute/executeQuery/executeUpdate/executeBatch call counts as one round trip.
+ */
+@Slf4j
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@Import({SparePartIncomeServiceImpl.class, StockLedgerServiceImpl.class, IncomeChartServiceImpl.class, TableRecordIdAllocator.class,
+        IdPoolSeeder.class,
+        PurchaseOrderBatchWriteTest.RoundTripCounterConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PurchaseOrderBatchWriteTest {
+
+    private static final AtomicLong ROUND_TRIPS = new AtomicLong();
+
+    @Autowired
+    private SparePartIncomeServiceImpl incomeService;
+
+    @Autowired
+    private SparePartIncomeRepository incomeRepository;
+
+    @Autowired
+    private SparePartRepository sparePartRepository;
+
+    @Autowired
+    private StockMovementRepository stockMovementRepository;
+
+    @Autowired
+    private SupplierRepository supplierRepository;
+
+    @Autowired
+    private IdPoolSeeder idPoolSeeder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        incomeRepository.deleteAll();
+        stockMovementRepository.deleteAll();
+        sparePartRepository.deleteAll();
+        supplierRepository.deleteAll();
+    }
+
+    @Test
+    void createAndReceive_ShouldNeedFarFewerRoundTripsThanLines() {
+        for (int lines : new int[]{10, 100, 1000}) {
+            // Arrange
+            Supplier supplier = supplierRepository.save(supplier("SUP_" + lines));
+            List<SparePart> parts = new ArrayList<>();
+            for (int i = 0; i < lines; i++) {
+                parts.add(part("P" + lines + "-" + i));
+            }
+            parts = sparePartRepository.saveAll(parts);
+
+            // Act
+            long start = System.nanoTime();
+            ROUND_TRIPS.set(0);
+            SparePartIncomeResponse created = incomeService.createIncome(request(supplier, parts));
+            long createTrips = ROUND_TRIPS.getAndSet(0);
+            incomeService.receiveIncome(created.getId());
+            long receiveTrips = ROUND_TRIPS.get();
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+            log.info("{} lines: create {} round trips, receive {} round trips, {} ms",
+                    lines, createTrips, receiveTrips, elapsedMs);
+
+            // Assert - one statement per line each way before batching
+            assertThat(created.getItems()).hasSize(lines);
+            assertThat(createTrips).isLessThan(20 + lines / 10);
+            assertThat(receiveTrips).isLessThan(20 + lines / 10);
+            assertThat(sparePartRepository.findQuantityById(parts.get(lines - 1).getId())).contains(10 + 3);
+            assertThat(stockMovementRepository.findBySparePartIdOrderByCreatedAtDesc(parts.get(0).getId()))
+                    .extracting(StockMovement::getQuantityChange).containsExactly(3);
+
+            tearDown();
+        }
+    }
+
+    @Test
+    void seed_ShouldMovePoolPastExistingIds() {
+        // Arrange - rows written with AUTO_INCREMENT ids before pooled ids existed
+        jdbcTemplate.update("DELETE FROM " + IdPoolSeeder.TABLE);
+        jdbcTemplate.update("INSERT INTO stock_movement (id, spare_part_id, quantity_change, movement_type, created_at) " +
+                "VALUES (750, 1, 5, 'RECEIPT', CURRENT_TIMESTAMP)");
+
+        // Act
+        idPoolSeeder.seedAll();
+        StockMovement saved = stockMovementRepository.save(
+                new StockMovement(1L, 2, StockMovement.MovementType.RECEIPT, "TEST", 1L));
+
+        // Assert
+        assertThat(saved.getId()).isGreaterThan(750L);
+    }
+
+    private static SparePartIncomeRequest request(Supplier supplier, List<SparePart> parts) {
+        List<SparePartIncomeRequest.Item> items = new ArrayList<>();
+        for (SparePart part : parts) {
+            SparePartIncomeRequest.Item item = new SparePartIncomeRequest.Item();
+            item.setSparePartId(part.getId());
+            item.setQuantityOrdered(3);
+            item.setUnitPrice(100.0);
+            item.setTotalPrice(300.0);
+            items.add(item);
+        }
+        SparePartIncomeRequest request = new SparePartIncomeRequest();
+        request.setSupplierId(supplier.getId());
+        request.setOrderDate(LocalDate.of(2024, 1, 15));
+        request.setItems(items);
+        return request;
+    }
+
+    private static Supplier supplier(String code) {
+        Supplier supplier = new Supplier();
+        supplier.setSupplierCode(code);
+        supplier.setSupplierName("Lanka Motors");
+        return supplier;
+    }
+
+    private static SparePart part(String code) {
+        SparePart part = new SparePart();
+        part.setPartCode(code);
+        part.setPartName("Part " + code);
+        part.setPrice(150.0);
+        part.setQuantity(10);
+        return part;
+    }
+
+    @TestConfiguration
+    static class RoundTripCounterConfig {
+
+        @Bean
+        static BeanPostProcessor roundTripCountingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? new CountingDataSource(dataSource) : bean;
+                }
+            };
+        }
+    }
+
+    private static final class CountingDataSource extends DelegatingDataSource {
+
+        CountingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return countingConnection(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return countingConnection(super.getConnection(username, password));
+        }
+
+        private static Connection countingConnection(Connection connection) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                    (proxy, method, args) -> {
+                        Object result = invoke(connection, method, args);
+                        return result instanceof Statement statement ? countingStatement(statement) : result;
+                    });
+        }
+
+        private static Object countingStatement(Statement statement) {
+            // Keep PreparedStatement/CallableStatement visible to Hibernate
+            Class<?>[] interfaces = collectInterfaces(statement.getClass());
+            return Proxy.newProxyInstance(Statement.class.getClassLoader(), interfaces, (proxy, method, args) -> {
+                if (method.getName().startsWith("execute")) {
+                    ROUND_TRIPS.incrementAndGet();
+                }
+                return invoke(statement, method, args);
+            });
+        }
+
+        private static Class<?>[] collectInterfaces(Class<?> type) {
+            List<Class<?>> interfaces = new ArrayList<>();
+            for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+                for (Class<?> candidate : current.getInterfaces()) {
+                    if (candidate.getName().startsWith("java.sql.") && !interfaces.contains(candidate)) {
+                        interfaces.add(candidate);
+                    }
+                }
+            }
+            return interfaces.toArray(new Class<?>[0]);
+        }
+
+        private static Object invoke(Object target, java.lang.reflect.Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
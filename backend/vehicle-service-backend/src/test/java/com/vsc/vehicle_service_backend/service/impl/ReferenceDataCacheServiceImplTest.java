@@ -0,0 +1,77 @@
+package com.vsc.vehicle_service_backend.service.impl;
+
+import com.vsc.vehicle_service_backend.config.ReferenceDataCacheConfig;
+import com.vsc.vehicle_service_backend.entity.SparePartCategory;
+import com.vsc.vehicle_service_backend.repository.SparePartCategoryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {"spring.jpa.show-sql=false", "app.reference-cache.statistics=true"})
+@Import({ReferenceDataCacheConfig.class, ReferenceDataCacheServiceImpl.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReferenceDataCacheServiceImplTest {
+
+    @Autowired
+    private ReferenceDataCacheServiceImpl cacheService;
+
+    @Autowired
+    private SparePartCategoryRepository categoryRepository;
+
+    private Long categoryId;
+
+    @BeforeEach
+    void setUp() {
+        SparePartCategory category = new SparePartCategory();
+        category.setCategoryCode("CAT_001");
+        category.setCategoryName("Engine Parts");
+        categoryId = categoryRepository.save(category).getId();
+        cacheService.evictAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        categoryRepository.deleteAll();
+        cacheService.evictAll();
+    }
+
+    @Test
+    void findById_SecondReadShouldBeServedFromCache() {
+        // Act
+        categoryRepository.findById(categoryId);
+        long hitsBefore = hits(ReferenceDataCacheConfig.CATEGORY_REGION);
+        categoryRepository.findById(categoryId);
+
+        // Assert
+        assertThat(hits(ReferenceDataCacheConfig.CATEGORY_REGION)).isEqualTo(hitsBefore + 1);
+    }
+
+    @Test
+    void update_ShouldReplaceCachedEntry() {
+        // Arrange
+        SparePartCategory category = categoryRepository.findById(categoryId).orElseThrow();
+        category.setCategoryName("Engine & Transmission");
+
+        // Act
+        categoryRepository.save(category);
+        SparePartCategory reloaded = categoryRepository.findById(categoryId).orElseThrow();
+
+        // Assert
+        assertThat(reloaded.getCategoryName()).isEqualTo("Engine & Transmission");
+    }
+
+    @SuppressWarnings("unchecked")
+    private long hits(String region) {
+        Map<String, Object> regions = (Map<String, Object>) cacheService.getStats().get("regions");
+        return (long) ((Map<String, Object>) regions.get(region)).get("hits");
+    }
+}
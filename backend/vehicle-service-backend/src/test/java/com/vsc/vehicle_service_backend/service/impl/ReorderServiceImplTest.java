@@ -0,0 +1,204 @@
+package com.vsc.vehicle_service_backend.service.impl;
+
+import com.vsc.vehicle_service_backend.config.IdPoolSeeder;
+import com.vsc.vehicle_service_backend.dto.SparePartIncomeResponse;
+import com.vsc.vehicle_service_backend.entity.IncomeStatus;
+import com.vsc.vehicle_service_backend.entity.SparePart;
+import com.vsc.vehicle_service_backend.entity.SparePartIncome;
+import com.vsc.vehicle_service_backend.entity.SparePartIncomeItem;
+import com.vsc.vehicle_service_backend.entity.SparePartUsage;
+import com.vsc.vehicle_service_backend.entity.SparePartUsageItem;
+import com.vsc.vehicle_service_backend.entity.StockMovement;
+import com.vsc.vehicle_service_backend.entity.Supplier;
+import com.vsc.vehicle_service_backend.event.InventoryEntityListener;
+import com.vsc.vehicle_service_backend.repository.SparePartIncomeRepository;
+import com.vsc.vehicle_service_backend.repository.SparePartRepository;
+import com.vsc.vehicle_service_backend.repository.SparePartUsageRepository;
+import com.vsc.vehicle_service_backend.repository.StockMovementRepository;
+import com.vsc.vehicle_service_backend.repository.SupplierRepository;
+import com.vsc.vehicle_service_backend.service.StockLedgerService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@Import({ReorderServiceImpl.class, SparePartIncomeServiceImpl.class, StockLedgerServiceImpl.class,
+        IncomeChartServiceImpl.class, TableRecordIdAllocator.class, InventoryEntityListener.class, IdPoolSeeder.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // parts are only marked as changed on commit
+class ReorderServiceImplTest {
+
+    @Autowired
+    private ReorderServiceImpl reorderService;
+
+    @Autowired
+    private StockLedgerService stockLedgerService;
+
+    @Autowired
+    private SparePartRepository sparePartRepository;
+
+    @Autowired
+    private SparePartIncomeRepository incomeRepository;
+
+    @Autowired
+    private SparePartUsageRepository usageRepository;
+
+    @Autowired
+    private StockMovementRepository stockMovementRepository;
+
+    @Autowired
+    private SupplierRepository supplierRepository;
+
+    private Supplier lankaMotors;
+    private Supplier autoHub;
+    private SparePart filter;
+    private SparePart pad;
+    private SparePart bulb;
+
+    @BeforeEach
+    void setUp() {
+        lankaMotors = supplierRepository.save(supplier("SUP_RO1", "Lanka Motors"));
+        autoHub = supplierRepository.save(supplier("SUP_RO2", "Auto Hub"));
+
+        filter = sparePartRepository.save(part("RO_FILTER", 5, 10, lankaMotors));    // below minimum, no usage
+        pad = sparePartRepository.save(part("RO_PAD", 15, 10, lankaMotors));         // above minimum, but used daily
+        bulb = sparePartRepository.save(part("RO_BULB", 3, 5, autoHub));
+        sparePartRepository.save(part("RO_WIPER", 100, 10, autoHub));                // plenty in stock
+        sparePartRepository.save(part("RO_HORN", 0, 5, null));                       // nobody to order from
+
+        // 90 pads used over the window -> 1 a day; the last pad order took 10 days to arrive
+        usageRepository.save(usage("USG-RO-1", LocalDate.now().minusDays(30), pad, 45));
+        usageRepository.save(usage("USG-RO-2", LocalDate.now().minusDays(5), pad, 45));
+        SparePartIncome padOrder = incomeRepository.save(receivedOrder(pad, LocalDate.now().minusDays(40), LocalDate.now().minusDays(30)));
+        StockMovement receipt = new StockMovement(pad.getId(), 20, StockMovement.MovementType.RECEIPT,
+                "SPARE_PART_INCOME", padOrder.getId());
+        receipt.setCreatedAt(LocalDate.now().minusDays(30).atTime(10, 0));
+        stockMovementRepository.save(receipt);
+    }
+
+    @AfterEach
+    void tearDown() {
+        usageRepository.deleteAll();
+        incomeRepository.deleteAll();
+        stockMovementRepository.deleteAll();
+        sparePartRepository.deleteAll();
+        supplierRepository.deleteAll();
+    }
+
+    @Test
+    void runReorder_ShouldGroupSuggestionsBySupplierIntoDraftOrders() {
+        // Act
+        List<SparePartIncomeResponse> drafts = reorderService.runReorder();
+
+        // Assert - unused parts go one above their minimum; pad: 10 lead days + 7 safety = 17, up to 17 + 30 cover days
+        assertThat(drafts).extracting(SparePartIncomeResponse::getSupplierId, SparePartIncomeResponse::getStatus)
+                .containsExactly(tuple(lankaMotors.getId(), "PENDING"), tuple(autoHub.getId(), "PENDING"));
+        assertThat(drafts.get(0).getItems())
+                .extracting(SparePartIncomeResponse.Item::getPartCode, SparePartIncomeResponse.Item::getQuantityOrdered)
+                .containsExactly(tuple("RO_FILTER", 6), tuple("RO_PAD", 47 - 15));
+        // Priced at the last purchase; the filter was never bought, so it is left for review
+        assertThat(drafts.get(0).getItems()).extracting(SparePartIncomeResponse.Item::getUnitPrice)
+                .containsExactly(0.0, 60.0);
+        assertThat(drafts.get(1).getItems())
+                .extracting(SparePartIncomeResponse.Item::getPartCode, SparePartIncomeResponse.Item::getQuantityOrdered)
+                .containsExactly(tuple("RO_BULB", 3));
+        assertThat(drafts.get(1).getNotes()).isEqualTo(ReorderServiceImpl.DRAFT_NOTE);
+        assertThat(reorderService.getPendingCount()).isZero();
+    }
+
+    @Test
+    void runReorder_ShouldOnlyRevisitChangedPartsAndCountOpenDrafts() {
+        // Arrange
+        reorderService.runReorder();
+
+        // Act - nothing changed, then a full pass where the open drafts already cover every part
+        List<SparePartIncomeResponse> unchanged = reorderService.runReorder();
+        reorderService.markAllChanged();
+        List<SparePartIncomeResponse> covered = reorderService.runReorder();
+
+        // Assert
+        assertThat(unchanged).isEmpty();
+        assertThat(covered).isEmpty();
+    }
+
+    @Test
+    void runReorder_AfterStockIsUsed_ShouldReorderOnlyThatPart() {
+        // Arrange - bulbs: 3 in stock + 3 on the first draft = 6, one above the minimum
+        reorderService.runReorder();
+
+        // Act
+        stockLedgerService.decreaseStock(bulb.getId(), 2, StockMovement.MovementType.USAGE, "SPARE_PART_USAGE", 1L);
+        assertThat(reorderService.getPendingCount()).isEqualTo(1);
+        List<SparePartIncomeResponse> drafts = reorderService.runReorder();
+
+        // Assert - 1 in stock + 3 on order, back up to 6
+        assertThat(drafts).hasSize(1);
+        assertThat(drafts.get(0).getSupplierId()).isEqualTo(autoHub.getId());
+        assertThat(drafts.get(0).getItems())
+                .extracting(SparePartIncomeResponse.Item::getPartCode, SparePartIncomeResponse.Item::getQuantityOrdered)
+                .containsExactly(tuple("RO_BULB", 2));
+        assertThat(incomeRepository.findByStatus(IncomeStatus.PENDING)).hasSize(3);
+    }
+
+    private static Supplier supplier(String code, String name) {
+        Supplier supplier = new Supplier();
+        supplier.setSupplierCode(code);
+        supplier.setSupplierName(name);
+        return supplier;
+    }
+
+    private static SparePart part(String code, int quantity, int minQuantity, Supplier supplier) {
+        SparePart part = new SparePart();
+        part.setPartCode(code);
+        part.setPartName("Part " + code);
+        part.setPrice(100.0);
+        part.setQuantity(quantity);
+        part.setMinQuantity(minQuantity);
+        part.setSupplier(supplier);
+        return part;
+    }
+
+    private static SparePartUsage usage(String number, LocalDate date, SparePart part, int quantity) {
+        SparePartUsageItem item = new SparePartUsageItem();
+        item.setSparePart(part);
+        item.setQuantityUsed(quantity);
+        item.setUnitCost(BigDecimal.valueOf(100));
+        item.setTotalCost(BigDecimal.valueOf(100L * quantity));
+
+        SparePartUsage usage = new SparePartUsage();
+        usage.setUsageNumber(number);
+        usage.setUsageDate(date);
+        usage.addItem(item);
+        return usage;
+    }
+
+    private SparePartIncome receivedOrder(SparePart part, LocalDate orderDate, LocalDate receivedDate) {
+        SparePartIncome income = new SparePartIncome();
+        income.setOrderNumber("PO_RO_" + orderDate);
+        income.setOrderDate(orderDate);
+        income.setReceivedDate(receivedDate);
+        income.setSupplier(lankaMotors);
+        income.setStatus(IncomeStatus.RECEIVED);
+
+        SparePartIncomeItem item = new SparePartIncomeItem();
+        item.setIncome(income);
+        item.setSparePart(part);
+        item.setQuantityOrdered(20);
+        item.setQuantityReceived(20);
+        item.setUnitPrice(BigDecimal.valueOf(60)); // bought for less than the 100 it sells at
+        item.setTotalPrice(BigDecimal.valueOf(1200));
+        income.getItems().add(item);
+        return income;
+    }
+}
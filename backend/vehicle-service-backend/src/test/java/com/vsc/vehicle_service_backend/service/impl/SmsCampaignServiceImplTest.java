@@ -0,0 +1,140 @@
+package com.vsc.vehicle_service_backend.service.impl;
+
+import com.vsc.vehicle_service_backend.dto.SmsCampaignRequest;
+import com.vsc.vehicle_service_backend.entity.Customer;
+import com.vsc.vehicle_service_backend.entity.SmsLog;
+import com.vsc.vehicle_service_backend.repository.CustomerRepository;
+import com.vsc.vehicle_service_backend.repository.SmsLogRepository;
+import com.vsc.vehicle_service_backend.service.SmsCampaignService;
+import com.vsc.vehicle_service_backend.service.SmsGateway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = {
+        "spring.jpa.show-sql=false",
+        "app.sms-campaign.chunk-size=2",
+        "app.sms-campaign.rate-per-second=1000"
+})
+@Import({SmsCampaignServiceImpl.class, SmsCampaignServiceImplTest.GatewayConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // campaigns run on background threads
+class SmsCampaignServiceImplTest {
+
+    private static final String UNREACHABLE_PHONE = "0000000000";
+
+    @TestConfiguration
+    static class GatewayConfig {
+        @Bean
+        SmsGateway smsGateway() {
+            return new SmsGateway() {
+                @Override
+                public String send(String phoneNumber, String message) {
+                    if (UNREACHABLE_PHONE.equals(phoneNumber)) {
+                        throw new RuntimeException("Number unreachable");
+                    }
+                    return "TEST-" + phoneNumber;
+                }
+
+                @Override
+                public String getProviderName() {
+                    return "TEST";
+                }
+            };
+        }
+    }
+
+    @Autowired
+    private SmsCampaignService campaignService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private SmsLogRepository smsLogRepository;
+
+    @AfterEach
+    void tearDown() {
+        smsLogRepository.deleteAll();
+        customerRepository.deleteAll();
+    }
+
+    @Test
+    void startCampaign_ShouldSendToResolvedCustomersAndBatchInsertLogs() throws Exception {
+        // Arrange
+        Customer kamal = customerRepository.save(customer("Kamal", "kamal@example.com", "0771111111"));
+        Customer sunil = customerRepository.save(customer("Sunil", "sunil@example.com", "0772222222"));
+        Customer unreachable = customerRepository.save(customer("Ruwan", "ruwan@example.com", UNREACHABLE_PHONE));
+        Customer noPhone = customerRepository.save(customer("Amal", "amal@example.com", null));
+
+        SmsCampaignRequest request = new SmsCampaignRequest();
+        request.setName("Service reminders");
+        request.setMessageTemplate("Hi {name}, your vehicle is due for service.");
+        request.setCustomerIds(Arrays.asList(kamal.getId(), sunil.getId(), unreachable.getId(),
+                noPhone.getId(), kamal.getId(), 9999L));
+
+        // Act
+        String campaignId = (String) campaignService.startCampaign(request).get("campaignId");
+        Map<String, Object> progress = awaitCompletion(campaignId);
+
+        // Assert
+        assertThat(progress.get("status")).isEqualTo("COMPLETED");
+        assertThat(progress.get("totalRecipients")).isEqualTo(5);
+        assertThat(progress.get("sent")).isEqualTo(2);
+        assertThat(progress.get("failed")).isEqualTo(1);
+        assertThat(progress.get("skipped")).isEqualTo(2);
+
+        List<SmsLog> logs = smsLogRepository.findByCustomerId(kamal.getId());
+        assertThat(logs).hasSize(1);
+        assertThat(logs.get(0).getMessage()).isEqualTo("Hi Kamal, your vehicle is due for service.");
+        assertThat(logs.get(0).getMessageId()).isEqualTo("TEST-0771111111");
+        assertThat(logs.get(0).getProvider()).isEqualTo("CAMPAIGN");
+        assertThat(smsLogRepository.findByCustomerId(unreachable.getId()))
+                .extracting(SmsLog::getStatus)
+                .containsExactly("FAILED");
+        assertThat(smsLogRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    void startCampaign_WithoutRecipients_ShouldThrowException() {
+        // Arrange
+        SmsCampaignRequest request = new SmsCampaignRequest();
+        request.setMessageTemplate("Hello {name}");
+
+        // Act & Assert
+        assertThatThrownBy(() -> campaignService.startCampaign(request))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("Select recipients");
+    }
+
+    private Map<String, Object> awaitCompletion(String campaignId) throws InterruptedException {
+        for (int i = 0; i < 200; i++) {
+            Map<String, Object> progress = campaignService.getCampaign(campaignId);
+            if (!"QUEUED".equals(progress.get("status")) && !"RUNNING".equals(progress.get("status"))) {
+                return progress;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Campaign did not finish in time");
+    }
+
+    private Customer customer(String name, String email, String phone) {
+        Customer customer = new Customer();
+        customer.setName(name);
+        customer.setEmail(email);
+        customer.setPhone(phone);
+        return customer;
+    }
+}
@@ -0,0 +1,136 @@
+package com.vsc.vehicle_service_backend.service.impl;
+
+import com.vsc.vehicle_service_backend.entity.SmsLog;
+import com.vsc.vehicle_service_backend.repository.SmsLogRepository;
+import com.vsc.vehicle_service_backend.service.SmsLogSearchService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@Import(SmsLogSearchServiceImpl.class)
+class SmsLogSearchServiceImplTest {
+
+    @Autowired
+    private SmsLogSearchService searchService;
+
+    @Autowired
+    private SmsLogRepository smsLogRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private final LocalDateTime baseTime = LocalDateTime.of(2024, 5, 1, 9, 0);
+
+    @BeforeEach
+    void setUp() {
+        // 25 rows; pairs share a sentAt so the id tiebreaker matters
+        for (int i = 0; i < 25; i++) {
+            SmsLog log = new SmsLog();
+            log.setPhoneNumber(i % 5 == 0 ? "+94 77-123 4567" : "071234" + String.format("%04d", i));
+            log.setMessage("Message " + i);
+            log.setStatus(i % 3 == 0 ? "FAILED" : "SENT");
+            log.setCustomerId((long) (i % 4));
+            log.setSentAt(baseTime.plusMinutes(i / 2));
+            smsLogRepository.save(log);
+        }
+        smsLogRepository.flush();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void search_WalkingAllPages_ShouldReturnEveryRowOnceNewestFirst() {
+        // Act
+        List<SmsLog> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            Map<String, Object> page = searchService.search(null, null, null, cursor, 7, false);
+            seen.addAll((List<SmsLog>) page.get("content"));
+            cursor = (String) page.get("nextCursor");
+            pages++;
+        } while (cursor != null);
+
+        // Assert
+        assertThat(pages).isEqualTo(4);
+        assertThat(seen).hasSize(25);
+        Set<Long> ids = new HashSet<>();
+        seen.forEach(log -> ids.add(log.getId()));
+        assertThat(ids).hasSize(25);
+        for (int i = 1; i < seen.size(); i++) {
+            SmsLog previous = seen.get(i - 1);
+            SmsLog current = seen.get(i);
+            assertThat(previous.getSentAt().isAfter(current.getSentAt())
+                    || (previous.getSentAt().equals(current.getSentAt()) && previous.getId() > current.getId()))
+                    .isTrue();
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void search_WithPhoneSuffixAndStatus_ShouldMatchFormattedNumbers() {
+        // Act
+        Map<String, Object> page = searchService.search("4567", "FAILED", null, null, 20, true);
+
+        // Assert: i = 0, 15 are FAILED and use the formatted number
+        List<SmsLog> content = (List<SmsLog>) page.get("content");
+        assertThat(content).extracting(SmsLog::getMessage).containsExactly("Message 15", "Message 0");
+        assertThat(page.get("hasMore")).isEqualTo(false);
+        assertThat(page.get("approximateTotal")).isEqualTo(2L);
+    }
+
+    @Test
+    void backfillPhoneIndex_ShouldFillRowsWrittenWithoutReversedPhone() {
+        // Arrange
+        jdbcTemplate.update("UPDATE sms_log SET phone_reversed = NULL");
+        jdbcTemplate.update("INSERT INTO sms_log (phone_number, status, sent_at) VALUES ('UNKNOWN', 'FAILED', ?)",
+                baseTime);
+
+        // Act
+        int updated = searchService.backfillPhoneIndex();
+        int rerun = searchService.backfillPhoneIndex();
+
+        // Assert - the digitless number is marked too, so a second start finds nothing to do
+        assertThat(updated).isEqualTo(26);
+        assertThat(rerun).isZero();
+        assertThat(smsLogRepository.countSmsLogs("77 123 4567", null, null)).isEqualTo(5);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void search_WithRowsMissingSentAt_ShouldPageThroughThemLast() {
+        // Arrange
+        jdbcTemplate.update("UPDATE sms_log SET sent_at = NULL WHERE message IN ('Message 3', 'Message 4', 'Message 5')");
+        entityManager.clear();
+
+        // Act
+        List<SmsLog> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            Map<String, Object> page = searchService.search(null, null, null, cursor, 2, false);
+            seen.addAll((List<SmsLog>) page.get("content"));
+            cursor = (String) page.get("nextCursor");
+        } while (cursor != null);
+
+        // Assert
+        assertThat(seen).hasSize(25);
+        assertThat(seen.subList(22, 25)).extracting(SmsLog::getMessage)
+                .containsExactly("Message 5", "Message 4", "Message 3");
+    }
+}
@@ -0,0 +1,202 @@
+package com.vsc.vehicle_service_backend.service.impl;
+
+import com.vsc.vehicle_service_backend.entity.Customer;
+import com.vsc.vehicle_service_backend.entity.ServiceRecord;
+import com.vsc.vehicle_service_backend.entity.SmsLog;
+import com.vsc.vehicle_service_backend.entity.SmsOutbox;
+import com.vsc.vehicle_service_backend.repository.CustomerRepository;
+import com.vsc.vehicle_service_backend.repository.ServiceRecordRepository;
+import com.vsc.vehicle_service_backend.repository.SmsLogRepository;
+import com.vsc.vehicle_service_backend.repository.SmsOutboxRepository;
+import com.vsc.vehicle_service_backend.service.SmsGateway;
+import com.vsc.vehicle_service_backend.service.SmsOutboxService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.jpa.show-sql=false",
+        "app.sms-outbox.max-attempts=3",
+        "app.sms-outbox.base-backoff-ms=0"
+})
+@Import({SmsOutboxServiceImpl.class, SmsServiceImpl.class, SmsOutboxServiceImplTest.GatewayConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // the dispatcher runs on its own threads
+class SmsOutboxServiceImplTest {
+
+    @TestConfiguration
+    static class GatewayConfig {
+        @Bean
+        FlakySmsGateway smsGateway() {
+            return new FlakySmsGateway();
+        }
+    }
+
+    // Fails the first N sends, then behaves like the local gateway
+    static class FlakySmsGateway implements SmsGateway {
+        private final AtomicInteger failuresLeft = new AtomicInteger();
+        private final AtomicInteger sent = new AtomicInteger();
+
+        @Override
+        public String send(String phoneNumber, String message) {
+            if (failuresLeft.getAndDecrement() > 0) {
+                throw new RuntimeException("Provider unavailable");
+            }
+            return "TEST-" + sent.incrementAndGet();
+        }
+
+        @Override
+        public String getProviderName() {
+            return "TEST";
+        }
+    }
+
+    @Autowired
+    private SmsOutboxService smsOutboxService;
+
+    @Autowired
+    private FlakySmsGateway gateway;
+
+    @Autowired
+    private SmsOutboxRepository outboxRepository;
+
+    @Autowired
+    private SmsLogRepository smsLogRepository;
+
+    @Autowired
+    private ServiceRecordRepository serviceRecordRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ServiceRecord record;
+
+    @BeforeEach
+    void setUp() {
+        gateway.failuresLeft.set(0);
+        gateway.sent.set(0);
+
+        Customer customer = new Customer();
+        customer.setName("Nimal Perera");
+        customer.setEmail("nimal@example.com");
+        customer.setPhone("0771234567");
+        customer = customerRepository.save(customer);
+
+        record = new ServiceRecord();
+        record.setRecordId("SR_1");
+        record.setServiceDate(LocalDate.now());
+        record.setStatus("COMPLETED");
+        record.setVehicleId(1L);
+        record.setCustomerId(customer.getId());
+        record.setTotalCost(4500.0);
+        record = serviceRecordRepository.save(record);
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxRepository.deleteAll();
+        smsLogRepository.deleteAll();
+        serviceRecordRepository.deleteAll();
+        customerRepository.deleteAll();
+    }
+
+    @Test
+    void enqueueServiceCompletion_Twice_ShouldQueueOneMessage() {
+        // Act
+        enqueue(record.getId());
+        enqueue(record.getId());
+
+        // Assert
+        assertThat(outboxRepository.count()).isEqualTo(1);
+        assertThat(gateway.sent.get()).isZero();
+    }
+
+    @Test
+    void dispatchDue_WithWorkingGateway_ShouldSendAndLinkLog() {
+        // Arrange
+        enqueue(record.getId());
+
+        // Act
+        int attempted = smsOutboxService.dispatchDue();
+
+        // Assert
+        assertThat(attempted).isEqualTo(1);
+        SmsOutbox row = outboxRepository.findByServiceRecordId(record.getId()).orElseThrow();
+        assertThat(row.getStatus()).isEqualTo(SmsOutbox.OutboxStatus.SENT);
+        SmsLog log = smsLogRepository.findById(row.getSmsLogId()).orElseThrow();
+        assertThat(log.getStatus()).isEqualTo("SENT");
+        assertThat(log.getMessageId()).isEqualTo("TEST-1");
+        assertThat(log.getPhoneNumber()).isEqualTo("0771234567");
+
+        // Nothing left to do
+        assertThat(smsOutboxService.dispatchDue()).isZero();
+    }
+
+    @Test
+    void dispatchDue_WhenGatewayFailsOnce_ShouldRetryAndSendOnce() {
+        // Arrange
+        enqueue(record.getId());
+        gateway.failuresLeft.set(1);
+
+        // Act
+        smsOutboxService.dispatchDue();
+
+        // Assert
+        SmsOutbox row = outboxRepository.findByServiceRecordId(record.getId()).orElseThrow();
+        assertThat(row.getStatus()).isEqualTo(SmsOutbox.OutboxStatus.PENDING);
+        assertThat(row.getAttempts()).isEqualTo(1);
+        assertThat(row.getLastError()).isEqualTo("Provider unavailable");
+        assertThat(smsLogRepository.count()).isZero();
+
+        // Act
+        smsOutboxService.dispatchDue();
+
+        // Assert
+        row = outboxRepository.findByServiceRecordId(record.getId()).orElseThrow();
+        assertThat(row.getStatus()).isEqualTo(SmsOutbox.OutboxStatus.SENT);
+        assertThat(row.getAttempts()).isEqualTo(2);
+        assertThat(smsLogRepository.findByServiceRecordId(record.getId())).hasSize(1);
+    }
+
+    @Test
+    void dispatchDue_WhenAttemptsRunOut_ShouldMarkFailedAndLogFailure() {
+        // Arrange
+        enqueue(record.getId());
+        gateway.failuresLeft.set(10);
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            smsOutboxService.dispatchDue();
+        }
+
+        // Assert
+        SmsOutbox row = outboxRepository.findByServiceRecordId(record.getId()).orElseThrow();
+        assertThat(row.getStatus()).isEqualTo(SmsOutbox.OutboxStatus.FAILED);
+        assertThat(row.getAttempts()).isEqualTo(3);
+        List<SmsLog> logs = smsLogRepository.findByServiceRecordId(record.getId());
+        assertThat(logs).hasSize(1);
+        assertThat(logs.get(0).getStatus()).isEqualTo("FAILED");
+    }
+
+    private void enqueue(Long serviceRecordId) {
+        new TransactionTemplate(transactionManager)
+                .executeWithoutResult(status -> smsOutboxService.enqueueServiceCompletion(serviceRecordId));
+    }
+}
@@ -0,0 +1,114 @@
+package com.vsc.vehicle_service_backend.service.impl;
+
+import com.vsc.vehicle_service_backend.entity.SparePart;
+import com.vsc.vehicle_service_backend.entity.SparePartCategory;
+import com.vsc.vehicle_service_backend.entity.Supplier;
+import com.vsc.vehicle_service_backend.repository.SparePartRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SparePartSearchIndexTest {
+
+    @Mock
+    private SparePartRepository sparePartRepository;
+
+    @InjectMocks
+    private SparePartSearchIndex searchIndex;
+
+    private SparePartCategory engineParts;
+    private Supplier lankaMotors;
+
+    @BeforeEach
+    void setUp() {
+        engineParts = new SparePartCategory();
+        engineParts.setId(1L);
+        engineParts.setCategoryName("Engine Parts");
+
+        lankaMotors = new Supplier();
+        lankaMotors.setId(1L);
+        lankaMotors.setSupplierName("Lanka Motors");
+
+        when(sparePartRepository.findAllWithCategoryAndSupplier()).thenReturn(Arrays.asList(
+                part(1L, "PART-001", "Oil Filter", "Toyota", "Corolla"),
+                part(2L, "PART-002", "Air Filter", "Honda", "Civic"),
+                part(3L, "PART-003", "Brake Pad Set", "Toyota", "Filtered Air Edition"),
+                part(4L, "PART-004", "Spark Plug", "NGK", "Iridium")));
+        searchIndex.rebuild();
+    }
+
+    @Test
+    void search_WithPrefix_ShouldRankNameMatchesAboveModelMatches() {
+        // Act
+        Page<Long> hits = searchIndex.search("filt", PageRequest.of(0, 10));
+
+        // Assert
+        assertThat(hits.getContent()).containsExactly(1L, 2L, 3L);
+        assertThat(hits.getTotalElements()).isEqualTo(3);
+    }
+
+    @Test
+    void search_WithSeveralWords_ShouldRequireAllOfThem() {
+        assertThat(searchIndex.search("toyota filter", PageRequest.of(0, 10)).getContent()).containsExactly(1L, 3L);
+        assertThat(searchIndex.search("honda oil", PageRequest.of(0, 10)).getContent()).isEmpty();
+    }
+
+    @Test
+    void search_ByPartCode_ShouldMatchWithOrWithoutDash() {
+        assertThat(searchIndex.search("PART-004", PageRequest.of(0, 10)).getContent()).containsExactly(4L);
+        assertThat(searchIndex.search("part004", PageRequest.of(0, 10)).getContent()).containsExactly(4L);
+    }
+
+    @Test
+    void search_ByCategoryAndSupplierName_ShouldMatchEveryPart() {
+        assertThat(searchIndex.search("engine", PageRequest.of(0, 10)).getTotalElements()).isEqualTo(4);
+        assertThat(searchIndex.search("lanka mot", PageRequest.of(0, 10)).getTotalElements()).isEqualTo(4);
+    }
+
+    @Test
+    void search_ShouldPageThroughRankedResults() {
+        // Act
+        Page<Long> secondPage = searchIndex.search("", PageRequest.of(1, 3));
+
+        // Assert
+        assertThat(secondPage.getContent()).containsExactly(4L);
+        assertThat(secondPage.getTotalElements()).isEqualTo(4);
+        assertThat(secondPage.getTotalPages()).isEqualTo(2);
+    }
+
+    @Test
+    void indexAndRemove_ShouldKeepIndexInSync() {
+        // Act
+        SparePart renamed = part(2L, "PART-002", "Cabin Air Purifier", "Honda", "Civic");
+        searchIndex.index(renamed);
+        searchIndex.remove(1L);
+
+        // Assert
+        assertThat(searchIndex.search("filter", PageRequest.of(0, 10)).getContent()).containsExactly(3L);
+        assertThat(searchIndex.search("purif", PageRequest.of(0, 10)).getContent()).containsExactly(2L);
+        assertThat(searchIndex.size()).isEqualTo(3);
+    }
+
+    private SparePart part(Long id, String code, String name, String brand, String model) {
+        SparePart part = new SparePart();
+        part.setId(id);
+        part.setPartCode(code);
+        part.setPartName(name);
+        part.setBrand(brand);
+        part.setModel(model);
+        part.setCategory(engineParts);
+        part.setSupplier(lankaMotors);
+        return part;
+    }
+}
@@ -0,0 +1,150 @@
+package com.vsc.vehicle_service_backend.service.impl;
+
+import com.vsc.vehicle_service_backend.entity.SparePart;
+import com.vsc.vehicle_service_backend.entity.StockMovement;
+import com.vsc.vehicle_service_backend.repository.SparePartRepository;
+import com.vsc.vehicle_service_backend.repository.StockMovementRepository;
+import com.vsc.vehicle_service_backend.service.StockLedgerService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@Import(StockLedgerServiceImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // every ledger call commits on its own, like in production
+class StockLedgerServiceImplTest {
+
+    private static final int THREADS = 64;
+    private static final int OPERATIONS_PER_THREAD = 20;
+    private static final int INITIAL_STOCK = 500;
+
+    @Autowired
+    private StockLedgerService stockLedgerService;
+
+    @Autowired
+    private SparePartRepository sparePartRepository;
+
+    @Autowired
+    private StockMovementRepository stockMovementRepository;
+
+    private SparePart part;
+
+    @BeforeEach
+    void setUp() {
+        part = new SparePart();
+        part.setPartCode("PART-HOT");
+        part.setPartName("Oil Filter");
+        part.setPrice(1500.0);
+        part.setQuantity(INITIAL_STOCK);
+        part.setMinQuantity(10);
+        part = sparePartRepository.save(part);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stockMovementRepository.deleteAll();
+        sparePartRepository.deleteAll();
+    }
+
+    @Test
+    void decreaseStock_WithEnoughStock_ShouldDecrementAndRecordMovement() {
+        // Act
+        stockLedgerService.decreaseStock(part.getId(), 3, StockMovement.MovementType.USAGE, "SPARE_PART_USAGE", 7L);
+
+        // Assert
+        assertThat(sparePartRepository.findQuantityById(part.getId())).contains(INITIAL_STOCK - 3);
+        List<StockMovement> movements = stockLedgerService.getMovements(part.getId());
+        assertThat(movements).hasSize(1);
+        assertThat(movements.get(0).getQuantityChange()).isEqualTo(-3);
+        assertThat(movements.get(0).getReferenceId()).isEqualTo(7L);
+    }
+
+    @Test
+    void decreaseStock_WithInsufficientStock_ShouldThrowAndLeaveStockUntouched() {
+        // Act & Assert
+        assertThatThrownBy(() -> stockLedgerService.decreaseStock(part.getId(), INITIAL_STOCK + 1,
+                StockMovement.MovementType.USAGE, "SPARE_PART_USAGE", 1L))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Insufficient stock. Available: " + INITIAL_STOCK + ", Requested: " + (INITIAL_STOCK + 1));
+
+        assertThat(sparePartRepository.findQuantityById(part.getId())).contains(INITIAL_STOCK);
+        assertThat(stockMovementRepository.count()).isZero();
+    }
+
+    @Test
+    void decreaseStock_WithUnknownPart_ShouldThrowNotFound() {
+        assertThatThrownBy(() -> stockLedgerService.decreaseStock(999_999L, 1,
+                StockMovement.MovementType.USAGE, "SPARE_PART_USAGE", 1L))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Spare part not found with id: 999999");
+    }
+
+    @Test
+    void concurrentMovements_OnSinglePart_ShouldConserveStockAndNeverOversell() throws Exception {
+        // Arrange - 64 threads hammer the same part; more units are requested than exist
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger successfulDecrements = new AtomicInteger();
+        AtomicInteger rejectedDecrements = new AtomicInteger();
+        AtomicInteger increments = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < THREADS; t++) {
+            final int thread = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                    if ((thread + i) % 8 == 0) {
+                        stockLedgerService.increaseStock(part.getId(), 1,
+                                StockMovement.MovementType.RECEIPT, "SPARE_PART_INCOME", (long) thread);
+                        increments.incrementAndGet();
+                    } else {
+                        try {
+                            stockLedgerService.decreaseStock(part.getId(), 1,
+                                    StockMovement.MovementType.USAGE, "SPARE_PART_USAGE", (long) thread);
+                            successfulDecrements.incrementAndGet();
+                        } catch (RuntimeException e) {
+                            assertThat(e.getMessage()).startsWith("Insufficient stock");
+                            rejectedDecrements.incrementAndGet();
+                        }
+                    }
+                }
+                return null;
+            }));
+        }
+
+        // Act
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Assert - stock on the part equals the initial stock plus everything the ledger recorded
+        int finalQuantity = sparePartRepository.findQuantityById(part.getId()).orElseThrow();
+        long ledgerTotal = stockMovementRepository.sumQuantityChange(part.getId());
+
+        assertThat(finalQuantity).isGreaterThanOrEqualTo(0);
+        assertThat(finalQuantity).isEqualTo(INITIAL_STOCK + increments.get() - successfulDecrements.get());
+        assertThat(ledgerTotal).isEqualTo(finalQuantity - INITIAL_STOCK);
+        assertThat(rejectedDecrements.get()).isPositive();
+        assertThat(stockMovementRepository.count()).isEqualTo(increments.get() + successfulDecrements.get());
+    }
+}
@@ -0,0 +1,137 @@
+package com.vsc.vehicle_service_backend.service.impl;
+
+import com.vsc.vehicle_service_backend.entity.IdSequence;
+import com.vsc.vehicle_service_backend.repository.IdSequenceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TableRecordIdAllocatorTest {
+
+    @Mock
+    private IdSequenceRepository sequenceRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TableRecordIdAllocator allocator;
+
+    @BeforeEach
+    void setUp() {
+        allocator = new TableRecordIdAllocator(sequenceRepository, transactionManager, 10);
+    }
+
+    @Test
+    void next_WithNewSequence_ShouldSeedFromExistingData() {
+        // Arrange
+        when(sequenceRepository.findForUpdate("SR")).thenReturn(Optional.empty());
+        when(sequenceRepository.saveAndFlush(any(IdSequence.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        long first = allocator.next("SR", () -> 41L);
+        long second = allocator.next("SR", () -> 41L);
+
+        // Assert
+        assertThat(first).isEqualTo(42L);
+        assertThat(second).isEqualTo(43L);
+        verify(sequenceRepository, times(1)).saveAndFlush(argThat(seq -> seq.getNextValue() == 52L));
+    }
+
+    @Test
+    void next_ShouldOnlyHitDatabaseOncePerBlock() {
+        // Arrange
+        IdSequence sequence = new IdSequence("PART", 1L);
+        when(sequenceRepository.findForUpdate("PART")).thenReturn(Optional.of(sequence));
+        when(sequenceRepository.saveAndFlush(any(IdSequence.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        for (int i = 0; i < 25; i++) {
+            allocator.next("PART", () -> 0L);
+        }
+
+        // Assert - 25 numbers need three blocks of 10
+        verify(sequenceRepository, times(3)).findForUpdate("PART");
+        assertThat(sequence.getNextValue()).isEqualTo(31L);
+    }
+
+    @Test
+    void next_WhenSequenceCreatedConcurrently_ShouldRetry() {
+        // Arrange
+        IdSequence existing = new IdSequence("vh", 100L);
+        when(sequenceRepository.findForUpdate("vh"))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(existing));
+        when(sequenceRepository.saveAndFlush(any(IdSequence.class)))
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry 'vh'"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        long number = allocator.next("vh", () -> 5L);
+
+        // Assert
+        assertThat(number).isEqualTo(100L);
+    }
+
+    @Test
+    void next_WhenSequenceCreationDeadlocks_ShouldRetry() {
+        // Arrange
+        IdSequence existing = new IdSequence("SR_20240305", 7L);
+        when(sequenceRepository.findForUpdate("SR_20240305"))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(existing));
+        when(sequenceRepository.saveAndFlush(any(IdSequence.class)))
+                .thenThrow(new CannotAcquireLockException("Deadlock found when trying to get lock"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        long number = allocator.next("SR_20240305", () -> 0L);
+
+        // Assert
+        assertThat(number).isEqualTo(7L);
+    }
+
+    @Test
+    void next_FromManyThreads_ShouldNeverReturnDuplicates() throws InterruptedException {
+        // Arrange - in-memory stand-in for the locked sequence row
+        AtomicLong nextValue = new AtomicLong(1L);
+        when(sequenceRepository.findForUpdate("SR"))
+                .thenAnswer(invocation -> Optional.of(new IdSequence("SR", nextValue.get())));
+        when(sequenceRepository.saveAndFlush(any(IdSequence.class))).thenAnswer(invocation -> {
+            IdSequence seq = invocation.getArgument(0);
+            nextValue.set(seq.getNextValue());
+            return seq;
+        });
+
+        Set<Long> numbers = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+
+        // Act
+        for (int i = 0; i < 1000; i++) {
+            executor.submit(() -> numbers.add(allocator.next("SR", () -> 0L)));
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        // Assert
+        assertThat(numbers).hasSize(1000);
+        assertThat(numbers).allMatch(n -> n >= 1 && n <= 1000);
+    }
+}
@@ -6,6 +6,7 @@ import com.vsc.vehicle_service_backend.entity.Customer;
 import com.vsc.vehicle_service_backend.entity.Vehicle;
 import com.vsc.vehicle_service_backend.repository.CustomerRepository;
 import com.vsc.vehicle_service_backend.repository.VehicleRepository;
+import com.vsc.vehicle_service_backend.service.RecordIdAllocator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -16,10 +17,12 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.LongSupplier;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,6 +34,12 @@ class VehicleServiceImplTest {
     @Mock
     private CustomerRepository customerRepository;
 
+    @Mock
+    private RecordIdAllocator recordIdAllocator;
+
+    @Mock
+    private FrontDeskLookupIndex lookupIndex;
+
     @InjectMocks
     private VehicleServiceImpl vehicleService;
 
@@ -88,6 +97,7 @@ class VehicleServiceImplTest {
         // Arrange
         when(customerRepository.findById(1L)).thenReturn(Optional.of(customer1));
         when(vehicleRepository.getLastVehicleId()).thenReturn("vh_5");
+        stubFreshVehicleSequence();
         when(vehicleRepository.save(any(Vehicle.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         // Act
@@ -128,6 +138,7 @@ class VehicleServiceImplTest {
         // Arrange
         when(customerRepository.findById(1L)).thenReturn(Optional.of(customer1));
         when(vehicleRepository.getLastVehicleId()).thenReturn(null);
+        stubFreshVehicleSequence();
         // Remove the count() stub since it might not be needed
         when(vehicleRepository.save(any(Vehicle.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
@@ -145,7 +156,9 @@ class VehicleServiceImplTest {
     @Test
     void getAllVehicles_ShouldReturnListOfVehicles() {
         // Arrange
-        when(vehicleRepository.findAll()).thenReturn(Arrays.asList(vehicle1, vehicle2));
+        when(vehicleRepository.findAllResponses()).thenReturn(Arrays.asList(
+                new VehicleResponse(1L, "vh_1", "ABC-1234", "Toyota", "Camry", "Car", 1L, "John Doe"),
+                new VehicleResponse(2L, "vh_2", "XYZ-5678", "Honda", "Civic", "Car", 2L, "Jane Smith")));
 
         // Act
         List<VehicleResponse> responses = vehicleService.getAllVehicles();
@@ -161,7 +174,7 @@ class VehicleServiceImplTest {
         assertThat(responses.get(1).getVehicleNumber()).isEqualTo("XYZ-5678");
         assertThat(responses.get(1).getCustomerName()).isEqualTo("Jane Smith");
 
-        verify(vehicleRepository, times(1)).findAll();
+        verify(vehicleRepository, times(1)).findAllResponses();
     }
 
     @Test
@@ -308,4 +321,10 @@ class VehicleServiceImplTest {
         assertThat(response.getCustomerId()).isNull();
         assertThat(response.getCustomerName()).isNull();
     }
-}
\ No newline at end of file
+
+    // Allocator behaves as on first use: it seeds itself from the last stored vehicle id
+    private void stubFreshVehicleSequence() {
+        when(recordIdAllocator.next(eq("vh"), any(LongSupplier.class)))
+                .thenAnswer(invocation -> invocation.<LongSupplier>getArgument(1).getAsLong() + 1);
+    }
+}
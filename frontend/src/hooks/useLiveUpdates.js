@@ -0,0 +1,59 @@
+import { useEffect, useRef } from 'react';
+
+const BASE_URL = process.env.REACT_APP_API_URL || 'http://localhost:8080';
+
+// Subscribes to the backend live update stream. Each change event hands its small payload to
+// onEvent(topic, payload) so the screen can patch the one row it names. onResync is called
+// only when the stream can no longer be trusted - a "resync" event (updates were dropped) or
+// a reconnect (anything published meanwhile was missed) - and should reload the screen.
+export const useLiveUpdates = (topics, { onEvent, onResync }) => {
+  const handlersRef = useRef({ onEvent, onResync });
+  handlersRef.current = { onEvent, onResync };
+
+  const topicKey = topics.join(',');
+
+  useEffect(() => {
+    if (typeof EventSource === 'undefined') {
+      return undefined;
+    }
+
+    const source = new EventSource(`${BASE_URL}/api/v1/live-updates?topics=${encodeURIComponent(topicKey)}`);
+    const topicNames = topicKey.split(',');
+
+    const handleChange = (event) => {
+      let payload;
+      try {
+        payload = JSON.parse(event.data);
+      } catch (err) {
+        console.warn('[useLiveUpdates] Unreadable event, reloading:', err);
+        handlersRef.current.onResync();
+        return;
+      }
+      handlersRef.current.onEvent(event.type, payload);
+    };
+    const handleResync = () => handlersRef.current.onResync();
+
+    topicNames.forEach((name) => source.addEventListener(name, handleChange));
+    source.addEventListener('resync', handleResync);
+
+    let interrupted = false;
+    source.onerror = () => {
+      interrupted = true;
+      console.warn('[useLiveUpdates] Stream interrupted, reconnecting...');
+    };
+    source.onopen = () => {
+      if (interrupted) {
+        interrupted = false;
+        handleResync();
+      }
+    };
+
+    return () => {
+      topicNames.forEach((name) => source.removeEventListener(name, handleChange));
+      source.removeEventListener('resync', handleResync);
+      source.close();
+    };
+  }, [topicKey]);
+};
+
+export default useLiveUpdates;
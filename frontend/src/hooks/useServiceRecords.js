@@ -183,6 +183,11 @@ export const useServiceRecords = () => {
     fetchServices();
   }, [fetchServiceRecords, fetchVehicles, fetchServices]);
 
+  // Patch one record's status in place, e.g. from a live update; records not loaded are ignored
+  const applyStatusChange = useCallback((id, status) => {
+    setServiceRecords(prev => prev.map(record => (record.id === id ? { ...record, status } : record)));
+  }, []);
+
   return {
     serviceRecords,
     vehicles,
@@ -191,6 +196,7 @@ export const useServiceRecords = () => {
     error,
     fetchServiceRecords,
     fetchServiceRecordsByVehicle,
+    applyStatusChange,
     fetchVehicles,
     fetchServices,
     createServiceRecord,
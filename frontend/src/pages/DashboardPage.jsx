@@ -2,6 +2,7 @@ import React, { useState, useEffect } from 'react';
 import { Link } from 'react-router-dom';
 import { useAuth } from '../contexts/AuthContext';
 import axios from 'axios';
+import { useLiveUpdates } from '../hooks/useLiveUpdates';
 import {
   Users, Car, Wrench, Calendar, DollarSign,
   Clock, Package, ShoppingCart, AlertCircle,
@@ -47,9 +48,25 @@ const DashboardPage = () => {
     fetchDashboardData();
   }, []);
 
-  const fetchDashboardData = async () => {
+  // Status changes patch the recent services list; a low-stock alert means one part crossed its
+  // minimum, so the count moves by one. A resync reloads quietly, without the loading screen
+  useLiveUpdates(['service-records', 'low-stock'], {
+    onEvent: (topic, change) => {
+      if (topic === 'service-records') {
+        setRecentServices(prev => prev.map(service => (service.id === change.id ? { ...service, status: change.status } : service)));
+      } else {
+        const step = change.alertType === 'LOW' ? 1 : -1;
+        setStats(prev => ({ ...prev, lowStockItems: Math.max(0, prev.lowStockItems + step) }));
+      }
+    },
+    onResync: () => fetchDashboardData({ silent: true })
+  });
+
+  const fetchDashboardData = async ({ silent = false } = {}) => {
     try {
-      setLoading(true);
+      if (!silent) {
+        setLoading(true);
+      }
       setError(null);
 
       console.log('=== FETCHING DASHBOARD DATA ===');
@@ -237,7 +254,7 @@ const DashboardPage = () => {
           <XCircle className="h-16 w-16 text-red-500 mx-auto mb-4" />
           <h2 className="text-xl font-bold text-gray-800 mb-2">Sync Error</h2>
           <p className="text-gray-600 mb-4">{error}</p>
-          <button onClick={fetchDashboardData} className="px-4 py-2 bg-blue-600 text-white rounded-lg hover:bg-blue-700">Retry Sync</button>
+          <button onClick={() => fetchDashboardData()} className="px-4 py-2 bg-blue-600 text-white rounded-lg hover:bg-blue-700">Retry Sync</button>
         </div>
       </div>
     );
@@ -250,7 +267,7 @@ const DashboardPage = () => {
           <h1 className="text-2xl font-bold text-gray-900">Dashboard</h1>
           <p className="text-gray-600">Welcome back, {user?.firstName || 'Admin'}</p>
         </div>
-        <button onClick={fetchDashboardData} className="flex items-center gap-2 px-4 py-2 bg-blue-50 text-blue-600 rounded-lg hover:bg-blue-100 transition-colors">
+        <button onClick={() => fetchDashboardData()} className="flex items-center gap-2 px-4 py-2 bg-blue-50 text-blue-600 rounded-lg hover:bg-blue-100 transition-colors">
           <RefreshCw className={`h-4 w-4 ${loading ? 'animate-spin' : ''}`} />
           Refresh Registry
         </button>
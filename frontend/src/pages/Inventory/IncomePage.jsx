@@ -98,7 +98,7 @@ const IncomePage = () => {
       const allIncomes = Array.isArray(allIncomesResponse.data) ? allIncomesResponse.data : [];
 
       const pendingIncomesResponse = await sparePartIncomeService.getPendingIncomes();
-      const pending = Array.isArray(pendingIncomesResponse.data) ? pendingIncomesResponse.data : allIncomes.filter(i => i.status === 'PENDING');
+      const pending = Array.isArray(pendingIncomesResponse.data) ? pendingIncomesResponse.data : allIncomes.filter(i => i.status === 'PENDING' || i.status === 'PARTIAL');
 
       setIncomes(allIncomes);
       setPendingIncomes(pending);
@@ -147,6 +147,7 @@ const IncomePage = () => {
   const getStatusColor = (status) => {
     switch (status) {
       case 'PENDING': return 'warning';
+      case 'PARTIAL': return 'info';
       case 'RECEIVED': return 'success';
       case 'CANCELLED': return 'error';
       default: return 'default';
@@ -247,6 +248,17 @@ const IncomePage = () => {
     }
   };
 
+  const handleCancelIncome = async (id) => {
+    if (!window.confirm('Cancel the outstanding lines of this order?')) return;
+    try {
+      await sparePartIncomeService.cancelIncome(id);
+      showSnackbar('Order cancelled.', 'success');
+      fetchData();
+    } catch (err) {
+      showSnackbar('Cancellation failed.', 'error');
+    }
+  };
+
   const handleFetchChartData = async () => {
     if (!selectedCategory) return;
     try {
@@ -407,10 +419,15 @@ const IncomePage = () => {
                   <TableCell align="center">
                     <Stack direction="row" spacing={1} justifyContent="center">
                       <IconButton size="small" color="primary" onClick={() => { setSelectedIncome(income); setOpenViewDialog(true); }} sx={{ bgcolor: 'primary.light', color: 'white', '&:hover': { bgcolor: 'primary.main' } }}><ViewIcon fontSize="small" /></IconButton>
-                      {income.status === 'PENDING' && (
-                        <Tooltip title="Restock Inventory">
-                          <IconButton size="small" color="success" onClick={() => handleReceiveIncome(income.id)} sx={{ bgcolor: 'success.light', color: 'white', '&:hover': { bgcolor: 'success.main' } }}><ReceiveIcon fontSize="small" /></IconButton>
-                        </Tooltip>
+                      {(income.status === 'PENDING' || income.status === 'PARTIAL') && (
+                        <>
+                          <Tooltip title="Restock Inventory">
+                            <IconButton size="small" color="success" onClick={() => handleReceiveIncome(income.id)} sx={{ bgcolor: 'success.light', color: 'white', '&:hover': { bgcolor: 'success.main' } }}><ReceiveIcon fontSize="small" /></IconButton>
+                          </Tooltip>
+                          <Tooltip title="Cancel Outstanding">
+                            <IconButton size="small" color="warning" onClick={() => handleCancelIncome(income.id)} sx={{ bgcolor: 'warning.light', color: 'white', '&:hover': { bgcolor: 'warning.main' } }}><CancelIcon fontSize="small" /></IconButton>
+                          </Tooltip>
+                        </>
                       )}
                       <IconButton size="small" color="error" onClick={() => { if (window.confirm('Erase this record?')) sparePartIncomeService.deleteIncome(income.id).then(fetchData) }} sx={{ bgcolor: 'error.light', color: 'white', '&:hover': { bgcolor: 'error.main' } }}><DeleteIcon fontSize="small" /></IconButton>
                     </Stack>
@@ -8,6 +8,7 @@ import {
 } from 'lucide-react';
 import axios from 'axios';
 import { InventoryReportGenerator } from '../utils/reportGenerator';
+import { useLiveUpdates } from '../hooks/useLiveUpdates';
 
 const API_BASE_URL = 'http://localhost:8080/api/v1';
 
@@ -28,9 +29,14 @@ const InventoryPage = () => {
   const [showExportMenu, setShowExportMenu] = useState(false);
   const exportMenuRef = useRef(null);
 
-  const fetchInventoryData = async () => {
+  const isLowStock = (part) => part.quantity < (part.minQuantity || 10);
+
+  // A resync after a dropped live update reloads quietly, without the loading screen
+  const fetchInventoryData = async ({ silent = false } = {}) => {
     try {
-      setInventoryData(prev => ({ ...prev, loading: true, error: null }));
+      if (!silent) {
+        setInventoryData(prev => ({ ...prev, loading: true, error: null }));
+      }
 
       // Fetch all data in parallel
       const [partsResponse, categoriesResponse] = await Promise.all([
@@ -41,42 +47,16 @@ const InventoryPage = () => {
       const allParts = partsResponse.data || [];
       const allCategories = categoriesResponse.data || [];
 
-      // Calculate metrics
-      const lowStockItems = allParts.filter(part => {
-        const minQty = part.minQuantity || 10;
-        return part.quantity < minQty;
-      });
-
-      setSpareParts(allParts);
+      // Newest first; the metrics and recent activity are derived from the list below
+      setSpareParts([...allParts].sort((a, b) => new Date(b.createdAt) - new Date(a.createdAt)));
       setCategories(allCategories);
 
-      setInventoryData({
-        totalParts: allParts.length,
+      setInventoryData(prev => ({
+        ...prev,
         totalCategories: allCategories.length,
-        lowStockCount: lowStockItems.length,
-        restockNeededCount: lowStockItems.length,
         loading: false,
         error: null
-      });
-
-      // Recent activity
-      if (allParts.length > 0) {
-        const recentItems = allParts
-          .sort((a, b) => new Date(b.createdAt) - new Date(a.createdAt))
-          .slice(0, 5)
-          .map(part => ({
-            id: part.id,
-            type: 'part',
-            name: part.partName,
-            code: part.partCode,
-            quantity: part.quantity,
-            status: part.quantity < (part.minQuantity || 10) ? 'low' : 'normal',
-            date: new Date(part.createdAt).toLocaleDateString(),
-            brand: part.brand,
-            price: part.price
-          }));
-        setRecentActivity(recentItems);
-      }
+      }));
 
     } catch (error) {
       console.error('Error fetching inventory data:', error);
@@ -92,6 +72,67 @@ const InventoryPage = () => {
     fetchInventoryData();
   }, []);
 
+  // Recalculate metrics whenever the list changes, whether reloaded or patched by a live update
+  useEffect(() => {
+    const lowStockItems = spareParts.filter(isLowStock);
+    setInventoryData(prev => ({
+      ...prev,
+      totalParts: spareParts.length,
+      lowStockCount: lowStockItems.length,
+      restockNeededCount: lowStockItems.length
+    }));
+
+    // Recent activity
+    setRecentActivity(spareParts.slice(0, 5).map(part => ({
+      id: part.id,
+      type: 'part',
+      name: part.partName,
+      code: part.partCode,
+      quantity: part.quantity,
+      status: isLowStock(part) ? 'low' : 'normal',
+      date: new Date(part.createdAt).toLocaleDateString(),
+      brand: part.brand,
+      price: part.price
+    })));
+  }, [spareParts]);
+
+  // Only a new part needs fetching; its row is put at the top like the newest entry
+  const fetchPart = async (sparePartId) => {
+    try {
+      const response = await axios.get(`${API_BASE_URL}/spare-parts/${sparePartId}`);
+      setSpareParts(prev => (prev.some(part => part.id === sparePartId)
+        ? prev.map(part => (part.id === sparePartId ? response.data : part))
+        : [response.data, ...prev]));
+    } catch (error) {
+      console.error('Error fetching spare part:', error);
+    }
+  };
+
+  // Stock events carry a quantity delta (usage, receipts) or the part's saved state (edits)
+  const applyStockChange = (change) => {
+    const known = spareParts.some(part => part.id === change.sparePartId);
+    if (change.changeType === 'DELETED') {
+      setSpareParts(prev => prev.filter(part => part.id !== change.sparePartId));
+    } else if (change.changeType === 'SAVED') {
+      if (!known) {
+        fetchPart(change.sparePartId);
+        return;
+      }
+      setSpareParts(prev => prev.map(part => (part.id === change.sparePartId
+        ? { ...part, quantity: change.quantity, minQuantity: change.minQuantity }
+        : part)));
+    } else if (known) {
+      setSpareParts(prev => prev.map(part => (part.id === change.sparePartId
+        ? { ...part, quantity: (part.quantity || 0) + change.quantityChange }
+        : part)));
+    }
+  };
+
+  useLiveUpdates(['stock'], {
+    onEvent: (topic, change) => applyStockChange(change),
+    onResync: () => fetchInventoryData({ silent: true })
+  });
+
   // Close export menu when clicking outside
   useEffect(() => {
     const handleClickOutside = (event) => {
@@ -204,7 +245,7 @@ const InventoryPage = () => {
         </div>
         <div className="flex items-center space-x-3">
           <button
-            onClick={fetchInventoryData}
+            onClick={() => fetchInventoryData()}
             className="flex items-center space-x-2 text-blue-600 hover:text-blue-800 px-3 py-2 rounded-lg hover:bg-blue-50"
             title="Refresh data"
             disabled={inventoryData.loading}
@@ -26,6 +26,7 @@ import {
   QueryStats as StatsIcon
 } from '@mui/icons-material';
 import { useServiceRecords } from '../hooks/useServiceRecords';
+import { useLiveUpdates } from '../hooks/useLiveUpdates';
 import ServiceRecordList from '../components/servicerecords/ServiceRecordList';
 import ServiceRecordForm from '../components/servicerecords/ServiceRecordForm';
 
@@ -37,6 +38,7 @@ const ServiceRecordsPage = () => {
     loading,
     error,
     fetchServiceRecords,
+    applyStatusChange,
     fetchVehicles,
     fetchServices,
     createServiceRecord,
@@ -61,6 +63,12 @@ const ServiceRecordsPage = () => {
     loadData();
   }, [fetchServiceRecords, fetchVehicles, fetchServices]);
 
+  // Status changes made at other desks are patched into the list without a reload
+  useLiveUpdates(['service-records'], {
+    onEvent: (topic, change) => applyStatusChange(change.id, change.status),
+    onResync: fetchServiceRecords
+  });
+
   const handleCreate = async (recordData) => {
     try {
       await createServiceRecord(recordData);